@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.EngineJsonRpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcHttpService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketService;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoFlatTraceIndexingService;
 import org.hyperledger.besu.ethereum.api.query.cache.AutoTransactionLogBloomCachingService;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -43,6 +44,7 @@ import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -77,6 +79,8 @@ public class Runner implements AutoCloseable {
   private final Optional<StratumServer> stratumServer;
   private final Optional<AutoTransactionLogBloomCachingService>
       autoTransactionLogBloomCachingService;
+  private final Optional<AutoFlatTraceIndexingService> autoFlatTraceIndexingService;
+  private final Optional<ExecutorService> logsSubscriptionExecutor;
 
   /**
    * Instantiates a new Runner.
@@ -96,6 +100,8 @@ public class Runner implements AutoCloseable {
    * @param dataDir the data dir
    * @param pidPath the pid path
    * @param transactionLogBloomCacher the transaction log bloom cacher
+   * @param autoFlatTraceIndexingService the flat trace indexing service
+   * @param logsSubscriptionExecutor the executor dispatching the logs to their subscriptions
    * @param blockchain the blockchain
    */
   Runner(
@@ -114,6 +120,8 @@ public class Runner implements AutoCloseable {
       final Path dataDir,
       final Optional<Path> pidPath,
       final Optional<TransactionLogBloomCacher> transactionLogBloomCacher,
+      final Optional<AutoFlatTraceIndexingService> autoFlatTraceIndexingService,
+      final Optional<ExecutorService> logsSubscriptionExecutor,
       final Blockchain blockchain) {
     this.vertx = vertx;
     this.networkRunner = networkRunner;
@@ -132,6 +140,8 @@ public class Runner implements AutoCloseable {
     this.autoTransactionLogBloomCachingService =
         transactionLogBloomCacher.map(
             cacher -> new AutoTransactionLogBloomCachingService(blockchain, cacher));
+    this.autoFlatTraceIndexingService = autoFlatTraceIndexingService;
+    this.logsSubscriptionExecutor = logsSubscriptionExecutor;
     this.transactionPoolEvictionService =
         new TransactionPoolEvictionService(vertx, besuController.getTransactionPool());
   }
@@ -154,6 +164,7 @@ public class Runner implements AutoCloseable {
             waitForServiceToStart(
                 "stratum", server.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    autoFlatTraceIndexingService.ifPresent(AutoFlatTraceIndexingService::start);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -193,6 +204,8 @@ public class Runner implements AutoCloseable {
     engineJsonRpc.ifPresent(service -> waitForServiceToStop("engineJsonRpc", service.stop()));
     graphQLHttp.ifPresent(service -> waitForServiceToStop("graphQLHttp", service.stop()));
     webSocketRpc.ifPresent(service -> waitForServiceToStop("websocketRpc", service.stop()));
+    // the queued logs cannot be sent to their subscriptions once the websocket service is stopped
+    logsSubscriptionExecutor.ifPresent(ExecutorService::shutdownNow);
     ipcJsonRpc.ifPresent(
         service ->
             waitForServiceToStop(
@@ -211,6 +224,7 @@ public class Runner implements AutoCloseable {
     networkRunner.stop();
     waitForServiceToStop("Network", networkRunner::awaitStop);
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::stop);
+    autoFlatTraceIndexingService.ifPresent(AutoFlatTraceIndexingService::stop);
     natService.stop();
     besuController.close();
     vertx.close((res) -> vertxShutdownLatch.countDown());
@@ -49,6 +49,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.health.ReadinessCheck;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter.FilterManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter.FilterManagerBuilder;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.TraceBlock;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.methods.JsonRpcMethodsFactory;
@@ -65,6 +66,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscriptionService;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.PrivacyQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.AutoFlatTraceIndexingService;
+import org.hyperledger.besu.ethereum.api.query.cache.FlatTraceIndex;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.blockcreation.PoWMiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -73,6 +76,7 @@ import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.precompiles.privacy.FlexiblePrivacyPrecompiledContract;
@@ -104,6 +108,7 @@ import org.hyperledger.besu.ethereum.permissioning.node.NodePermissioningControl
 import org.hyperledger.besu.ethereum.permissioning.node.PeerPermissionsAdapter;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionObserver;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.stratum.StratumServer;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -138,6 +143,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -156,6 +162,8 @@ import org.slf4j.LoggerFactory;
 public class RunnerBuilder {
 
   private static final Logger LOG = LoggerFactory.getLogger(RunnerBuilder.class);
+  // fewer blocks than the layers of state kept by Bonsai, so that the queued blocks can be traced
+  private static final int FLAT_TRACE_INDEXING_QUEUE_SIZE = 256;
 
   private Vertx vertx;
   private BesuController besuController;
@@ -723,13 +731,32 @@ public class RunnerBuilder {
     final TransactionPool transactionPool = besuController.getTransactionPool();
     final MiningCoordinator miningCoordinator = besuController.getMiningCoordinator();
 
+    final Optional<FlatTraceIndex> flatTraceIndex =
+        apiConfiguration.isTraceIndexEnabled()
+            ? Optional.of(
+                new FlatTraceIndex(
+                    storageProvider.getStorageBySegmentIdentifier(
+                        KeyValueSegmentIdentifier.TRACE_INDEX)))
+            : Optional.empty();
     final BlockchainQueries blockchainQueries =
         new BlockchainQueries(
             context.getBlockchain(),
             context.getWorldStateArchive(),
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
-            apiConfiguration);
+            apiConfiguration,
+            flatTraceIndex);
+    final Optional<AutoFlatTraceIndexingService> autoFlatTraceIndexingService =
+        flatTraceIndex.map(
+            index -> {
+              final TraceBlock traceBlock = new TraceBlock(protocolSchedule, blockchainQueries);
+              return new AutoFlatTraceIndexingService(
+                  context.getBlockchain(),
+                  index,
+                  traceBlock::replayBlock,
+                  MonitoredExecutors.newBoundedThreadPool(
+                      "flat-trace-indexing", 1, FLAT_TRACE_INDEXING_QUEUE_SIZE, metricsSystem));
+            });
 
     final PrivacyParameters privacyParameters = besuController.getPrivacyParameters();
 
@@ -924,6 +951,7 @@ public class RunnerBuilder {
     }
 
     Optional<WebSocketService> webSocketService = Optional.empty();
+    Optional<ExecutorService> logsSubscriptionExecutor = Optional.empty();
     if (webSocketConfiguration.isEnabled()) {
       final Map<String, JsonRpcMethod> nonEngineMethods =
           jsonRpcMethods(
@@ -953,11 +981,15 @@ public class RunnerBuilder {
               dataDir,
               rpcEndpointServiceImpl);
 
+      final ExecutorService logsDispatchExecutor =
+          MonitoredExecutors.newSingleThreadExecutor("logs-subscriptions", metricsSystem);
+      logsSubscriptionExecutor = Optional.of(logsDispatchExecutor);
       createLogsSubscriptionService(
           context.getBlockchain(),
           context.getWorldStateArchive(),
           subscriptionManager,
-          privacyParameters);
+          privacyParameters,
+          logsDispatchExecutor);
 
       createNewBlockHeadersSubscriptionService(
           context.getBlockchain(), blockchainQueries, subscriptionManager);
@@ -1062,6 +1094,8 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        autoFlatTraceIndexingService,
+        logsSubscriptionExecutor,
         context.getBlockchain());
   }
 
@@ -1272,7 +1306,8 @@ public class RunnerBuilder {
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final SubscriptionManager subscriptionManager,
-      final PrivacyParameters privacyParameters) {
+      final PrivacyParameters privacyParameters,
+      final ExecutorService logsDispatchExecutor) {
 
     Optional<PrivacyQueries> privacyQueries = Optional.empty();
     if (privacyParameters.isEnabled()) {
@@ -1286,7 +1321,7 @@ public class RunnerBuilder {
     }
 
     final LogsSubscriptionService logsSubscriptionService =
-        new LogsSubscriptionService(subscriptionManager, privacyQueries);
+        new LogsSubscriptionService(subscriptionManager, privacyQueries, logsDispatchExecutor);
 
     // monitoring public logs
     blockchain.observeLogs(logsSubscriptionService);
@@ -25,12 +25,14 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.util.MappedRlpIterator;
 import org.hyperledger.besu.ethereum.util.RawBlockIterator;
 
 import java.io.Closeable;
@@ -43,10 +45,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,7 +58,12 @@ import org.slf4j.LoggerFactory;
 public class RlpBlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(RlpBlockImporter.class);
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  // the number of blocks decoded and validated together
+  private static final int BLOCKS_PER_BATCH = 64;
+  // the number of batches in flight, each of them being decoded, validated or imported
+  private static final int BATCH_BACKLOG = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private final Semaphore batchBacklog = new Semaphore(BATCH_BACKLOG);
 
   private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
   private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
@@ -102,95 +111,136 @@ public class RlpBlockImporter implements Closeable {
     final ProtocolSchedule protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
+    final EthScheduler ethScheduler =
+        besuController.getProtocolManager().ethContext().getScheduler();
+    final AtomicInteger count = new AtomicInteger();
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    try (final RawBlockIterator iterator = new RawBlockIterator(blocks, blockHeaderFunctions)) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
+    try (final MappedRlpIterator iterator = new MappedRlpIterator(blocks)) {
+      CompletableFuture<List<Block>> previousBatchFuture =
+          CompletableFuture.completedFuture(List.of());
+      CompletableFuture<Void> previousImportFuture = CompletableFuture.completedFuture(null);
       final AtomicReference<Throwable> threadedException = new AtomicReference<>();
       while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        final long blockNumber = header.getNumber();
-        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
-            || blockNumber < startBlock
-            || blockNumber >= endBlock) {
-          continue;
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header, skipPowValidation),
-                validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
+        final List<Bytes> encodedBlocks = new ArrayList<>(BLOCKS_PER_BATCH);
+        while (iterator.hasNext() && encodedBlocks.size() < BLOCKS_PER_BATCH) {
+          encodedBlocks.add(iterator.next());
         }
 
         try {
           do {
-            final Throwable t = (Exception) threadedException.get();
+            final Throwable t = threadedException.get();
             if (t != null) {
-              throw new RuntimeException("Error importing block " + header.getNumber(), t);
+              throw new RuntimeException("Error importing blocks", t);
             }
-          } while (!blockBacklog.tryAcquire(1, SECONDS));
+          } while (!batchBacklog.tryAcquire(1, SECONDS));
         } catch (final InterruptedException e) {
           LOG.error("Interrupted adding to backlog.", e);
           break;
         }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
+
+        final CompletableFuture<List<Block>> batchFuture =
+            CompletableFuture.supplyAsync(
                 () ->
+                    encodedBlocks.stream()
+                        .map(
+                            encodedBlock ->
+                                RawBlockIterator.decodeBlock(encodedBlock, blockHeaderFunctions))
+                        .toList(),
+                validationExecutor);
+        // the first header of a batch is validated against the last header of the previous one
+        final CompletableFuture<List<Block>> validationFuture =
+            batchFuture.thenCombineAsync(
+                previousBatchFuture,
+                (batch, previousBatch) ->
+                    validateBatch(
+                        protocolSchedule,
+                        context,
+                        ethScheduler,
+                        batch,
+                        previousBatch,
+                        skipPowValidation,
+                        startBlock,
+                        endBlock),
+                validationExecutor);
+        previousImportFuture =
+            validationFuture.thenAcceptBothAsync(
+                previousImportFuture,
+                (validatedBlocks, unused) -> {
+                  for (final Block block : validatedBlocks) {
                     evaluateBlock(
                         context,
                         block,
-                        header,
-                        protocolSchedule.getByBlockHeader(header),
-                        skipPowValidation),
+                        block.getHeader(),
+                        protocolSchedule.getByBlockHeader(block.getHeader()),
+                        skipPowValidation);
+                    count.incrementAndGet();
+                  }
+                },
                 importExecutor);
-        previousBlockFuture.exceptionally(
+        previousImportFuture.whenComplete((unused, exception) -> batchBacklog.release());
+        previousImportFuture.exceptionally(
             exception -> {
               threadedException.set(exception);
               return null;
             });
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
+        previousBatchFuture = batchFuture;
       }
+      previousImportFuture.join();
       logProgress(blockchain.getChainHeadBlockNumber());
       return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
+          blockchain.getChainHead().getTotalDifficulty(), count.get());
     }
   }
 
-  private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
-    for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+  /**
+   * Validates the headers of the blocks of a batch which are imported, and recovers the senders of
+   * their transactions at once. Returns the blocks to import, in order.
+   */
+  private List<Block> validateBatch(
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext context,
+      final EthScheduler ethScheduler,
+      final List<Block> batch,
+      final List<Block> previousBatch,
+      final boolean skipPowValidation,
+      final long startBlock,
+      final long endBlock) {
+    final MutableBlockchain blockchain = context.getBlockchain();
+    BlockHeader previousHeader =
+        previousBatch.isEmpty() ? null : previousBatch.get(previousBatch.size() - 1).getHeader();
+    final List<Block> blocksToImport = new ArrayList<>(batch.size());
+    for (final Block block : batch) {
+      final BlockHeader header = block.getHeader();
+      final BlockHeader lastHeader = previousHeader;
+      previousHeader = header;
+      final long blockNumber = header.getNumber();
+      if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
+          || blockNumber < startBlock
+          || blockNumber >= endBlock) {
+        continue;
+      }
+      if (blockchain.contains(header.getHash())) {
+        continue;
+      }
+      final BlockHeader parentHeader =
+          lastHeader != null && lastHeader.getHash().equals(header.getParentHash())
+              ? lastHeader
+              : lookupPreviousHeader(blockchain, header);
+      validateBlock(
+          protocolSchedule.getByBlockHeader(header),
+          context,
+          parentHeader,
+          header,
+          skipPowValidation);
+      blocksToImport.add(block);
     }
+    Transaction.recoverSenders(
+        blocksToImport.stream()
+            .flatMap(block -> block.getBody().getTransactions().stream())
+            .toList(),
+        ethScheduler::scheduleParallelTxTask);
+    return blocksToImport;
   }
 
   private void validateBlock(
@@ -236,7 +286,6 @@ public class RlpBlockImporter implements Closeable {
             "Invalid block at block number " + header.getNumber() + ".");
       }
     } finally {
-      blockBacklog.release();
       cumulativeTimer.stop();
       segmentTimer.stop();
       final long thisGas = block.getHeader().getGasUsed();
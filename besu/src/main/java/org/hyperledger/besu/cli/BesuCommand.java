@@ -2136,7 +2136,12 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     return miningParameters;
   }
 
-  private DataStorageConfiguration getDataStorageConfiguration() {
+  /**
+   * Data storage configuration for Besu
+   *
+   * @return instance of DataStorageConfiguration.
+   */
+  public DataStorageConfiguration getDataStorageConfiguration() {
     if (dataStorageConfiguration == null) {
       dataStorageConfiguration = dataStorageOptions.toDomainObject();
     }
@@ -2615,6 +2620,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!apiConfigurationOptions.isTraceIndexEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.TRACE_INDEX);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
@@ -29,6 +29,7 @@ import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAU
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POW_JOB_TTL;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_REMOTE_SEALERS_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_REMOTE_SEALERS_TTL;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_TXS_SELECTION_SPECULATIVE_LOOKAHEAD;
 
 import org.hyperledger.besu.cli.converter.PositiveNumberConverter;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -188,6 +189,13 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 + " then it waits before next repetition. Must be positive and ≤ 2000 (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xtxs-selection-speculative-lookahead"},
+        description =
+            "Number of candidate transactions executed ahead in parallel, against the parent state, when selecting the transactions of a block with Bonsai. 0 disables it (default: ${DEFAULT-VALUE})")
+    private Integer txsSelectionSpeculativeLookahead = DEFAULT_TXS_SELECTION_SPECULATIVE_LOOKAHEAD;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -280,6 +288,11 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
           commandLine, "--Xpos-block-creation-repetition-min-duration must be positive and ≤ 2000");
     }
 
+    if (unstableOptions.txsSelectionSpeculativeLookahead < 0) {
+      throw new ParameterException(
+          commandLine, "--Xtxs-selection-speculative-lookahead must not be negative");
+    }
+
     if (genesisConfigOptions.isPoa()) {
       CommandLineUtils.failIfOptionDoesntMeetRequirement(
           commandLine,
@@ -326,6 +339,8 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
         miningParameters.getUnstable().getPosBlockCreationMaxTime();
     miningOptions.unstableOptions.posBlockCreationRepetitionMinDuration =
         miningParameters.getUnstable().getPosBlockCreationRepetitionMinDuration();
+    miningOptions.unstableOptions.txsSelectionSpeculativeLookahead =
+        miningParameters.getUnstable().getTxsSelectionSpeculativeLookahead();
 
     miningParameters.getCoinbase().ifPresent(coinbase -> miningOptions.coinbase = coinbase);
     miningParameters.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
@@ -371,6 +386,7 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 .posBlockCreationMaxTime(unstableOptions.posBlockCreationMaxTime)
                 .posBlockCreationRepetitionMinDuration(
                     unstableOptions.posBlockCreationRepetitionMinDuration)
+                .txsSelectionSpeculativeLookahead(unstableOptions.txsSelectionSpeculativeLookahead)
                 .build())
         .build();
   }
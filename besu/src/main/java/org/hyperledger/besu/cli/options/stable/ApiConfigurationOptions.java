@@ -86,6 +86,13 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: $DEFAULT-VALUE)")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--rpc-trace-index-enabled"},
+      hidden = true,
+      description =
+          "Set to index the flat traces of the imported blocks, to serve trace_filter and trace_block without replaying them (default: ${DEFAULT-VALUE})")
+  private final Boolean traceIndexEnabled = false;
+
   /**
    * Validates the API options.
    *
@@ -131,7 +138,8 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .isTraceIndexEnabled(traceIndexEnabled);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
@@ -139,4 +147,13 @@ public class ApiConfigurationOptions {
     }
     return builder.build();
   }
+
+  /**
+   * Checks if the flat traces of the imported blocks are indexed.
+   *
+   * @return true if the flat trace index is enabled
+   */
+  public boolean isTraceIndexEnabled() {
+    return traceIndexEnabled;
+  }
 }
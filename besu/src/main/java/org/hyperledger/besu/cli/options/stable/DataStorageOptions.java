@@ -18,8 +18,15 @@ package org.hyperledger.besu.cli.options.stable;
 
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_COMPACT_TRIE_LOG_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_LIMIT_TRIE_LOGS_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_PARALLEL_TX_PROCESSING_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_TRIE_LOG_PRUNING_WINDOW_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.MINIMUM_BONSAI_TRIE_LOG_RETENTION_LIMIT;
 
@@ -81,6 +88,24 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     public static final String BONSAI_TRIE_LOG_PRUNING_WINDOW_SIZE =
         "--Xbonsai-trie-logs-pruning-window-size";
 
+    private static final String BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB =
+        "--Xbonsai-account-trie-node-cache-weight-kb";
+
+    private static final String BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB =
+        "--Xbonsai-storage-trie-node-cache-weight-kb";
+
+    private static final String BONSAI_PINNED_ACCOUNT_TRIE_LEVELS =
+        "--Xbonsai-pinned-account-trie-levels";
+
+    // the account trie is keyed by 32-byte hashes, so it has at most 64 levels of nibbles
+    private static final int MAX_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS = 64;
+
+    private static final String BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB =
+        "--Xbonsai-account-flat-db-cache-weight-kb";
+
+    private static final String BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB =
+        "--Xbonsai-storage-flat-db-cache-weight-kb";
+
     @CommandLine.Option(
         hidden = true,
         names = {BONSAI_LIMIT_TRIE_LOGS_ENABLED, "--Xbonsai-trie-log-pruning-enabled"},
@@ -102,6 +127,65 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         description =
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean bonsaiCodeUsingCodeHashEnabled = DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-parallel-tx-processing-enabled"},
+        arity = "1",
+        description =
+            "Executes the transactions of imported blocks speculatively in parallel. (default: ${DEFAULT-VALUE})")
+    private boolean bonsaiParallelTxProcessingEnabled =
+        DEFAULT_BONSAI_PARALLEL_TX_PROCESSING_ENABLED;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB},
+        arity = "1",
+        description =
+            "Size in kilobytes of the cache of account trie nodes. (default: ${DEFAULT-VALUE})")
+    private long bonsaiAccountTrieNodeCacheWeightKb =
+        DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB},
+        arity = "1",
+        description =
+            "Size in kilobytes of the cache of storage trie nodes. (default: ${DEFAULT-VALUE})")
+    private long bonsaiStorageTrieNodeCacheWeightKb =
+        DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {BONSAI_PINNED_ACCOUNT_TRIE_LEVELS},
+        arity = "1",
+        description =
+            "Number of top levels of the account trie kept in memory regardless of the cache size. (default: ${DEFAULT-VALUE})")
+    private int bonsaiPinnedAccountTrieLevels = DEFAULT_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB},
+        arity = "1",
+        description =
+            "Size in kilobytes of the off-heap cache of flat account values, 0 to disable it. (default: ${DEFAULT-VALUE})")
+    private long bonsaiAccountFlatDbCacheWeightKb = DEFAULT_BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB},
+        arity = "1",
+        description =
+            "Size in kilobytes of the off-heap cache of flat storage values, 0 to disable it. (default: ${DEFAULT-VALUE})")
+    private long bonsaiStorageFlatDbCacheWeightKb = DEFAULT_BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-compact-trie-log-enabled"},
+        arity = "1",
+        description =
+            "Writes the trie logs in the compact encoding, which older versions cannot read. (default: ${DEFAULT-VALUE})")
+    private boolean bonsaiCompactTrieLogEnabled = DEFAULT_BONSAI_COMPACT_TRIE_LOG_ENABLED;
   }
   /**
    * Create data storage options.
@@ -118,6 +202,44 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
    * @param commandLine the full commandLine to check all the options specified by the user
    */
   public void validate(final CommandLine commandLine) {
+    if (unstableOptions.bonsaiAccountTrieNodeCacheWeightKb <= 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          String.format(
+              Unstable.BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB + "=%d must be greater than 0",
+              unstableOptions.bonsaiAccountTrieNodeCacheWeightKb));
+    }
+    if (unstableOptions.bonsaiStorageTrieNodeCacheWeightKb <= 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          String.format(
+              Unstable.BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB + "=%d must be greater than 0",
+              unstableOptions.bonsaiStorageTrieNodeCacheWeightKb));
+    }
+    if (unstableOptions.bonsaiPinnedAccountTrieLevels < 0
+        || unstableOptions.bonsaiPinnedAccountTrieLevels
+            > Unstable.MAX_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          String.format(
+              Unstable.BONSAI_PINNED_ACCOUNT_TRIE_LEVELS + "=%d must be between 0 and %d",
+              unstableOptions.bonsaiPinnedAccountTrieLevels,
+              Unstable.MAX_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS));
+    }
+    if (unstableOptions.bonsaiAccountFlatDbCacheWeightKb < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          String.format(
+              Unstable.BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB + "=%d must not be negative",
+              unstableOptions.bonsaiAccountFlatDbCacheWeightKb));
+    }
+    if (unstableOptions.bonsaiStorageFlatDbCacheWeightKb < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          String.format(
+              Unstable.BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB + "=%d must not be negative",
+              unstableOptions.bonsaiStorageFlatDbCacheWeightKb));
+    }
     if (unstableOptions.bonsaiLimitTrieLogsEnabled) {
       if (bonsaiMaxLayersToLoad < MINIMUM_BONSAI_TRIE_LOG_RETENTION_LIMIT) {
         throw new CommandLine.ParameterException(
@@ -164,6 +286,20 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         domainObject.getUnstable().getBonsaiTrieLogPruningWindowSize();
     dataStorageOptions.unstableOptions.bonsaiCodeUsingCodeHashEnabled =
         domainObject.getUnstable().getBonsaiCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.bonsaiParallelTxProcessingEnabled =
+        domainObject.getUnstable().getBonsaiParallelTxProcessingEnabled();
+    dataStorageOptions.unstableOptions.bonsaiAccountTrieNodeCacheWeightKb =
+        domainObject.getUnstable().getBonsaiAccountTrieNodeCacheWeightKb();
+    dataStorageOptions.unstableOptions.bonsaiStorageTrieNodeCacheWeightKb =
+        domainObject.getUnstable().getBonsaiStorageTrieNodeCacheWeightKb();
+    dataStorageOptions.unstableOptions.bonsaiPinnedAccountTrieLevels =
+        domainObject.getUnstable().getBonsaiPinnedAccountTrieLevels();
+    dataStorageOptions.unstableOptions.bonsaiAccountFlatDbCacheWeightKb =
+        domainObject.getUnstable().getBonsaiAccountFlatDbCacheWeightKb();
+    dataStorageOptions.unstableOptions.bonsaiStorageFlatDbCacheWeightKb =
+        domainObject.getUnstable().getBonsaiStorageFlatDbCacheWeightKb();
+    dataStorageOptions.unstableOptions.bonsaiCompactTrieLogEnabled =
+        domainObject.getUnstable().getBonsaiCompactTrieLogEnabled();
 
     return dataStorageOptions;
   }
@@ -179,6 +315,16 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
                 .bonsaiLimitTrieLogsEnabled(unstableOptions.bonsaiLimitTrieLogsEnabled)
                 .bonsaiTrieLogPruningWindowSize(unstableOptions.bonsaiTrieLogPruningWindowSize)
                 .bonsaiCodeStoredByCodeHashEnabled(unstableOptions.bonsaiCodeUsingCodeHashEnabled)
+                .bonsaiParallelTxProcessingEnabled(
+                    unstableOptions.bonsaiParallelTxProcessingEnabled)
+                .bonsaiAccountTrieNodeCacheWeightKb(
+                    unstableOptions.bonsaiAccountTrieNodeCacheWeightKb)
+                .bonsaiStorageTrieNodeCacheWeightKb(
+                    unstableOptions.bonsaiStorageTrieNodeCacheWeightKb)
+                .bonsaiPinnedAccountTrieLevels(unstableOptions.bonsaiPinnedAccountTrieLevels)
+                .bonsaiAccountFlatDbCacheWeightKb(unstableOptions.bonsaiAccountFlatDbCacheWeightKb)
+                .bonsaiStorageFlatDbCacheWeightKb(unstableOptions.bonsaiStorageFlatDbCacheWeightKb)
+                .bonsaiCompactTrieLogEnabled(unstableOptions.bonsaiCompactTrieLogEnabled)
                 .build())
         .build();
   }
@@ -196,6 +196,30 @@ public class JsonRpcHttpOptions {
           "Specifies the maximum number of requests in a single RPC batch request via RPC. -1 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Integer rpcHttpMaxBatchSize = DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_SIZE;
 
+  @CommandLine.Option(
+      names = {"--rpc-http-max-batch-concurrency"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum number of requests of a single RPC batch request executed concurrently. 1 executes them sequentially (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchConcurrency =
+      DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_CONCURRENCY;
+
+  @CommandLine.Option(
+      names = {"--rpc-http-slow-request-threshold"},
+      paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "Duration in milliseconds from which RPC requests are logged with their parameters, duration and allocated bytes. 0 disables the slow request log (default: ${DEFAULT-VALUE})")
+  private final Long rpcHttpSlowRequestThreshold =
+      DefaultCommandValues.DEFAULT_HTTP_SLOW_REQUEST_THRESHOLD;
+
+  @CommandLine.Option(
+      names = {"--rpc-http-slow-request-sampling-interval"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Log only one in this number of slow RPC requests. 1 logs every slow request (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpSlowRequestSamplingInterval =
+      DefaultCommandValues.DEFAULT_HTTP_SLOW_REQUEST_SAMPLING_INTERVAL;
+
   @CommandLine.Option(
       names = {"--rpc-http-max-request-content-length"},
       paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
@@ -252,6 +276,21 @@ public class JsonRpcHttpOptions {
           "Unable to authenticate JSON-RPC HTTP endpoint without a supplied credentials file or authentication public key file");
     }
 
+    if (rpcHttpMaxBatchConcurrency < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-http-max-batch-concurrency must be greater than 0");
+    }
+
+    if (rpcHttpSlowRequestThreshold < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-http-slow-request-threshold must not be negative");
+    }
+
+    if (rpcHttpSlowRequestSamplingInterval < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-http-slow-request-sampling-interval must be greater than 0");
+    }
+
     checkDependencies(logger, commandLine);
 
     if (isRpcTlsConfigurationRequired()) {
@@ -288,6 +327,9 @@ public class JsonRpcHttpOptions {
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setHttpTimeoutSec(timoutSec);
     jsonRpcConfiguration.setMaxBatchSize(rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setMaxBatchConcurrency(rpcHttpMaxBatchConcurrency);
+    jsonRpcConfiguration.setSlowRequestThresholdMillis(rpcHttpSlowRequestThreshold);
+    jsonRpcConfiguration.setSlowRequestSamplingInterval(rpcHttpSlowRequestSamplingInterval);
     jsonRpcConfiguration.setMaxRequestContentLength(rpcHttpMaxRequestContentLength);
     jsonRpcConfiguration.setPrettyJsonEnabled(prettyJsonEnabled);
     return jsonRpcConfiguration;
@@ -108,6 +108,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -184,6 +185,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
   private int numberOfBlocksToCache = 0;
 
+  /** The scheduler of the node, created before the protocol schedule which may use it. */
+  protected EthScheduler ethScheduler;
+
   /**
    * Provide a BesuComponent which can be used to get other dependencies
    *
@@ -525,6 +529,14 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     checkNotNull(dataStorageConfiguration, "Missing data storage configuration");
     prepForBuild();
 
+    final EthScheduler scheduler =
+        new EthScheduler(
+            syncConfig.getDownloaderParallelism(),
+            syncConfig.getTransactionsParallelism(),
+            syncConfig.getComputationParallelism(),
+            metricsSystem);
+    ethScheduler = scheduler;
+
     final ProtocolSchedule protocolSchedule = createProtocolSchedule();
     final GenesisState genesisState =
         GenesisState.fromConfig(dataStorageConfiguration, genesisConfig, protocolSchedule);
@@ -550,7 +562,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(
+                () -> new BonsaiCachedMerkleTrieLoader(metricsSystem, dataStorageConfiguration));
 
     final WorldStateArchive worldStateArchive =
         createWorldStateArchive(
@@ -597,13 +610,6 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final EthMessages ethMessages = new EthMessages();
     final EthMessages snapMessages = new EthMessages();
 
-    final EthScheduler scheduler =
-        new EthScheduler(
-            syncConfig.getDownloaderParallelism(),
-            syncConfig.getTransactionsParallelism(),
-            syncConfig.getComputationParallelism(),
-            metricsSystem);
-
     final GenesisConfigOptions configOptions =
         genesisConfig.getConfigOptions(genesisConfigOverrides);
 
@@ -896,6 +902,21 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
    */
   protected abstract ProtocolSchedule createProtocolSchedule();
 
+  /**
+   * The executor of the block transactions executed speculatively in parallel, if enabled, which
+   * is only supported on top of Bonsai.
+   *
+   * @return the executor of the parallel transactions, or empty if they are executed sequentially
+   */
+  protected Optional<Executor> parallelTxProcessingExecutor() {
+    if (DataStorageFormat.BONSAI.equals(dataStorageConfiguration.getDataStorageFormat())
+        && dataStorageConfiguration.getUnstable().getBonsaiParallelTxProcessingEnabled()) {
+      checkNotNull(ethScheduler, "Missing eth scheduler");
+      return Optional.of(ethScheduler::scheduleParallelTxTask);
+    }
+    return Optional.empty();
+  }
+
   /**
    * Validate context.
    *
@@ -96,7 +96,8 @@ public class MainnetBesuControllerBuilder extends BesuControllerBuilder {
         isRevertReasonEnabled,
         evmConfiguration,
         miningParameters,
-        badBlockManager);
+        badBlockManager,
+        parallelTxProcessingExecutor());
   }
 
   @Override
@@ -177,7 +177,8 @@ public class MergeBesuControllerBuilder extends BesuControllerBuilder {
         privacyParameters,
         isRevertReasonEnabled,
         miningParameters,
-        badBlockManager);
+        badBlockManager,
+        parallelTxProcessingExecutor());
   }
 
   @Override
@@ -173,6 +173,9 @@ public class TransitionBesuControllerBuilder extends BesuControllerBuilder {
 
   @Override
   protected ProtocolSchedule createProtocolSchedule() {
+    // the protocol schedules of both builders execute transactions on the scheduler of this one
+    preMergeBesuControllerBuilder.ethScheduler = ethScheduler;
+    mergeBesuControllerBuilder.ethScheduler = ethScheduler;
     transitionProtocolSchedule =
         new TransitionProtocolSchedule(
             preMergeBesuControllerBuilder.createProtocolSchedule(),
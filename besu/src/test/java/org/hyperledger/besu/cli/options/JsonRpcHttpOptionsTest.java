@@ -854,6 +854,64 @@ public class JsonRpcHttpOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcHttpMaxBatchConcurrencyOptionMustBeUsed() {
+    final int rpcHttpMaxBatchConcurrency = 8;
+    parseCommand(
+        "--rpc-http-max-batch-concurrency", Integer.toString(rpcHttpMaxBatchConcurrency));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchConcurrency())
+        .isEqualTo(rpcHttpMaxBatchConcurrency);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpMaxBatchConcurrencyMustBeGreaterThanZero() {
+    parseCommand("--rpc-http-max-batch-concurrency", "0");
+
+    verifyNoInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-http-max-batch-concurrency must be greater than 0");
+  }
+
+  @Test
+  public void rpcHttpSlowRequestLogOptionsMustBeUsed() {
+    parseCommand(
+        "--rpc-http-slow-request-threshold",
+        "500",
+        "--rpc-http-slow-request-sampling-interval",
+        "10");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getSlowRequestThresholdMillis())
+        .isEqualTo(500);
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getSlowRequestSamplingInterval())
+        .isEqualTo(10);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpSlowRequestSamplingIntervalMustBeGreaterThanZero() {
+    parseCommand("--rpc-http-slow-request-sampling-interval", "0");
+
+    verifyNoInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-http-slow-request-sampling-interval must be greater than 0");
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
@@ -312,6 +312,24 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningParameters,
         "17000");
   }
 
+  @Test
+  public void txsSelectionSpeculativeLookaheadOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getTxsSelectionSpeculativeLookahead())
+                .isEqualTo(16),
+        "--Xtxs-selection-speculative-lookahead",
+        "16");
+  }
+
+  @Test
+  public void txsSelectionSpeculativeLookaheadMustNotBeNegative() {
+    internalTestFailure(
+        "--Xtxs-selection-speculative-lookahead must not be negative",
+        "--Xtxs-selection-speculative-lookahead",
+        "-1");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -110,6 +110,103 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void bonsaiParallelTxProcessingCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration.getUnstable().getBonsaiParallelTxProcessingEnabled())
+                .isEqualTo(true),
+        "--Xbonsai-parallel-tx-processing-enabled",
+        "true");
+  }
+
+  @Test
+  public void bonsaiCompactTrieLogCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getUnstable().getBonsaiCompactTrieLogEnabled())
+                .isEqualTo(true),
+        "--Xbonsai-compact-trie-log-enabled",
+        "true");
+  }
+
+  @Test
+  public void bonsaiTrieNodeCacheOptions() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          assertThat(dataStorageConfiguration.getUnstable().getBonsaiAccountTrieNodeCacheWeightKb())
+              .isEqualTo(1024);
+          assertThat(dataStorageConfiguration.getUnstable().getBonsaiStorageTrieNodeCacheWeightKb())
+              .isEqualTo(2048);
+          assertThat(dataStorageConfiguration.getUnstable().getBonsaiPinnedAccountTrieLevels())
+              .isEqualTo(4);
+        },
+        "--Xbonsai-account-trie-node-cache-weight-kb",
+        "1024",
+        "--Xbonsai-storage-trie-node-cache-weight-kb",
+        "2048",
+        "--Xbonsai-pinned-account-trie-levels",
+        "4");
+  }
+
+  @Test
+  public void bonsaiPinnedAccountTrieLevelsShouldNotBeNegative() {
+    internalTestFailure(
+        "--Xbonsai-pinned-account-trie-levels=-1 must be between 0 and 64",
+        "--Xbonsai-pinned-account-trie-levels",
+        "-1");
+  }
+
+  @Test
+  public void bonsaiPinnedAccountTrieLevelsShouldNotExceedTrieDepth() {
+    internalTestFailure(
+        "--Xbonsai-pinned-account-trie-levels=65 must be between 0 and 64",
+        "--Xbonsai-pinned-account-trie-levels",
+        "65");
+  }
+
+  @Test
+  public void bonsaiPinnedAccountTrieLevelsCanBeTrieDepth() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getUnstable().getBonsaiPinnedAccountTrieLevels())
+                .isEqualTo(64),
+        "--Xbonsai-pinned-account-trie-levels",
+        "64");
+  }
+
+  @Test
+  public void bonsaiTrieNodeCacheWeightShouldBePositive() {
+    internalTestFailure(
+        "--Xbonsai-account-trie-node-cache-weight-kb=0 must be greater than 0",
+        "--Xbonsai-account-trie-node-cache-weight-kb",
+        "0");
+  }
+
+  @Test
+  public void bonsaiFlatDbCacheOptions() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          assertThat(dataStorageConfiguration.getUnstable().getBonsaiAccountFlatDbCacheWeightKb())
+              .isEqualTo(1024);
+          assertThat(dataStorageConfiguration.getUnstable().getBonsaiStorageFlatDbCacheWeightKb())
+              .isEqualTo(4096);
+        },
+        "--Xbonsai-account-flat-db-cache-weight-kb",
+        "1024",
+        "--Xbonsai-storage-flat-db-cache-weight-kb",
+        "4096");
+  }
+
+  @Test
+  public void bonsaiFlatDbCacheWeightShouldNotBeNegative() {
+    internalTestFailure(
+        "--Xbonsai-storage-flat-db-cache-weight-kb=-1 must not be negative",
+        "--Xbonsai-storage-flat-db-cache-weight-kb",
+        "-1");
+  }
+
   @Test
   public void receiptCompactionCanBeEnabled() {
     internalTestSuccess(
@@ -32,6 +32,7 @@ import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /** The Merge protocol schedule. */
@@ -77,6 +78,34 @@ public class MergeProtocolSchedule {
       final boolean isRevertReasonEnabled,
       final MiningParameters miningParameters,
       final BadBlockManager badBlockManager) {
+    return create(
+        config,
+        privacyParameters,
+        isRevertReasonEnabled,
+        miningParameters,
+        badBlockManager,
+        Optional.empty());
+  }
+
+  /**
+   * Create protocol schedule.
+   *
+   * @param config the config
+   * @param privacyParameters the privacy parameters
+   * @param isRevertReasonEnabled the is revert reason enabled
+   * @param miningParameters the mining parameters
+   * @param badBlockManager the cache to use to keep invalid blocks
+   * @param parallelTxProcessingExecutor the executor of the block transactions executed
+   *     speculatively in parallel, or empty to execute them sequentially
+   * @return the protocol schedule
+   */
+  public static ProtocolSchedule create(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final boolean isRevertReasonEnabled,
+      final MiningParameters miningParameters,
+      final BadBlockManager badBlockManager,
+      final Optional<Executor> parallelTxProcessingExecutor) {
 
     Map<Long, Function<ProtocolSpecBuilder, ProtocolSpecBuilder>> postMergeModifications =
         new HashMap<>();
@@ -95,7 +124,8 @@ public class MergeProtocolSchedule {
             isRevertReasonEnabled,
             EvmConfiguration.DEFAULT,
             miningParameters,
-            badBlockManager)
+            badBlockManager,
+            parallelTxProcessingExecutor)
         .createProtocolSchedule();
   }
 
@@ -14,10 +14,21 @@
  */
 package org.hyperledger.besu.crypto;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.math.ec.ECPoint;
@@ -28,6 +39,9 @@ public interface SignatureAlgorithm {
   // needs to be known at compile time otherwise triggers InsecureCryptoUsage error
   String ALGORITHM = "ECDSA";
 
+  /** The number of signatures of the slices a batch recovery is split into. */
+  int PARALLEL_RECOVERY_THRESHOLD = 16;
+
   /** Disable native. */
   void disableNative();
 
@@ -167,6 +181,67 @@ public interface SignatureAlgorithm {
   Optional<SECPPublicKey> recoverPublicKeyFromSignature(
       final Bytes32 dataHash, final SECPSignature signature);
 
+  /**
+   * Recover the public keys from a batch of signatures. The batch is split into slices of {@link
+   * #PARALLEL_RECOVERY_THRESHOLD} signatures, which are shared between the calling thread and the
+   * executor. The calling thread also recovers the slices the executor has not started, so the
+   * recovery does not depend on the executor running them.
+   *
+   * @param dataHashes the data hashes
+   * @param signatures the signatures, in the order of the data hashes
+   * @param executor the executor sharing the recovery with the calling thread
+   * @return the optional public keys, in the order of the signatures, empty for the signatures
+   *     whose public key could not be recovered
+   */
+  default List<Optional<SECPPublicKey>> recoverPublicKeysFromSignatures(
+      final List<Bytes32> dataHashes,
+      final List<SECPSignature> signatures,
+      final Executor executor) {
+    checkArgument(
+        dataHashes.size() == signatures.size(),
+        "Got %s data hashes for %s signatures",
+        dataHashes.size(),
+        signatures.size());
+    final int sliceSize = PARALLEL_RECOVERY_THRESHOLD;
+    final int sliceCount = (signatures.size() + sliceSize - 1) / sliceSize;
+    final AtomicReferenceArray<Optional<SECPPublicKey>> publicKeys =
+        new AtomicReferenceArray<>(signatures.size());
+    final AtomicInteger nextSlice = new AtomicInteger();
+    final CountDownLatch recoveredSlices = new CountDownLatch(sliceCount);
+    final Runnable recoverSlices =
+        () -> {
+          for (int slice = nextSlice.getAndIncrement();
+              slice < sliceCount;
+              slice = nextSlice.getAndIncrement()) {
+            try {
+              final int from = slice * sliceSize;
+              final int to = Math.min(signatures.size(), from + sliceSize);
+              for (int i = from; i < to; i++) {
+                publicKeys.set(
+                    i, recoverPublicKeyFromSignature(dataHashes.get(i), signatures.get(i)));
+              }
+            } finally {
+              recoveredSlices.countDown();
+            }
+          }
+        };
+    try {
+      for (int i = 1; i < sliceCount; i++) {
+        executor.execute(recoverSlices);
+      }
+    } catch (final RejectedExecutionException e) {
+      // the calling thread recovers the slices left
+    }
+    recoverSlices.run();
+    // the slices left are being recovered by the executor
+    Uninterruptibles.awaitUninterruptibly(recoveredSlices);
+    // a slice which failed on the executor leaves its public keys unrecovered
+    return IntStream.range(0, signatures.size())
+        .mapToObj(
+            i -> Objects.requireNonNullElse(publicKeys.get(i), Optional.<SECPPublicKey>empty()))
+        .toList();
+  }
+
   /**
    * Public key as EcPoint.
    *
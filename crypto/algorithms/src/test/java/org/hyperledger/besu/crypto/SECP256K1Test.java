@@ -25,6 +25,11 @@ import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -83,6 +88,36 @@ public class SECP256K1Test {
     assertThat(recoveredPublicKey.toString()).isEqualTo(keyPair.getPublicKey().toString());
   }
 
+  @Test
+  public void recoverPublicKeysFromSignatures() {
+    final List<KeyPair> keyPairs = new ArrayList<>();
+    final List<Bytes32> dataHashes = new ArrayList<>();
+    final List<SECPSignature> signatures = new ArrayList<>();
+    for (int i = 0; i < SignatureAlgorithm.PARALLEL_RECOVERY_THRESHOLD * 3 + 1; i++) {
+      final KeyPair keyPair = secp256K1.generateKeyPair();
+      final Bytes32 dataHash = keccak256(Bytes.ofUnsignedInt(i));
+      keyPairs.add(keyPair);
+      dataHashes.add(dataHash);
+      signatures.add(secp256K1.sign(dataHash, keyPair));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final List<Optional<SECPPublicKey>> recoveredPublicKeys =
+          secp256K1.recoverPublicKeysFromSignatures(dataHashes, signatures, executor);
+      assertThat(recoveredPublicKeys)
+          .containsExactlyElementsOf(
+              keyPairs.stream().map(keyPair -> Optional.of(keyPair.getPublicKey())).toList());
+      assertThatThrownBy(
+              () ->
+                  secp256K1.recoverPublicKeysFromSignatures(
+                      dataHashes, signatures.subList(0, 1), executor))
+          .isInstanceOf(IllegalArgumentException.class);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void signatureGeneration() {
     final SECPPrivateKey privateKey =
@@ -25,11 +25,12 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponseType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.testutil.BlockTestUtil;
 
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import org.junit.jupiter.api.BeforeAll;
@@ -70,12 +71,13 @@ public class DebugTraceTransactionIntegrationTest {
 
     final JsonRpcResponse response = method.response(request);
     assertThat(response.getType()).isEqualTo(JsonRpcResponseType.SUCCESS);
-    DebugTraceTransactionResult debugTraceTransactionResult =
-        (DebugTraceTransactionResult) ((JsonRpcSuccessResponse) response).getResult();
-    assertThat(debugTraceTransactionResult.getGas()).isEqualTo(23705L);
-    assertThat(debugTraceTransactionResult.getReturnValue()).isEmpty();
-    assertThat(debugTraceTransactionResult.failed()).isFalse();
-    assertThat(debugTraceTransactionResult.getStructLogs()).hasSize(106);
+    // the transaction is traced when the result is serialized
+    final JsonNode debugTraceTransactionResult =
+        new ObjectMapper().valueToTree(((JsonRpcSuccessResponse) response).getResult());
+    assertThat(debugTraceTransactionResult.get("gas").asLong()).isEqualTo(23705L);
+    assertThat(debugTraceTransactionResult.get("returnValue").asText()).isEmpty();
+    assertThat(debugTraceTransactionResult.get("failed").asBoolean()).isFalse();
+    assertThat(debugTraceTransactionResult.get("structLogs").size()).isEqualTo(106);
   }
 
   @Test
@@ -82,4 +82,9 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  @Value.Default
+  public boolean isTraceIndexEnabled() {
+    return false;
+  }
 }
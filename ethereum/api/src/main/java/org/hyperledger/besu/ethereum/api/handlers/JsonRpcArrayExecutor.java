@@ -26,8 +26,18 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.base.Throwables;
 import io.opentelemetry.api.trace.Tracer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
@@ -35,12 +45,35 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private final Optional<Executor> batchExecutor;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, Optional.empty());
+  }
+
+  /**
+   * Creates a new JsonRpcArrayExecutor.
+   *
+   * @param jsonRpcExecutor The executor used to process the JSON RPC requests.
+   * @param tracer The tracer used for monitoring and debugging purposes.
+   * @param ctx The context of the routing, containing information about the HTTP request and
+   *     response.
+   * @param jsonRpcConfiguration The configuration for JSON RPC operations
+   * @param batchExecutor The executor running the requests of a batch alongside the calling thread,
+   *     up to the configured max batch concurrency per batch, or empty to run them sequentially
+   */
+  public JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<Executor> batchExecutor) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.batchExecutor = batchExecutor;
   }
 
   /**
@@ -63,7 +96,8 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   }
 
   /**
-   * Executes a batch of RPC requests.
+   * Executes a batch of RPC requests. The responses are streamed in the order of the requests, even
+   * when the requests are executed concurrently.
    *
    * @param rpcRequestBatch the batch of RPC requests.
    * @param streamer the JsonResponseStreamer to use.
@@ -72,16 +106,93 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
-      for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != JsonRpcResponseType.NONE) {
-          generator.writeObject(response);
+      final int maxConcurrency = jsonRpcConfiguration.getMaxBatchConcurrency();
+      if (batchExecutor.isPresent() && maxConcurrency > 1 && rpcRequestBatch.size() > 1) {
+        executeConcurrently(rpcRequestBatch, batchExecutor.get(), maxConcurrency, generator);
+      } else {
+        for (int i = 0; i < rpcRequestBatch.size(); i++) {
+          writeResponse(generator, processMaybeRequest(rpcRequestBatch.getValue(i)));
         }
       }
       generator.writeEndArray();
     }
   }
 
+  /**
+   * Executes the requests of a batch on the calling thread and on an executor, with at most a given
+   * number of them executed at once, and writes each response as soon as the ones of all the
+   * previous requests are written. The limit applies to each batch, so the calling thread executes
+   * the requests the executor has not started rather than waiting for them, and the batch does not
+   * depend on the executor having a thread available.
+   *
+   * @param rpcRequestBatch the batch of RPC requests.
+   * @param executor the executor sharing the requests with the calling thread.
+   * @param maxConcurrency the maximum number of requests of the batch executed at once.
+   * @param generator the generator to write the responses to.
+   */
+  private void executeConcurrently(
+      final JsonArray rpcRequestBatch,
+      final Executor executor,
+      final int maxConcurrency,
+      final JsonGenerator generator)
+      throws IOException {
+    final int size = rpcRequestBatch.size();
+    final List<CompletableFuture<JsonRpcResponse>> responses =
+        Stream.generate(CompletableFuture<JsonRpcResponse>::new).limit(size).toList();
+    final AtomicInteger nextRequest = new AtomicInteger();
+    final BooleanSupplier executeNextRequest =
+        () -> {
+          final int request = nextRequest.getAndIncrement();
+          if (request >= size) {
+            return false;
+          }
+          try {
+            responses.get(request).complete(processMaybeRequest(rpcRequestBatch.getValue(request)));
+          } catch (final RuntimeException e) {
+            responses.get(request).completeExceptionally(e);
+          }
+          return true;
+        };
+    try {
+      for (int i = 1; i < Math.min(maxConcurrency, size); i++) {
+        executor.execute(
+            () -> {
+              while (executeNextRequest.getAsBoolean()) {
+                // executes the requests of the batch until they are all started
+              }
+            });
+      }
+      for (final CompletableFuture<JsonRpcResponse> response : responses) {
+        while (!response.isDone() && executeNextRequest.getAsBoolean()) {
+          // executes the requests not started yet while the response is computed
+        }
+        writeResponse(generator, awaitResponse(response));
+      }
+    } finally {
+      // the requests not started yet are not needed anymore if the batch failed
+      nextRequest.set(size);
+    }
+  }
+
+  private static JsonRpcResponse awaitResponse(final Future<JsonRpcResponse> response) {
+    try {
+      return response.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (final ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static void writeResponse(final JsonGenerator generator, final JsonRpcResponse response)
+      throws IOException {
+    if (response.getType() != JsonRpcResponseType.NONE) {
+      generator.writeObject(response);
+    }
+  }
+
   /**
    * Processes a single RPC request.
    *
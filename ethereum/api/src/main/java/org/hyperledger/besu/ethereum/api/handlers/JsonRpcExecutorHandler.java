@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.opentelemetry.api.trace.Tracer;
@@ -48,9 +49,17 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    return handler(jsonRpcExecutor, tracer, jsonRpcConfiguration, Optional.empty());
+  }
+
+  public static Handler<RoutingContext> handler(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<Executor> batchExecutor) {
     return ctx -> {
       try {
-        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration)
+        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchExecutor)
             .ifPresentOrElse(
                 executor -> {
                   try {
@@ -72,14 +81,16 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
-      final JsonRpcConfiguration jsonRpcConfiguration) {
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<Executor> batchExecutor) {
     if (isJsonObjectRequest(ctx)) {
       return Optional.of(
           new JsonRpcObjectExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
     }
     if (isJsonArrayRequest(ctx)) {
       return Optional.of(
-          new JsonRpcArrayExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
+          new JsonRpcArrayExecutor(
+              jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchExecutor));
     }
     return Optional.empty();
   }
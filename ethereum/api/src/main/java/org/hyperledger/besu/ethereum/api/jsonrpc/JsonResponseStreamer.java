@@ -15,9 +15,16 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.annotations.VisibleForTesting;
+import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.net.SocketAddress;
@@ -27,9 +34,13 @@ import org.slf4j.LoggerFactory;
 public class JsonResponseStreamer extends OutputStream {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonResponseStreamer.class);
+  private static final long DRAIN_POLL_MILLIS = 100;
+  // a streamed result may hold resources, such as a world state, until it is written
+  private static final long DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
+  private final long drainTimeoutMillis;
   private final byte[] singleByteBuf = new byte[1];
   private boolean chunked = false;
   private boolean closed = false;
@@ -37,8 +48,17 @@ public class JsonResponseStreamer extends OutputStream {
 
   public JsonResponseStreamer(
       final HttpServerResponse response, final SocketAddress socketAddress) {
+    this(response, socketAddress, DRAIN_TIMEOUT_MILLIS);
+  }
+
+  @VisibleForTesting
+  JsonResponseStreamer(
+      final HttpServerResponse response,
+      final SocketAddress socketAddress,
+      final long drainTimeoutMillis) {
     this.response = response;
     this.remoteAddress = socketAddress;
+    this.drainTimeoutMillis = drainTimeoutMillis;
     this.response.exceptionHandler(
         event -> {
           LOG.debug("Write to remote address {} failed", remoteAddress, event);
@@ -64,6 +84,39 @@ public class JsonResponseStreamer extends OutputStream {
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
+    awaitDrainIfFull();
+  }
+
+  /**
+   * Blocks a worker thread writing a large response until the client has read enough of it, so that
+   * the pending writes, and the memory they hold, stay bounded by the write queue of the response.
+   * Fails if the client has not read anything for longer than the drain timeout.
+   */
+  private void awaitDrainIfFull() throws IOException {
+    if (!response.writeQueueFull() || Context.isOnEventLoopThread()) {
+      return;
+    }
+    final CompletableFuture<Void> drained = new CompletableFuture<>();
+    response.drainHandler(unused -> drained.complete(null));
+    final long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+    while (response.writeQueueFull()) {
+      try {
+        drained.get(DRAIN_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        return;
+      } catch (final TimeoutException e) {
+        // the drain handler is not called if the connection fails in the meantime
+        stopOnFailureOrClosed();
+        if (System.currentTimeMillis() > deadline) {
+          throw new IOException(
+              "Timed out waiting for remote address " + remoteAddress + " to read the response");
+        }
+      } catch (final ExecutionException e) {
+        throw new IOException(e.getCause());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the response to drain");
+      }
+    }
   }
 
   @Override
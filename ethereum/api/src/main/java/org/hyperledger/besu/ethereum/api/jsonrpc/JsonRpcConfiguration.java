@@ -37,6 +37,9 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_BATCH_CONCURRENCY = 1;
+  public static final long DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS = 0;
+  public static final int DEFAULT_SLOW_REQUEST_SAMPLING_INTERVAL = 1;
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 5 * 1024 * 1024; // 5MB
   public static final boolean DEFAULT_PRETTY_JSON_ENABLED = false;
 
@@ -55,6 +58,9 @@ public class JsonRpcConfiguration {
   private long httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int maxBatchConcurrency;
+  private long slowRequestThresholdMillis;
+  private int slowRequestSamplingInterval;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
 
@@ -67,6 +73,9 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setMaxBatchConcurrency(DEFAULT_MAX_BATCH_CONCURRENCY);
+    config.setSlowRequestThresholdMillis(DEFAULT_SLOW_REQUEST_THRESHOLD_MILLIS);
+    config.setSlowRequestSamplingInterval(DEFAULT_SLOW_REQUEST_SAMPLING_INTERVAL);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
     config.setPrettyJsonEnabled(DEFAULT_PRETTY_JSON_ENABLED);
     return config;
@@ -223,6 +232,9 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("maxBatchConcurrency", maxBatchConcurrency)
+        .add("slowRequestThresholdMillis", slowRequestThresholdMillis)
+        .add("slowRequestSamplingInterval", slowRequestSamplingInterval)
         .toString();
   }
 
@@ -244,7 +256,10 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && maxBatchConcurrency == that.maxBatchConcurrency
+        && slowRequestThresholdMillis == that.slowRequestThresholdMillis
+        && slowRequestSamplingInterval == that.slowRequestSamplingInterval;
   }
 
   @Override
@@ -259,7 +274,10 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        maxBatchConcurrency,
+        slowRequestThresholdMillis,
+        slowRequestSamplingInterval);
   }
 
   public int getMaxActiveConnections() {
@@ -278,6 +296,46 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  /**
+   * Gets the maximum number of requests of a batch executed concurrently.
+   *
+   * @return the maximum number of requests of a batch executed concurrently, 1 to execute them
+   *     sequentially
+   */
+  public int getMaxBatchConcurrency() {
+    return maxBatchConcurrency;
+  }
+
+  public void setMaxBatchConcurrency(final int maxBatchConcurrency) {
+    this.maxBatchConcurrency = maxBatchConcurrency;
+  }
+
+  /**
+   * Gets the duration from which the requests are logged as slow requests.
+   *
+   * @return the duration in milliseconds from which the requests are logged, 0 to log none
+   */
+  public long getSlowRequestThresholdMillis() {
+    return slowRequestThresholdMillis;
+  }
+
+  public void setSlowRequestThresholdMillis(final long slowRequestThresholdMillis) {
+    this.slowRequestThresholdMillis = slowRequestThresholdMillis;
+  }
+
+  /**
+   * Gets the interval at which the slow requests are sampled for the slow request log.
+   *
+   * @return the interval at which the slow requests are logged, 1 to log every slow request
+   */
+  public int getSlowRequestSamplingInterval() {
+    return slowRequestSamplingInterval;
+  }
+
+  public void setSlowRequestSamplingInterval(final int slowRequestSamplingInterval) {
+    this.slowRequestSamplingInterval = slowRequestSamplingInterval;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
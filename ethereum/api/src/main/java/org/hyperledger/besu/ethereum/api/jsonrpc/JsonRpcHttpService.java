@@ -24,6 +24,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthentic
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.SlowRequestLoggingJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -50,6 +52,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
@@ -124,10 +127,12 @@ public class JsonRpcHttpService {
   private final NatService natService;
   private final Path dataDir;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final LabelledMetric<OperationTimer> requestShapeTimer;
   private TracerProvider tracerProvider;
   private Tracer tracer;
   private final int maxActiveConnections;
   private final AtomicInteger activeConnectionsCount = new AtomicInteger();
+  private final Optional<Executor> batchExecutor;
 
   @VisibleForTesting public final Optional<AuthenticationService> authenticationService;
 
@@ -185,6 +190,13 @@ public class JsonRpcHttpService {
             "request_time",
             "Time taken to process a JSON-RPC request",
             "methodName");
+    requestShapeTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.RPC,
+            "request_shape_time",
+            "Time taken to process a JSON-RPC request by shape of its parameters",
+            "methodName",
+            "shape");
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.RPC,
@@ -201,11 +213,28 @@ public class JsonRpcHttpService {
     this.livenessService = livenessService;
     this.readinessService = readinessService;
     this.maxActiveConnections = config.getMaxActiveConnections();
+    this.batchExecutor =
+        config.getMaxBatchConcurrency() > 1
+            ? Optional.of(this::executeBatchRequests)
+            : Optional.empty();
     if (metricsSystem instanceof OpenTelemetrySystem) {
       this.tracerProvider = ((OpenTelemetrySystem) metricsSystem).getTracerProvider();
     }
   }
 
+  /**
+   * Executes requests of a batch on the worker pool, alongside the thread handling the batch, which
+   * limits how many requests of the batch are executed at once.
+   */
+  private void executeBatchRequests(final Runnable command) {
+    vertx.executeBlocking(
+        promise -> {
+          command.run();
+          promise.complete();
+        },
+        false);
+  }
+
   private void validateConfig(final JsonRpcConfiguration config) {
     checkArgument(
         config.getPort() == 0 || NetworkUtility.isValidPort(config.getPort()),
@@ -343,23 +372,21 @@ public class JsonRpcHttpService {
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
-                      new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()), requestTimer),
+                      createRpcProcessor(),
                       authenticationService.get(),
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchExecutor),
           false);
     } else {
       mainRoute.blockingHandler(
           HandlerFactory.jsonRpcExecutor(
-              new JsonRpcExecutor(
-                  new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()), requestTimer),
-                  rpcMethods),
+              new JsonRpcExecutor(createRpcProcessor(), rpcMethods),
               tracer,
-              config),
+              config,
+              batchExecutor),
           false);
     }
 
@@ -379,6 +406,21 @@ public class JsonRpcHttpService {
     return router;
   }
 
+  private JsonRpcProcessor createRpcProcessor() {
+    final JsonRpcProcessor processor =
+        new TimedJsonRpcProcessor(
+            new TracedJsonRpcProcessor(new BaseJsonRpcProcessor()),
+            requestTimer,
+            requestShapeTimer);
+    if (config.getSlowRequestThresholdMillis() > 0) {
+      return new SlowRequestLoggingJsonRpcProcessor(
+          processor,
+          config.getSlowRequestThresholdMillis(),
+          config.getSlowRequestSamplingInterval());
+    }
+    return processor;
+  }
+
   private void createSpan(final RoutingContext routingContext) {
     final SocketAddress address = routingContext.request().connection().remoteAddress();
 
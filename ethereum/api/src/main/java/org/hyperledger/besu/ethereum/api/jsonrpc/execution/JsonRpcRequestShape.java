@@ -0,0 +1,129 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Classifies the requests by the shape of their parameters, so that the latencies of the same
+ * method can be told apart by the width of the block range of a filter, the trace types, or the
+ * tracer and its options. The shapes come from a bounded set to keep the cardinality of the metrics
+ * low.
+ */
+public final class JsonRpcRequestShape {
+
+  /** The shape of the requests whose parameters are not classified. */
+  public static final String DEFAULT = "default";
+
+  private static final Set<String> TRACE_TYPES = Set.of("trace", "vmTrace", "stateDiff");
+  private static final Set<String> TRACERS =
+      Set.of("callTracer", "flatCallTracer", "prestateTracer", "4byteTracer");
+  private static final List<String> STRUCT_LOG_OPTIONS =
+      List.of("disableStorage", "disableMemory", "disableStack");
+  private static final long[] RANGE_WIDTH_BOUNDS = {1, 10, 100, 1_000, 10_000};
+
+  private JsonRpcRequestShape() {}
+
+  /**
+   * Gets the shape of a request.
+   *
+   * @param request the request
+   * @return the shape of the request, or {@link #DEFAULT} if its parameters are not classified
+   */
+  public static String of(final JsonRpcRequest request) {
+    if (request.getParams() == null) {
+      return DEFAULT;
+    }
+    for (final Object param : request.getParams()) {
+      final String shape;
+      if (param instanceof Map<?, ?> object) {
+        shape = objectShape(object);
+      } else if (param instanceof List<?> list) {
+        shape = traceTypesShape(list);
+      } else {
+        shape = null;
+      }
+      if (shape != null) {
+        return shape;
+      }
+    }
+    return DEFAULT;
+  }
+
+  private static String objectShape(final Map<?, ?> object) {
+    if (object.containsKey("blockHash")) {
+      return "blockHash";
+    }
+    if (object.containsKey("fromBlock") || object.containsKey("toBlock")) {
+      return rangeShape(object.get("fromBlock"), object.get("toBlock"));
+    }
+    if (object.get("tracer") instanceof String tracer) {
+      return "tracer:" + (TRACERS.contains(tracer) ? tracer : "other");
+    }
+    if (STRUCT_LOG_OPTIONS.stream().anyMatch(object::containsKey)) {
+      final StringBuilder shape = new StringBuilder("structLogs");
+      for (final String option : STRUCT_LOG_OPTIONS) {
+        if (!Boolean.parseBoolean(String.valueOf(object.get(option)))) {
+          shape.append(':').append(option.substring("disable".length()).toLowerCase(Locale.ROOT));
+        }
+      }
+      return shape.toString();
+    }
+    return null;
+  }
+
+  private static String rangeShape(final Object fromBlock, final Object toBlock) {
+    final long from = blockNumber(fromBlock);
+    final long to = blockNumber(toBlock);
+    if (from < 0 || to < 0) {
+      return "range:tag";
+    }
+    final long width = to - from + 1;
+    for (final long bound : RANGE_WIDTH_BOUNDS) {
+      if (width <= bound) {
+        return "range:" + bound;
+      }
+    }
+    return "range:max";
+  }
+
+  private static long blockNumber(final Object block) {
+    if (block instanceof String hex && hex.startsWith("0x")) {
+      try {
+        return Long.parseLong(hex.substring(2), 16);
+      } catch (final NumberFormatException e) {
+        return -1;
+      }
+    }
+    return block instanceof Number number ? number.longValue() : -1;
+  }
+
+  private static String traceTypesShape(final List<?> list) {
+    final Set<String> traceTypes = new TreeSet<>();
+    for (final Object element : list) {
+      if (!(element instanceof String traceType) || !TRACE_TYPES.contains(traceType)) {
+        return null;
+      }
+      traceTypes.add(traceType);
+    }
+    return traceTypes.isEmpty() ? null : "traceTypes:" + String.join("+", traceTypes);
+  }
+}
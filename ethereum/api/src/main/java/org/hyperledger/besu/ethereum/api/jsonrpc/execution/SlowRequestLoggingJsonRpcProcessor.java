@@ -0,0 +1,193 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.opentelemetry.api.trace.Span;
+import io.vertx.core.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the requests taking at least a threshold to process, with their parameters, duration and
+ * the bytes allocated by the thread processing them. A request whose result is streamed is only
+ * measured once its result is written, as the result does the work of the request while it is
+ * written. Only one every sampling interval slow requests is logged, so that a burst of slow
+ * requests does not flood the log.
+ */
+public class SlowRequestLoggingJsonRpcProcessor implements JsonRpcProcessor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SlowRequestLoggingJsonRpcProcessor.class);
+  private static final int MAX_LOGGED_PARAMS_LENGTH = 1024;
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final long thresholdNanos;
+  private final int samplingInterval;
+  private final Consumer<SlowRequest> slowRequestLogger;
+  private final AtomicLong slowRequestCount = new AtomicLong();
+
+  /**
+   * Creates a processor logging the slow requests.
+   *
+   * @param rpcProcessor the processor of the requests
+   * @param thresholdMillis the duration from which the requests are logged
+   * @param samplingInterval the interval at which the slow requests are logged, 1 to log all
+   */
+  public SlowRequestLoggingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final long thresholdMillis, final int samplingInterval) {
+    this(rpcProcessor, thresholdMillis, samplingInterval, SlowRequestLoggingJsonRpcProcessor::log);
+  }
+
+  @VisibleForTesting
+  SlowRequestLoggingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor,
+      final long thresholdMillis,
+      final int samplingInterval,
+      final Consumer<SlowRequest> slowRequestLogger) {
+    checkArgument(thresholdMillis > 0, "The slow request threshold must be positive");
+    checkArgument(samplingInterval > 0, "The slow request sampling interval must be positive");
+    this.rpcProcessor = rpcProcessor;
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    this.samplingInterval = samplingInterval;
+    this.slowRequestLogger = slowRequestLogger;
+  }
+
+  /**
+   * Processes a request, measuring it until its response is processed, or until its result is
+   * written if it is a {@link StreamedResult}, whose work is done as it is written. The bytes
+   * allocated by the thread writing a streamed result are then counted as well.
+   */
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    final long allocatedBytesBefore = currentThreadAllocatedBytes();
+    final long start = System.nanoTime();
+    final JsonRpcResponse response = rpcProcessor.process(id, method, metricSpan, request);
+    final long processingAllocatedBytes = allocatedBytesSince(allocatedBytesBefore);
+    final Optional<StreamedResult> streamedResult = StreamedResult.of(response);
+    if (streamedResult.isPresent()) {
+      streamedResult
+          .get()
+          .addWriteListener(
+              new StreamedResult.WriteListener() {
+                private long writeAllocatedBytesBefore;
+
+                @Override
+                public void started() {
+                  writeAllocatedBytesBefore = currentThreadAllocatedBytes();
+                }
+
+                @Override
+                public void written() {
+                  final long writeAllocatedBytes = allocatedBytesSince(writeAllocatedBytesBefore);
+                  logIfSlow(
+                      request,
+                      response,
+                      System.nanoTime() - start,
+                      processingAllocatedBytes < 0 || writeAllocatedBytes < 0
+                          ? -1
+                          : processingAllocatedBytes + writeAllocatedBytes);
+                }
+              });
+    } else {
+      logIfSlow(request, response, System.nanoTime() - start, processingAllocatedBytes);
+    }
+    return response;
+  }
+
+  private void logIfSlow(
+      final JsonRpcRequestContext request,
+      final JsonRpcResponse response,
+      final long durationNanos,
+      final long allocatedBytes) {
+    if (durationNanos >= thresholdNanos
+        && slowRequestCount.getAndIncrement() % samplingInterval == 0) {
+      slowRequestLogger.accept(
+          new SlowRequest(
+              request, TimeUnit.NANOSECONDS.toMillis(durationNanos), allocatedBytes, response));
+    }
+  }
+
+  private static void log(final SlowRequest slowRequest) {
+    LOG.atInfo()
+        .setMessage(
+            "Slow JSON-RPC request {} took {} ms, allocated {} bytes, response type {}, params {}")
+        .addArgument(slowRequest.request().getRequest()::getMethod)
+        .addArgument(slowRequest::durationMillis)
+        .addArgument(
+            () ->
+                slowRequest.allocatedBytes() < 0
+                    ? "unknown"
+                    : String.valueOf(slowRequest.allocatedBytes()))
+        .addArgument(slowRequest.response()::getType)
+        .addArgument(() -> loggedParams(slowRequest.request()))
+        .log();
+  }
+
+  private static String loggedParams(final JsonRpcRequestContext request) {
+    final String params = Json.encode(request.getRequest().getParams());
+    return params.length() <= MAX_LOGGED_PARAMS_LENGTH
+        ? params
+        : params.substring(0, MAX_LOGGED_PARAMS_LENGTH) + "...";
+  }
+
+  private static long allocatedBytesSince(final long allocatedBytesBefore) {
+    final long allocatedBytesAfter = currentThreadAllocatedBytes();
+    return allocatedBytesBefore < 0 || allocatedBytesAfter < 0
+        ? -1
+        : allocatedBytesAfter - allocatedBytesBefore;
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+        && threads.isThreadAllocatedMemoryEnabled()) {
+      return threads.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  /**
+   * A slow request to log.
+   *
+   * @param request the request
+   * @param durationMillis the duration of the request, until its response is written if its result
+   *     is streamed
+   * @param allocatedBytes the bytes allocated for the request, or -1 if they are unknown
+   * @param response the response of the request
+   */
+  record SlowRequest(
+      JsonRpcRequestContext request,
+      long durationMillis,
+      long allocatedBytes,
+      JsonRpcResponse response) {}
+}
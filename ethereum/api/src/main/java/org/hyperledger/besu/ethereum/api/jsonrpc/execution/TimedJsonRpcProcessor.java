@@ -18,6 +18,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedResult;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
@@ -27,22 +29,61 @@ public class TimedJsonRpcProcessor implements JsonRpcProcessor {
 
   private final JsonRpcProcessor rpcProcessor;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final LabelledMetric<OperationTimer> requestShapeTimer;
 
   public TimedJsonRpcProcessor(
       final JsonRpcProcessor rpcProcessor, final LabelledMetric<OperationTimer> requestTimer) {
+    this(rpcProcessor, requestTimer, NoOpMetricsSystem.getOperationTimerLabelledMetric(2));
+  }
+
+  /**
+   * Creates a processor timing the requests by method, and by method and shape of their parameters.
+   *
+   * @param rpcProcessor the processor of the requests
+   * @param requestTimer the timer of the requests, labelled by method
+   * @param requestShapeTimer the timer of the requests, labelled by method and {@link
+   *     JsonRpcRequestShape}
+   */
+  public TimedJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor,
+      final LabelledMetric<OperationTimer> requestTimer,
+      final LabelledMetric<OperationTimer> requestShapeTimer) {
     this.rpcProcessor = rpcProcessor;
     this.requestTimer = requestTimer;
+    this.requestShapeTimer = requestShapeTimer;
   }
 
+  /**
+   * Processes a request, timing it until its response is processed, or until its result is written
+   * if it is a {@link StreamedResult}, whose work is done as it is written.
+   */
   @Override
   public JsonRpcResponse process(
       final JsonRpcRequestId id,
       final JsonRpcMethod method,
       final Span metricSpan,
       final JsonRpcRequestContext request) {
-    try (final OperationTimer.TimingContext ignored =
-        requestTimer.labels(request.getRequest().getMethod()).startTimer()) {
-      return rpcProcessor.process(id, method, metricSpan, request);
+    final String methodName = request.getRequest().getMethod();
+    final OperationTimer.TimingContext timingContext = requestTimer.labels(methodName).startTimer();
+    final OperationTimer.TimingContext shapeTimingContext =
+        requestShapeTimer
+            .labels(methodName, JsonRpcRequestShape.of(request.getRequest()))
+            .startTimer();
+    final Runnable stopTimers =
+        () -> {
+          timingContext.stopTimer();
+          shapeTimingContext.stopTimer();
+        };
+    final JsonRpcResponse response;
+    try {
+      response = rpcProcessor.process(id, method, metricSpan, request);
+    } catch (final RuntimeException | Error e) {
+      stopTimers.run();
+      throw e;
     }
+    StreamedResult.of(response)
+        .ifPresentOrElse(
+            streamedResult -> streamedResult.addWriteListener(stopTimers::run), stopTimers);
+    return response;
   }
 }
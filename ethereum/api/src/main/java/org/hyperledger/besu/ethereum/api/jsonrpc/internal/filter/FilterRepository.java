@@ -14,8 +14,12 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter;
 
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
+import org.hyperledger.besu.evm.log.Log;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +29,8 @@ import java.util.stream.Stream;
 public class FilterRepository {
 
   private final Map<String, Filter> filters = new ConcurrentHashMap<>();
+  // the private log filters are matched through the privacy queries instead
+  private final LogsQueryIndex<LogFilter> logFilters = new LogsQueryIndex<>();
 
   public FilterRepository() {}
 
@@ -57,6 +63,17 @@ public class FilterRepository {
     return Optional.of((T) filter);
   }
 
+  /**
+   * Gets the log filters, other than the private ones, whose query could match a log, without
+   * testing every filter. The candidates must still be tested against the log with their query.
+   *
+   * @param log the log
+   * @return the log filters whose query could match the log
+   */
+  List<LogFilter> getLogFilterCandidates(final Log log) {
+    return logFilters.candidates(log);
+  }
+
   boolean exists(final String id) {
     return filters.containsKey(id);
   }
@@ -72,13 +89,19 @@ public class FilterRepository {
     }
 
     filters.put(filter.getId(), filter);
+    if (filter instanceof LogFilter logFilter && !(filter instanceof PrivateLogFilter)) {
+      logFilters.add(logFilter, logFilter.getLogsQuery());
+    }
   }
 
   void delete(final String id) {
-    filters.remove(id);
+    if (filters.remove(id) instanceof LogFilter logFilter) {
+      logFilters.remove(logFilter);
+    }
   }
 
   void deleteAll() {
     filters.clear();
+    logFilters.clear();
   }
 }
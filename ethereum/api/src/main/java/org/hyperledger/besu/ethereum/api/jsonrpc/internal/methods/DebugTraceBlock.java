@@ -17,24 +17,19 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedDebugTraceBlockResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
-import java.util.Collection;
-import java.util.Optional;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -80,21 +75,12 @@ public class DebugTraceBlock implements JsonRpcMethod {
             .orElse(TraceOptions.DEFAULT);
 
     if (this.blockchainQueries.blockByHash(block.getHeader().getParentHash()).isPresent()) {
-      final Collection<DebugTraceTransactionResult> results =
-          Tracer.processTracing(
-                  blockchainQueries,
-                  Optional.of(block.getHeader()),
-                  mutableWorldState ->
-                      blockTracerSupplier
-                          .get()
-                          .trace(
-                              mutableWorldState,
-                              block,
-                              new DebugOperationTracer(traceOptions, true))
-                          .map(BlockTrace::getTransactionTraces)
-                          .map(DebugTraceTransactionResult::of))
-              .orElse(null);
-      return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
+      // the block is traced as the response is written, so that the struct logs of its
+      // transactions are streamed to the client instead of being held in memory
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(),
+          new StreamedDebugTraceBlockResult(
+              blockchainQueries, blockTracerSupplier, block, traceOptions));
     } else {
       return new JsonRpcErrorResponse(
           requestContext.getRequest().getId(), RpcErrorType.PARENT_BLOCK_NOT_FOUND);
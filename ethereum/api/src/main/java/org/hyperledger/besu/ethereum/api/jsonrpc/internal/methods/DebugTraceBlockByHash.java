@@ -18,17 +18,13 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedDebugTraceBlockResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
-import java.util.Collection;
 import java.util.function.Supplier;
 
 public class DebugTraceBlockByHash implements JsonRpcMethod {
@@ -57,19 +53,17 @@ public class DebugTraceBlockByHash implements JsonRpcMethod {
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
-    final Collection<DebugTraceTransactionResult> results =
-        Tracer.processTracing(
-                blockchainQueries.get(),
-                blockHash,
-                mutableWorldState ->
-                    blockTracerSupplier
-                        .get()
-                        .trace(
-                            mutableWorldState,
-                            blockHash,
-                            new DebugOperationTracer(traceOptions, true))
-                        .map(BlockTrace::getTransactionTraces)
-                        .map(DebugTraceTransactionResult::of))
+    // the block is traced as the response is written, so that the struct logs of its transactions
+    // are streamed to the client instead of being held in memory
+    final StreamedDebugTraceBlockResult results =
+        blockchainQueries
+            .get()
+            .getBlockchain()
+            .getBlockByHash(blockHash)
+            .map(
+                block ->
+                    new StreamedDebugTraceBlockResult(
+                        blockchainQueries.get(), blockTracerSupplier, block, traceOptions))
             .orElse(null);
     return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), results);
   }
@@ -19,13 +19,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedDebugTraceBlockResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -60,21 +57,14 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
+    // the block is traced as the response is written, so that the struct logs of its transactions
+    // are streamed to the client instead of being held in memory
     return blockHash
-        .flatMap(
-            hash ->
-                Tracer.processTracing(
-                    blockchainQueriesSupplier.get(),
-                    hash,
-                    mutableWorldState ->
-                        blockTracerSupplier
-                            .get()
-                            .trace(
-                                mutableWorldState,
-                                hash,
-                                new DebugOperationTracer(traceOptions, true))
-                            .map(BlockTrace::getTransactionTraces)
-                            .map(DebugTraceTransactionResult::of)))
+        .flatMap(hash -> getBlockchainQueries().getBlockchain().getBlockByHash(hash))
+        .map(
+            block ->
+                new StreamedDebugTraceBlockResult(
+                    getBlockchainQueries(), blockTracerSupplier, block, traceOptions))
         .orElse(null);
   }
 }
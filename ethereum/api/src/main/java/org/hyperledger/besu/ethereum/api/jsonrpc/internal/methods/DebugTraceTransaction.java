@@ -18,15 +18,13 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedDebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
-import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
 import java.util.Optional;
 
@@ -57,31 +55,18 @@ public class DebugTraceTransaction implements JsonRpcMethod {
               .getOptionalParameter(1, TransactionTraceParams.class)
               .map(TransactionTraceParams::traceOptions)
               .orElse(TraceOptions.DEFAULT);
-      final DebugTraceTransactionResult debugTraceTransactionResult =
-          debugTraceTransactionResult(hash, transactionWithMetadata.get(), traceOptions);
-
+      // the transaction is traced as the response is written, so that the struct logs of a large
+      // trace are streamed to the client instead of being held in memory
       return new JsonRpcSuccessResponse(
-          requestContext.getRequest().getId(), debugTraceTransactionResult);
+          requestContext.getRequest().getId(),
+          new StreamedDebugTraceTransactionResult(
+              blockchain,
+              transactionTracer,
+              transactionWithMetadata.get().getBlockHash().get(),
+              hash,
+              traceOptions));
     } else {
       return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), null);
     }
   }
-
-  private DebugTraceTransactionResult debugTraceTransactionResult(
-      final Hash hash,
-      final TransactionWithMetadata transactionWithMetadata,
-      final TraceOptions traceOptions) {
-    final Hash blockHash = transactionWithMetadata.getBlockHash().get();
-
-    final DebugOperationTracer execTracer = new DebugOperationTracer(traceOptions, true);
-
-    return Tracer.processTracing(
-            blockchain,
-            blockHash,
-            mutableWorldState ->
-                transactionTracer
-                    .traceTransaction(mutableWorldState, blockHash, hash, execTracer)
-                    .map(DebugTraceTransactionResult::new))
-        .orElse(null);
-  }
 }
@@ -22,12 +22,8 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogsResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedLogsResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
-import org.hyperledger.besu.ethereum.core.LogWithMetadata;
-
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,55 +55,37 @@ public class EthGetLogs implements JsonRpcMethod {
           requestContext.getRequest().getId(), RpcErrorType.INVALID_PARAMS);
     }
 
-    final AtomicReference<Exception> ex = new AtomicReference<>();
-    final List<LogWithMetadata> matchingLogs =
-        filter
-            .getBlockHash()
-            .map(
-                blockHash ->
-                    blockchain.matchingLogs(
-                        blockHash, filter.getLogsQuery(), requestContext::isAlive))
-            .orElseGet(
-                () -> {
-                  final long fromBlockNumber;
-                  final long toBlockNumber;
-                  try {
-                    fromBlockNumber =
-                        filter
-                            .getFromBlock()
-                            .getBlockNumber(blockchain)
-                            .orElseThrow(
-                                () ->
-                                    new Exception("fromBlock not found: " + filter.getFromBlock()));
-                    toBlockNumber =
-                        filter
-                            .getToBlock()
-                            .getBlockNumber(blockchain)
-                            .orElseThrow(
-                                () -> new Exception("toBlock not found: " + filter.getToBlock()));
-                    if (maxLogRange > 0 && (toBlockNumber - fromBlockNumber) > maxLogRange) {
-                      throw new IllegalArgumentException(
-                          "Requested range exceeds maximum range limit");
-                    }
-                  } catch (final Exception e) {
-                    ex.set(e);
-                    return Collections.emptyList();
-                  }
-
-                  return blockchain.matchingLogs(
-                      fromBlockNumber,
-                      toBlockNumber,
-                      filter.getLogsQuery(),
-                      requestContext::isAlive);
-                });
+    if (filter.getBlockHash().isPresent()) {
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(),
+          new LogsResult(
+              blockchain.matchingLogs(
+                  filter.getBlockHash().get(), filter.getLogsQuery(), requestContext::isAlive)));
+    }
 
-    if (ex.get() != null) {
+    final long fromBlockNumber;
+    final long toBlockNumber;
+    try {
+      fromBlockNumber =
+          filter
+              .getFromBlock()
+              .getBlockNumber(blockchain)
+              .orElseThrow(() -> new Exception("fromBlock not found: " + filter.getFromBlock()));
+      toBlockNumber =
+          filter
+              .getToBlock()
+              .getBlockNumber(blockchain)
+              .orElseThrow(() -> new Exception("toBlock not found: " + filter.getToBlock()));
+      if (maxLogRange > 0 && (toBlockNumber - fromBlockNumber) > maxLogRange) {
+        throw new IllegalArgumentException("Requested range exceeds maximum range limit");
+      }
+    } catch (final Exception e) {
       LOG.atDebug()
           .setMessage("eth_getLogs request {} failed:")
           .addArgument(requestContext.getRequest())
-          .setCause(ex.get())
+          .setCause(e)
           .log();
-      if (ex.get() instanceof IllegalArgumentException) {
+      if (e instanceof IllegalArgumentException) {
         return new JsonRpcErrorResponse(
             requestContext.getRequest().getId(), RpcErrorType.EXCEEDS_RPC_MAX_BLOCK_RANGE);
       }
@@ -115,7 +93,22 @@ public class EthGetLogs implements JsonRpcMethod {
           requestContext.getRequest().getId(), RpcErrorType.INVALID_PARAMS);
     }
 
+    if (toBlockNumber - fromBlockNumber >= BlockchainQueries.LOGS_BLOOM_SCAN_CHUNK) {
+      // the logs of large ranges are written to the response as they are found rather than
+      // collected first, at the cost of not being able to turn a failure into an error response
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(),
+          new StreamedLogsResult(
+              blockchain,
+              fromBlockNumber,
+              toBlockNumber,
+              filter.getLogsQuery(),
+              requestContext::isAlive));
+    }
     return new JsonRpcSuccessResponse(
-        requestContext.getRequest().getId(), new LogsResult(matchingLogs));
+        requestContext.getRequest().getId(),
+        new LogsResult(
+            blockchain.matchingLogs(
+                fromBlockNumber, toBlockNumber, filter.getLogsQuery(), requestContext::isAlive)));
   }
 }
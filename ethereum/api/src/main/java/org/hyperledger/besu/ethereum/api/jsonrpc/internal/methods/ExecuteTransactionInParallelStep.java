@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
+
+import org.hyperledger.besu.datatypes.BlobGas;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelTransactionTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Executes the transactions of a block as {@link ExecuteTransactionStep}, but traces them
+ * concurrently. The transactions are replayed in order when the step is applied, which the
+ * pipeline does in order, and their traces complete asynchronously.
+ */
+public class ExecuteTransactionInParallelStep
+    implements Function<TransactionTrace, CompletableFuture<TransactionTrace>> {
+
+  private final ParallelTransactionTracer tracer;
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Blockchain blockchain;
+  private final Block block;
+  private final Wei blobGasPrice;
+
+  public ExecuteTransactionInParallelStep(
+      final ParallelTransactionTracer tracer,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final ProtocolSpec protocolSpec,
+      final Block block) {
+    this.tracer = tracer;
+    this.transactionProcessor = transactionProcessor;
+    this.blockchain = blockchain;
+    this.block = block;
+    this.blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(
+                blockchain
+                    .getBlockHeader(block.getHeader().getParentHash())
+                    .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
+                    .orElse(BlobGas.ZERO));
+  }
+
+  @Override
+  public CompletableFuture<TransactionTrace> apply(final TransactionTrace transactionTrace) {
+    return tracer
+        .trace(
+            transactionTrace.getTransaction(),
+            block.getHeader(),
+            blockchain,
+            transactionProcessor,
+            blobGasPrice)
+        .thenApply(
+            trace ->
+                new TransactionTrace(
+                    trace.getTransaction(),
+                    trace.getResult(),
+                    trace.getTraceFrames(),
+                    transactionTrace.getBlock()));
+  }
+}
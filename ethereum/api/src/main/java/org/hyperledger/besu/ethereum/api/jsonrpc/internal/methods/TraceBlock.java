@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelTransactionTracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTraceGenerator;
@@ -48,6 +49,7 @@ import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -80,6 +82,18 @@ public class TraceBlock extends AbstractBlockParameterMethod {
     }
     LOG.trace("Received RPC rpcName={} block={}", getName(), blockNumber);
 
+    final Optional<ArrayNode> indexedTraces =
+        getBlockchainQueries()
+            .getFlatTraceIndex()
+            .flatMap(
+                flatTraceIndex ->
+                    getBlockchainQueries()
+                        .getBlockHashByNumber(blockNumber)
+                        .flatMap(flatTraceIndex::getTraces));
+    if (indexedTraces.isPresent()) {
+      return indexedTraces.get();
+    }
+
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
@@ -88,12 +102,28 @@ public class TraceBlock extends AbstractBlockParameterMethod {
         .orElse(null);
   }
 
+  /**
+   * Replays a block to generate its flat traces, as returned by trace_block, without reading them
+   * from the flat trace index.
+   *
+   * @param block the block to trace
+   * @return the flat traces of the block, or empty if the state of the block is not available
+   */
+  public Optional<ArrayNode> replayBlock(final Block block) {
+    return replayBlock(block, Optional.empty()).map(ArrayNodeWrapper::getArrayNode);
+  }
+
   protected ArrayNodeWrapper traceBlock(
       final Block block, final Optional<FilterParameter> filterParameter) {
 
     if (block == null) {
       return emptyResult();
     }
+    return replayBlock(block, filterParameter).orElse(emptyResult());
+  }
+
+  private Optional<ArrayNodeWrapper> replayBlock(
+      final Block block, final Optional<FilterParameter> filterParameter) {
     final BlockHeader header = block.getHeader();
 
     return Tracer.processTracing(
@@ -104,7 +134,10 @@ public class TraceBlock extends AbstractBlockParameterMethod {
               final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
               final MainnetTransactionProcessor transactionProcessor =
                   protocolSpec.getTransactionProcessor();
-              final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
+              final EthScheduler ethScheduler =
+                  getBlockchainQueries()
+                      .getEthScheduler()
+                      .orElseGet(() -> new EthScheduler(1, 1, 1, 1, new NoOpMetricsSystem()));
 
               TransactionSource transactionSource = new TransactionSource(block);
               final LabelledMetric<Counter> outputCounter =
@@ -115,14 +148,16 @@ public class TraceBlock extends AbstractBlockParameterMethod {
                           "Number of transactions processed for each block",
                           "step",
                           "action");
-              DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(new TraceOptions(false, false, true), false);
-              ExecuteTransactionStep executeTransactionStep =
-                  new ExecuteTransactionStep(
-                      chainUpdater,
+              ExecuteTransactionInParallelStep executeTransactionStep =
+                  new ExecuteTransactionInParallelStep(
+                      new ParallelTransactionTracer(
+                          traceableState,
+                          () ->
+                              new DebugOperationTracer(
+                                  new TraceOptions(false, false, true), false),
+                          ethScheduler),
                       transactionProcessor,
                       getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
                       protocolSpec,
                       block);
               TraceFlatTransactionStep traceFlatTransactionStep =
@@ -137,23 +172,14 @@ public class TraceBlock extends AbstractBlockParameterMethod {
                           outputCounter,
                           false,
                           "trace_block_transactions")
-                      .thenProcess("executeTransaction", executeTransactionStep)
+                      .thenProcessAsyncOrdered("executeTransaction", executeTransactionStep, 4)
                       .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
                       .andFinishWith(
                           "buildArrayNode",
                           traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
 
               try {
-                if (getBlockchainQueries().getEthScheduler().isPresent()) {
-                  getBlockchainQueries()
-                      .getEthScheduler()
-                      .get()
-                      .startPipeline(traceBlockPipeline)
-                      .get();
-                } else {
-                  EthScheduler ethScheduler = new EthScheduler(1, 1, 1, 1, new NoOpMetricsSystem());
-                  ethScheduler.startPipeline(traceBlockPipeline).get();
-                }
+                ethScheduler.startPipeline(traceBlockPipeline).get();
               } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException(e);
               }
@@ -161,8 +187,7 @@ public class TraceBlock extends AbstractBlockParameterMethod {
               resultArrayNode = buildArrayNodeStep.getResultArrayNode();
               generateRewardsFromBlock(filterParameter, block, resultArrayNode);
               return Optional.of(resultArrayNode);
-            })
-        .orElse(emptyResult());
+            });
   }
 
   protected void generateTracesFromTransactionTraceAndBlock(
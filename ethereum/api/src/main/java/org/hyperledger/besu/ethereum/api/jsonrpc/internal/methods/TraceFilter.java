@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 import static org.hyperledger.besu.services.pipeline.PipelineBuilder.createPipelineFrom;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.FlatTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.FlatTraceIndex;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -49,10 +51,13 @@ import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
@@ -60,7 +65,9 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -111,9 +118,83 @@ public class TraceFilter extends TraceBlock {
     if (fromBlock > toBlock)
       return new JsonRpcSuccessResponse(
           requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
-    else
-      return traceFilterWithPipeline(
-          requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
+
+    final Optional<FlatTraceIndex> flatTraceIndex = getBlockchainQueries().getFlatTraceIndex();
+    if (flatTraceIndex.isPresent()) {
+      final Optional<NavigableMap<Long, Hash>> indexedBlocks =
+          indexedBlocks(flatTraceIndex.get(), fromBlock, toBlock);
+      if (indexedBlocks.isPresent()) {
+        traceFilterWithIndex(
+            flatTraceIndex.get(), filterParameter, indexedBlocks.get(), resultArrayNode);
+        return new JsonRpcSuccessResponse(
+            requestContext.getRequest().getId(), resultArrayNode.getArrayNode());
+      }
+    }
+    return traceFilterWithPipeline(
+        requestContext, filterParameter, fromBlock, toBlock, resultArrayNode);
+  }
+
+  /**
+   * Gets the hashes of the canonical blocks of a range, if the traces of all of them are indexed.
+   * The genesis block has no trace, and the blocks after the head are ignored.
+   */
+  private Optional<NavigableMap<Long, Hash>> indexedBlocks(
+      final FlatTraceIndex flatTraceIndex, final long fromBlock, final long toBlock) {
+    final NavigableMap<Long, Hash> indexedBlocks = new TreeMap<>();
+    for (long blockNumber = Math.max(fromBlock, BlockHeader.GENESIS_BLOCK_NUMBER + 1);
+        blockNumber <= toBlock;
+        blockNumber++) {
+      final Optional<Hash> blockHash = getBlockchainQueries().getBlockHashByNumber(blockNumber);
+      if (blockHash.isEmpty()) {
+        break;
+      }
+      if (!flatTraceIndex.isIndexed(blockHash.get())) {
+        return Optional.empty();
+      }
+      indexedBlocks.put(blockNumber, blockHash.get());
+    }
+    return Optional.of(indexedBlocks);
+  }
+
+  private void traceFilterWithIndex(
+      final FlatTraceIndex flatTraceIndex,
+      final FilterParameter filterParameter,
+      final NavigableMap<Long, Hash> indexedBlocks,
+      final ArrayNodeWrapper resultArrayNode) {
+    if (indexedBlocks.isEmpty()) {
+      return;
+    }
+    final List<Address> fromAddress = filterParameter.getFromAddress();
+    final List<Address> toAddress = filterParameter.getToAddress();
+    // only the blocks with a trace from one of the senders, or to one of the recipients, can match
+    final Collection<Long> candidateBlocks =
+        fromAddress.isEmpty() && toAddress.isEmpty()
+            ? indexedBlocks.keySet()
+            : flatTraceIndex.blocksWithAddress(
+                fromAddress.isEmpty() ? toAddress : fromAddress,
+                indexedBlocks.firstKey(),
+                indexedBlocks.lastKey());
+
+    for (final Long blockNumber : candidateBlocks) {
+      final Optional<ArrayNode> traces = flatTraceIndex.getTraces(indexedBlocks.get(blockNumber));
+      if (traces.isEmpty()) {
+        continue;
+      }
+      for (final JsonNode trace : traces.get()) {
+        if (resultArrayNode.isFull()) {
+          return;
+        }
+        if (matches(trace, "from", fromAddress) && matches(trace, "to", toAddress)) {
+          resultArrayNode.addPOJO(trace);
+        }
+      }
+    }
+  }
+
+  private static boolean matches(
+      final JsonNode trace, final String field, final List<Address> addresses) {
+    return addresses.isEmpty()
+        || FlatTraceIndex.actionAddress(trace, field).map(addresses::contains).orElse(false);
   }
 
   private JsonRpcResponse traceFilterWithPipeline(
@@ -33,8 +33,14 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class BlockReplay {
 
@@ -57,14 +63,7 @@ public class BlockReplay {
         block.getHeader(),
         block.getBody(),
         (body, header, blockchain, transactionProcessor, protocolSpec) -> {
-          final Wei blobGasPrice =
-              protocolSpec
-                  .getFeeMarket()
-                  .blobGasPricePerGas(
-                      blockchain
-                          .getBlockHeader(header.getParentHash())
-                          .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
-                          .orElse(BlobGas.ZERO));
+          final Wei blobGasPrice = blobGasPrice(protocolSpec, header, blockchain);
 
           final List<TransactionTrace> transactionTraces =
               body.getTransactions().stream()
@@ -82,6 +81,54 @@ public class BlockReplay {
     return getBlock(blockHash).flatMap(block -> block(block, action));
   }
 
+  /**
+   * Replays the transactions of a block in order, as {@link #block(Block, TransactionAction)}, with
+   * an action which may complete its trace asynchronously, so that the transactions are traced
+   * concurrently. At most {@code window} traces are pending at once: before replaying a transaction
+   * beyond them, the oldest pending trace is waited for and passed on. The traces are passed on in
+   * order, on the calling thread, and without their frames in the returned block trace, so that
+   * the frames of at most {@code window} transactions are held at once.
+   *
+   * @param block the block to replay
+   * @param action the action replaying a transaction, returning the future of its trace
+   * @param window the number of traces which may be pending at once
+   * @param transactionTraceConsumer the consumer of the trace of each transaction, in order
+   * @return the traces of the transactions of the block, without their frames
+   */
+  public Optional<BlockTrace> blockInParallel(
+      final Block block,
+      final TransactionAction<CompletableFuture<TransactionTrace>> action,
+      final int window,
+      final Consumer<TransactionTrace> transactionTraceConsumer) {
+    return performActionWithBlock(
+        block.getHeader(),
+        block.getBody(),
+        (body, header, blockchain, transactionProcessor, protocolSpec) -> {
+          final Wei blobGasPrice = blobGasPrice(protocolSpec, header, blockchain);
+          final Deque<CompletableFuture<TransactionTrace>> pendingTraces = new ArrayDeque<>(window);
+          final List<TransactionTrace> transactionTraces =
+              new ArrayList<>(body.getTransactions().size());
+          try {
+            for (final Transaction transaction : body.getTransactions()) {
+              if (pendingTraces.size() >= window) {
+                transactionTraces.add(
+                    passOn(pendingTraces.removeFirst(), transactionTraceConsumer));
+              }
+              pendingTraces.addLast(
+                  action.performAction(
+                      transaction, header, blockchain, transactionProcessor, blobGasPrice));
+            }
+            while (!pendingTraces.isEmpty()) {
+              transactionTraces.add(passOn(pendingTraces.removeFirst(), transactionTraceConsumer));
+            }
+          } finally {
+            // the traces still pending read the world state, which is closed after the replay
+            pendingTraces.forEach(pendingTrace -> pendingTrace.handle((trace, e) -> null).join());
+          }
+          return Optional.of(new BlockTrace(transactionTraces));
+        });
+  }
+
   public <T> Optional<T> beforeTransactionInBlock(
       final TraceableState mutableWorldState,
       final Hash blockHash,
@@ -91,14 +138,7 @@ public class BlockReplay {
         blockHash,
         (body, header, blockchain, transactionProcessor, protocolSpec) -> {
           final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(header, blockchain);
-          final Wei blobGasPrice =
-              protocolSpec
-                  .getFeeMarket()
-                  .blobGasPricePerGas(
-                      blockchain
-                          .getBlockHeader(header.getParentHash())
-                          .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
-                          .orElse(BlobGas.ZERO));
+          final Wei blobGasPrice = blobGasPrice(protocolSpec, header, blockchain);
 
           for (final Transaction transaction : body.getTransactions()) {
             if (transaction.getHash().equals(transactionHash)) {
@@ -171,6 +211,36 @@ public class BlockReplay {
     return action.perform(body, header, blockchain, transactionProcessor, protocolSpec);
   }
 
+  private static Wei blobGasPrice(
+      final ProtocolSpec protocolSpec, final BlockHeader header, final Blockchain blockchain) {
+    return protocolSpec
+        .getFeeMarket()
+        .blobGasPricePerGas(
+            blockchain
+                .getBlockHeader(header.getParentHash())
+                .map(parent -> calculateExcessBlobGasForParent(protocolSpec, parent))
+                .orElse(BlobGas.ZERO));
+  }
+
+  private static TransactionTrace passOn(
+      final CompletableFuture<TransactionTrace> pendingTrace,
+      final Consumer<TransactionTrace> transactionTraceConsumer) {
+    final TransactionTrace trace = join(pendingTrace);
+    transactionTraceConsumer.accept(trace);
+    return new TransactionTrace(trace.getTransaction(), trace.getResult(), List.of());
+  }
+
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   private Optional<Block> getBlock(final Hash blockHash) {
     final BlockHeader blockHeader = blockchain.getBlockHeader(blockHash).orElse(null);
     if (blockHeader != null) {
@@ -18,6 +18,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
@@ -25,6 +26,8 @@ import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /** Used to produce debug traces of blocks */
 public class BlockTracer {
@@ -51,6 +54,63 @@ public class BlockTracer {
     return blockReplay.block(block, prepareReplayAction(mutableWorldState, tracer));
   }
 
+  /**
+   * Traces the transactions of a block in order, passing the trace of each transaction on as soon
+   * as it is traced, before the next transaction is traced.
+   *
+   * @param mutableWorldState the state before the block
+   * @param block the block to trace
+   * @param tracer the tracer of the transactions
+   * @param transactionTraceConsumer the consumer of the trace of each transaction, in order
+   * @return the traces of the transactions of the block
+   */
+  public Optional<BlockTrace> trace(
+      final Tracer.TraceableState mutableWorldState,
+      final Block block,
+      final DebugOperationTracer tracer,
+      final Consumer<TransactionTrace> transactionTraceConsumer) {
+    final BlockReplay.TransactionAction<TransactionTrace> replayAction =
+        prepareReplayAction(mutableWorldState, tracer);
+    return blockReplay.block(
+        block,
+        (transaction, header, blockchain, transactionProcessor, blobGasPrice) -> {
+          final TransactionTrace transactionTrace =
+              replayAction.performAction(
+                  transaction, header, blockchain, transactionProcessor, blobGasPrice);
+          transactionTraceConsumer.accept(transactionTrace);
+          return transactionTrace;
+        });
+  }
+
+  /**
+   * Traces the transactions of a block concurrently on the query executor, with a tracer for each
+   * transaction, passing the trace of each transaction on in order, as soon as it and the ones
+   * before it are traced. At most {@code window} transactions are traced ahead of the one passed on
+   * next, so only their trace frames are held at once.
+   *
+   * @param mutableWorldState the state before the block
+   * @param block the block to trace
+   * @param tracerSupplier supplies the tracer of each transaction
+   * @param ethScheduler the scheduler whose query executor traces the transactions
+   * @param window the number of transactions which may be traced ahead
+   * @param transactionTraceConsumer the consumer of the trace of each transaction, in order
+   * @return the traces of the transactions of the block, without their frames
+   * @see ParallelTransactionTracer
+   */
+  public Optional<BlockTrace> traceInParallel(
+      final Tracer.TraceableState mutableWorldState,
+      final Block block,
+      final Supplier<DebugOperationTracer> tracerSupplier,
+      final EthScheduler ethScheduler,
+      final int window,
+      final Consumer<TransactionTrace> transactionTraceConsumer) {
+    return blockReplay.blockInParallel(
+        block,
+        new ParallelTransactionTracer(mutableWorldState, tracerSupplier, ethScheduler)::trace,
+        window,
+        transactionTraceConsumer);
+  }
+
   private BlockReplay.TransactionAction<TransactionTrace> prepareReplayAction(
       final MutableWorldState mutableWorldState, final DebugOperationTracer tracer) {
     return (transaction, header, blockchain, transactionProcessor, blobGasPrice) -> {
@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.StackedUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Traces the transactions of a block concurrently. Each transaction is first replayed in order
+ * without tracing, on an updater stacked on the ones of the previous transactions, then traced on
+ * the query executor with its own tracer, on a new updater stacked on the same state. The updaters
+ * of the previous transactions are never changed by the following ones, so they are a snapshot of
+ * the state before the transaction, and replaying a transaction without tracing is much cheaper
+ * than tracing it. All the workers of the query executor run at once, so the transactions are
+ * traced by as many threads as the node has computation workers.
+ *
+ * <p>The snapshots are only read concurrently if the world state is diff-based, as its accumulator
+ * loads the values it reads in concurrent maps, and if the updaters are stacked, as journaled
+ * updaters share their changes with their parent. Otherwise, the transactions are traced in order
+ * as they are replayed.
+ */
+public class ParallelTransactionTracer {
+
+  private final MutableWorldState mutableWorldState;
+  private final Supplier<DebugOperationTracer> tracerSupplier;
+  private final EthScheduler ethScheduler;
+  // Either the initial block state or the state of the prior TX, including miner rewards.
+  private WorldUpdater chainedUpdater;
+  private boolean concurrent;
+
+  public ParallelTransactionTracer(
+      final MutableWorldState mutableWorldState,
+      final Supplier<DebugOperationTracer> tracerSupplier,
+      final EthScheduler ethScheduler) {
+    this.mutableWorldState = mutableWorldState;
+    this.tracerSupplier = tracerSupplier;
+    this.ethScheduler = ethScheduler;
+  }
+
+  /**
+   * Replays the next transaction of the block and schedules its trace. Transactions must be passed
+   * in the order of the block.
+   *
+   * @param transaction the transaction to trace
+   * @param header the header of the block
+   * @param blockchain the blockchain
+   * @param transactionProcessor the transaction processor of the block
+   * @param blobGasPrice the blob gas price of the block
+   * @return the trace of the transaction, once it is traced
+   */
+  public CompletableFuture<TransactionTrace> trace(
+      final Transaction transaction,
+      final BlockHeader header,
+      final Blockchain blockchain,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Wei blobGasPrice) {
+    final WorldUpdater stateBefore;
+    if (chainedUpdater == null) {
+      stateBefore = mutableWorldState.updater();
+      chainedUpdater = stateBefore.updater();
+      concurrent =
+          stateBefore instanceof DiffBasedWorldStateUpdateAccumulator<?>
+              && chainedUpdater instanceof StackedUpdater<?, ?>;
+    } else {
+      chainedUpdater.markTransactionBoundary();
+      stateBefore = chainedUpdater;
+      chainedUpdater = stateBefore.updater();
+    }
+    if (!concurrent) {
+      return CompletableFuture.completedFuture(
+          execute(
+              transaction, chainedUpdater, header, blockchain, transactionProcessor, blobGasPrice));
+    }
+    transactionProcessor.processTransaction(
+        blockchain,
+        chainedUpdater,
+        header,
+        transaction,
+        header.getCoinbase(),
+        OperationTracer.NO_TRACING,
+        new CachingBlockHashLookup(header, blockchain),
+        false,
+        blobGasPrice);
+    return ethScheduler.scheduleQueryTask(
+        () ->
+            execute(
+                transaction,
+                stateBefore.updater(),
+                header,
+                blockchain,
+                transactionProcessor,
+                blobGasPrice));
+  }
+
+  private TransactionTrace execute(
+      final Transaction transaction,
+      final WorldUpdater updater,
+      final BlockHeader header,
+      final Blockchain blockchain,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Wei blobGasPrice) {
+    final DebugOperationTracer tracer = tracerSupplier.get();
+    final TransactionProcessingResult result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            updater,
+            header,
+            transaction,
+            header.getCoinbase(),
+            tracer,
+            new CachingBlockHashLookup(header, blockchain),
+            false,
+            blobGasPrice);
+    return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * The debug traces of the transactions of a block, which are only traced when the result is
+ * serialized, so that the struct logs are written as their operations are traced instead of holding
+ * the trace frames of the whole block in memory. The traces of the transactions are written in
+ * order, which does not require the transactions to be traced in order: the tracing of the block
+ * only has to pass on the struct logs and the end of the trace of each transaction in that order.
+ *
+ * <p>The struct logs of each transaction are written before its gas, failure and return value. As
+ * the response may already be partly written when the trace fails, the block must have been found
+ * before this result is returned.
+ *
+ * <p>The world state of the parent block stays open until the response is written, so a client
+ * reading it slowly holds the world state for that long. A client that stops reading fails the
+ * response once the writes have waited longer than the drain timeout of the response streamer,
+ * which releases it.
+ */
+@JsonSerialize(using = StreamedDebugTraceBlockResult.Serializer.class)
+public class StreamedDebugTraceBlockResult extends StreamedResult {
+
+  // the trace frames of up to this many transactions are held while they are traced ahead
+  private static final int PARALLEL_TRACE_WINDOW = 4;
+
+  private final BlockchainQueries blockchainQueries;
+  private final Supplier<BlockTracer> blockTracerSupplier;
+  private final Block block;
+  private final TraceOptions traceOptions;
+
+  public StreamedDebugTraceBlockResult(
+      final BlockchainQueries blockchainQueries,
+      final Supplier<BlockTracer> blockTracerSupplier,
+      final Block block,
+      final TraceOptions traceOptions) {
+    this.blockchainQueries = blockchainQueries;
+    this.blockTracerSupplier = blockTracerSupplier;
+    this.block = block;
+    this.traceOptions = traceOptions;
+  }
+
+  /**
+   * Traces the block, passing each struct log to the writer as soon as its operation is traced, and
+   * then the trace of its transaction, whose struct logs not passed on yet are written first. With
+   * a scheduler, a few transactions are traced ahead on its query executor instead, and all the
+   * struct logs of each transaction are written once it and the ones before it are traced.
+   */
+  private Optional<BlockTrace> trace(
+      final Tracer.TraceableState mutableWorldState, final TransactionTracesWriter writer) {
+    final Optional<EthScheduler> maybeEthScheduler = blockchainQueries.getEthScheduler();
+    if (maybeEthScheduler.isPresent()) {
+      return blockTracerSupplier
+          .get()
+          .traceInParallel(
+              mutableWorldState,
+              block,
+              () -> new DebugOperationTracer(traceOptions, true),
+              maybeEthScheduler.get(),
+              PARALLEL_TRACE_WINDOW,
+              trace -> writer.transaction().end(trace));
+    }
+    return blockTracerSupplier
+        .get()
+        .trace(
+            mutableWorldState,
+            block,
+            new DebugOperationTracer(
+                traceOptions, true, frame -> writer.transaction().write(frame)),
+            trace -> writer.transaction().end(trace));
+  }
+
+  public static class Serializer extends StdSerializer<StreamedDebugTraceBlockResult> {
+
+    public Serializer() {
+      this(null);
+    }
+
+    protected Serializer(final Class<StreamedDebugTraceBlockResult> t) {
+      super(t);
+    }
+
+    @Override
+    public void serialize(
+        final StreamedDebugTraceBlockResult value,
+        final JsonGenerator gen,
+        final SerializerProvider provider)
+        throws IOException {
+      value.write(() -> writeResult(value, gen));
+    }
+
+    private static void writeResult(
+        final StreamedDebugTraceBlockResult value, final JsonGenerator gen) throws IOException {
+      final TransactionTracesWriter writer = new TransactionTracesWriter(gen);
+      final Optional<BlockTrace> maybeTrace;
+      try {
+        maybeTrace =
+            Tracer.processTracing(
+                value.blockchainQueries,
+                Optional.of(value.block.getHeader()),
+                mutableWorldState -> value.trace(mutableWorldState, writer));
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+
+      if (maybeTrace.isEmpty()) {
+        if (writer.started) {
+          throw new IOException("Trace of block " + value.block.getHash() + " failed");
+        }
+        gen.writeNull();
+        return;
+      }
+      writer.start();
+      gen.writeEndArray();
+    }
+  }
+
+  private static class TransactionTracesWriter {
+    private final JsonGenerator gen;
+    private final StreamedTransactionTraceWriter transactionWriter;
+    private boolean started = false;
+
+    TransactionTracesWriter(final JsonGenerator gen) {
+      this.gen = gen;
+      this.transactionWriter = new StreamedTransactionTraceWriter(gen);
+    }
+
+    void start() throws IOException {
+      if (!started) {
+        gen.writeStartArray();
+        started = true;
+      }
+    }
+
+    StreamedTransactionTraceWriter transaction() {
+      try {
+        start();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return transactionWriter;
+    }
+  }
+}
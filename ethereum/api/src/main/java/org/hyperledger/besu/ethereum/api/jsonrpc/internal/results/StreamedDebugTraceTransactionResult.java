@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTracer;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * The debug trace of a transaction, which is only traced when the result is serialized, so that
+ * each struct log is written as soon as its operation is traced instead of holding the trace frames
+ * of the whole transaction in memory.
+ *
+ * <p>The struct logs are written before the gas, the failure and the return value of the
+ * transaction, which are only known once it is traced. As the response may already be partly
+ * written when the trace fails, the transaction must have been found before this result is
+ * returned.
+ *
+ * <p>The world state of the block stays open until the response is written, so a client reading it
+ * slowly holds the world state for that long. A client that stops reading fails the response once
+ * the writes have waited longer than the drain timeout of the response streamer, which releases it.
+ */
+@JsonSerialize(using = StreamedDebugTraceTransactionResult.Serializer.class)
+public class StreamedDebugTraceTransactionResult extends StreamedResult {
+
+  private final BlockchainQueries blockchainQueries;
+  private final TransactionTracer transactionTracer;
+  private final Hash blockHash;
+  private final Hash transactionHash;
+  private final TraceOptions traceOptions;
+
+  public StreamedDebugTraceTransactionResult(
+      final BlockchainQueries blockchainQueries,
+      final TransactionTracer transactionTracer,
+      final Hash blockHash,
+      final Hash transactionHash,
+      final TraceOptions traceOptions) {
+    this.blockchainQueries = blockchainQueries;
+    this.transactionTracer = transactionTracer;
+    this.blockHash = blockHash;
+    this.transactionHash = transactionHash;
+    this.traceOptions = traceOptions;
+  }
+
+  public static class Serializer extends StdSerializer<StreamedDebugTraceTransactionResult> {
+
+    public Serializer() {
+      this(null);
+    }
+
+    protected Serializer(final Class<StreamedDebugTraceTransactionResult> t) {
+      super(t);
+    }
+
+    @Override
+    public void serialize(
+        final StreamedDebugTraceTransactionResult value,
+        final JsonGenerator gen,
+        final SerializerProvider provider)
+        throws IOException {
+      value.write(() -> writeResult(value, gen));
+    }
+
+    private static void writeResult(
+        final StreamedDebugTraceTransactionResult value, final JsonGenerator gen)
+        throws IOException {
+      final StreamedTransactionTraceWriter writer = new StreamedTransactionTraceWriter(gen);
+      final Optional<TransactionTrace> maybeTrace;
+      try {
+        maybeTrace =
+            Tracer.processTracing(
+                value.blockchainQueries,
+                value.blockHash,
+                mutableWorldState ->
+                    value.transactionTracer.traceTransaction(
+                        mutableWorldState,
+                        value.blockHash,
+                        value.transactionHash,
+                        new DebugOperationTracer(value.traceOptions, true, writer::write)));
+        maybeTrace.ifPresent(writer::end);
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+
+      if (maybeTrace.isEmpty()) {
+        if (writer.isStarted()) {
+          throw new IOException("Trace of transaction " + value.transactionHash + " failed");
+        }
+        gen.writeNull();
+      }
+    }
+  }
+}
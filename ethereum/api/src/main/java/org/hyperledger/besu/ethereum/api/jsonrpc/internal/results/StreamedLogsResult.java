@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * The result set from querying the logs of a range of blocks, which are only retrieved when the
+ * result is serialized and are written as they are found, so that the logs of a large range are
+ * never all held in memory.
+ *
+ * <p>As the response may already be partly written when the query fails, the query must have been
+ * validated before this result is returned.
+ */
+@JsonSerialize(using = StreamedLogsResult.Serializer.class)
+public class StreamedLogsResult extends StreamedResult {
+
+  private final BlockchainQueries blockchainQueries;
+  private final long fromBlockNumber;
+  private final long toBlockNumber;
+  private final LogsQuery query;
+  private final Supplier<Boolean> isQueryAlive;
+
+  public StreamedLogsResult(
+      final BlockchainQueries blockchainQueries,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    this.blockchainQueries = blockchainQueries;
+    this.fromBlockNumber = fromBlockNumber;
+    this.toBlockNumber = toBlockNumber;
+    this.query = query;
+    this.isQueryAlive = isQueryAlive;
+  }
+
+  public static class Serializer extends StdSerializer<StreamedLogsResult> {
+
+    public Serializer() {
+      this(null);
+    }
+
+    protected Serializer(final Class<StreamedLogsResult> t) {
+      super(t);
+    }
+
+    @Override
+    public void serialize(
+        final StreamedLogsResult value, final JsonGenerator gen, final SerializerProvider provider)
+        throws IOException {
+      value.write(() -> writeResult(value, gen));
+    }
+
+    private static void writeResult(final StreamedLogsResult value, final JsonGenerator gen)
+        throws IOException {
+      gen.writeStartArray();
+      try {
+        value.blockchainQueries.forEachMatchingLog(
+            value.fromBlockNumber,
+            value.toBlockNumber,
+            value.query,
+            value.isQueryAlive,
+            log -> {
+              try {
+                gen.writeObject(new LogResult(log));
+              } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+      gen.writeEndArray();
+    }
+  }
+}
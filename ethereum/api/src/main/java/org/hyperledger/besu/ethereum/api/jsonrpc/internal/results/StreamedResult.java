@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A result which does the work of its request while it is serialized, so that the request is not
+ * done once it is processed, but once its response is written. The processors measuring the
+ * requests are told when the result is written through a {@link WriteListener}.
+ *
+ * <p>The listeners are only told about the first time the result is written.
+ */
+public abstract class StreamedResult {
+
+  private final List<WriteListener> writeListeners = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean written = new AtomicBoolean();
+
+  /**
+   * Gets the streamed result of a response, if it is a success with a streamed result.
+   *
+   * @param response the response
+   * @return the streamed result of the response, or empty if its result is already computed
+   */
+  public static Optional<StreamedResult> of(final JsonRpcResponse response) {
+    return response instanceof JsonRpcSuccessResponse successResponse
+            && successResponse.getResult() instanceof StreamedResult streamedResult
+        ? Optional.of(streamedResult)
+        : Optional.empty();
+  }
+
+  /**
+   * Adds a listener told when the result starts being written, and once it is written or failed to
+   * be, both on the thread writing it.
+   *
+   * @param writeListener the listener
+   */
+  public void addWriteListener(final WriteListener writeListener) {
+    writeListeners.add(writeListener);
+  }
+
+  /**
+   * Writes the result, telling the listeners about it the first time.
+   *
+   * @param write the write of the result
+   * @throws IOException if the result cannot be written
+   */
+  protected void write(final Write write) throws IOException {
+    if (written.getAndSet(true)) {
+      write.run();
+      return;
+    }
+    writeListeners.forEach(WriteListener::started);
+    try {
+      write.run();
+    } finally {
+      writeListeners.forEach(WriteListener::written);
+    }
+  }
+
+  /** Listens to the write of a streamed result. */
+  @FunctionalInterface
+  public interface WriteListener {
+
+    /** Called on the thread writing the result, before it is written. */
+    default void started() {}
+
+    /** Called on the thread writing the result, once it is written or failed to be. */
+    void written();
+  }
+
+  /** The write of a result. */
+  @FunctionalInterface
+  protected interface Write {
+    void run() throws IOException;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.debug.TraceFrame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes the debug trace of a transaction while it is traced: each struct log as soon as the tracer
+ * passes on its frame, and then the gas, the failure and the return value of the transaction, which
+ * are only known once it is traced. As it is called back by the tracer, it throws an {@link
+ * UncheckedIOException} when the response cannot be written.
+ */
+class StreamedTransactionTraceWriter {
+  private final JsonGenerator gen;
+  private boolean started = false;
+
+  StreamedTransactionTraceWriter(final JsonGenerator gen) {
+    this.gen = gen;
+  }
+
+  boolean isStarted() {
+    return started;
+  }
+
+  void write(final TraceFrame frame) {
+    try {
+      start();
+      gen.writeObject(DebugTraceTransactionResult.createStructLog(frame));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  void end(final TransactionTrace trace) {
+    // the last frames of the trace are not streamed by the tracer
+    trace.getTraceFrames().forEach(this::write);
+    try {
+      start();
+      gen.writeEndArray();
+      gen.writeNumberField("gas", trace.getGas());
+      gen.writeBooleanField("failed", !trace.getResult().isSuccessful());
+      gen.writeStringField("returnValue", trace.getResult().getOutput().toUnprefixedHexString());
+      gen.writeEndObject();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    started = false;
+  }
+
+  private void start() throws IOException {
+    if (!started) {
+      gen.writeStartObject();
+      gen.writeArrayFieldStart("structLogs");
+      started = true;
+    }
+  }
+}
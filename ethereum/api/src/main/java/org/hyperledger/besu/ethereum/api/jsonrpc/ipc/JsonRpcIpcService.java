@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -86,7 +87,7 @@ public class JsonRpcIpcService {
                       try {
                         final JsonObject jsonRpcRequest = buffer.toJsonObject();
                         vertx
-                            .<JsonRpcResponse>executeBlocking(
+                            .<String>executeBlocking(
                                 promise -> {
                                   final JsonRpcResponse jsonRpcResponse =
                                       jsonRpcExecutor.execute(
@@ -96,18 +97,12 @@ public class JsonRpcIpcService {
                                           closedSocket::get,
                                           jsonRpcRequest,
                                           req -> req.mapTo(JsonRpcRequest.class));
-                                  promise.complete(jsonRpcResponse);
+                                  // results may be retrieved while serialized, which must not
+                                  // block the event loop
+                                  promise.complete(serialize(jsonRpcResponse));
                                 })
                             .onSuccess(
-                                jsonRpcResponse -> {
-                                  try {
-                                    socket.write(
-                                        JSON_OBJECT_WRITER.writeValueAsString(jsonRpcResponse)
-                                            + '\n');
-                                  } catch (JsonProcessingException e) {
-                                    LOG.error("Error streaming JSON-RPC response", e);
-                                  }
-                                })
+                                serializedResponse -> socket.write(serializedResponse + '\n'))
                             .onFailure(
                                 throwable -> {
                                   try {
@@ -124,7 +119,7 @@ public class JsonRpcIpcService {
                             errorReturn(socket, null, RpcErrorType.INVALID_REQUEST);
                           } else {
                             vertx
-                                .<List<JsonRpcResponse>>executeBlocking(
+                                .<String>executeBlocking(
                                     promise -> {
                                       List<JsonRpcResponse> responses = new ArrayList<>();
                                       for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
@@ -145,26 +140,17 @@ public class JsonRpcIpcService {
                                                 jsonRequest,
                                                 req -> req.mapTo(JsonRpcRequest.class)));
                                       }
-                                      promise.complete(responses);
+                                      final JsonRpcResponse[] completed =
+                                          responses.stream()
+                                              .filter(
+                                                  jsonRpcResponse ->
+                                                      jsonRpcResponse.getType()
+                                                          != JsonRpcResponseType.NONE)
+                                              .toArray(JsonRpcResponse[]::new);
+                                      promise.complete(serialize(completed));
                                     })
                                 .onSuccess(
-                                    jsonRpcBatchResponse -> {
-                                      try {
-                                        final JsonRpcResponse[] completed =
-                                            jsonRpcBatchResponse.stream()
-                                                .filter(
-                                                    jsonRpcResponse ->
-                                                        jsonRpcResponse.getType()
-                                                            != JsonRpcResponseType.NONE)
-                                                .toArray(JsonRpcResponse[]::new);
-
-                                        socket.write(
-                                            JSON_OBJECT_WRITER.writeValueAsString(completed)
-                                                + '\n');
-                                      } catch (JsonProcessingException e) {
-                                        LOG.error("Error streaming JSON-RPC response", e);
-                                      }
-                                    })
+                                    serializedResponse -> socket.write(serializedResponse + '\n'))
                                 .onFailure(
                                     throwable ->
                                         errorReturn(socket, null, RpcErrorType.INTERNAL_ERROR));
@@ -199,6 +185,19 @@ public class JsonRpcIpcService {
     }
   }
 
+  /**
+   * Serializes a response. A failure fails the request, so that an internal error is returned to
+   * the client instead of no response.
+   */
+  private String serialize(final Object response) {
+    try {
+      return JSON_OBJECT_WRITER.writeValueAsString(response);
+    } catch (JsonProcessingException e) {
+      LOG.error("Error streaming JSON-RPC response", e);
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private Future<Void> errorReturn(
       final NetSocket socket, final Integer id, final RpcErrorType rpcError) {
     return socket.write(Buffer.buffer(Json.encode(new JsonRpcErrorResponse(id, rpcError)) + '\n'));
@@ -83,7 +83,7 @@ public class WebSocketMessageHandler {
       try {
         final JsonObject jsonRpcRequest = buffer.toJsonObject();
         vertx
-            .<JsonRpcResponse>executeBlocking(
+            .<Void>executeBlocking(
                 promise -> {
                   try {
                     final JsonRpcResponse jsonRpcResponse =
@@ -99,12 +99,14 @@ public class WebSocketMessageHandler {
                               websocketRequest.setConnectionId(websocket.textHandlerID());
                               return websocketRequest;
                             });
-                    promise.complete(jsonRpcResponse);
+                    // results may be retrieved while serialized, which must not block the event
+                    // loop
+                    replyToClient(websocket, jsonRpcResponse);
+                    promise.complete();
                   } catch (RuntimeException e) {
                     promise.fail(e);
                   }
                 })
-            .onSuccess(jsonRpcResponse -> replyToClient(websocket, jsonRpcResponse))
             .onFailure(
                 throwable -> {
                   try {
@@ -118,7 +120,7 @@ public class WebSocketMessageHandler {
         try {
           final JsonArray batchJsonRpcRequest = buffer.toJsonArray();
           vertx
-              .<List<JsonRpcResponse>>executeBlocking(
+              .<Void>executeBlocking(
                   promise -> {
                     List<JsonRpcResponse> responses = new ArrayList<>();
                     for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
@@ -143,17 +145,14 @@ public class WebSocketMessageHandler {
                                 return websocketRequest;
                               }));
                     }
-                    promise.complete(responses);
-                  })
-              .onSuccess(
-                  jsonRpcBatchResponse -> {
                     final JsonRpcResponse[] completed =
-                        jsonRpcBatchResponse.stream()
+                        responses.stream()
                             .filter(
                                 jsonRpcResponse ->
                                     jsonRpcResponse.getType() != JsonRpcResponseType.NONE)
                             .toArray(JsonRpcResponse[]::new);
                     replyToClient(websocket, completed);
+                    promise.complete();
                   })
               .onFailure(
                   throwable ->
@@ -180,6 +179,9 @@ public class WebSocketMessageHandler {
   }
 
   private void traceResponse(final Object response) {
+    if (!LOG.isTraceEnabled()) {
+      return;
+    }
     try {
       LOG.trace(jsonObjectMapper.writeValueAsString(response));
     } catch (JsonProcessingException e) {
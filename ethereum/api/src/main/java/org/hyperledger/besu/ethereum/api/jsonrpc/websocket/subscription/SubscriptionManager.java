@@ -15,14 +15,17 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.PrivateLogsSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SubscriptionResponse;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionEvent;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionObserver;
+import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
@@ -55,6 +58,7 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final LogsQueryIndex<LogsSubscription> logsSubscriptions = new LogsQueryIndex<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final LabelledMetric<Counter> subscribeCounter;
   private final LabelledMetric<Counter> unsubscribeCounter;
@@ -94,6 +98,9 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    if (subscription instanceof LogsSubscription logsSubscription) {
+      logsSubscriptions.add(logsSubscription, logsSubscription.getFilterParameter().getLogsQuery());
+    }
 
     return subscription.getSubscriptionId();
   }
@@ -116,6 +123,9 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
 
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
+    if (removed instanceof LogsSubscription logsSubscription) {
+      logsSubscriptions.remove(logsSubscription);
+    }
     if (removed != null) {
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
@@ -145,6 +155,17 @@ public class SubscriptionManager extends AbstractVerticle implements PrivateTran
         .collect(Collectors.toList());
   }
 
+  /**
+   * Gets the logs subscriptions whose query could match a log, without testing every subscription.
+   * The candidates must still be tested against the log with their filter.
+   *
+   * @param log the log
+   * @return the logs subscriptions whose query could match the log
+   */
+  public List<LogsSubscription> logsSubscriptionCandidates(final Log log) {
+    return logsSubscriptions.candidates(log);
+  }
+
   public void sendMessage(final Long subscriptionId, final JsonRpcResult msg) {
     final Subscription subscription = subscriptions.get(subscriptionId);
 
@@ -25,23 +25,56 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
+  private static final Logger LOG = LoggerFactory.getLogger(LogsSubscriptionService.class);
 
   private final SubscriptionManager subscriptionManager;
   private final Optional<PrivacyQueries> privacyQueries;
+  private final Executor dispatchExecutor;
 
   public LogsSubscriptionService(
       final SubscriptionManager subscriptionManager,
       final Optional<PrivacyQueries> privacyQueries) {
+    this(subscriptionManager, privacyQueries, Runnable::run);
+  }
+
+  /**
+   * Creates a service dispatching the logs to the subscriptions whose filter matches them.
+   *
+   * @param subscriptionManager the subscription manager
+   * @param privacyQueries the privacy queries, if privacy is enabled
+   * @param dispatchExecutor the executor matching the logs with the subscriptions and sending them,
+   *     instead of the thread importing the blocks. It must run the tasks in order, to keep the
+   *     order of the logs
+   */
+  public LogsSubscriptionService(
+      final SubscriptionManager subscriptionManager,
+      final Optional<PrivacyQueries> privacyQueries,
+      final Executor dispatchExecutor) {
     this.subscriptionManager = subscriptionManager;
     this.privacyQueries = privacyQueries;
+    this.dispatchExecutor = dispatchExecutor;
   }
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
+    try {
+      dispatchExecutor.execute(() -> dispatch(logWithMetadata));
+    } catch (final RejectedExecutionException e) {
+      // the subscriptions are not served anymore once the node is stopping
+      LOG.debug("Logs of block {} not dispatched to subscriptions", logWithMetadata.getBlockHash());
+    }
+  }
+
+  private void dispatch(final LogWithMetadata logWithMetadata) {
+    subscriptionManager.logsSubscriptionCandidates(logWithMetadata).stream()
         .filter(
             logsSubscription -> {
               final FilterParameter filterParameter = logsSubscription.getFilterParameter();
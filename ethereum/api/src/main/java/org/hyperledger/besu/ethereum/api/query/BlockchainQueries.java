@@ -23,12 +23,15 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.FlatTraceIndex;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomIndex;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -51,7 +54,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -66,12 +71,21 @@ import org.slf4j.LoggerFactory;
 public class BlockchainQueries {
   private static final Logger LOG = LoggerFactory.getLogger(BlockchainQueries.class);
 
+  /** The maximum number of blocks whose log blooms are scanned as one unit by a log query. */
+  public static final int LOGS_BLOOM_SCAN_CHUNK = 1_000;
+
+  private static final int LOGS_BLOOM_SCAN_PARALLELISM =
+      Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final int LOGS_RECEIPTS_BATCH = 32;
+
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<LogBloomIndex> logBloomIndex;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
+  private final Optional<FlatTraceIndex> flatTraceIndex;
 
   public BlockchainQueries(final Blockchain blockchain, final WorldStateArchive worldStateArchive) {
     this(blockchain, worldStateArchive, Optional.empty(), Optional.empty());
@@ -103,16 +117,29 @@ public class BlockchainQueries {
       final Optional<Path> cachePath,
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig) {
+    this(blockchain, worldStateArchive, cachePath, scheduler, apiConfig, Optional.empty());
+  }
+
+  public BlockchainQueries(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final ApiConfiguration apiConfig,
+      final Optional<FlatTraceIndex> flatTraceIndex) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.cachePath = cachePath;
     this.ethScheduler = scheduler;
+    this.logBloomIndex = cachePath.map(LogBloomIndex::new);
     this.transactionLogBloomCacher =
         (cachePath.isPresent() && scheduler.isPresent())
             ? Optional.of(
-                new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
+                new TransactionLogBloomCacher(
+                    blockchain, cachePath.get(), scheduler.get(), logBloomIndex.get()))
             : Optional.empty();
     this.apiConfig = apiConfig;
+    this.flatTraceIndex = flatTraceIndex;
   }
 
   public Blockchain getBlockchain() {
@@ -271,8 +298,8 @@ public class BlockchainQueries {
    */
   public Integer getTransactionCount(final Hash blockHeaderHash) {
     return blockchain
-        .getBlockBody(blockHeaderHash)
-        .map(body -> body.getTransactions().size())
+        .getLazyBlockBody(blockHeaderHash)
+        .map(LazyBlockBody::getTransactionCount)
         .orElse(-1);
   }
 
@@ -332,7 +359,7 @@ public class BlockchainQueries {
    * @return The number of ommers in the referenced block.
    */
   public Optional<Integer> getOmmerCount(final Hash blockHeaderHash) {
-    return blockchain.getBlockBody(blockHeaderHash).map(b -> b.getOmmers().size());
+    return blockchain.getLazyBlockBody(blockHeaderHash).map(b -> b.getOmmers().size());
   }
 
   /**
@@ -463,22 +490,21 @@ public class BlockchainQueries {
         .flatMap(
             header ->
                 blockchain
-                    .getBlockBody(blockHeaderHash)
+                    .getLazyBlockBody(blockHeaderHash)
                     .flatMap(
                         body ->
                             blockchain
                                 .getTotalDifficultyByHash(blockHeaderHash)
                                 .map(
                                     td -> {
-                                      final List<Hash> txs =
-                                          body.getTransactions().stream()
-                                              .map(Transaction::getHash)
-                                              .collect(Collectors.toList());
+                                      // only the transaction hashes are needed, so the
+                                      // transactions are not decoded
+                                      final List<Hash> txs = body.getTransactionHashes();
                                       final List<Hash> ommers =
                                           body.getOmmers().stream()
                                               .map(BlockHeader::getHash)
                                               .collect(Collectors.toList());
-                                      final int size = new Block(header, body).calculateSize();
+                                      final int size = body.calculateBlockSize(header);
                                       return new BlockWithMetadata<>(
                                           header, txs, ommers, td, size, body.getWithdrawals());
                                     })));
@@ -586,13 +612,16 @@ public class BlockchainQueries {
       final BlockHeader header, final int txIndex) {
     final Hash blockHeaderHash = header.getHash();
     // headers should not exist w/o bodies, so not being present is exceptional
-    final BlockBody blockBody = blockchain.getBlockBody(blockHeaderHash).orElseThrow();
-    final List<Transaction> txs = blockBody.getTransactions();
-    if (txIndex >= txs.size()) {
+    final LazyBlockBody blockBody = blockchain.getLazyBlockBody(blockHeaderHash).orElseThrow();
+    if (txIndex >= blockBody.getTransactionCount()) {
       return null;
     }
     return new TransactionWithMetadata(
-        txs.get(txIndex), header.getNumber(), header.getBaseFee(), blockHeaderHash, txIndex);
+        blockBody.getTransaction(txIndex),
+        header.getNumber(),
+        header.getBaseFee(),
+        blockHeaderHash,
+        txIndex);
   }
 
   public Optional<TransactionLocation> transactionLocationByHash(final Hash transactionHash) {
@@ -713,106 +742,220 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    final List<LogWithMetadata> result = new ArrayList<>();
+    forEachMatchingLog(fromBlockNumber, toBlockNumber, query, isQueryAlive, result::add);
+    return result;
+  }
+
+  /**
+   * Passes the logs from the range of blocks matching a query to a consumer, in order, without
+   * holding all of them in memory.
+   *
+   * <p>The log blooms of the range are scanned in parallel on the query executor of the {@link
+   * EthScheduler}, in chunks of at most {@link #LOGS_BLOOM_SCAN_CHUNK} blocks, and the receipts of
+   * the blocks that could match are then fetched in small batches. The logs of a batch are passed
+   * to the consumer before the next batch is fetched.
+   *
+   * <p>The blooms of the complete segments of the log bloom cache are read from a {@link
+   * LogBloomIndex}, the others from the cache files or the block headers.
+   *
+   * @param fromBlockNumber The block number defining the first block in the search range
+   *     (inclusive).
+   * @param toBlockNumber The block number defining the last block in the search range (inclusive).
+   * @param query Constraints on required topics by topic index. For a given index if the set of
+   *     topics is non-empty, the topic at this index must match one of the values in the set.
+   * @param isQueryAlive Whether or not the backend query should stay alive.
+   * @param consumer The consumer of the logs matching the given constraints.
+   */
+  public void forEachMatchingLog(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive,
+      final Consumer<LogWithMetadata> consumer) {
+    long chunkStart = fromBlockNumber;
+    boolean reachedChainHead = false;
+    while (chunkStart <= toBlockNumber && !reachedChainHead) {
+      // scan as many chunks at once as can run in parallel, so that only the candidate blocks of
+      // these chunks are held in memory
+      final List<Long> chunkStarts = new ArrayList<>(LOGS_BLOOM_SCAN_PARALLELISM);
+      while (chunkStart <= toBlockNumber && chunkStarts.size() < LOGS_BLOOM_SCAN_PARALLELISM) {
+        chunkStarts.add(chunkStart);
+        chunkStart = chunkEnd(chunkStart, toBlockNumber) + 1;
+      }
+      final List<Hash> candidates = new ArrayList<>();
+      for (final BloomScan scan : scanBlooms(chunkStarts, toBlockNumber, query, isQueryAlive)) {
+        candidates.addAll(scan.candidates());
+        if (scan.reachedChainHead()) {
+          reachedChainHead = true;
+          break;
+        }
+      }
+      for (int i = 0; i < candidates.size(); i += LOGS_RECEIPTS_BATCH) {
+        matchingLogsOf(
+                candidates.subList(i, Math.min(candidates.size(), i + LOGS_RECEIPTS_BATCH)),
+                query,
+                isQueryAlive)
+            .forEach(consumer);
+      }
+    }
+  }
+
+  private static long chunkEnd(final long chunkStart, final long toBlockNumber) {
+    // chunks do not cross the segments of the log bloom cache
+    final long segmentEnd = (chunkStart / BLOCKS_PER_BLOOM_CACHE + 1) * BLOCKS_PER_BLOOM_CACHE - 1;
+    return Math.min(toBlockNumber, Math.min(segmentEnd, chunkStart + LOGS_BLOOM_SCAN_CHUNK - 1));
+  }
+
+  private List<BloomScan> scanBlooms(
+      final List<Long> chunkStarts,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
     try {
-      final List<LogWithMetadata> result = new ArrayList<>();
-      final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      long currentStep = fromBlockNumber;
-      for (long segment = startSegment; segment <= endSegment; segment++) {
-        final long thisSegment = segment;
-        final long thisStep = currentStep;
-        final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
-        BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
-            cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
-                .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
-                      try {
-                        return matchingLogsCached(
-                            thisSegment * BLOCKS_PER_BLOOM_CACHE,
-                            thisStep % BLOCKS_PER_BLOOM_CACHE,
-                            Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
-                            query,
-                            cacheFile,
-                            isQueryAlive);
-                      } catch (final Exception e) {
-                        throw new RuntimeException(e);
-                      }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
-        currentStep = nextStep;
+      return runQueryTasks(
+          chunkStarts.stream()
+              .<Supplier<BloomScan>>map(
+                  chunkStart -> () -> scanChunk(chunkStart, toBlockNumber, query, isQueryAlive))
+              .toList());
+    } catch (final Exception e) {
+      throw new IllegalStateException("Error retrieving matching logs", e);
+    }
+  }
+
+  private BloomScan scanChunk(
+      final long chunkStart,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    final long chunkEnd = chunkEnd(chunkStart, toBlockNumber);
+    final long segment = chunkStart / BLOCKS_PER_BLOOM_CACHE;
+    try {
+      final Optional<List<Long>> indexedCandidates =
+          logBloomIndex.flatMap(
+              index -> index.matchingBlocks(chunkStart, chunkEnd, query.bloomMatcher()));
+      if (indexedCandidates.isPresent()) {
+        return scanIndexedBlooms(indexedCandidates.get(), isQueryAlive);
       }
-      return result;
+      final Optional<Path> cacheFile =
+          cachePath
+              .map(path -> path.resolve("logBloom-" + segment + ".cache"))
+              .filter(Files::isRegularFile);
+      return cacheFile.isPresent()
+          ? scanCachedBlooms(chunkStart, chunkEnd, query, cacheFile.get(), isQueryAlive)
+          : scanHeaderBlooms(chunkStart, chunkEnd, query, isQueryAlive);
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private List<LogWithMetadata> matchingLogsOf(
+      final List<Hash> blockHashes, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
+    try {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      return runQueryTasks(
+              blockHashes.stream()
+                  .<Supplier<List<LogWithMetadata>>>map(
+                      blockHash -> () -> matchingLogs(blockHash, query, isQueryAlive))
+                  .toList())
+          .stream()
+          .flatMap(List::stream)
+          .toList();
     } catch (final Exception e) {
       throw new IllegalStateException("Error retrieving matching logs", e);
     }
   }
 
-  private List<LogWithMetadata> matchingLogsUncached(
+  /**
+   * Runs the parts of a query on the query executor of the {@link EthScheduler}, or one after the
+   * other on the calling thread without one, and waits for all of them.
+   *
+   * @param tasks the parts of the query
+   * @return the results of the parts of the query, in the same order
+   */
+  private <T> List<T> runQueryTasks(final List<Supplier<T>> tasks) {
+    if (ethScheduler.isEmpty()) {
+      return tasks.stream().map(Supplier::get).toList();
+    }
+    final List<CompletableFuture<T>> futures =
+        tasks.stream().map(task -> ethScheduler.get().scheduleQueryTask(task)).toList();
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  private BloomScan scanHeaderBlooms(
       final long fromBlockNumber,
       final long toBlockNumber,
       final LogsQuery query,
-      final Supplier<Boolean> isQueryAlive) {
-    // rangeClosed handles the inverted from/to situations automatically with zero results.
-    return LongStream.rangeClosed(fromBlockNumber, toBlockNumber)
-        .mapToObj(blockchain::getBlockHeader)
-        // Use takeWhile instead of clamping on toBlockNumber/headBlockNumber because it may get an
-        // extra block or two for a query that has a toBlockNumber past chain head.  Similarly this
-        // handles the case when fromBlockNumber is past chain head.
-        .takeWhile(Optional::isPresent)
-        .map(Optional::get)
-        .filter(header -> query.couldMatch(header.getLogsBloom()))
-        .flatMap(header -> matchingLogs(header.getHash(), query, isQueryAlive).stream())
-        .collect(Collectors.toList());
-  }
-
-  private List<LogWithMetadata> matchingLogsCached(
-      final long segmentStart,
-      final long offset,
-      final long endOffset,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<Hash> candidates = new ArrayList<>();
+    for (long number = fromBlockNumber; number <= toBlockNumber; number++) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      // Stop at the first missing header instead of clamping on toBlockNumber/headBlockNumber
+      // because it may get an extra block or two for a query that has a toBlockNumber past chain
+      // head. Similarly this handles the case when fromBlockNumber is past chain head.
+      final Optional<BlockHeader> header = blockchain.getBlockHeader(number);
+      if (header.isEmpty()) {
+        return new BloomScan(candidates, true);
+      }
+      if (query.couldMatch(header.get().getLogsBloom())) {
+        candidates.add(header.get().getHash());
+      }
+    }
+    return new BloomScan(candidates, false);
+  }
+
+  private BloomScan scanIndexedBlooms(
+      final List<Long> candidateNumbers, final Supplier<Boolean> isQueryAlive) throws Exception {
+    BackendQuery.stopIfExpired(isQueryAlive);
+    final List<Hash> candidates = new ArrayList<>(candidateNumbers.size());
+    for (final long number : candidateNumbers) {
+      candidates.add(blockchain.getBlockHashByNumber(number).orElseThrow());
+    }
+    return new BloomScan(candidates, false);
+  }
+
+  private BloomScan scanCachedBlooms(
+      final long fromBlockNumber,
+      final long toBlockNumber,
       final LogsQuery query,
       final Path cacheFile,
       final Supplier<Boolean> isQueryAlive)
       throws Exception {
-    final List<LogWithMetadata> results = new ArrayList<>();
+    final List<Hash> candidates = new ArrayList<>();
     try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
-      raf.seek(offset * 256);
-      final byte[] bloomBuff = new byte[256];
+      raf.seek((fromBlockNumber % BLOCKS_PER_BLOOM_CACHE) * LogsBloomFilter.BYTE_SIZE);
+      final byte[] bloomBuff = new byte[LogsBloomFilter.BYTE_SIZE];
       final Bytes bytesValue = Bytes.wrap(bloomBuff);
-      for (long pos = offset; pos <= endOffset; pos++) {
+      for (long number = fromBlockNumber; number <= toBlockNumber; number++) {
         BackendQuery.stopIfExpired(isQueryAlive);
         try {
           raf.readFully(bloomBuff);
         } catch (final EOFException e) {
-          results.addAll(
-              matchingLogsUncached(
-                  segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
-          break;
+          // the rest of the chunk is not cached yet
+          final BloomScan rest = scanHeaderBlooms(number, toBlockNumber, query, isQueryAlive);
+          candidates.addAll(rest.candidates());
+          return new BloomScan(candidates, rest.reachedChainHead());
         }
         final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
         if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
+          candidates.add(blockchain.getBlockHashByNumber(number).orElseThrow());
         }
       }
     } catch (final IOException e) {
-      e.printStackTrace(System.out);
       LOG.error("Error reading cached log blooms", e);
     }
-    return results;
+    return new BloomScan(candidates, false);
   }
 
+  /**
+   * The blocks of a chunk whose log bloom could match a query.
+   *
+   * @param candidates the hashes of the blocks that could match, in order
+   * @param reachedChainHead whether the scan stopped at the chain head before the end of the chunk
+   */
+  private record BloomScan(List<Hash> candidates, boolean reachedChainHead) {}
+
   public List<LogWithMetadata> matchingLogs(
       final Hash blockHash, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
     try {
@@ -1079,4 +1222,13 @@ public class BlockchainQueries {
   public Optional<EthScheduler> getEthScheduler() {
     return ethScheduler;
   }
+
+  /**
+   * Returns the index of the flat traces of the imported blocks, if it is enabled.
+   *
+   * @return the flat trace index
+   */
+  public Optional<FlatTraceIndex> getFlatTraceIndex() {
+    return flatTraceIndex;
+  }
 }
@@ -21,6 +21,7 @@ import static java.util.stream.Collectors.toUnmodifiableList;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TopicsDeserializer;
+import org.hyperledger.besu.ethereum.api.query.cache.LogsBloomMatcher;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.log.LogTopic;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
@@ -44,6 +45,7 @@ public class LogsQuery {
   private final List<List<LogTopic>> topics;
   private final List<LogsBloomFilter> addressBlooms;
   private final List<List<LogsBloomFilter>> topicsBlooms;
+  private final LogsBloomMatcher bloomMatcher;
 
   @JsonCreator
   public LogsQuery(
@@ -75,6 +77,18 @@ public class LogsQuery {
                         .map(logTopic -> LogsBloomFilter.builder().insertBytes(logTopic).build())
                         .collect(Collectors.toList()))
             .collect(toUnmodifiableList());
+    final List<List<LogsBloomFilter>> bloomPositions = new ArrayList<>(topicsBlooms.size() + 1);
+    bloomPositions.add(addressBlooms);
+    bloomPositions.addAll(topicsBlooms);
+    this.bloomMatcher = LogsBloomMatcher.of(bloomPositions);
+  }
+
+  public List<Address> getAddresses() {
+    return addresses;
+  }
+
+  public List<List<LogTopic>> getTopics() {
+    return topics;
   }
 
   public boolean couldMatch(final LogsBloomFilter bloom) {
@@ -85,6 +99,16 @@ public class LogsQuery {
                     topics -> topics.isEmpty() || topics.stream().anyMatch(bloom::couldContain)));
   }
 
+  /**
+   * Gets a matcher equivalent to {@link #couldMatch(LogsBloomFilter)}, which tests blooms laid out
+   * as words.
+   *
+   * @return the bloom matcher of this query
+   */
+  public LogsBloomMatcher bloomMatcher() {
+    return bloomMatcher;
+  }
+
   public boolean matches(final Log log) {
     return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
   }
@@ -0,0 +1,150 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An inverted index of the holders of log queries, such as log filters and logs subscriptions, so
+ * that the holders whose query could match a log are found without testing every query.
+ *
+ * <p>A query is indexed by its addresses, or by its first topics if it has no address, or else is
+ * a candidate for every log. The candidates of a log are the holders indexed by its address and its
+ * first topic, which must still be tested with {@link LogsQuery#matches}.
+ *
+ * @param <T> the type of the holders of the queries
+ */
+public class LogsQueryIndex<T> {
+
+  private final Map<T, LogsQuery> queries = new ConcurrentHashMap<>();
+  private final Map<Address, Set<T>> byAddress = new ConcurrentHashMap<>();
+  private final Map<LogTopic, Set<T>> byFirstTopic = new ConcurrentHashMap<>();
+  private final Set<T> unindexed = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Adds the query of a holder to the index, replacing its previous query if any.
+   *
+   * @param holder the holder of the query
+   * @param query the query
+   */
+  public synchronized void add(final T holder, final LogsQuery query) {
+    remove(holder);
+    queries.put(holder, query);
+    if (!query.getAddresses().isEmpty()) {
+      indexedAddresses(query)
+          .forEach(
+              address -> byAddress.computeIfAbsent(address, key -> newHolderSet()).add(holder));
+    } else if (isIndexableByFirstTopic(query)) {
+      query
+          .getTopics()
+          .get(0)
+          .forEach(topic -> byFirstTopic.computeIfAbsent(topic, key -> newHolderSet()).add(holder));
+    } else {
+      unindexed.add(holder);
+    }
+  }
+
+  /**
+   * Removes the query of a holder from the index.
+   *
+   * @param holder the holder of the query
+   */
+  public synchronized void remove(final T holder) {
+    final LogsQuery query = queries.remove(holder);
+    if (query == null) {
+      return;
+    }
+    if (!query.getAddresses().isEmpty()) {
+      indexedAddresses(query).forEach(address -> removeFrom(byAddress, address, holder));
+    } else if (isIndexableByFirstTopic(query)) {
+      query.getTopics().get(0).forEach(topic -> removeFrom(byFirstTopic, topic, holder));
+    } else {
+      unindexed.remove(holder);
+    }
+  }
+
+  /** Removes all the queries from the index. */
+  public synchronized void clear() {
+    queries.clear();
+    byAddress.clear();
+    byFirstTopic.clear();
+    unindexed.clear();
+  }
+
+  /**
+   * Gets the holders whose query could match a log.
+   *
+   * @param log the log
+   * @return the holders whose query could match the log, each one once
+   */
+  public List<T> candidates(final Log log) {
+    final Collection<T> addressCandidates = byAddress.getOrDefault(log.getLogger(), Set.of());
+    final Collection<T> topicCandidates =
+        log.getTopics().isEmpty()
+            ? Set.of()
+            : byFirstTopic.getOrDefault(log.getTopics().get(0), Set.of());
+    final List<T> candidates =
+        new ArrayList<>(addressCandidates.size() + topicCandidates.size() + unindexed.size());
+    // a holder is only indexed under one kind of key, so the candidates are distinct
+    candidates.addAll(addressCandidates);
+    candidates.addAll(topicCandidates);
+    candidates.addAll(unindexed);
+    return candidates;
+  }
+
+  /**
+   * Gets the number of indexed queries.
+   *
+   * @return the number of indexed queries
+   */
+  public int size() {
+    return queries.size();
+  }
+
+  private static List<Address> indexedAddresses(final LogsQuery query) {
+    // a null address matches no log
+    return query.getAddresses().stream().filter(Objects::nonNull).toList();
+  }
+
+  private static boolean isIndexableByFirstTopic(final LogsQuery query) {
+    // a null topic matches any topic
+    return !query.getTopics().isEmpty()
+        && !query.getTopics().get(0).isEmpty()
+        && !query.getTopics().get(0).contains(null);
+  }
+
+  private Set<T> newHolderSet() {
+    return ConcurrentHashMap.newKeySet();
+  }
+
+  private <K> void removeFrom(final Map<K, Set<T>> index, final K key, final T holder) {
+    index.computeIfPresent(
+        key,
+        (unused, holders) -> {
+          holders.remove(holder);
+          return holders.isEmpty() ? null : holders;
+        });
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Traces every block added to the blockchain, including the blocks of forks, and stores its flat
+ * traces in the {@link FlatTraceIndex}. The blocks are traced in order on a single thread, off the
+ * import thread. The blocks imported before the service is started are not indexed, nor the blocks
+ * rejected by the executor when its queue is full, whose traces are then replayed on request.
+ */
+public class AutoFlatTraceIndexingService {
+  private static final Logger LOG = LoggerFactory.getLogger(AutoFlatTraceIndexingService.class);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+  private final Blockchain blockchain;
+  private final FlatTraceIndex flatTraceIndex;
+  private final Function<Block, Optional<ArrayNode>> blockTracer;
+  private final ExecutorService indexingExecutor;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  /**
+   * Creates the service.
+   *
+   * @param blockchain the blockchain whose blocks are indexed
+   * @param flatTraceIndex the index the traces are stored in
+   * @param blockTracer replays a block to generate its flat traces, or returns empty if its state
+   *     is not available
+   * @param indexingExecutor the single thread executor tracing the blocks, with a bounded queue
+   */
+  public AutoFlatTraceIndexingService(
+      final Blockchain blockchain,
+      final FlatTraceIndex flatTraceIndex,
+      final Function<Block, Optional<ArrayNode>> blockTracer,
+      final ExecutorService indexingExecutor) {
+    this.blockchain = blockchain;
+    this.flatTraceIndex = flatTraceIndex;
+    this.blockTracer = blockTracer;
+    this.indexingExecutor = indexingExecutor;
+  }
+
+  public void start() {
+    LOG.info("Starting auto flat trace indexing service.");
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  final Block block = event.getBlock();
+                  if (block.getHeader().getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
+                    return;
+                  }
+                  try {
+                    indexingExecutor.execute(() -> indexBlock(block));
+                  } catch (final RejectedExecutionException e) {
+                    // the blocks are imported faster than they are traced, as during a sync
+                    LOG.trace(
+                        "Indexing queue is full, block {} is not indexed",
+                        block.getHeader().toLogString());
+                  }
+                }));
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto flat trace indexing service.");
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+    // let the block being traced be indexed, as the storage may be closed right after
+    indexingExecutor.shutdown();
+    try {
+      if (!indexingExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("Auto flat trace indexing did not stop in time, interrupting it.");
+        indexingExecutor.shutdownNow();
+      }
+    } catch (final InterruptedException e) {
+      indexingExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void indexBlock(final Block block) {
+    final BlockHeader header = block.getHeader();
+    if (flatTraceIndex.isIndexed(header.getHash())) {
+      return;
+    }
+    try {
+      blockTracer
+          .apply(block)
+          .ifPresentOrElse(
+              traces -> flatTraceIndex.indexBlock(header, traces),
+              () ->
+                  LOG.debug(
+                      "State of block {} is not available, its traces are not indexed",
+                      header.toLogString()));
+    } catch (final RuntimeException e) {
+      LOG.warn("Failed to index the traces of block {}", header.toLogString(), e);
+    }
+  }
+}
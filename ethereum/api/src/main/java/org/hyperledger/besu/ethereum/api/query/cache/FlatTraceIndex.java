@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Stores the flat traces of the imported blocks, as returned by trace_block, along with an index of
+ * the blocks whose traces have an address as sender or recipient, so that trace_filter and
+ * trace_block read them instead of replaying the blocks.
+ *
+ * <p>The traces of a block are keyed by its hash, so that the blocks of forks are indexed as well
+ * and the traces of a block become readable as soon as it is canonical. The address index is keyed
+ * by block number, and may point at blocks which are no longer canonical, so that the traces read
+ * from it must be filtered again.
+ *
+ * <p>The traces are stored in RLP rather than as JSON text, see {@link FlatTraceRlpCodec}.
+ */
+public class FlatTraceIndex {
+
+  private static final Bytes TRACES_PREFIX = Bytes.of(0);
+  private static final Bytes ADDRESS_PREFIX = Bytes.of(1);
+  private static final int ADDRESS_KEY_SIZE = 1 + Address.SIZE + Long.BYTES;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new Jdk8Module());
+
+  private final KeyValueStorage storage;
+
+  public FlatTraceIndex(final KeyValueStorage storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Stores the flat traces of a block and indexes the addresses they are sent from or to.
+   *
+   * @param header the header of the block
+   * @param traces the flat traces of the block, as returned by trace_block
+   */
+  public void indexBlock(final BlockHeader header, final ArrayNode traces) {
+    // convert the traces to JSON nodes, as they are usually made of the POJOs of the traces
+    final JsonNode storedTraces = MAPPER.valueToTree(traces);
+    final Set<Address> addresses = new HashSet<>();
+    storedTraces.forEach(
+        trace -> {
+          actionAddress(trace, "from").ifPresent(addresses::add);
+          actionAddress(trace, "to").ifPresent(addresses::add);
+        });
+
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    addresses.forEach(
+        address ->
+            transaction.put(addressKey(address, header.getNumber()), Bytes.EMPTY.toArrayUnsafe()));
+    transaction.put(
+        tracesKey(header.getHash()), FlatTraceRlpCodec.encode(storedTraces).toArrayUnsafe());
+    transaction.commit();
+  }
+
+  /**
+   * Checks if the flat traces of a block are stored.
+   *
+   * @param blockHash the hash of the block
+   * @return true if the traces of the block are stored
+   */
+  public boolean isIndexed(final Hash blockHash) {
+    return storage.containsKey(tracesKey(blockHash));
+  }
+
+  /**
+   * Reads the flat traces of a block.
+   *
+   * @param blockHash the hash of the block
+   * @return the traces of the block, or empty if they are not stored
+   */
+  public Optional<ArrayNode> getTraces(final Hash blockHash) {
+    return storage
+        .get(tracesKey(blockHash))
+        .map(encodedTraces -> FlatTraceRlpCodec.decode(Bytes.wrap(encodedTraces)))
+        .filter(ArrayNode.class::isInstance)
+        .map(ArrayNode.class::cast);
+  }
+
+  /**
+   * Gets the numbers of the blocks of a range with a trace sent from or to one of the addresses.
+   * The blocks may not be canonical.
+   *
+   * @param addresses the addresses to look for
+   * @param fromBlockNumber the first block of the range
+   * @param toBlockNumber the last block of the range
+   * @return the numbers of the blocks, in order
+   */
+  public NavigableSet<Long> blocksWithAddress(
+      final Collection<Address> addresses, final long fromBlockNumber, final long toBlockNumber) {
+    final NavigableSet<Long> blockNumbers = new TreeSet<>();
+    for (final Address address : addresses) {
+      try (final Stream<byte[]> keys =
+          storage
+              .streamFromKey(
+                  addressKey(address, fromBlockNumber), addressKey(address, toBlockNumber))
+              .map(pair -> pair.getKey())) {
+        keys.filter(key -> key.length == ADDRESS_KEY_SIZE)
+            .map(key -> Bytes.wrap(key).getLong(1 + Address.SIZE))
+            .filter(number -> number >= fromBlockNumber && number <= toBlockNumber)
+            .forEach(blockNumbers::add);
+      }
+    }
+    return blockNumbers;
+  }
+
+  /**
+   * Reads the address of the action of a flat trace.
+   *
+   * @param trace the flat trace, as JSON
+   * @param field the field of the address in the action, "from" or "to"
+   * @return the address, if the action has one
+   */
+  public static Optional<Address> actionAddress(final JsonNode trace, final String field) {
+    final JsonNode address = trace.path("action").path(field);
+    return address.isTextual()
+        ? Optional.of(Address.fromHexString(address.textValue()))
+        : Optional.empty();
+  }
+
+  private static byte[] tracesKey(final Bytes32 blockHash) {
+    return Bytes.concatenate(TRACES_PREFIX, blockHash).toArrayUnsafe();
+  }
+
+  private static byte[] addressKey(final Address address, final long blockNumber) {
+    return Bytes.concatenate(ADDRESS_PREFIX, address, Bytes.ofUnsignedLong(blockNumber))
+        .toArrayUnsafe();
+  }
+}
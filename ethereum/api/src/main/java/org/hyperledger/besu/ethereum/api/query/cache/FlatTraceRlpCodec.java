@@ -0,0 +1,190 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Encodes the flat traces of a block, as JSON, in RLP. The arrays and objects are lists whose first
+ * item is their type, followed by their elements, or by the name and the value of each field. The
+ * other values are strings whose first byte is their type. Most values of a trace are hex strings,
+ * as the addresses, the hashes, the gas and the input and output of the calls, which are stored as
+ * their bytes, so that a trace is about half the size of its JSON text.
+ *
+ * <p>A decoded trace is equal to the trace read back from its JSON text.
+ */
+final class FlatTraceRlpCodec {
+
+  private static final byte ARRAY = 0;
+  private static final byte OBJECT = 1;
+  private static final byte NULL = 2;
+  private static final byte FALSE = 3;
+  private static final byte TRUE = 4;
+  private static final byte HEX = 5;
+  private static final byte TEXT = 6;
+  private static final byte UNSIGNED_INTEGER = 7;
+  private static final byte NUMBER = 8;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+  private FlatTraceRlpCodec() {}
+
+  static Bytes encode(final JsonNode node) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    writeNode(node, out);
+    return out.encoded();
+  }
+
+  static JsonNode decode(final Bytes encoded) {
+    return readNode(RLP.input(encoded));
+  }
+
+  private static void writeNode(final JsonNode node, final RLPOutput out) {
+    if (node.isArray()) {
+      out.startList();
+      out.writeBytes(Bytes.of(ARRAY));
+      node.forEach(element -> writeNode(element, out));
+      out.endList();
+    } else if (node.isObject()) {
+      out.startList();
+      out.writeBytes(Bytes.of(OBJECT));
+      final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        out.writeBytes(Bytes.wrap(field.getKey().getBytes(StandardCharsets.UTF_8)));
+        writeNode(field.getValue(), out);
+      }
+      out.endList();
+    } else if (node.isNull() || node.isMissingNode()) {
+      out.writeBytes(Bytes.of(NULL));
+    } else if (node.isBoolean()) {
+      out.writeBytes(Bytes.of(node.booleanValue() ? TRUE : FALSE));
+    } else if (node.isTextual()) {
+      final String text = node.textValue();
+      if (isPackableHex(text)) {
+        out.writeBytes(Bytes.concatenate(Bytes.of(HEX), Bytes.fromHexString(text)));
+      } else {
+        out.writeBytes(
+            Bytes.concatenate(Bytes.of(TEXT), Bytes.wrap(text.getBytes(StandardCharsets.UTF_8))));
+      }
+    } else if (node.isIntegralNumber() && node.canConvertToLong() && node.longValue() >= 0) {
+      out.writeBytes(
+          Bytes.concatenate(Bytes.of(UNSIGNED_INTEGER), Bytes.minimalBytes(node.longValue())));
+    } else if (node.isNumber()) {
+      out.writeBytes(
+          Bytes.concatenate(
+              Bytes.of(NUMBER), Bytes.wrap(node.asText().getBytes(StandardCharsets.UTF_8))));
+    } else {
+      throw new IllegalArgumentException("Unsupported trace value " + node.getNodeType());
+    }
+  }
+
+  private static JsonNode readNode(final RLPInput in) {
+    if (in.nextIsList()) {
+      in.enterList();
+      final byte type = in.readBytes().get(0);
+      final JsonNode node;
+      if (type == ARRAY) {
+        final ArrayNode arrayNode = NODE_FACTORY.arrayNode();
+        while (!in.isEndOfCurrentList()) {
+          arrayNode.add(readNode(in));
+        }
+        node = arrayNode;
+      } else if (type == OBJECT) {
+        final ObjectNode objectNode = NODE_FACTORY.objectNode();
+        while (!in.isEndOfCurrentList()) {
+          final String name = utf8(in.readBytes());
+          objectNode.set(name, readNode(in));
+        }
+        node = objectNode;
+      } else {
+        throw new RLPException("Unknown trace container type " + type);
+      }
+      in.leaveList();
+      return node;
+    }
+
+    final Bytes value = in.readBytes();
+    final byte type = value.get(0);
+    final Bytes payload = value.slice(1);
+    switch (type) {
+      case NULL:
+        return NODE_FACTORY.nullNode();
+      case FALSE:
+        return NODE_FACTORY.booleanNode(false);
+      case TRUE:
+        return NODE_FACTORY.booleanNode(true);
+      case HEX:
+        return NODE_FACTORY.textNode(payload.toHexString());
+      case TEXT:
+        return NODE_FACTORY.textNode(utf8(payload));
+      case UNSIGNED_INTEGER:
+        {
+          final long number = payload.isEmpty() ? 0 : payload.toLong();
+          // as parsed from JSON text, the numbers which fit in an int are read as int
+          return number <= Integer.MAX_VALUE
+              ? NODE_FACTORY.numberNode((int) number)
+              : NODE_FACTORY.numberNode(number);
+        }
+      case NUMBER:
+        try {
+          return MAPPER.readTree(utf8(payload));
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      default:
+        throw new RLPException("Unknown trace value type " + type);
+    }
+  }
+
+  /**
+   * Checks if a text is a hex string which is decoded back to the same text, which is prefixed,
+   * has an even number of digits, and is in lower case.
+   */
+  private static boolean isPackableHex(final String text) {
+    if (!text.startsWith("0x") || text.length() % 2 != 0) {
+      return false;
+    }
+    for (int i = 2; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String utf8(final Bytes bytes) {
+    return new String(bytes.toArrayUnsafe(), StandardCharsets.UTF_8);
+  }
+}
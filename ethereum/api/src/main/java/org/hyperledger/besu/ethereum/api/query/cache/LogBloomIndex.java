@@ -0,0 +1,197 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.ethereum.api.query.cache.LogsBloomMatcher.WORDS_PER_BLOOM;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.EXPECTED_BLOOM_FILE_SIZE;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the complete segments of the log bloom cache through memory mappings, along with a summary
+ * of each segment made of the union of the blooms of every {@link #BLOCKS_PER_SUMMARY} blocks, so
+ * that the groups of blocks none of which could match a query are skipped at once.
+ *
+ * <p>A mapping is kept until the cache invalidates its segment, which it does on every write, or
+ * until its file is replaced. The cache never truncates complete segments in place, so that the
+ * mappings stay valid.
+ */
+public class LogBloomIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LogBloomIndex.class);
+
+  /** The number of blocks whose blooms are merged in a summary. */
+  public static final int BLOCKS_PER_SUMMARY = 1_000;
+
+  private static final int SUMMARIES_PER_SEGMENT = BLOCKS_PER_BLOOM_CACHE / BLOCKS_PER_SUMMARY;
+
+  private final Path cacheDir;
+  private final Map<Long, MappedSegment> segments = new ConcurrentHashMap<>();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public LogBloomIndex(final Path cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Gets the numbers of the blocks of a range whose bloom could match a query, if the segment of
+   * the range is complete.
+   *
+   * @param fromBlockNumber the first block of the range
+   * @param toBlockNumber the last block of the range, in the same segment as the first one
+   * @param matcher the bloom matcher of the query
+   * @return the numbers of the blocks that could match in order, or empty if the segment is not
+   *     complete and its blooms must be read otherwise
+   */
+  public Optional<List<Long>> matchingBlocks(
+      final long fromBlockNumber, final long toBlockNumber, final LogsBloomMatcher matcher) {
+    final long segmentNumber = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+    checkArgument(
+        toBlockNumber / BLOCKS_PER_BLOOM_CACHE == segmentNumber,
+        "Range %s to %s is not in a single segment",
+        fromBlockNumber,
+        toBlockNumber);
+    try {
+      return mappedSegment(segmentNumber)
+          .map(segment -> segment.matchingBlocks(fromBlockNumber, toBlockNumber, matcher));
+    } catch (final IOException e) {
+      LOG.debug("Unable to map log bloom cache segment {}", segmentNumber, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Invalidates the mapping of a segment, once the cache has written it.
+   *
+   * @param segmentNumber the number of the segment
+   */
+  public void invalidate(final long segmentNumber) {
+    invalidations.incrementAndGet();
+    segments.remove(segmentNumber);
+  }
+
+  private Optional<MappedSegment> mappedSegment(final long segmentNumber) throws IOException {
+    final long invalidationsBefore = invalidations.get();
+    final Path file =
+        TransactionLogBloomCacher.calculateCacheFileName(
+                segmentNumber * BLOCKS_PER_BLOOM_CACHE, cacheDir)
+            .toPath();
+    final BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (final NoSuchFileException e) {
+      segments.remove(segmentNumber);
+      return Optional.empty();
+    }
+    if (attributes.size() != EXPECTED_BLOOM_FILE_SIZE) {
+      return Optional.empty();
+    }
+    final MappedSegment segment = segments.get(segmentNumber);
+    if (segment != null && segment.isMappingOf(attributes)) {
+      return Optional.of(segment);
+    }
+    final MappedSegment mappedSegment = MappedSegment.map(file, attributes);
+    // a segment written while it was mapped is mapped again by the next query
+    segments.compute(
+        segmentNumber,
+        (number, previous) ->
+            invalidations.get() == invalidationsBefore ? mappedSegment : previous);
+    return Optional.of(mappedSegment);
+  }
+
+  private static final class MappedSegment {
+    private final Object fileKey;
+    private final long lastModified;
+    private final LongBuffer blooms;
+    private final long[] summaries;
+
+    private MappedSegment(
+        final Object fileKey,
+        final long lastModified,
+        final LongBuffer blooms,
+        final long[] summaries) {
+      this.fileKey = fileKey;
+      this.lastModified = lastModified;
+      this.blooms = blooms;
+      this.summaries = summaries;
+    }
+
+    static MappedSegment map(final Path file, final BasicFileAttributes attributes)
+        throws IOException {
+      final LongBuffer blooms;
+      try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        // the mapping stays valid once the channel is closed
+        blooms =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, EXPECTED_BLOOM_FILE_SIZE).asLongBuffer();
+      }
+      final long[] summaries = new long[SUMMARIES_PER_SEGMENT * WORDS_PER_BLOOM];
+      for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+        final int summary = block / BLOCKS_PER_SUMMARY * WORDS_PER_BLOOM;
+        final int bloom = block * WORDS_PER_BLOOM;
+        for (int word = 0; word < WORDS_PER_BLOOM; word++) {
+          summaries[summary + word] |= blooms.get(bloom + word);
+        }
+      }
+      return new MappedSegment(
+          attributes.fileKey(), attributes.lastModifiedTime().toMillis(), blooms, summaries);
+    }
+
+    boolean isMappingOf(final BasicFileAttributes attributes) {
+      return Objects.equals(fileKey, attributes.fileKey())
+          && lastModified == attributes.lastModifiedTime().toMillis();
+    }
+
+    List<Long> matchingBlocks(
+        final long fromBlockNumber, final long toBlockNumber, final LogsBloomMatcher matcher) {
+      final long segmentStart = fromBlockNumber - fromBlockNumber % BLOCKS_PER_BLOOM_CACHE;
+      final int to = Math.toIntExact(toBlockNumber - segmentStart);
+      final LongBuffer summaryWords = LongBuffer.wrap(summaries);
+      final List<Long> candidates = new ArrayList<>();
+      int block = Math.toIntExact(fromBlockNumber - segmentStart);
+      while (block <= to) {
+        final int summary = block / BLOCKS_PER_SUMMARY;
+        final int summaryEnd = Math.min(to, (summary + 1) * BLOCKS_PER_SUMMARY - 1);
+        if (matcher.couldMatch(summaryWords, summary * WORDS_PER_BLOOM)) {
+          for (; block <= summaryEnd; block++) {
+            if (matcher.couldMatch(blooms, block * WORDS_PER_BLOOM)) {
+              candidates.add(segmentStart + block);
+            }
+          }
+        }
+        block = summaryEnd + 1;
+      }
+      return candidates;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests log blooms against the blooms of a log query 64 bits at a time. The bloom of an address or
+ * a topic only has 3 bits set, so only the words holding them are read from the tested bloom
+ * instead of its 256 bytes.
+ *
+ * <p>A bloom could match if, for each position of the query, it contains one of the alternative
+ * blooms of the position. The blooms are read as big-endian words, as they are laid out in the log
+ * bloom cache files.
+ */
+public final class LogsBloomMatcher {
+
+  static final int WORDS_PER_BLOOM = LogsBloomFilter.BYTE_SIZE / Long.BYTES;
+
+  // for each position, the alternatives, each one as the indices of its non-zero words and the
+  // bits set in them
+  private final int[][][] wordIndices;
+  private final long[][][] wordMasks;
+
+  private LogsBloomMatcher(final int[][][] wordIndices, final long[][][] wordMasks) {
+    this.wordIndices = wordIndices;
+    this.wordMasks = wordMasks;
+  }
+
+  /**
+   * Creates a matcher for the blooms of a log query. Positions without any alternative match any
+   * bloom, as in {@code LogsQuery.couldMatch}.
+   *
+   * @param positions the alternative blooms of each position of the query
+   * @return the matcher
+   */
+  public static LogsBloomMatcher of(final List<List<LogsBloomFilter>> positions) {
+    final List<int[][]> wordIndices = new ArrayList<>();
+    final List<long[][]> wordMasks = new ArrayList<>();
+    for (final List<LogsBloomFilter> alternatives : positions) {
+      if (alternatives.isEmpty()) {
+        continue;
+      }
+      final int[][] alternativeIndices = new int[alternatives.size()][];
+      final long[][] alternativeMasks = new long[alternatives.size()][];
+      for (int i = 0; i < alternatives.size(); i++) {
+        final LogsBloomFilter bloom = alternatives.get(i);
+        int words = 0;
+        for (int w = 0; w < WORDS_PER_BLOOM; w++) {
+          if (bloom.getLong(w * Long.BYTES) != 0) {
+            words++;
+          }
+        }
+        alternativeIndices[i] = new int[words];
+        alternativeMasks[i] = new long[words];
+        for (int w = 0, j = 0; w < WORDS_PER_BLOOM; w++) {
+          final long mask = bloom.getLong(w * Long.BYTES);
+          if (mask != 0) {
+            alternativeIndices[i][j] = w;
+            alternativeMasks[i][j] = mask;
+            j++;
+          }
+        }
+      }
+      wordIndices.add(alternativeIndices);
+      wordMasks.add(alternativeMasks);
+    }
+    return new LogsBloomMatcher(
+        wordIndices.toArray(new int[0][][]), wordMasks.toArray(new long[0][][]));
+  }
+
+  /**
+   * Whether a bloom could contain logs matching the query.
+   *
+   * @param blooms the buffer holding the bloom, as big-endian words
+   * @param offset the index of the first word of the bloom in the buffer
+   * @return false if the bloom cannot contain any matching log
+   */
+  public boolean couldMatch(final LongBuffer blooms, final int offset) {
+    for (int p = 0; p < wordIndices.length; p++) {
+      if (!couldMatchAlternative(blooms, offset, wordIndices[p], wordMasks[p])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean couldMatchAlternative(
+      final LongBuffer blooms, final int offset, final int[][] indices, final long[][] masks) {
+    for (int a = 0; a < indices.length; a++) {
+      if (contains(blooms, offset, indices[a], masks[a])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean contains(
+      final LongBuffer blooms, final int offset, final int[] indices, final long[] masks) {
+    for (int i = 0; i < indices.length; i++) {
+      if ((blooms.get(offset + indices[i]) & masks[i]) != masks[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
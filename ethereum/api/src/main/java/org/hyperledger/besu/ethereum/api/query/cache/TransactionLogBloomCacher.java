@@ -53,7 +53,7 @@ public class TransactionLogBloomCacher {
 
   public static final int BLOCKS_PER_BLOOM_CACHE = 100_000;
   public static final int BLOOM_BITS_LENGTH = 256;
-  private static final int EXPECTED_BLOOM_FILE_SIZE = BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
+  static final int EXPECTED_BLOOM_FILE_SIZE = BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
   public static final String CURRENT = "current";
   private final Map<Long, Boolean> cachedSegments;
 
@@ -63,14 +63,32 @@ public class TransactionLogBloomCacher {
   private final Blockchain blockchain;
 
   private final Path cacheDir;
+  private final LogBloomIndex logBloomIndex;
 
   private final CachingStatus cachingStatus = new CachingStatus();
 
   public TransactionLogBloomCacher(
       final Blockchain blockchain, final Path cacheDir, final EthScheduler scheduler) {
+    this(blockchain, cacheDir, scheduler, new LogBloomIndex(cacheDir));
+  }
+
+  /**
+   * Creates a cacher of the log blooms.
+   *
+   * @param blockchain the blockchain
+   * @param cacheDir the directory of the cache
+   * @param scheduler the scheduler running the caching
+   * @param logBloomIndex the index reading the cache, whose segments are invalidated once written
+   */
+  public TransactionLogBloomCacher(
+      final Blockchain blockchain,
+      final Path cacheDir,
+      final EthScheduler scheduler,
+      final LogBloomIndex logBloomIndex) {
     this.blockchain = blockchain;
     this.cacheDir = cacheDir;
     this.scheduler = scheduler;
+    this.logBloomIndex = logBloomIndex;
     this.cachedSegments = new TreeMap<>();
   }
 
@@ -86,7 +104,7 @@ public class TransactionLogBloomCacher {
     return cacheDir.resolve("logBloom-" + name + ".cache").toFile();
   }
 
-  private static File calculateCacheFileName(final long blockNumber, final Path cacheDir) {
+  static File calculateCacheFileName(final long blockNumber, final Path cacheDir) {
     return calculateCacheFileName(Long.toString(blockNumber / BLOCKS_PER_BLOOM_CACHE), cacheDir);
   }
 
@@ -115,7 +133,19 @@ public class TransactionLogBloomCacher {
                   blockHeader ->
                       cacheLogsBloomForBlockHeader(
                           blockHeader, Optional.empty(), Optional.of(cacheFile)));
-          fillCacheFile(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, cacheFile);
+          // the segment is replaced rather than rewritten, as it may be memory mapped
+          final File tmpFile = Files.createTempFile(cacheDir, cacheFile.getName(), ".tmp").toFile();
+          try {
+            fillCacheFile(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, tmpFile);
+            Files.move(
+                tmpFile.toPath(),
+                cacheFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+          } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+            invalidateSegment(blockNum);
+          }
         }
       } catch (final Exception e) {
         LOG.error("Unhandled caching exception", e);
@@ -201,6 +231,8 @@ public class TransactionLogBloomCacher {
   private void cacheSingleBlock(
       final BlockHeader blockHeader, final File cacheFile, final boolean isCheckSizeNeeded)
       throws IOException, InvalidCacheException {
+    final long validCacheSize;
+    final boolean isCompleteSegmentTruncated;
     try (final RandomAccessFile writer = new RandomAccessFile(cacheFile, "rw")) {
 
       final long nbCachedBlocks = cacheFile.length() / BLOOM_BITS_LENGTH;
@@ -213,12 +245,38 @@ public class TransactionLogBloomCacher {
       writer.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().toArray()));
 
       // remove invalid logs when there was a reorg
-      final long validCacheSize = offset + BLOOM_BITS_LENGTH;
+      validCacheSize = offset + BLOOM_BITS_LENGTH;
 
-      if (writer.length() > validCacheSize) {
+      isCompleteSegmentTruncated =
+          writer.length() == EXPECTED_BLOOM_FILE_SIZE && writer.length() > validCacheSize;
+      if (!isCompleteSegmentTruncated && writer.length() > validCacheSize) {
         writer.setLength(validCacheSize);
       }
     }
+    if (isCompleteSegmentTruncated) {
+      // complete segments may be memory mapped, and reading the truncated part of a mapping
+      // fails, so they are replaced by a truncated copy instead
+      truncateCopy(cacheFile, validCacheSize);
+    }
+    invalidateSegment(blockHeader.getNumber());
+  }
+
+  private static void truncateCopy(final File cacheFile, final long length) throws IOException {
+    final Path tmpFile =
+        Files.createTempFile(cacheFile.getParentFile().toPath(), cacheFile.getName(), ".tmp");
+    try {
+      Files.copy(cacheFile.toPath(), tmpFile, StandardCopyOption.REPLACE_EXISTING);
+      try (final RandomAccessFile tmpWriter = new RandomAccessFile(tmpFile.toFile(), "rw")) {
+        tmpWriter.setLength(length);
+      }
+      Files.move(
+          tmpFile,
+          cacheFile.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
   }
 
   private boolean populateLatestSegment(final long eventBlockNumber) {
@@ -240,6 +298,7 @@ public class TransactionLogBloomCacher {
           calculateCacheFileName(blockNumber, cacheDir).toPath(),
           StandardCopyOption.REPLACE_EXISTING,
           StandardCopyOption.ATOMIC_MOVE);
+      invalidateSegment(blockNumber);
       return true;
     } catch (final IOException | InvalidCacheException e) {
       LOG.error("Unhandled caching exception.", e);
@@ -262,6 +321,7 @@ public class TransactionLogBloomCacher {
           final long fromBlock = segmentNumber * BLOCKS_PER_BLOOM_CACHE;
           final File cacheFile = calculateCacheFileName(fromBlock, cacheDir);
           cachedSegments.remove(segmentNumber);
+          logBloomIndex.invalidate(segmentNumber);
           if (Files.deleteIfExists(cacheFile.toPath())) {
             LOG.info(
                 "Deleted transaction log bloom cache file: {}/{}", cacheDir, cacheFile.getName());
@@ -314,6 +374,15 @@ public class TransactionLogBloomCacher {
     }
   }
 
+  /**
+   * Invalidates the segment of a block in the index once the segment is written, as the index can
+   * not tell it from the file attributes of the segment when it is written in the same millisecond
+   * as its previous version.
+   */
+  private void invalidateSegment(final long blockNumber) {
+    logBloomIndex.invalidate(blockNumber / BLOCKS_PER_BLOOM_CACHE);
+  }
+
   private void fillCacheFileWithBlock(final BlockHeader blockHeader, final OutputStream fos)
       throws IOException {
     fos.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().toArray()));
@@ -0,0 +1,209 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.json.JsonArray;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+public class BatchConcurrencyJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  private void initMaxBatchConcurrency(final int rpcMaxBatchConcurrency) throws Exception {
+    maxBatchConcurrency = rpcMaxBatchConcurrency;
+    initServerAndClient();
+  }
+
+  @AfterAll
+  public static void resetMaxBatchConcurrency() {
+    maxBatchConcurrency = 1;
+  }
+
+  @Test
+  public void shouldExecuteBatchRequestsConcurrentlyAndKeepTheirOrder() throws Exception {
+    initMaxBatchConcurrency(4);
+
+    // the first request only completes once the last one has been executed
+    final CountDownLatch lastRequestExecuted = new CountDownLatch(1);
+    final JsonRpcMethod waitingMethod = mock(JsonRpcMethod.class);
+    when(waitingMethod.getName()).thenReturn("test_waiting");
+    when(waitingMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              return new JsonRpcSuccessResponse(
+                  request.getRequest().getId(), lastRequestExecuted.await(10, TimeUnit.SECONDS));
+            });
+    final JsonRpcMethod releasingMethod = mock(JsonRpcMethod.class);
+    when(releasingMethod.getName()).thenReturn("test_releasing");
+    when(releasingMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              lastRequestExecuted.countDown();
+              return new JsonRpcSuccessResponse(request.getRequest().getId(), true);
+            });
+
+    try (var unusedWaiting = addRpcMethod("test_waiting", waitingMethod);
+        var unusedReleasing = addRpcMethod("test_releasing", releasingMethod)) {
+      final RequestBody body =
+          RequestBody.create(
+              "["
+                  + "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"test_waiting\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"web3_clientVersion\"},"
+                  + "1,"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"test_releasing\"}"
+                  + "]",
+              JSON);
+
+      try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+        assertThat(resp.code()).isEqualTo(200);
+        final JsonArray json = new JsonArray(resp.body().string());
+        assertThat(json.size()).isEqualTo(4);
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(0), 1);
+        assertThat(json.getJsonObject(0).getBoolean("result")).isTrue();
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(1), 2);
+        assertThat(json.getJsonObject(1).getString("result")).isEqualTo(CLIENT_VERSION);
+        final RpcErrorType expectedError = RpcErrorType.INVALID_REQUEST;
+        testHelper.assertValidJsonRpcError(
+            json.getJsonObject(2), null, expectedError.getCode(), expectedError.getMessage());
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(3), 4);
+      }
+    }
+  }
+
+  @Test
+  public void shouldApplyTheMaxConcurrencyToEachBatch() throws Exception {
+    initMaxBatchConcurrency(2);
+
+    // the first request of each batch only completes once the second one of the same batch has
+    // been executed, so that each batch needs two of its requests executed at once
+    final Map<String, CountDownLatch> secondRequestsExecuted =
+        Map.of("a", new CountDownLatch(1), "b", new CountDownLatch(1));
+    final JsonRpcMethod waitingMethod = mock(JsonRpcMethod.class);
+    when(waitingMethod.getName()).thenReturn("test_waiting");
+    when(waitingMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              final String batch = request.getRequiredParameter(0, String.class);
+              return new JsonRpcSuccessResponse(
+                  request.getRequest().getId(),
+                  secondRequestsExecuted.get(batch).await(10, TimeUnit.SECONDS));
+            });
+    final JsonRpcMethod releasingMethod = mock(JsonRpcMethod.class);
+    when(releasingMethod.getName()).thenReturn("test_releasing");
+    when(releasingMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              final String batch = request.getRequiredParameter(0, String.class);
+              secondRequestsExecuted.get(batch).countDown();
+              return new JsonRpcSuccessResponse(request.getRequest().getId(), true);
+            });
+
+    try (var unusedWaiting = addRpcMethod("test_waiting", waitingMethod);
+        var unusedReleasing = addRpcMethod("test_releasing", releasingMethod)) {
+      final CompletableFuture<JsonArray> firstBatch =
+          CompletableFuture.supplyAsync(() -> executeWaitingBatch("a"));
+      final CompletableFuture<JsonArray> secondBatch =
+          CompletableFuture.supplyAsync(() -> executeWaitingBatch("b"));
+
+      for (final JsonArray json : List.of(firstBatch.get(), secondBatch.get())) {
+        assertThat(json.size()).isEqualTo(2);
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(0), 1);
+        assertThat(json.getJsonObject(0).getBoolean("result")).isTrue();
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(1), 2);
+      }
+    }
+  }
+
+  @Test
+  public void shouldNotExecuteMoreRequestsOfABatchAtOnceThanTheMaxConcurrency() throws Exception {
+    initMaxBatchConcurrency(2);
+
+    final AtomicInteger executing = new AtomicInteger();
+    final AtomicInteger maxExecuting = new AtomicInteger();
+    final JsonRpcMethod slowMethod = mock(JsonRpcMethod.class);
+    when(slowMethod.getName()).thenReturn("test_slow");
+    when(slowMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              maxExecuting.accumulateAndGet(executing.incrementAndGet(), Math::max);
+              Thread.sleep(50);
+              executing.decrementAndGet();
+              return new JsonRpcSuccessResponse(request.getRequest().getId(), true);
+            });
+
+    try (var unusedSlow = addRpcMethod("test_slow", slowMethod)) {
+      final RequestBody body =
+          RequestBody.create(
+              "["
+                  + "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"test_slow\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"test_slow\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"test_slow\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"test_slow\"}"
+                  + "]",
+              JSON);
+
+      try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+        assertThat(resp.code()).isEqualTo(200);
+        assertThat(new JsonArray(resp.body().string()).size()).isEqualTo(4);
+      }
+      assertThat(maxExecuting.get()).isEqualTo(2);
+    }
+  }
+
+  private JsonArray executeWaitingBatch(final String batch) {
+    final RequestBody body =
+        RequestBody.create(
+            "["
+                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"test_waiting\",\"params\":[\""
+                + batch
+                + "\"]},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"test_releasing\",\"params\":[\""
+                + batch
+                + "\"]}"
+                + "]",
+            JSON);
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      return new JsonArray(resp.body().string());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
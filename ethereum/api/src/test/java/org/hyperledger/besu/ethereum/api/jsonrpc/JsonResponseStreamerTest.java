@@ -23,7 +23,9 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
 
+import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.impl.future.FailedFuture;
@@ -111,6 +113,58 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void waitForDrainWhenWriteQueueIsFull() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    when(httpResponse.drainHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.<Handler<Void>>getArgument(0).handle(null);
+              return httpResponse;
+            });
+
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+    verify(httpResponse).drainHandler(any());
+  }
+
+  @Test
+  public void stopWaitingForDrainOnError() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    final AtomicReference<Handler<Throwable>> exceptionHandler = new AtomicReference<>();
+    when(httpResponse.exceptionHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              exceptionHandler.set(invocation.getArgument(0));
+              return httpResponse;
+            });
+    when(httpResponse.drainHandler(any()))
+        .thenAnswer(
+            invocation -> {
+              exceptionHandler.get().handle(new IOException("Connection was closed"));
+              return httpResponse;
+            });
+
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+
+    assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Connection was closed");
+  }
+
+  @Test
+  public void stopWaitingForDrainAfterTimeout() {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress, 200);
+
+    assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Timed out waiting for remote address");
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
@@ -93,6 +93,7 @@ public class JsonRpcHttpServiceTestBase {
   protected static final NatService natService = new NatService(Optional.empty());
   protected static int maxConnections = 80;
   protected static int maxBatchSize = 10;
+  protected static int maxBatchConcurrency = 1;
 
   public static void initServerAndClient() throws Exception {
     peerDiscoveryMock = mock(P2PNetwork.class);
@@ -182,6 +183,7 @@ public class JsonRpcHttpServiceTestBase {
     config.setHostsAllowlist(Collections.singletonList("*"));
     config.setMaxActiveConnections(maxConnections);
     config.setMaxBatchSize(maxBatchSize);
+    config.setMaxBatchConcurrency(maxBatchConcurrency);
     return config;
   }
 
@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonRpcRequestShapeTest {
+
+  @Test
+  public void classifiesBlockRangesByWidth() {
+    assertThat(shapeOf("eth_getLogs", Map.of("fromBlock", "0x10", "toBlock", "0x10")))
+        .isEqualTo("range:1");
+    assertThat(shapeOf("eth_getLogs", Map.of("fromBlock", "0x10", "toBlock", "0x73")))
+        .isEqualTo("range:100");
+    assertThat(shapeOf("trace_filter", Map.of("fromBlock", "0x0", "toBlock", "0xf4240")))
+        .isEqualTo("range:max");
+    assertThat(shapeOf("eth_getLogs", Map.of("fromBlock", "0x10", "toBlock", "latest")))
+        .isEqualTo("range:tag");
+    assertThat(shapeOf("eth_getLogs", Map.of("blockHash", "0x01"))).isEqualTo("blockHash");
+  }
+
+  @Test
+  public void classifiesTraceTypes() {
+    assertThat(shapeOf("trace_replayBlockTransactions", "0x10", List.of("vmTrace", "trace")))
+        .isEqualTo("traceTypes:trace+vmTrace");
+    assertThat(shapeOf("trace_replayBlockTransactions", "0x10", List.of("unknown")))
+        .isEqualTo(JsonRpcRequestShape.DEFAULT);
+  }
+
+  @Test
+  public void classifiesTracersAndTheirOptions() {
+    assertThat(shapeOf("debug_traceTransaction", "0x01", Map.of("tracer", "callTracer")))
+        .isEqualTo("tracer:callTracer");
+    assertThat(shapeOf("debug_traceTransaction", "0x01", Map.of("tracer", "function() {}")))
+        .isEqualTo("tracer:other");
+    assertThat(shapeOf("debug_traceTransaction", "0x01", Map.of("disableStorage", true)))
+        .isEqualTo("structLogs:memory:stack");
+  }
+
+  @Test
+  public void classifiesOtherRequestsAsDefault() {
+    assertThat(shapeOf("eth_blockNumber")).isEqualTo(JsonRpcRequestShape.DEFAULT);
+    assertThat(shapeOf("eth_getBalance", "0x01", "latest"))
+        .isEqualTo(JsonRpcRequestShape.DEFAULT);
+    assertThat(JsonRpcRequestShape.of(new JsonRpcRequest("2.0", "eth_blockNumber", null)))
+        .isEqualTo(JsonRpcRequestShape.DEFAULT);
+  }
+
+  private static String shapeOf(final String method, final Object... params) {
+    return JsonRpcRequestShape.of(new JsonRpcRequest("2.0", method, params));
+  }
+}
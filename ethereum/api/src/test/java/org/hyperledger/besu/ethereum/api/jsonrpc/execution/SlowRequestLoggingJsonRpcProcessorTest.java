@@ -0,0 +1,147 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.SlowRequestLoggingJsonRpcProcessor.SlowRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.opentelemetry.api.trace.Span;
+import org.junit.jupiter.api.Test;
+
+public class SlowRequestLoggingJsonRpcProcessorTest {
+
+  private static final long THRESHOLD_MILLIS = 10;
+
+  private final List<SlowRequest> loggedRequests = new ArrayList<>();
+
+  @Test
+  public void logsTheRequestsTakingAtLeastTheThreshold() {
+    final JsonRpcResponse slowResponse = new JsonRpcSuccessResponse(1, "slow");
+    final SlowRequestLoggingJsonRpcProcessor processor =
+        processor(
+            (id, method, metricSpan, request) -> {
+              if (request.getRequest().getMethod().equals("eth_slow")) {
+                sleep(2 * THRESHOLD_MILLIS);
+                return slowResponse;
+              }
+              return new JsonRpcSuccessResponse(id, "fast");
+            },
+            1);
+
+    processor.process(new JsonRpcRequestId(1), null, Span.getInvalid(), request("eth_fast"));
+    processor.process(new JsonRpcRequestId(2), null, Span.getInvalid(), request("eth_slow"));
+
+    assertThat(loggedRequests).hasSize(1);
+    final SlowRequest slowRequest = loggedRequests.get(0);
+    assertThat(slowRequest.request().getRequest().getMethod()).isEqualTo("eth_slow");
+    assertThat(slowRequest.durationMillis()).isGreaterThanOrEqualTo(THRESHOLD_MILLIS);
+    assertThat(slowRequest.response()).isSameAs(slowResponse);
+  }
+
+  @Test
+  public void onlyLogsOneEverySamplingIntervalSlowRequests() {
+    final SlowRequestLoggingJsonRpcProcessor processor =
+        processor(
+            (id, method, metricSpan, request) -> {
+              sleep(2 * THRESHOLD_MILLIS);
+              return new JsonRpcSuccessResponse(id, "slow");
+            },
+            3);
+
+    for (int i = 0; i < 7; i++) {
+      processor.process(new JsonRpcRequestId(i), null, Span.getInvalid(), request("eth_slow"));
+    }
+
+    // the first, the fourth and the seventh slow requests
+    assertThat(loggedRequests).hasSize(3);
+  }
+
+  @Test
+  public void measuresAStreamedResultUntilItIsWritten() throws IOException {
+    final SlowlyWrittenResult result = new SlowlyWrittenResult();
+    final SlowRequestLoggingJsonRpcProcessor processor =
+        processor((id, method, metricSpan, request) -> new JsonRpcSuccessResponse(id, result), 1);
+
+    processor.process(new JsonRpcRequestId(1), null, Span.getInvalid(), request("eth_getLogs"));
+    // the result does the work of the request while it is written
+    assertThat(loggedRequests).isEmpty();
+
+    result.writeSlowly();
+
+    assertThat(loggedRequests).hasSize(1);
+    assertThat(loggedRequests.get(0).durationMillis()).isGreaterThanOrEqualTo(THRESHOLD_MILLIS);
+  }
+
+  @Test
+  public void measuresAStreamedResultOnlyTheFirstTimeItIsWritten() throws IOException {
+    final SlowlyWrittenResult result = new SlowlyWrittenResult();
+    final SlowRequestLoggingJsonRpcProcessor processor =
+        processor((id, method, metricSpan, request) -> new JsonRpcSuccessResponse(id, result), 1);
+
+    processor.process(new JsonRpcRequestId(1), null, Span.getInvalid(), request("eth_getLogs"));
+    result.writeSlowly();
+    result.writeSlowly();
+
+    assertThat(loggedRequests).hasSize(1);
+  }
+
+  @Test
+  public void rejectsANonPositiveThresholdOrSamplingInterval() {
+    final JsonRpcProcessor rpcProcessor =
+        (id, method, metricSpan, request) -> new JsonRpcSuccessResponse(id);
+
+    assertThatThrownBy(() -> new SlowRequestLoggingJsonRpcProcessor(rpcProcessor, 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SlowRequestLoggingJsonRpcProcessor(rpcProcessor, 1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private SlowRequestLoggingJsonRpcProcessor processor(
+      final JsonRpcProcessor rpcProcessor, final int samplingInterval) {
+    return new SlowRequestLoggingJsonRpcProcessor(
+        rpcProcessor, THRESHOLD_MILLIS, samplingInterval, loggedRequests::add);
+  }
+
+  private static JsonRpcRequestContext request(final String method) {
+    return new JsonRpcRequestContext(new JsonRpcRequest("2.0", method, new Object[] {}));
+  }
+
+  private static void sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class SlowlyWrittenResult extends StreamedResult {
+    void writeSlowly() throws IOException {
+      write(() -> sleep(2 * THRESHOLD_MILLIS));
+    }
+  }
+}
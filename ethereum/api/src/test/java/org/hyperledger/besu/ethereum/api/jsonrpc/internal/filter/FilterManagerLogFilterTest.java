@@ -42,6 +42,7 @@ import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionEvent;
+import org.hyperledger.besu.evm.log.LogTopic;
 
 import java.util.List;
 import java.util.Optional;
@@ -166,6 +167,71 @@ public class FilterManagerLogFilterTest {
     assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(0);
   }
 
+  @Test
+  public void shouldOnlyAddTheLogsOfABlockToTheFiltersMatchingThem() {
+    final Address address = Address.fromHexString("0x1");
+    final LogTopic topic = LogTopic.fromHexString("0x01");
+    final LogWithMetadata logFromAddress = logWithMetadata(0, address, emptyList());
+    final LogWithMetadata logWithTopic =
+        logWithMetadata(1, Address.fromHexString("0x2"), List.of(topic));
+    final LogWithMetadata otherLog = logWithMetadata(2, Address.fromHexString("0x3"), emptyList());
+
+    final String addressFilterId =
+        filterManager.installLogFilter(
+            latest(), latest(), new LogsQuery(List.of(address), emptyList()));
+    final String topicFilterId =
+        filterManager.installLogFilter(
+            latest(), latest(), new LogsQuery(emptyList(), List.of(List.of(topic))));
+    final String matchingAllFilterId =
+        filterManager.installLogFilter(latest(), latest(), logsQuery());
+    final String unmatchedFilterId =
+        filterManager.installLogFilter(
+            latest(),
+            latest(),
+            new LogsQuery(List.of(Address.fromHexString("0x4")), emptyList()));
+
+    recordBlockEvent(List.of(logFromAddress, logWithTopic, otherLog));
+
+    assertThat(filterManager.logsChanges(addressFilterId)).isEqualTo(List.of(logFromAddress));
+    assertThat(filterManager.logsChanges(topicFilterId)).isEqualTo(List.of(logWithTopic));
+    assertThat(filterManager.logsChanges(matchingAllFilterId))
+        .isEqualTo(List.of(logFromAddress, logWithTopic, otherLog));
+    assertThat(filterManager.logsChanges(unmatchedFilterId)).isEqualTo(emptyList());
+  }
+
+  @Test
+  public void installingAndUninstallingLogFiltersShouldUpdateTheirIndex() {
+    final Address address = Address.fromHexString("0x1");
+    final LogWithMetadata log = logWithMetadata(0, address, emptyList());
+
+    final String filterId =
+        filterManager.installLogFilter(
+            latest(), latest(), new LogsQuery(List.of(address), emptyList()));
+    filterManager.installPrivateLogFilter(
+        PRIVACY_GROUP_ID,
+        ENCLAVE_PUBLIC_KEY,
+        latest(),
+        latest(),
+        new LogsQuery(List.of(address), emptyList()));
+
+    // the private log filters are matched through the privacy queries instead
+    assertThat(filterRepository.getLogFilterCandidates(log).stream().map(Filter::getId).toList())
+        .isEqualTo(List.of(filterId));
+
+    assertThat(filterManager.uninstallFilter(filterId)).isTrue();
+    assertThat(filterRepository.getLogFilterCandidates(log)).isEqualTo(emptyList());
+
+    recordBlockEvent(List.of(log));
+    assertThat(filterManager.logsChanges(filterId)).isNull();
+  }
+
+  private void recordBlockEvent(final List<LogWithMetadata> logsWithMetadata) {
+    final Block block =
+        new BlockDataGenerator().block(new BlockDataGenerator.BlockOptions().setBlockNumber(3));
+    filterManager.recordBlockEvent(
+        BlockAddedEvent.createForHeadAdvancement(block, logsWithMetadata, emptyList()));
+  }
+
   private List<BlockAddedEvent> recordBlockEvents(final int numEvents) {
     final BlockDataGenerator gen = new BlockDataGenerator();
     final List<BlockAddedEvent> blockAddedEvents =
@@ -313,6 +379,12 @@ public class FilterManagerLogFilterTest {
         false);
   }
 
+  private LogWithMetadata logWithMetadata(
+      final int logIndex, final Address address, final List<LogTopic> topics) {
+    return new LogWithMetadata(
+        logIndex, 3L, Hash.ZERO, Hash.ZERO, 0, address, Bytes.EMPTY, topics, false);
+  }
+
   private LogsQuery logsQuery() {
     return new LogsQuery(emptyList(), emptyList()); // matches everything
   }
@@ -31,18 +31,22 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,12 +59,13 @@ public class DebugTraceBlockByHashTest {
   private final BlockchainQueries blockchainQueries =
       mock(BlockchainQueries.class, Answers.RETURNS_DEEP_STUBS);
   private final MutableWorldState mutableWorldState = mock(MutableWorldState.class);
-  private final BlockHeader blockHeader = mock(BlockHeader.class, Answers.RETURNS_DEEP_STUBS);
   private final DebugTraceBlockByHash debugTraceBlockByHash =
       new DebugTraceBlockByHash(() -> blockTracer, () -> blockchainQueries);
 
   private final Hash blockHash =
       Hash.fromHexString("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+  private final Block block = new BlockDataGenerator().block();
+  private final ObjectMapper objectMapper = new ObjectMapper();
 
   @BeforeEach
   public void setUp() {
@@ -72,8 +77,8 @@ public class DebugTraceBlockByHashTest {
                     .apply(mutableWorldState))
         .when(blockchainQueries)
         .getAndMapWorldState(any(), any());
-    when(blockchainQueries.getBlockHeaderByHash(any(Hash.class)))
-        .thenReturn(Optional.of(blockHeader));
+    when(blockchainQueries.getBlockchain().getBlockByHash(blockHash))
+        .thenReturn(Optional.of(block));
   }
 
   @Test
@@ -128,12 +133,35 @@ public class DebugTraceBlockByHashTest {
     when(transaction2Trace.getResult()).thenReturn(transaction2Result);
     when(transaction1Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
-    when(blockTracer.trace(any(Tracer.TraceableState.class), eq(blockHash), any()))
-        .thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(any(Tracer.TraceableState.class), eq(block), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> transactionTraceConsumer = invocation.getArgument(3);
+              blockTrace.getTransactionTraces().forEach(transactionTraceConsumer);
+              return Optional.of(blockTrace);
+            });
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
-    final Collection<?> result = (Collection<?>) response.getResult();
-    assertThat(result).hasSize(2);
+    // the block is traced when the result is serialized
+    final JsonNode result = objectMapper.valueToTree(response.getResult());
+    assertThat(result)
+        .isEqualTo(
+            objectMapper.valueToTree(
+                DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())));
+    assertThat(result.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReturnNullWhenTheWorldStateOfTheBlockIsNotAvailable() throws Exception {
+    final Object[] params = new Object[] {blockHash};
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_traceBlockByHash", params));
+    doAnswer(__ -> Optional.empty()).when(blockchainQueries).getAndMapWorldState(any(), any());
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceBlockByHash.response(request);
+
+    assertThat(objectMapper.writeValueAsString(response.getResult())).isEqualTo("null");
   }
 }
@@ -18,6 +18,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -34,16 +35,19 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.debug.TraceFrame;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 
-import java.util.Collection;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
@@ -58,8 +62,11 @@ public class DebugTraceBlockByNumberTest {
   private final DebugTraceBlockByNumber debugTraceBlockByNumber =
       new DebugTraceBlockByNumber(() -> blockTracer, blockchainQueries);
 
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
   private final Hash blockHash =
       Hash.fromHexString("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+  private final Block block = new BlockDataGenerator().block();
 
   @Test
   public void nameShouldBeDebugTraceBlockByNumber() {
@@ -115,8 +122,8 @@ public class DebugTraceBlockByNumberTest {
     when(transaction1Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
     when(transaction2Result.getOutput()).thenReturn(Bytes.fromHexString("1234"));
     when(blockchainQueries.getBlockHashByNumber(blockNumber)).thenReturn(Optional.of(blockHash));
-    when(blockchainQueries.getBlockHeaderByHash(any(Hash.class)))
-        .thenReturn(Optional.of(mock(BlockHeader.class, Answers.RETURNS_DEEP_STUBS)));
+    when(blockchainQueries.getBlockchain().getBlockByHash(blockHash))
+        .thenReturn(Optional.of(block));
 
     doAnswer(
             invocation ->
@@ -126,19 +133,21 @@ public class DebugTraceBlockByNumberTest {
                     .apply(worldState))
         .when(blockchainQueries)
         .getAndMapWorldState(any(), any());
-    when(blockTracer.trace(any(Tracer.TraceableState.class), any(Hash.class), any()))
-        .thenReturn(Optional.of(blockTrace));
+    when(blockTracer.trace(any(Tracer.TraceableState.class), eq(block), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final Consumer<TransactionTrace> transactionTraceConsumer = invocation.getArgument(3);
+              blockTrace.getTransactionTraces().forEach(transactionTraceConsumer);
+              return Optional.of(blockTrace);
+            });
 
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceBlockByNumber.response(request);
-    final Collection<DebugTraceTransactionResult> result = getResult(response);
+    // the block is traced when the result is serialized
+    final JsonNode result = objectMapper.valueToTree(response.getResult());
     assertThat(result)
-        .usingFieldByFieldElementComparator()
-        .isEqualTo(DebugTraceTransactionResult.of(blockTrace.getTransactionTraces()));
-  }
-
-  @SuppressWarnings("unchecked")
-  private Collection<DebugTraceTransactionResult> getResult(final JsonRpcSuccessResponse response) {
-    return (Collection<DebugTraceTransactionResult>) response.getResult();
+        .isEqualTo(
+            objectMapper.valueToTree(
+                DebugTraceTransactionResult.of(blockTrace.getTransactionTraces())));
   }
 }
@@ -49,6 +49,8 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.function.Function;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +67,7 @@ public class DebugTraceTransactionTest {
   private final DebugTraceTransaction debugTraceTransaction =
       new DebugTraceTransaction(blockchainQueries, transactionTracer);
   private final Transaction transaction = mock(Transaction.class);
+  private final ObjectMapper objectMapper = new ObjectMapper();
 
   private final Hash blockHash =
       Hash.fromHexString("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
@@ -155,22 +158,41 @@ public class DebugTraceTransactionTest {
         .thenReturn(Optional.of(transactionTrace));
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
-    final DebugTraceTransactionResult transactionResult =
-        (DebugTraceTransactionResult) response.getResult();
-
-    assertThat(transactionResult.getGas()).isEqualTo(73);
-    assertThat(transactionResult.getReturnValue()).isEqualTo("1234");
-    final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
-    assertThat(transactionResult.getStructLogs()).isEqualTo(expectedStructLogs);
-    assertThat(transactionResult.getStructLogs().size()).isEqualTo(1);
-    assertThat(transactionResult.getStructLogs().get(0).stack().length).isEqualTo(1);
-    assertThat(transactionResult.getStructLogs().get(0).stack()[0])
+    // the transaction is traced when the result is serialized
+    final JsonNode transactionResult = objectMapper.valueToTree(response.getResult());
+
+    assertThat(transactionResult)
+        .isEqualTo(objectMapper.valueToTree(new DebugTraceTransactionResult(transactionTrace)));
+    assertThat(transactionResult.get("gas").asLong()).isEqualTo(73);
+    assertThat(transactionResult.get("returnValue").asText()).isEqualTo("1234");
+    final JsonNode structLogs = transactionResult.get("structLogs");
+    assertThat(structLogs).isEqualTo(objectMapper.valueToTree(List.of(new StructLog(traceFrame))));
+    assertThat(structLogs.size()).isEqualTo(1);
+    assertThat(structLogs.get(0).get("stack").size()).isEqualTo(1);
+    assertThat(structLogs.get(0).get("stack").get(0).asText())
         .isEqualTo(stackBytes[0].toUnprefixedHexString());
-    assertThat(transactionResult.getStructLogs().get(0).memory().length).isEqualTo(1);
-    assertThat(transactionResult.getStructLogs().get(0).memory()[0])
+    assertThat(structLogs.get(0).get("memory").size()).isEqualTo(1);
+    assertThat(structLogs.get(0).get("memory").get(0).asText())
         .isEqualTo(memoryBytes[0].toUnprefixedHexString());
   }
 
+  @Test
+  public void shouldReturnNullWhenTheWorldStateOfTheTransactionIsNotAvailable() throws Exception {
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 12L, Optional.empty(), blockHash, 2);
+    final Object[] params = new Object[] {transactionHash};
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_traceTransaction", params));
+    when(blockchainQueries.transactionByHash(transactionHash))
+        .thenReturn(Optional.of(transactionWithMetadata));
+    doAnswer(__ -> Optional.empty()).when(blockchainQueries).getAndMapWorldState(any(), any());
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
+
+    assertThat(objectMapper.writeValueAsString(response.getResult())).isEqualTo("null");
+  }
+
   @Test
   public void shouldNotTraceTheTransactionIfNotFound() {
     final Map<String, Boolean> map = new HashMap<>();
@@ -35,6 +35,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedLogsResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 
@@ -284,6 +285,21 @@ public class EthGetLogsTest {
     assertThat(errorResponse.getErrorType()).isEqualTo(RpcErrorType.EXCEEDS_RPC_MAX_BLOCK_RANGE);
   }
 
+  @Test
+  public void shouldStreamLogsOfLargeRanges() {
+    final JsonRpcRequestContext request = buildRequest(0, 10_000);
+
+    final JsonRpcResponse response = method.response(request);
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    assertThat(((JsonRpcSuccessResponse) response).getResult())
+        .isInstanceOf(StreamedLogsResult.class);
+
+    // the logs are only retrieved when the result is serialized
+    verify(blockchainQueries, never()).matchingLogs(anyLong(), anyLong(), any(), any());
+    verify(blockchainQueries, never())
+        .forEachMatchingLog(anyLong(), anyLong(), any(), any(), any());
+  }
+
   private JsonRpcRequestContext buildRequest(final long fromBlock, final long toBlock) {
     final FilterParameter filterParameter =
         buildFilterParameter(new BlockParameter(fromBlock), new BlockParameter(toBlock));
@@ -0,0 +1,228 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.FlatTraceIndex;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.testutil.BlockTestUtil.ChainResources;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that trace_block and trace_filter return the same traces when they are read from the flat
+ * trace index as when the blocks are replayed.
+ */
+public class TraceFlatTraceIndexTest {
+
+  private static final String CHAIN_DATA = "/org/hyperledger/besu/ethereum/api/jsonrpc/trace/";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final EthScheduler ethScheduler = new EthScheduler(1, 1, 1, 1, new NoOpMetricsSystem());
+  private final FlatTraceIndex flatTraceIndex = new FlatTraceIndex(new InMemoryKeyValueStorage());
+  private BlockchainSetupUtil setupUtil;
+  private TraceBlock replayedTraceBlock;
+  private TraceBlock indexedTraceBlock;
+  private TraceFilter replayedTraceFilter;
+  private TraceFilter indexedTraceFilter;
+
+  @BeforeEach
+  public void setUp() {
+    setupUtil =
+        BlockchainSetupUtil.createForEthashChain(
+            new ChainResources(
+                TraceFlatTraceIndexTest.class.getResource(CHAIN_DATA + "chain-data/genesis.json"),
+                TraceFlatTraceIndexTest.class.getResource(CHAIN_DATA + "chain-data/blocks.bin")),
+            DataStorageFormat.FOREST);
+    setupUtil.importAllBlocks();
+
+    final BlockchainQueries replayedQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive(), ethScheduler);
+    final BlockchainQueries indexedQueries =
+        new BlockchainQueries(
+            setupUtil.getBlockchain(),
+            setupUtil.getWorldArchive(),
+            Optional.empty(),
+            Optional.of(ethScheduler),
+            ImmutableApiConfiguration.builder().build(),
+            Optional.of(flatTraceIndex));
+    replayedTraceBlock = new TraceBlock(setupUtil.getProtocolSchedule(), replayedQueries);
+    indexedTraceBlock = new TraceBlock(setupUtil.getProtocolSchedule(), indexedQueries);
+    replayedTraceFilter =
+        new TraceFilter(() -> null, setupUtil.getProtocolSchedule(), replayedQueries, 0L);
+    indexedTraceFilter =
+        new TraceFilter(() -> null, setupUtil.getProtocolSchedule(), indexedQueries, 0L);
+
+    for (final Block block : setupUtil.getBlocks().subList(1, setupUtil.blockCount())) {
+      flatTraceIndex.indexBlock(block.getHeader(), replayedTraceBlock.replayBlock(block).get());
+    }
+  }
+
+  @AfterEach
+  public void tearDown() {
+    ethScheduler.stop();
+  }
+
+  @Test
+  public void traceBlockReadsTheSameTracesFromTheIndex() {
+    for (long blockNumber = 0; blockNumber < setupUtil.blockCount(); blockNumber++) {
+      final JsonRpcRequestContext request = request("trace_block", new BlockParameter(blockNumber));
+
+      assertThat(result(indexedTraceBlock.response(request)))
+          .isEqualTo(result(replayedTraceBlock.response(request)));
+    }
+  }
+
+  @Test
+  public void traceFilterReadsTheSameTracesFromTheIndex() {
+    final long headBlockNumber = setupUtil.getBlockchain().getChainHeadBlockNumber();
+    final JsonNode allTraces = result(replayedTraceFilter.response(filter(0, headBlockNumber)));
+    // the rewards are not sent from nor to an address, but must be returned without a filter
+    assertThat(allTraces.findValuesAsText("type")).contains("reward", "call");
+
+    // the action of the first call, with its sender and recipient
+    final JsonNode callAction = allTraces.findParent("callType");
+    final List<Address> sender = List.of(Address.fromHexString(callAction.get("from").asText()));
+    final List<Address> recipient = List.of(Address.fromHexString(callAction.get("to").asText()));
+    final List<Address> none = Collections.emptyList();
+
+    final List<List<List<Address>>> addressFilters =
+        List.of(
+            List.of(none, none),
+            List.of(sender, none),
+            List.of(none, recipient),
+            List.of(sender, recipient),
+            List.of(recipient, none));
+    final List<Integer> afterValues = Arrays.asList(null, 2);
+    final List<Integer> countValues = Arrays.asList(null, 1, 3);
+    final List<long[]> ranges =
+        List.of(
+            new long[] {0, headBlockNumber},
+            new long[] {2, headBlockNumber / 2},
+            new long[] {headBlockNumber, headBlockNumber + 10});
+
+    for (final long[] range : ranges) {
+      for (final List<List<Address>> addresses : addressFilters) {
+        for (final Integer after : afterValues) {
+          for (final Integer count : countValues) {
+            final JsonRpcRequestContext request =
+                filter(range[0], range[1], addresses.get(0), addresses.get(1), after, count);
+
+            assertThat(result(indexedTraceFilter.response(request)))
+                .as(
+                    "trace_filter of blocks %s to %s, addresses %s, after %s, count %s",
+                    range[0], range[1], addresses, after, count)
+                .isEqualTo(result(replayedTraceFilter.response(request)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void traceFilterReplaysTheBlocksWhichAreNotIndexed() {
+    final long headBlockNumber = setupUtil.getBlockchain().getChainHeadBlockNumber();
+    final TraceFilter partiallyIndexedTraceFilter =
+        new TraceFilter(
+            () -> null,
+            setupUtil.getProtocolSchedule(),
+            new BlockchainQueries(
+                setupUtil.getBlockchain(),
+                setupUtil.getWorldArchive(),
+                Optional.empty(),
+                Optional.of(ethScheduler),
+                ImmutableApiConfiguration.builder().build(),
+                Optional.of(partiallyIndexedTraces())),
+            0L);
+    final JsonRpcRequestContext request = filter(0, headBlockNumber);
+
+    assertThat(result(partiallyIndexedTraceFilter.response(request)))
+        .isEqualTo(result(replayedTraceFilter.response(request)));
+  }
+
+  private FlatTraceIndex partiallyIndexedTraces() {
+    final FlatTraceIndex index = new FlatTraceIndex(new InMemoryKeyValueStorage());
+    final Block block = setupUtil.getBlock(1);
+    // an empty trace for an indexed block would be returned if the index were read
+    index.indexBlock(block.getHeader(), MAPPER.createArrayNode());
+    return index;
+  }
+
+  private static JsonRpcRequestContext filter(final long fromBlock, final long toBlock) {
+    return filter(fromBlock, toBlock, Collections.emptyList(), Collections.emptyList(), null, null);
+  }
+
+  private static JsonRpcRequestContext filter(
+      final long fromBlock,
+      final long toBlock,
+      final List<Address> fromAddress,
+      final List<Address> toAddress,
+      final Integer after,
+      final Integer count) {
+    return request(
+        "trace_filter",
+        new FilterParameter(
+            new BlockParameter(fromBlock),
+            new BlockParameter(toBlock),
+            new ArrayList<>(fromAddress),
+            new ArrayList<>(toAddress),
+            null,
+            null,
+            null,
+            after,
+            count));
+  }
+
+  private static JsonRpcRequestContext request(final String method, final Object param) {
+    return new JsonRpcRequestContext(new JsonRpcRequest("2.0", method, new Object[] {param}));
+  }
+
+  /** Serializes the result, which is made of the POJOs of the traces when they are replayed. */
+  private static JsonNode result(final JsonRpcResponse response) {
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    final Object result = ((JsonRpcSuccessResponse) response).getResult();
+    try {
+      return MAPPER.readTree(MAPPER.writeValueAsString(result));
+    } catch (final JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.debug.TraceFrame;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.testutil.BlockTestUtil.ChainResources;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class BlockTracerTest {
+
+  private static final String TRACE_CHAIN_DATA =
+      "/org/hyperledger/besu/ethereum/api/jsonrpc/trace/chain-data/";
+
+  private final EthScheduler ethScheduler = new EthScheduler(1, 1, 4, new NoOpMetricsSystem());
+
+  @AfterEach
+  public void tearDown() {
+    ethScheduler.stop();
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = DataStorageFormat.class,
+      names = {"FOREST", "BONSAI"})
+  public void parallelTraceMatchesSequentialTrace(final DataStorageFormat storageFormat) {
+    final BlockchainSetupUtil setupUtil = BlockchainSetupUtil.forTesting(storageFormat);
+    setupUtil.importAllBlocks();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive());
+    final BlockReplay blockReplay =
+        new BlockReplay(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            setupUtil.getBlockchain());
+    final TraceOptions traceOptions = new TraceOptions(true, false, true);
+
+    for (final Block block : setupUtil.getBlocks().subList(1, setupUtil.blockCount())) {
+      final Optional<BlockTrace> sequentialTrace =
+          Tracer.processTracing(
+              blockchainQueries,
+              Optional.of(block.getHeader()),
+              state ->
+                  new BlockTracer(blockReplay)
+                      .trace(state, block, new DebugOperationTracer(traceOptions, true)));
+      final List<TransactionTrace> actual = new ArrayList<>();
+      final Optional<BlockTrace> parallelTrace =
+          Tracer.processTracing(
+              blockchainQueries,
+              Optional.of(block.getHeader()),
+              state ->
+                  new BlockTracer(blockReplay)
+                      .traceInParallel(
+                          state,
+                          block,
+                          () -> new DebugOperationTracer(traceOptions, true),
+                          ethScheduler,
+                          2,
+                          actual::add));
+
+      assertThat(sequentialTrace).isPresent();
+      assertThat(parallelTrace).isPresent();
+      final List<TransactionTrace> expected = sequentialTrace.get().getTransactionTraces();
+      assertThat(parallelTrace.get().getTransactionTraces()).hasSameSizeAs(expected);
+      assertThat(actual).hasSameSizeAs(expected);
+      for (int i = 0; i < expected.size(); i++) {
+        assertThat(actual.get(i).getTransaction()).isEqualTo(expected.get(i).getTransaction());
+        assertThat(actual.get(i).getGas()).isEqualTo(expected.get(i).getGas());
+        assertThat(actual.get(i).getResult().getOutput())
+            .isEqualTo(expected.get(i).getResult().getOutput());
+        assertThat(describe(actual.get(i).getTraceFrames()))
+            .isEqualTo(describe(expected.get(i).getTraceFrames()));
+      }
+    }
+  }
+
+  @Test
+  public void parallelTraceTracesTheTransactionsAtTheSameTime() {
+    final BlockchainSetupUtil setupUtil = traceTestChain();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive());
+    final BlockReplay blockReplay =
+        new BlockReplay(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            setupUtil.getBlockchain());
+    final Block block = blockWithMostTransactions(setupUtil);
+    // the first two traces only start once both are started, so they must run at the same time
+    final CyclicBarrier firstTraces = new CyclicBarrier(2);
+    final AtomicInteger startedTraces = new AtomicInteger();
+    final Supplier<DebugOperationTracer> tracerSupplier =
+        () -> {
+          if (startedTraces.getAndIncrement() < 2) {
+            try {
+              firstTraces.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException | BrokenBarrierException | TimeoutException e) {
+              throw new IllegalStateException("The transactions are not traced concurrently", e);
+            }
+          }
+          return new DebugOperationTracer(new TraceOptions(true, false, true), true);
+        };
+
+    final List<TransactionTrace> transactionTraces = new ArrayList<>();
+    final Optional<BlockTrace> parallelTrace =
+        Tracer.processTracing(
+            blockchainQueries,
+            Optional.of(block.getHeader()),
+            state ->
+                new BlockTracer(blockReplay)
+                    .traceInParallel(
+                        state, block, tracerSupplier, ethScheduler, 2, transactionTraces::add));
+
+    assertThat(parallelTrace).isPresent();
+    assertThat(transactionTraces)
+        .map(TransactionTrace::getTransaction)
+        .isEqualTo(block.getBody().getTransactions());
+  }
+
+  @Test
+  public void parallelTraceOnlyTracesTheWindowOfTransactionsAhead() {
+    final BlockchainSetupUtil setupUtil = traceTestChain();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive());
+    final BlockReplay blockReplay =
+        new BlockReplay(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            setupUtil.getBlockchain());
+    final Block block = blockWithMostTransactions(setupUtil);
+    final TraceOptions traceOptions = new TraceOptions(true, false, true);
+    final int window = 2;
+    final AtomicInteger startedTraces = new AtomicInteger();
+    final List<Integer> startedTracesWhenPassedOn = new ArrayList<>();
+
+    final Optional<BlockTrace> parallelTrace =
+        Tracer.processTracing(
+            blockchainQueries,
+            Optional.of(block.getHeader()),
+            state ->
+                new BlockTracer(blockReplay)
+                    .traceInParallel(
+                        state,
+                        block,
+                        () -> {
+                          startedTraces.incrementAndGet();
+                          return new DebugOperationTracer(traceOptions, true);
+                        },
+                        ethScheduler,
+                        window,
+                        transactionTrace -> startedTracesWhenPassedOn.add(startedTraces.get())));
+
+    assertThat(parallelTrace).isPresent();
+    assertThat(block.getBody().getTransactions()).hasSizeGreaterThan(window);
+    assertThat(startedTracesWhenPassedOn).hasSameSizeAs(block.getBody().getTransactions());
+    for (int i = 0; i < startedTracesWhenPassedOn.size(); i++) {
+      assertThat(startedTracesWhenPassedOn.get(i)).isLessThanOrEqualTo(i + window);
+    }
+    // the frames are only held until the trace of their transaction is passed on
+    assertThat(parallelTrace.get().getTransactionTraces())
+        .allMatch(transactionTrace -> transactionTrace.getTraceFrames().isEmpty());
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = DataStorageFormat.class,
+      names = {"FOREST", "BONSAI"})
+  public void streamedTraceMatchesBufferedTrace(final DataStorageFormat storageFormat) {
+    final BlockchainSetupUtil setupUtil = BlockchainSetupUtil.forTesting(storageFormat);
+    setupUtil.importAllBlocks();
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive());
+    final BlockReplay blockReplay =
+        new BlockReplay(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            setupUtil.getBlockchain());
+    final TraceOptions traceOptions = new TraceOptions(true, false, true);
+
+    for (final Block block : setupUtil.getBlocks().subList(1, setupUtil.blockCount())) {
+      final Optional<BlockTrace> bufferedTrace =
+          Tracer.processTracing(
+              blockchainQueries,
+              Optional.of(block.getHeader()),
+              state ->
+                  new BlockTracer(blockReplay)
+                      .trace(state, block, new DebugOperationTracer(traceOptions, true)));
+      final List<List<String>> streamedFrames = new ArrayList<>();
+      final List<TraceFrame> transactionFrames = new ArrayList<>();
+      final Optional<BlockTrace> streamedTrace =
+          Tracer.processTracing(
+              blockchainQueries,
+              Optional.of(block.getHeader()),
+              state ->
+                  new BlockTracer(blockReplay)
+                      .trace(
+                          state,
+                          block,
+                          new DebugOperationTracer(traceOptions, true, transactionFrames::add),
+                          transactionTrace -> {
+                            transactionFrames.addAll(transactionTrace.getTraceFrames());
+                            streamedFrames.add(describe(transactionFrames));
+                            transactionFrames.clear();
+                          }));
+
+      assertThat(bufferedTrace).isPresent();
+      assertThat(streamedTrace).isPresent();
+      assertThat(streamedFrames)
+          .isEqualTo(
+              bufferedTrace.get().getTransactionTraces().stream()
+                  .map(transactionTrace -> describe(transactionTrace.getTraceFrames()))
+                  .toList());
+    }
+  }
+
+  /** Unlike the test chain, the trace test chain has blocks of several transactions. */
+  private static BlockchainSetupUtil traceTestChain() {
+    final BlockchainSetupUtil setupUtil =
+        BlockchainSetupUtil.createForEthashChain(
+            new ChainResources(
+                BlockTracerTest.class.getResource(TRACE_CHAIN_DATA + "genesis.json"),
+                BlockTracerTest.class.getResource(TRACE_CHAIN_DATA + "blocks.bin")),
+            DataStorageFormat.BONSAI);
+    setupUtil.importAllBlocks();
+    return setupUtil;
+  }
+
+  private static Block blockWithMostTransactions(final BlockchainSetupUtil setupUtil) {
+    return setupUtil.getBlocks().stream()
+        .max(Comparator.comparingInt(block -> block.getBody().getTransactions().size()))
+        .orElseThrow();
+  }
+
+  private static List<String> describe(final List<TraceFrame> traceFrames) {
+    return traceFrames.stream()
+        .map(
+            frame ->
+                frame.getDepth()
+                    + ":"
+                    + frame.getPc()
+                    + ":"
+                    + frame.getOpcode()
+                    + ":"
+                    + frame.getGasRemaining()
+                    + ":"
+                    + frame.getStack().map(Arrays::asList).orElse(List.of()))
+        .toList();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockReplay;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.testutil.BlockTestUtil.ChainResources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class StreamedDebugTraceBlockResultTest {
+
+  private static final String TRACE_CHAIN_DATA =
+      "/org/hyperledger/besu/ethereum/api/jsonrpc/trace/chain-data/";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final EthScheduler ethScheduler = new EthScheduler(1, 1, 4, new NoOpMetricsSystem());
+
+  @AfterEach
+  public void tearDown() {
+    ethScheduler.stop();
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = DataStorageFormat.class,
+      names = {"FOREST", "BONSAI"})
+  public void writesTheSameTracesWhenTheTransactionsAreTracedAhead(
+      final DataStorageFormat storageFormat) throws JsonProcessingException {
+    final BlockchainSetupUtil setupUtil =
+        BlockchainSetupUtil.createForEthashChain(
+            new ChainResources(
+                StreamedDebugTraceBlockResultTest.class.getResource(
+                    TRACE_CHAIN_DATA + "genesis.json"),
+                StreamedDebugTraceBlockResultTest.class.getResource(
+                    TRACE_CHAIN_DATA + "blocks.bin")),
+            storageFormat);
+    setupUtil.importAllBlocks();
+    final BlockReplay blockReplay =
+        new BlockReplay(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            setupUtil.getBlockchain());
+    final BlockchainQueries inOrderQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive());
+    final BlockchainQueries aheadQueries =
+        new BlockchainQueries(setupUtil.getBlockchain(), setupUtil.getWorldArchive(), ethScheduler);
+    final TraceOptions traceOptions = new TraceOptions(true, false, true);
+
+    for (final Block block : setupUtil.getBlocks().subList(1, setupUtil.blockCount())) {
+      final JsonNode tracedInOrder =
+          MAPPER.readTree(
+              MAPPER.writeValueAsString(
+                  new StreamedDebugTraceBlockResult(
+                      inOrderQueries, () -> new BlockTracer(blockReplay), block, traceOptions)));
+      final JsonNode tracedAhead =
+          MAPPER.readTree(
+              MAPPER.writeValueAsString(
+                  new StreamedDebugTraceBlockResult(
+                      aheadQueries, () -> new BlockTracer(blockReplay), block, traceOptions)));
+
+      assertThat(tracedInOrder).hasSameSizeAs(block.getBody().getTransactions());
+      assertThat(tracedAhead).isEqualTo(tracedInOrder);
+    }
+  }
+}
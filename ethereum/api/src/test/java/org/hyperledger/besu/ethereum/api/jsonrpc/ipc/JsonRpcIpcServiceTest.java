@@ -115,6 +115,26 @@ class JsonRpcIpcServiceTest {
             .toBuffer());
   }
 
+  @Test
+  void failedSerializationShouldReturnInternalError() {
+    final Path socketPath = tempDir.resolve("besu-test.ipc");
+    final JsonRpcMethod testMethod = mock(JsonRpcMethod.class);
+    when(testMethod.response(any())).thenReturn(new JsonRpcSuccessResponse(1, new FailingResult()));
+    final JsonRpcIpcService service =
+        new JsonRpcIpcService(
+            vertx,
+            socketPath,
+            new JsonRpcExecutor(new BaseJsonRpcProcessor(), Map.of("test_method", testMethod)));
+    final String expectedResponse =
+        "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32603,\"message\":\"Internal error\"}}\n";
+
+    assertSocketCall(
+        service,
+        socketPath,
+        expectedResponse,
+        new JsonObject().put("id", 1).put("method", "test_method").toBuffer());
+  }
+
   @Test
   void validJsonButNotRpcShouldReturnInvalidRequest() {
     final Path socketPath = tempDir.resolve("besu-test.ipc");
@@ -192,4 +212,10 @@ class JsonRpcIpcServiceTest {
                                                     }))
                                         .write(request)))));
   }
+
+  public static class FailingResult {
+    public String getValue() {
+      throw new IllegalStateException("cannot be serialized");
+    }
+  }
 }
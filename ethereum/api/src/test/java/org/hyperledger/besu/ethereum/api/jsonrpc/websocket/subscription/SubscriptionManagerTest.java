@@ -17,22 +17,38 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.blockheaders.NewBlockHeadersSubscription;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscription;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.LogsSubscriptionService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs.PrivateLogsSubscription;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.PrivateSubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscription;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionEvent;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -249,6 +265,85 @@ public class SubscriptionManagerTest {
     assertThat(subscriptionManager.getSubscriptionById(subscriptionId)).isNull();
   }
 
+  @Test
+  public void logsSubscriptionsShouldBeIndexedUntilUnsubscribed() {
+    final Address address = Address.fromHexString("0x1");
+    final Log log = new Log(address, Bytes.EMPTY, List.of());
+    final Long subscriptionId = subscriptionManager.subscribe(logsRequest(List.of(address)));
+    final Long otherSubscriptionId =
+        subscriptionManager.subscribe(logsRequest(List.of(Address.fromHexString("0x2"))));
+
+    assertThat(subscriptionIds(subscriptionManager.logsSubscriptionCandidates(log)))
+        .containsExactly(subscriptionId);
+
+    subscriptionManager.unsubscribe(new UnsubscribeRequest(subscriptionId, CONNECTION_ID));
+
+    assertThat(subscriptionManager.logsSubscriptionCandidates(log)).isEmpty();
+    assertThat(
+            subscriptionIds(
+                subscriptionManager.logsSubscriptionCandidates(
+                    new Log(Address.fromHexString("0x2"), Bytes.EMPTY, List.of()))))
+        .containsExactly(otherSubscriptionId);
+  }
+
+  @Test
+  public void logShouldOnlyBeSentToTheMatchingLogsSubscriptions() {
+    final SubscriptionManager spiedSubscriptionManager = spy(subscriptionManager);
+    doNothing().when(spiedSubscriptionManager).sendMessage(any(), any());
+    final Address address = Address.fromHexString("0x1");
+    final LogTopic topic = LogTopic.fromHexString("0x01");
+
+    final Long addressSubscriptionId =
+        spiedSubscriptionManager.subscribe(logsRequest(List.of(address)));
+    final Long topicSubscriptionId =
+        spiedSubscriptionManager.subscribe(
+            logsRequest(List.of(), List.of(List.of(topic)), BlockParameter.EARLIEST));
+    final Long matchingAllSubscriptionId = spiedSubscriptionManager.subscribe(logsRequest(null));
+    final Long otherAddressSubscriptionId =
+        spiedSubscriptionManager.subscribe(logsRequest(List.of(Address.fromHexString("0x2"))));
+    final Long pastBlocksSubscriptionId =
+        spiedSubscriptionManager.subscribe(
+            logsRequest(
+                List.of(address), List.of(), BlockParameter.EARLIEST, new BlockParameter(2L)));
+
+    final LogsSubscriptionService logsSubscriptionService =
+        new LogsSubscriptionService(spiedSubscriptionManager, Optional.empty());
+    logsSubscriptionService.accept(
+        new LogWithMetadata(
+            0, 3L, Hash.ZERO, Hash.ZERO, 0, address, Bytes.EMPTY, List.of(topic), false));
+
+    verify(spiedSubscriptionManager).sendMessage(eq(addressSubscriptionId), any());
+    verify(spiedSubscriptionManager).sendMessage(eq(topicSubscriptionId), any());
+    verify(spiedSubscriptionManager).sendMessage(eq(matchingAllSubscriptionId), any());
+    verify(spiedSubscriptionManager, never()).sendMessage(eq(otherAddressSubscriptionId), any());
+    verify(spiedSubscriptionManager, never()).sendMessage(eq(pastBlocksSubscriptionId), any());
+  }
+
+  private SubscribeRequest logsRequest(final List<Address> addresses) {
+    return logsRequest(addresses, List.of(), BlockParameter.EARLIEST);
+  }
+
+  private SubscribeRequest logsRequest(
+      final List<Address> addresses,
+      final List<List<LogTopic>> topics,
+      final BlockParameter fromBlock) {
+    return logsRequest(addresses, topics, fromBlock, BlockParameter.LATEST);
+  }
+
+  private SubscribeRequest logsRequest(
+      final List<Address> addresses,
+      final List<List<LogTopic>> topics,
+      final BlockParameter fromBlock,
+      final BlockParameter toBlock) {
+    final FilterParameter filterParameter =
+        new FilterParameter(fromBlock, toBlock, null, null, addresses, topics, null, null, null);
+    return new SubscribeRequest(SubscriptionType.LOGS, filterParameter, null, CONNECTION_ID);
+  }
+
+  private List<Long> subscriptionIds(final List<LogsSubscription> logsSubscriptions) {
+    return logsSubscriptions.stream().map(Subscription::getSubscriptionId).toList();
+  }
+
   private SubscribeRequest subscribeRequest(final String connectionId) {
     return new SubscribeRequest(SubscriptionType.SYNCING, null, null, connectionId);
   }
@@ -15,10 +15,14 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
@@ -47,6 +51,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -299,6 +305,18 @@ public class LogsSubscriptionServiceTest {
         .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
   }
 
+  @Test
+  public void logsAreDroppedOnceTheDispatchExecutorIsShutDown() {
+    final ExecutorService dispatchExecutor = Executors.newSingleThreadExecutor();
+    dispatchExecutor.shutdownNow();
+    final LogsSubscriptionService stoppedService =
+        new LogsSubscriptionService(subscriptionManager, Optional.empty(), dispatchExecutor);
+
+    assertThatCode(() -> stoppedService.accept(mock(LogWithMetadata.class)))
+        .doesNotThrowAnyException();
+    verifyNoInteractions(subscriptionManager);
+  }
+
   @Test
   public void whenExistsPrivateLogsSubscriptionPrivacyQueriesIsCalled() {
     final String privacyGroupId = "privacy_group_id";
@@ -448,6 +466,10 @@ public class LogsSubscriptionServiceTest {
   private void registerSubscriptions(final List<LogsSubscription> subscriptions) {
     when(subscriptionManager.subscriptionsOfType(any(), any()))
         .thenReturn(Lists.newArrayList(subscriptions));
+    // the blocks of some tests have no log to dispatch
+    lenient()
+        .when(subscriptionManager.logsSubscriptionCandidates(any()))
+        .thenReturn(Lists.newArrayList(subscriptions));
   }
 
   private LogWithMetadata logWithMetadata() {
@@ -16,9 +16,11 @@
 
 package org.hyperledger.besu.ethereum.api.query;
 
+import static org.hyperledger.besu.ethereum.api.query.BlockchainQueries.LOGS_BLOOM_SCAN_CHUNK;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -62,6 +64,7 @@ public class BlockchainQueriesLogCacheTest {
   @TempDir private static Path cacheDir;
 
   private static LogsQuery logsQuery;
+  private BlockHeader fakeHeader;
   private Hash testHash;
   private static LogsBloomFilter testLogsBloomFilter;
 
@@ -96,7 +99,7 @@ public class BlockchainQueriesLogCacheTest {
 
   @BeforeEach
   public void setup() {
-    final BlockHeader fakeHeader =
+    fakeHeader =
         new BlockHeader(
             Hash.EMPTY,
             Hash.EMPTY,
@@ -203,4 +206,25 @@ public class BlockchainQueriesLogCacheTest {
 
     verifyNoMoreInteractions(blockchain);
   }
+
+  /** Tests that a range reaching past the chain head is not scanned past the chain head. */
+  @Test
+  public void stopsAtChainHeadTest() {
+    final long from = 3 * BLOCKS_PER_BLOOM_CACHE;
+    final long chainHead = from + 2_499;
+    when(blockchain.getBlockHeader(anyLong()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Long>getArgument(0) <= chainHead
+                    ? Optional.of(fakeHeader)
+                    : Optional.empty());
+
+    blockchainQueries.forEachMatchingLog(
+        from, from + BLOCKS_PER_BLOOM_CACHE - 1, logsQuery, () -> true, log -> {});
+
+    verify(blockchain, times(2_500)).getTxReceipts(testHash);
+    // past the chain head, at most one lookup for each of the chunks scanned in parallel
+    verify(blockchain, atMost(2_500 + BLOCKS_PER_BLOOM_CACHE / LOGS_BLOOM_SCAN_CHUNK))
+        .getBlockHeader(anyLong());
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogsQueryIndexTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x123456");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x654321");
+  private static final LogTopic TOPIC = LogTopic.fromHexString("0x" + "ab".repeat(32));
+  private static final LogTopic OTHER_TOPIC = LogTopic.fromHexString("0x" + "01".repeat(32));
+  private static final LogTopic UNKNOWN_TOPIC = LogTopic.fromHexString("0x" + "ff".repeat(32));
+
+  private final LogsQueryIndex<String> index = new LogsQueryIndex<>();
+
+  @Test
+  public void findsTheQueriesIndexedByAddress() {
+    index.add("address", new LogsQuery(List.of(ADDRESS), List.of()));
+    index.add("addresses", new LogsQuery(List.of(OTHER_ADDRESS, ADDRESS), List.of()));
+
+    assertThat(index.candidates(log(ADDRESS, TOPIC)))
+        .containsExactlyInAnyOrder("address", "addresses");
+    assertThat(index.candidates(log(OTHER_ADDRESS))).containsExactly("addresses");
+    assertThat(index.candidates(log(Address.ZERO, TOPIC))).isEmpty();
+  }
+
+  @Test
+  public void findsTheQueriesIndexedByFirstTopic() {
+    index.add("topic", new LogsQuery(List.of(), List.of(List.of(TOPIC))));
+    index.add("topics", new LogsQuery(List.of(), List.of(List.of(OTHER_TOPIC, TOPIC))));
+
+    assertThat(index.candidates(log(ADDRESS, TOPIC))).containsExactlyInAnyOrder("topic", "topics");
+    assertThat(index.candidates(log(ADDRESS, OTHER_TOPIC))).containsExactly("topics");
+    assertThat(index.candidates(log(ADDRESS, UNKNOWN_TOPIC, TOPIC))).isEmpty();
+    assertThat(index.candidates(log(ADDRESS))).isEmpty();
+  }
+
+  @Test
+  public void queriesWithoutAddressNorFirstTopicAreCandidatesForEveryLog() {
+    index.add("any", new LogsQuery(List.of(), List.of()));
+    index.add("secondTopic", new LogsQuery(List.of(), List.of(List.of(), List.of(TOPIC))));
+    index.add("wildcardTopic", new LogsQuery(List.of(), List.of(Arrays.asList(TOPIC, null))));
+
+    assertThat(index.candidates(log(OTHER_ADDRESS)))
+        .containsExactlyInAnyOrder("any", "secondTopic", "wildcardTopic");
+  }
+
+  @Test
+  public void findsEachCandidateOnce() {
+    index.add("address", new LogsQuery(List.of(ADDRESS), List.of(List.of(TOPIC))));
+    index.add("topic", new LogsQuery(List.of(), List.of(List.of(TOPIC))));
+    index.add("any", new LogsQuery(List.of(), List.of()));
+
+    assertThat(index.candidates(log(ADDRESS, TOPIC)))
+        .containsExactlyInAnyOrder("address", "topic", "any");
+  }
+
+  @Test
+  public void removesQueries() {
+    index.add("address", new LogsQuery(List.of(ADDRESS), List.of()));
+    index.add("topic", new LogsQuery(List.of(), List.of(List.of(TOPIC))));
+    index.add("any", new LogsQuery(List.of(), List.of()));
+
+    index.remove("address");
+    index.remove("topic");
+    index.remove("any");
+    index.remove("unknown");
+
+    assertThat(index.size()).isZero();
+    assertThat(index.candidates(log(ADDRESS, TOPIC))).isEmpty();
+  }
+
+  @Test
+  public void replacesTheQueryOfAHolder() {
+    index.add("holder", new LogsQuery(List.of(ADDRESS), List.of()));
+    index.add("holder", new LogsQuery(List.of(OTHER_ADDRESS), List.of()));
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.candidates(log(ADDRESS))).isEmpty();
+    assertThat(index.candidates(log(OTHER_ADDRESS))).containsExactly("holder");
+  }
+
+  private static Log log(final Address logger, final LogTopic... topics) {
+    return new Log(logger, Bytes.EMPTY, List.of(topics));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+public class AutoFlatTraceIndexingServiceTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final Block genesisBlock = gen.genesisBlock();
+  private final MutableBlockchain blockchain =
+      InMemoryKeyValueStorageProvider.createInMemoryBlockchain(genesisBlock);
+  private final FlatTraceIndex flatTraceIndex = new FlatTraceIndex(new InMemoryKeyValueStorage());
+
+  @Test
+  public void indexesTheBlocksAddedWhileStarted() {
+    final AutoFlatTraceIndexingService service = service(block -> Optional.of(traces(block)));
+
+    service.start();
+    final List<Block> blocks = appendBlocks(3);
+    service.stop();
+
+    assertThat(flatTraceIndex.isIndexed(genesisBlock.getHash())).isFalse();
+    for (final Block block : blocks) {
+      assertThat(flatTraceIndex.getTraces(block.getHash())).contains(traces(block));
+    }
+  }
+
+  @Test
+  public void keepsIndexingWhenABlockCannotBeTraced() {
+    final AutoFlatTraceIndexingService service =
+        service(
+            block -> {
+              if (block.getHeader().getNumber() == 1) {
+                return Optional.empty();
+              }
+              if (block.getHeader().getNumber() == 2) {
+                throw new IllegalStateException("Trace failed");
+              }
+              return Optional.of(traces(block));
+            });
+
+    service.start();
+    final List<Block> blocks = appendBlocks(3);
+    service.stop();
+
+    assertThat(flatTraceIndex.isIndexed(blocks.get(0).getHash())).isFalse();
+    assertThat(flatTraceIndex.isIndexed(blocks.get(1).getHash())).isFalse();
+    assertThat(flatTraceIndex.getTraces(blocks.get(2).getHash())).contains(traces(blocks.get(2)));
+  }
+
+  @Test
+  public void stopsIndexingTheBlocksAddedAfterStop() {
+    final AutoFlatTraceIndexingService service = service(block -> Optional.of(traces(block)));
+
+    service.start();
+    final Block indexedBlock = appendBlocks(1).get(0);
+    service.stop();
+    final Block notIndexedBlock = appendBlocks(1).get(0);
+
+    assertThat(flatTraceIndex.isIndexed(indexedBlock.getHash())).isTrue();
+    assertThat(flatTraceIndex.isIndexed(notIndexedBlock.getHash())).isFalse();
+  }
+
+  @Test
+  public void stopWaitsForTheBlockBeingIndexed() {
+    final CountDownLatch tracing = new CountDownLatch(1);
+    final CountDownLatch traced = new CountDownLatch(1);
+    final AutoFlatTraceIndexingService service =
+        service(
+            block -> {
+              tracing.countDown();
+              try {
+                traced.await();
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+              }
+              return Optional.of(traces(block));
+            });
+
+    service.start();
+    final Block block = appendBlocks(1).get(0);
+    await(tracing);
+    final CompletableFuture<Void> stopped = CompletableFuture.runAsync(service::stop);
+    traced.countDown();
+    stopped.join();
+
+    assertThat(flatTraceIndex.getTraces(block.getHash())).contains(traces(block));
+  }
+
+  private AutoFlatTraceIndexingService service(
+      final Function<Block, Optional<ArrayNode>> blockTracer) {
+    return new AutoFlatTraceIndexingService(
+        blockchain, flatTraceIndex, blockTracer, Executors.newSingleThreadExecutor());
+  }
+
+  private List<Block> appendBlocks(final int count) {
+    final List<Block> blocks = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final Block block = gen.nextBlock(blockchain.getChainHeadBlock());
+      blockchain.appendBlock(block, gen.receipts(block));
+      blocks.add(block);
+    }
+    return blocks;
+  }
+
+  private static ArrayNode traces(final Block block) {
+    final ArrayNode traces = MAPPER.createArrayNode();
+    traces
+        .addObject()
+        .put("blockHash", block.getHash().toHexString())
+        .put("blockNumber", (int) block.getHeader().getNumber())
+        .put("type", "reward")
+        .putObject("action")
+        .put("author", block.getHeader().getCoinbase().toHexString());
+    return traces;
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
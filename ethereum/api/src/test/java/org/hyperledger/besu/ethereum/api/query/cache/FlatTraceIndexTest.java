@@ -0,0 +1,102 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+public class FlatTraceIndexTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Address SENDER = Address.fromHexString("0x01");
+  private static final Address RECIPIENT = Address.fromHexString("0x02");
+  private static final Address OTHER = Address.fromHexString("0x03");
+  private static final Address MINER = Address.fromHexString("0x04");
+
+  private final FlatTraceIndex flatTraceIndex = new FlatTraceIndex(new InMemoryKeyValueStorage());
+
+  @Test
+  public void storesTheTracesOfABlock() {
+    final BlockHeader header = header(1);
+    final ArrayNode traces = traces(call(SENDER, RECIPIENT), reward(MINER));
+
+    assertThat(flatTraceIndex.isIndexed(header.getHash())).isFalse();
+    assertThat(flatTraceIndex.getTraces(header.getHash())).isEmpty();
+
+    flatTraceIndex.indexBlock(header, traces);
+
+    assertThat(flatTraceIndex.isIndexed(header.getHash())).isTrue();
+    assertThat(flatTraceIndex.getTraces(header.getHash())).contains(traces);
+  }
+
+  @Test
+  public void findsTheBlocksWithATraceFromOrToAnAddress() {
+    flatTraceIndex.indexBlock(header(1), traces(call(SENDER, RECIPIENT)));
+    flatTraceIndex.indexBlock(header(2), traces(call(OTHER, OTHER), reward(MINER)));
+    flatTraceIndex.indexBlock(header(3), traces(call(RECIPIENT, SENDER)));
+    flatTraceIndex.indexBlock(header(4), traces(call(SENDER, OTHER)));
+
+    assertThat(flatTraceIndex.blocksWithAddress(List.of(SENDER), 1, 4)).containsExactly(1L, 3L, 4L);
+    assertThat(flatTraceIndex.blocksWithAddress(List.of(SENDER), 2, 3)).containsExactly(3L);
+    assertThat(flatTraceIndex.blocksWithAddress(List.of(RECIPIENT, OTHER), 1, 4))
+        .containsExactly(1L, 2L, 3L, 4L);
+    // the rewards have no sender nor recipient
+    assertThat(flatTraceIndex.blocksWithAddress(List.of(MINER), 1, 4)).isEmpty();
+  }
+
+  @Test
+  public void readsTheAddressesOfAnAction() {
+    assertThat(FlatTraceIndex.actionAddress(call(SENDER, RECIPIENT), "from")).contains(SENDER);
+    assertThat(FlatTraceIndex.actionAddress(call(SENDER, RECIPIENT), "to")).contains(RECIPIENT);
+    assertThat(FlatTraceIndex.actionAddress(reward(MINER), "from")).isEmpty();
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture().number(number).buildHeader();
+  }
+
+  private static ArrayNode traces(final ObjectNode... traces) {
+    final ArrayNode arrayNode = MAPPER.createArrayNode();
+    for (final ObjectNode trace : traces) {
+      arrayNode.add(trace);
+    }
+    return arrayNode;
+  }
+
+  private static ObjectNode call(final Address from, final Address to) {
+    final ObjectNode trace = MAPPER.createObjectNode();
+    trace.putObject("action").put("from", from.toHexString()).put("to", to.toHexString());
+    trace.put("type", "call");
+    return trace;
+  }
+
+  private static ObjectNode reward(final Address author) {
+    final ObjectNode trace = MAPPER.createObjectNode();
+    trace.putObject("action").put("author", author.toHexString()).put("rewardType", "block");
+    trace.put("type", "reward");
+    return trace;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class FlatTraceRlpCodecTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void decodesAFlatTraceAsReadFromItsJson() throws JsonProcessingException {
+    final JsonNode trace =
+        MAPPER.readTree(
+            "{\"action\":{\"callType\":\"call\","
+                + "\"from\":\"0xfe3b557e8fb62b89f4916b721be55ceb828dbd73\","
+                + "\"gas\":\"0x1a1f8\",\"input\":\"0x\",\"value\":\"0x0\"},"
+                + "\"blockHash\":"
+                + "\"0x4ab6d0d3d1cc8b2a4e5e0b63a47e2e5e0a2d4b6c81c0e2e4f1e2f3a4b5c6d7e8\","
+                + "\"blockNumber\":4294967296,\"result\":null,\"error\":\"Out of gas\","
+                + "\"subtraces\":0,\"traceAddress\":[],\"transactionPosition\":2,"
+                + "\"revert\":false,\"success\":true,\"difficulty\":-1,\"ratio\":1.5}");
+
+    assertThat(roundTrip(trace)).isEqualTo(trace);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {"0x", "0x0", "0x00", "0xABCD", "0xAbcd", "0xzz", "0x000001", "abcd", "", "é"})
+  public void decodesTheSameText(final String text) {
+    final JsonNode node = MAPPER.getNodeFactory().textNode(text);
+
+    assertThat(roundTrip(node)).isEqualTo(node);
+  }
+
+  @Test
+  public void storesTheHexStringsAsBytes() {
+    final String address = "0xfe3b557e8fb62b89f4916b721be55ceb828dbd73";
+    final JsonNode node = MAPPER.getNodeFactory().textNode(address);
+
+    final Bytes encoded = FlatTraceRlpCodec.encode(node);
+
+    // the RLP prefix, the type, and the 20 bytes of the address
+    assertThat(encoded.size()).isEqualTo(1 + 1 + 20);
+    assertThat(FlatTraceRlpCodec.decode(encoded).textValue()).isEqualTo(address);
+  }
+
+  private static JsonNode roundTrip(final JsonNode node) {
+    return FlatTraceRlpCodec.decode(FlatTraceRlpCodec.encode(node));
+  }
+}
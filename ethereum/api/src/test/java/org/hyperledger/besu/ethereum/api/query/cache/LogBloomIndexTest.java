@@ -0,0 +1,133 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.EXPECTED_BLOOM_FILE_SIZE;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogBloomIndexTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x123456");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x654321");
+  private static final LogTopic TOPIC = LogTopic.fromHexString("0x" + "ab".repeat(32));
+  private static final LogTopic OTHER_TOPIC = LogTopic.fromHexString("0x" + "01".repeat(32));
+  private static final LogsBloomFilter ADDRESS_AND_TOPIC_BLOOM =
+      LogsBloomFilter.builder().insertBytes(ADDRESS).insertBytes(TOPIC).build();
+
+  @TempDir private Path cacheDir;
+
+  @Test
+  public void findsTheBlocksWhoseBloomCouldMatch() throws IOException {
+    writeSegment(cacheDir.resolve("logBloom-1.cache"), EXPECTED_BLOOM_FILE_SIZE, 1_500, 99_999);
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    final long segmentStart = BLOCKS_PER_BLOOM_CACHE;
+
+    assertThat(
+            index.matchingBlocks(
+                segmentStart, segmentStart + 99_999, query(List.of(ADDRESS)).bloomMatcher()))
+        .contains(List.of(segmentStart + 1_500, segmentStart + 99_999));
+    assertThat(
+            index.matchingBlocks(
+                segmentStart + 1_501,
+                segmentStart + 99_998,
+                query(List.of(ADDRESS)).bloomMatcher()))
+        .contains(List.of());
+    assertThat(
+            index.matchingBlocks(
+                segmentStart, segmentStart + 99_999, query(List.of(OTHER_ADDRESS)).bloomMatcher()))
+        .contains(List.of());
+    assertThat(
+            index.matchingBlocks(
+                segmentStart,
+                segmentStart + 99_999,
+                query(List.of(OTHER_ADDRESS, ADDRESS)).bloomMatcher()))
+        .contains(List.of(segmentStart + 1_500, segmentStart + 99_999));
+  }
+
+  @Test
+  public void matchesAsTheQuery() throws IOException {
+    writeSegment(cacheDir.resolve("logBloom-0.cache"), EXPECTED_BLOOM_FILE_SIZE, 7);
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    final LogsQuery matchingQuery =
+        new LogsQuery(List.of(ADDRESS), List.of(List.of(OTHER_TOPIC, TOPIC)));
+    final LogsQuery otherQuery = new LogsQuery(List.of(ADDRESS), List.of(List.of(OTHER_TOPIC)));
+
+    assertThat(matchingQuery.couldMatch(ADDRESS_AND_TOPIC_BLOOM)).isTrue();
+    assertThat(index.matchingBlocks(0, 99, matchingQuery.bloomMatcher())).contains(List.of(7L));
+    assertThat(otherQuery.couldMatch(ADDRESS_AND_TOPIC_BLOOM)).isFalse();
+    assertThat(index.matchingBlocks(0, 99, otherQuery.bloomMatcher())).contains(List.of());
+  }
+
+  @Test
+  public void doesNotIndexIncompleteOrMissingSegments() throws IOException {
+    writeSegment(cacheDir.resolve("logBloom-0.cache"), EXPECTED_BLOOM_FILE_SIZE - 256, 7);
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+
+    assertThat(index.matchingBlocks(0, 99, query(List.of(ADDRESS)).bloomMatcher())).isEmpty();
+    assertThat(
+            index.matchingBlocks(
+                BLOCKS_PER_BLOOM_CACHE,
+                BLOCKS_PER_BLOOM_CACHE + 99,
+                query(List.of(ADDRESS)).bloomMatcher()))
+        .isEmpty();
+  }
+
+  @Test
+  public void remapsReplacedSegments() throws IOException {
+    final Path segment = cacheDir.resolve("logBloom-0.cache");
+    writeSegment(segment, EXPECTED_BLOOM_FILE_SIZE, 7);
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    assertThat(index.matchingBlocks(0, 99, query(List.of(ADDRESS)).bloomMatcher()))
+        .contains(List.of(7L));
+
+    final Path replacement = cacheDir.resolve("replacement");
+    writeSegment(replacement, EXPECTED_BLOOM_FILE_SIZE, 8);
+    Files.move(replacement, segment, StandardCopyOption.REPLACE_EXISTING);
+
+    assertThat(index.matchingBlocks(0, 99, query(List.of(ADDRESS)).bloomMatcher()))
+        .contains(List.of(8L));
+  }
+
+  private static LogsQuery query(final List<Address> addresses) {
+    return new LogsQuery(addresses, List.of());
+  }
+
+  private static void writeSegment(final Path file, final long size, final int... blocks)
+      throws IOException {
+    try (final RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(size);
+      for (final int block : blocks) {
+        raf.seek((long) block * LogsBloomFilter.BYTE_SIZE);
+        raf.write(ADDRESS_AND_TOPIC_BLOOM.toArray());
+      }
+    }
+  }
+}
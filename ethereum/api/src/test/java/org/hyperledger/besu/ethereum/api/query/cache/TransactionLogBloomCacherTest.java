@@ -19,12 +19,14 @@ package org.hyperledger.besu.ethereum.api.query.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.EXPECTED_BLOOM_FILE_SIZE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
@@ -38,6 +40,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -239,6 +242,33 @@ public class TransactionLogBloomCacherTest {
     assertThat(cacheDir.toFile().list().length).isEqualTo(1);
   }
 
+  @Test
+  public void shouldInvalidateTheIndexedSegmentWhenItIsWritten() throws IOException {
+    final long lastBlockOfSegment = 11 * BLOCKS_PER_BLOOM_CACHE - 1;
+    final Path segment = cacheDir.resolve("logBloom-10.cache");
+    try (final RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.setLength(EXPECTED_BLOOM_FILE_SIZE);
+    }
+    final LogBloomIndex logBloomIndex = new LogBloomIndex(cacheDir);
+    final TransactionLogBloomCacher cacher =
+        new TransactionLogBloomCacher(blockchain, cacheDir, scheduler, logBloomIndex);
+    final LogsBloomMatcher matcher =
+        new LogsQuery(List.of(Address.fromHexString("0x1234")), List.of()).bloomMatcher();
+    assertThat(logBloomIndex.matchingBlocks(lastBlockOfSegment, lastBlockOfSegment, matcher))
+        .contains(List.of());
+
+    // the segment is written in place, as if in the same millisecond as it was mapped
+    final FileTime lastModified = Files.getLastModifiedTime(segment);
+    cacher.cacheLogsBloomForBlockHeader(
+        createBlock(lastBlockOfSegment, Optional.of("0x1234")),
+        Optional.empty(),
+        Optional.of(segment.toFile()));
+    Files.setLastModifiedTime(segment, lastModified);
+
+    assertThat(logBloomIndex.matchingBlocks(lastBlockOfSegment, lastBlockOfSegment, matcher))
+        .contains(List.of(lastBlockOfSegment));
+  }
+
   private void createLogBloomCache(final File logBloom) throws IOException {
     try (final RandomAccessFile randomAccessFile = new RandomAccessFile(logBloom, "rws")) {
       writeThreeEntries(testLogsBloomFilter, randomAccessFile);
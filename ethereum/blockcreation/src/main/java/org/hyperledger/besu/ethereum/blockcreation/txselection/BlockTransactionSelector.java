@@ -35,12 +35,15 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -50,6 +53,7 @@ import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -98,6 +102,7 @@ public class BlockTransactionSelector {
   private final EthScheduler ethScheduler;
   private final AtomicBoolean isTimeout = new AtomicBoolean(false);
   private final long blockTxsSelectionMaxTime;
+  private final Optional<SpeculativeTransactionExecution> speculativeExecution;
   private WorldUpdater blockWorldStateUpdater;
 
   public BlockTransactionSelector(
@@ -137,6 +142,33 @@ public class BlockTransactionSelector {
     this.pluginOperationTracer = pluginTransactionSelector.getOperationTracer();
     blockWorldStateUpdater = worldState.updater();
     blockTxsSelectionMaxTime = miningParameters.getBlockTxsSelectionMaxTime();
+    speculativeExecution =
+        createSpeculativeExecution(
+            miningParameters.getUnstable().getTxsSelectionSpeculativeLookahead());
+  }
+
+  /**
+   * Candidates can only be executed ahead on Bonsai, whose accumulator tells which accounts and
+   * storage slots the selected transactions modified, and only if no plugin traces them, as the
+   * tracer would miss the candidates whose result is reused.
+   */
+  private Optional<SpeculativeTransactionExecution> createSpeculativeExecution(
+      final int lookahead) {
+    if (lookahead > 0
+        && worldState instanceof BonsaiWorldState bonsaiWorldState
+        && pluginOperationTracer == BlockAwareOperationTracer.NO_TRACING) {
+      return Optional.of(
+          new SpeculativeTransactionExecution(
+              new ParallelizedConcurrentTransactionProcessor(
+                  transactionProcessor, ethScheduler::scheduleParallelTxTask),
+              bonsaiWorldState,
+              blockchain,
+              blockSelectionContext.processableBlockHeader(),
+              blockSelectionContext.miningBeneficiary(),
+              blockSelectionContext.blobGasPrice(),
+              lookahead));
+    }
+    return Optional.empty();
   }
 
   private List<AbstractTransactionSelector> createTransactionSelectors(
@@ -172,12 +204,31 @@ public class BlockTransactionSelector {
   }
 
   private void timeLimitedSelection() {
+    final PendingTransactions.TransactionSelector selector =
+        new PendingTransactions.TransactionSelector() {
+          @Override
+          public TransactionSelectionResult evaluateTransaction(
+              final PendingTransaction pendingTransaction) {
+            return BlockTransactionSelector.this.evaluateTransaction(pendingTransaction);
+          }
+
+          @Override
+          public void onCandidates(final List<PendingTransaction> candidates) {
+            speculativeExecution.ifPresent(
+                speculation ->
+                    speculation.onCandidates(
+                        candidates.stream().map(PendingTransaction::getTransaction).toList()));
+          }
+        };
     final var txSelection =
         ethScheduler.scheduleBlockCreationTask(
-            () ->
-                blockSelectionContext
-                    .transactionPool()
-                    .selectTransactions(this::evaluateTransaction));
+            () -> {
+              try {
+                blockSelectionContext.transactionPool().selectTransactions(selector);
+              } finally {
+                speculativeExecution.ifPresent(SpeculativeTransactionExecution::close);
+              }
+            });
 
     try {
       txSelection.get(blockTxsSelectionMaxTime, TimeUnit.MILLISECONDS);
@@ -209,8 +260,13 @@ public class BlockTransactionSelector {
    *     evaluations.
    */
   public TransactionSelectionResults evaluateTransactions(final List<Transaction> transactions) {
-    transactions.forEach(
-        transaction -> evaluateTransaction(new PendingTransaction.Local.Priority(transaction)));
+    speculativeExecution.ifPresent(speculation -> speculation.onCandidates(transactions));
+    try {
+      transactions.forEach(
+          transaction -> evaluateTransaction(new PendingTransaction.Local.Priority(transaction)));
+    } finally {
+      speculativeExecution.ifPresent(SpeculativeTransactionExecution::close);
+    }
     return transactionSelectionResults;
   }
 
@@ -238,7 +294,12 @@ public class BlockTransactionSelector {
 
     final WorldUpdater txWorldStateUpdater = blockWorldStateUpdater.updater();
     final TransactionProcessingResult processingResult =
-        processTransaction(pendingTransaction, txWorldStateUpdater);
+        speculativeExecution
+            .flatMap(
+                speculation ->
+                    speculation.applyResult(
+                        pendingTransaction.getTransaction(), txWorldStateUpdater))
+            .orElseGet(() -> processTransaction(pendingTransaction, txWorldStateUpdater));
 
     var postProcessingSelectionResult = evaluatePostProcessing(evaluationContext, processingResult);
 
@@ -0,0 +1,156 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedBlockExecution;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Executes the candidate transactions of a block ahead of their evaluation, in parallel and against
+ * the state of the parent block, by windows of a fixed size so that there is always a window being
+ * executed ahead of the transaction being evaluated.
+ *
+ * <p>The result of a candidate is only used if it is already available and none of the accounts or
+ * storage slots it read were modified by the transactions selected before it, otherwise the
+ * candidate is executed sequentially as usual. Only the first candidate of each sender is executed
+ * ahead, as the following ones depend on the nonce it increments.
+ *
+ * <p>This class is not thread safe, it is meant to be used from the thread evaluating the
+ * candidates.
+ */
+class SpeculativeTransactionExecution implements AutoCloseable {
+
+  private final ParallelizedConcurrentTransactionProcessor transactionProcessor;
+  private final BonsaiWorldState worldState;
+  private final BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private final Blockchain blockchain;
+  private final ProcessableBlockHeader processableBlockHeader;
+  private final Address miningBeneficiary;
+  private final Wei blobGasPrice;
+  private final int lookahead;
+  private final List<ParallelizedBlockExecution> executions = new ArrayList<>();
+  private final Map<Hash, Integer> positions = new HashMap<>();
+  private final Map<Hash, Speculation> speculations = new HashMap<>();
+  private List<Transaction> candidates = List.of();
+  private int nextPosition;
+
+  private record Speculation(ParallelizedBlockExecution execution, int index) {}
+
+  SpeculativeTransactionExecution(
+      final ParallelizedConcurrentTransactionProcessor transactionProcessor,
+      final BonsaiWorldState worldState,
+      final Blockchain blockchain,
+      final ProcessableBlockHeader processableBlockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final int lookahead) {
+    this.transactionProcessor = transactionProcessor;
+    this.worldState = worldState;
+    this.blockAccumulator = (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+    this.blockchain = blockchain;
+    this.processableBlockHeader = processableBlockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blobGasPrice = blobGasPrice;
+    this.lookahead = lookahead;
+  }
+
+  /**
+   * Starts executing the first window of candidates.
+   *
+   * @param transactions the candidate transactions, in the order they are going to be evaluated
+   */
+  void onCandidates(final List<Transaction> transactions) {
+    final Set<Address> senders = new HashSet<>();
+    candidates =
+        transactions.stream().filter(transaction -> senders.add(transaction.getSender())).toList();
+    positions.clear();
+    speculations.clear();
+    nextPosition = 0;
+    for (int i = 0; i < candidates.size(); i++) {
+      positions.put(candidates.get(i).getHash(), i);
+    }
+    executeAheadOf(-1);
+  }
+
+  /**
+   * Applies the result of a candidate executed ahead to an updater, if it is still valid, and
+   * starts executing the next window of candidates if needed.
+   *
+   * @param transaction the candidate being evaluated
+   * @param updater the updater of the candidate, child of the block accumulator and without changes
+   * @return the result of the candidate, or empty if it must be executed sequentially
+   */
+  Optional<TransactionProcessingResult> applyResult(
+      final Transaction transaction, final WorldUpdater updater) {
+    final Integer position = positions.get(transaction.getHash());
+    if (position == null) {
+      return Optional.empty();
+    }
+    executeAheadOf(position);
+    final Speculation speculation = speculations.remove(transaction.getHash());
+    if (speculation == null) {
+      return Optional.empty();
+    }
+    return speculation
+        .execution()
+        .applyTransactionResult(speculation.index(), blockAccumulator, updater);
+  }
+
+  private void executeAheadOf(final int position) {
+    while (nextPosition < candidates.size() && nextPosition <= position + lookahead) {
+      final List<Transaction> window =
+          candidates.subList(nextPosition, Math.min(candidates.size(), nextPosition + lookahead));
+      final ParallelizedBlockExecution execution =
+          transactionProcessor.runAsyncTransactions(
+              worldState,
+              blockchain,
+              processableBlockHeader,
+              window,
+              miningBeneficiary,
+              blobGasPrice,
+              TransactionValidationParams.mining(),
+              false);
+      executions.add(execution);
+      for (int i = 0; i < window.size(); i++) {
+        speculations.put(window.get(i).getHash(), new Speculation(execution, i));
+      }
+      nextPosition += window.size();
+    }
+  }
+
+  @Override
+  public void close() {
+    executions.forEach(ParallelizedBlockExecution::close);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedBlockExecution;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpeculativeTransactionExecutionTest {
+
+  private static final KeyPair SENDER1 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair SENDER2 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair SENDER3 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  private final ParallelizedConcurrentTransactionProcessor transactionProcessor =
+      mock(ParallelizedConcurrentTransactionProcessor.class);
+  private final BonsaiWorldState worldState = mock(BonsaiWorldState.class);
+  private final BonsaiWorldStateUpdateAccumulator blockAccumulator =
+      mock(BonsaiWorldStateUpdateAccumulator.class);
+  private final WorldUpdater updater = mock(WorldUpdater.class);
+  private final ParallelizedBlockExecution firstWindow = mock(ParallelizedBlockExecution.class);
+  private final ParallelizedBlockExecution secondWindow = mock(ParallelizedBlockExecution.class);
+
+  private final Transaction tx1 = transaction(SENDER1, 0);
+  private final Transaction tx2 = transaction(SENDER2, 0);
+  private final Transaction tx3 = transaction(SENDER3, 0);
+
+  private SpeculativeTransactionExecution speculativeExecution;
+
+  @BeforeEach
+  void setup() {
+    when(worldState.updater()).thenReturn(blockAccumulator);
+    speculativeExecution =
+        new SpeculativeTransactionExecution(
+            transactionProcessor,
+            worldState,
+            mock(Blockchain.class),
+            mock(ProcessableBlockHeader.class),
+            Address.ZERO,
+            Wei.ZERO,
+            2);
+  }
+
+  @Test
+  void executesTheFirstWindowAheadOfTheEvaluation() {
+    runAsync(List.of(tx1, tx2), firstWindow);
+
+    speculativeExecution.onCandidates(List.of(tx1, tx2, tx3));
+
+    verify(transactionProcessor)
+        .runAsyncTransactions(
+            eq(worldState), any(), any(), eq(List.of(tx1, tx2)), any(), any(), any(), anyBoolean());
+  }
+
+  @Test
+  void executesTheNextWindowWhenTheEvaluationReachesTheCurrentOne() {
+    final TransactionProcessingResult result = mock(TransactionProcessingResult.class);
+    runAsync(List.of(tx1, tx2), firstWindow);
+    runAsync(List.of(tx3), secondWindow);
+    when(firstWindow.applyTransactionResult(1, blockAccumulator, updater))
+        .thenReturn(Optional.of(result));
+
+    speculativeExecution.onCandidates(List.of(tx1, tx2, tx3));
+
+    assertThat(speculativeExecution.applyResult(tx2, updater)).contains(result);
+    verify(transactionProcessor)
+        .runAsyncTransactions(
+            eq(worldState), any(), any(), eq(List.of(tx3)), any(), any(), any(), anyBoolean());
+  }
+
+  @Test
+  void onlyExecutesTheFirstTransactionOfASenderAhead() {
+    final Transaction nextOfSender1 = transaction(SENDER1, 1);
+    runAsync(List.of(tx1, tx2), firstWindow);
+
+    speculativeExecution.onCandidates(List.of(tx1, nextOfSender1, tx2));
+
+    assertThat(speculativeExecution.applyResult(nextOfSender1, updater)).isEmpty();
+    verify(firstWindow, never()).applyTransactionResult(anyInt(), any(), any());
+  }
+
+  @Test
+  void closesTheExecutionsWhenClosed() {
+    runAsync(List.of(tx1, tx2), firstWindow);
+    speculativeExecution.onCandidates(List.of(tx1, tx2));
+
+    speculativeExecution.close();
+
+    verify(firstWindow).close();
+  }
+
+  private void runAsync(
+      final List<Transaction> window, final ParallelizedBlockExecution execution) {
+    when(transactionProcessor.runAsyncTransactions(
+            eq(worldState), any(), any(), eq(window), any(), any(), any(), anyBoolean()))
+        .thenReturn(execution);
+  }
+
+  private static Transaction transaction(final KeyPair sender, final long nonce) {
+    return new TransactionTestFixture().nonce(nonce).createTransaction(sender);
+  }
+}
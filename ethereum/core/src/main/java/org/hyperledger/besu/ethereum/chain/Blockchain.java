@@ -19,6 +19,7 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
@@ -167,6 +168,19 @@ public interface Blockchain {
    */
   Optional<BlockBody> getBlockBody(Hash blockHeaderHash);
 
+  /**
+   * Returns the block body corresponding to the given block header hash as a view which only
+   * decodes the elements that are read, for the queries that only need a part of the body.
+   * Associated block is not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The view of the block body corresponding to the target block.
+   */
+  default Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(LazyBlockBody::decoded);
+  }
+
   /**
    * Given a block's hash, returns the list of transaction receipts associated with this block's
    * transactions. Associated block is not necessarily on the canonical chain.
@@ -18,6 +18,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 
 import java.util.Collection;
@@ -38,6 +39,16 @@ public interface BlockchainStorage {
 
   Optional<BlockBody> getBlockBody(Hash blockHash);
 
+  /**
+   * Gets the body of a block as a view which only decodes the elements that are read.
+   *
+   * @param blockHash the hash of the block
+   * @return the view of the body of the block, if it is stored
+   */
+  default Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHash) {
+    return getBlockBody(blockHash).map(LazyBlockBody::decoded);
+  }
+
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
   Optional<Hash> getBlockHash(long blockNumber);
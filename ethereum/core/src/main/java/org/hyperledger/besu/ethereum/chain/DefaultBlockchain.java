@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
@@ -322,6 +323,14 @@ public class DefaultBlockchain implements MutableBlockchain {
         .orElseGet(() -> blockchainStorage.getBlockBody(blockHeaderHash));
   }
 
+  @Override
+  public Optional<LazyBlockBody> getLazyBlockBody(final Hash blockHeaderHash) {
+    return blockBodiesCache
+        .flatMap(cache -> Optional.ofNullable(cache.getIfPresent(blockHeaderHash)))
+        .map(LazyBlockBody::decoded)
+        .or(() -> blockchainStorage.getLazyBlockBody(blockHeaderHash));
+  }
+
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
     return transactionReceiptsCache
@@ -353,9 +362,8 @@ public class DefaultBlockchain implements MutableBlockchain {
         .getTransactionLocation(transactionHash)
         .flatMap(
             l ->
-                blockchainStorage
-                    .getBlockBody(l.getBlockHash())
-                    .map(b -> b.getTransactions().get(l.getTransactionIndex())));
+                getLazyBlockBody(l.getBlockHash())
+                    .map(b -> b.getTransaction(l.getTransactionIndex())));
   }
 
   @Override
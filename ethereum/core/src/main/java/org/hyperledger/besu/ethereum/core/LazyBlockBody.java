@@ -0,0 +1,205 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A view of a block body which keeps its RLP encoding and only decodes the elements that are read,
+ * for the queries that only need a part of a stored body, such as the hashes of its transactions or
+ * a single transaction. The encoding is only split into the encodings of the transactions when the
+ * view is created.
+ *
+ * <p>A view can also wrap a body which is already decoded, in which case its elements are read from
+ * the body.
+ */
+public class LazyBlockBody {
+
+  private static final int TRANSACTIONS = 0;
+  private static final int OMMERS = 1;
+  private static final int WITHDRAWALS = 2;
+
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  // the encodings of the lists of the body, in order
+  private final List<Bytes> encodedLists;
+  private final List<Bytes> encodedTransactions;
+  private final Bytes encodedBody;
+  private volatile BlockBody body;
+
+  private LazyBlockBody(
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final List<Bytes> encodedLists,
+      final List<Bytes> encodedTransactions,
+      final Bytes encodedBody,
+      final BlockBody body) {
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.encodedLists = encodedLists;
+    this.encodedTransactions = encodedTransactions;
+    this.encodedBody = encodedBody;
+    this.body = body;
+  }
+
+  /**
+   * Creates a view of a block body which is already decoded.
+   *
+   * @param body the decoded block body
+   * @return the view of the body
+   */
+  public static LazyBlockBody decoded(final BlockBody body) {
+    return new LazyBlockBody(null, null, null, null, body);
+  }
+
+  /**
+   * Creates a view of a block body from its encoding, as written by {@link
+   * BlockBody#writeWrappedBodyTo}, without decoding its elements.
+   *
+   * @param encodedBody the RLP encoding of the body, wrapped in a list
+   * @param blockHeaderFunctions the block header functions used to decode the ommers
+   * @return the view of the body
+   */
+  public static LazyBlockBody readWrappedBodyFrom(
+      final Bytes encodedBody, final BlockHeaderFunctions blockHeaderFunctions) {
+    final RLPInput input = RLP.input(encodedBody);
+    input.enterList();
+    final List<Bytes> encodedLists = new ArrayList<>();
+    while (!input.isEndOfCurrentList()) {
+      encodedLists.add(input.readAsRlp().raw());
+    }
+    input.leaveList();
+    if (encodedLists.size() <= OMMERS) {
+      throw new RLPException("Block body is missing its transactions or ommers");
+    }
+    final List<Bytes> encodedTransactions =
+        RLP.input(encodedLists.get(TRANSACTIONS))
+            .readList(transaction -> transaction.readAsRlp().raw());
+    return new LazyBlockBody(
+        blockHeaderFunctions, encodedLists, encodedTransactions, encodedBody, null);
+  }
+
+  /**
+   * Returns the number of transactions of the block.
+   *
+   * @return the number of transactions of the block
+   */
+  public int getTransactionCount() {
+    final BlockBody decodedBody = body;
+    return decodedBody != null ? decodedBody.getTransactions().size() : encodedTransactions.size();
+  }
+
+  /**
+   * Decodes a single transaction of the block.
+   *
+   * @param index the index of the transaction in the block
+   * @return the transaction
+   * @throws IndexOutOfBoundsException if the block has no transaction at this index
+   */
+  public Transaction getTransaction(final int index) {
+    final BlockBody decodedBody = body;
+    return decodedBody != null
+        ? decodedBody.getTransactions().get(index)
+        : Transaction.readFrom(RLP.input(encodedTransactions.get(index)));
+  }
+
+  /**
+   * Returns the hashes of the transactions of the block, computed from their encodings without
+   * decoding them.
+   *
+   * @return the hashes of the transactions of the block, in order
+   */
+  public List<Hash> getTransactionHashes() {
+    final BlockBody decodedBody = body;
+    if (decodedBody != null) {
+      return decodedBody.getTransactions().stream().map(Transaction::getHash).toList();
+    }
+    return encodedTransactions.stream().map(LazyBlockBody::transactionHash).toList();
+  }
+
+  /**
+   * Decodes the ommers of the block.
+   *
+   * @return the ommers of the block
+   */
+  public List<BlockHeader> getOmmers() {
+    final BlockBody decodedBody = body;
+    return decodedBody != null
+        ? decodedBody.getOmmers()
+        : RLP.input(encodedLists.get(OMMERS))
+            .readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions));
+  }
+
+  /**
+   * Decodes the withdrawals of the block.
+   *
+   * @return the withdrawals of the block, if the block has any
+   */
+  public Optional<List<Withdrawal>> getWithdrawals() {
+    final BlockBody decodedBody = body;
+    if (decodedBody != null) {
+      return decodedBody.getWithdrawals();
+    }
+    return encodedLists.size() > WITHDRAWALS
+        ? Optional.of(RLP.input(encodedLists.get(WITHDRAWALS)).readList(Withdrawal::readFrom))
+        : Optional.empty();
+  }
+
+  /**
+   * Decodes the whole block body, once.
+   *
+   * @return the block body
+   */
+  public BlockBody getBody() {
+    BlockBody decodedBody = body;
+    if (decodedBody == null) {
+      decodedBody = BlockBody.readWrappedBodyFrom(RLP.input(encodedBody), blockHeaderFunctions);
+      body = decodedBody;
+    }
+    return decodedBody;
+  }
+
+  /**
+   * Calculates the size of the encoding of the block of this body, as {@link
+   * Block#calculateSize()}, without encoding the body again.
+   *
+   * @param header the header of the block
+   * @return the size of the encoding of the block
+   */
+  public int calculateBlockSize(final BlockHeader header) {
+    if (encodedLists == null) {
+      return new Block(header, body).calculateSize();
+    }
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    header.writeTo(out);
+    encodedLists.forEach(out::writeRaw);
+    out.endList();
+    return out.encodedSize();
+  }
+
+  private static Hash transactionHash(final Bytes encodedTransaction) {
+    final RLPInput input = RLP.input(encodedTransaction);
+    // a typed transaction is hashed without the header of the RLP string wrapping it in the body
+    return Hash.hash(input.nextIsList() ? encodedTransaction : input.readBytes());
+  }
+}
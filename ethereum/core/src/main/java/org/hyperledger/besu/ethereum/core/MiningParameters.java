@@ -324,6 +324,7 @@ public abstract class MiningParameters {
     int DEFAULT_MAX_OMMERS_DEPTH = 8;
     long DEFAULT_POS_BLOCK_CREATION_MAX_TIME = Duration.ofSeconds(12).toMillis();
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
+    int DEFAULT_TXS_SELECTION_SPECULATIVE_LOOKAHEAD = 0;
 
     MiningParameters.Unstable DEFAULT = ImmutableMiningParameters.Unstable.builder().build();
 
@@ -357,6 +358,17 @@ public abstract class MiningParameters {
       return DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
     }
 
+    /**
+     * The number of candidate transactions executed ahead in parallel during block creation, 0
+     * meaning that the candidates are only executed sequentially.
+     *
+     * @return the number of candidates executed ahead
+     */
+    @Value.Default
+    default int getTxsSelectionSpeculativeLookahead() {
+      return DEFAULT_TXS_SELECTION_SPECULATIVE_LOOKAHEAD;
+    }
+
     @Value.Default
     default String getStratumExtranonce() {
       return "080c";
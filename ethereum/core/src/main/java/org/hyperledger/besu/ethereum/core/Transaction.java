@@ -46,10 +46,12 @@ import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -430,11 +432,60 @@ public class Transaction
                 () ->
                     new IllegalStateException(
                         "Cannot recover public key from signature for " + this));
+    return cacheSender(publicKey);
+  }
+
+  private Address cacheSender(final SECPPublicKey publicKey) {
     final Address calculatedSender = Address.extract(Hash.hash(publicKey.getEncodedBytes()));
-    senderCache.put(this.hash, calculatedSender);
+    senderCache.put(getHash(), calculatedSender);
     return calculatedSender;
   }
 
+  /**
+   * Recovers the senders of transactions as a batch, shared between the calling thread and an
+   * executor when it is large enough. The senders already known, including those cached when the
+   * same transactions were recovered before, for example on their admission to the transaction
+   * pool, are not recovered again. The senders that cannot be recovered are left for {@link
+   * #getSender()} to report.
+   *
+   * @param transactions the transactions
+   * @param executor the executor sharing the recovery with the calling thread
+   */
+  public static void recoverSenders(
+      final Collection<Transaction> transactions, final Executor executor) {
+    final List<Transaction> toRecover = withUnknownSenders(transactions);
+    if (toRecover.isEmpty()) {
+      return;
+    }
+    final List<Optional<SECPPublicKey>> publicKeys =
+        SignatureAlgorithmFactory.getInstance()
+            .recoverPublicKeysFromSignatures(
+                toRecover.stream().map(Transaction::getOrComputeSenderRecoveryHash).toList(),
+                toRecover.stream().map(Transaction::getSignature).toList(),
+                executor);
+    for (int i = 0; i < toRecover.size(); i++) {
+      final Transaction transaction = toRecover.get(i);
+      publicKeys
+          .get(i)
+          .ifPresent(publicKey -> transaction.sender = transaction.cacheSender(publicKey));
+    }
+  }
+
+  private static List<Transaction> withUnknownSenders(final Collection<Transaction> transactions) {
+    final List<Transaction> toRecover = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      if (transaction.sender == null) {
+        final Address cachedSender = senderCache.getIfPresent(transaction.getHash());
+        if (cachedSender != null) {
+          transaction.sender = cachedSender;
+        } else {
+          toRecover.add(transaction);
+        }
+      }
+    }
+    return toRecover;
+  }
+
   /**
    * Returns the public key extracted from the signature.
    *
@@ -28,6 +28,8 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedBlockExecution;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedConcurrentTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
@@ -44,6 +46,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +78,9 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
   protected final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private Optional<ParallelizedConcurrentTransactionProcessor>
+      parallelizedConcurrentTransactionProcessor = Optional.empty();
+
   protected AbstractBlockProcessor(
       final MainnetTransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
@@ -90,6 +96,18 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     this.protocolSchedule = protocolSchedule;
   }
 
+  /**
+   * Executes the transactions of Bonsai blocks in the background against the state of the parent
+   * block, reusing the results of the transactions that do not conflict with the ones before them
+   * instead of executing them sequentially.
+   *
+   * @param executor the executor of the transactions executed in the background
+   */
+  public void enableParallelTxProcessing(final Executor executor) {
+    this.parallelizedConcurrentTransactionProcessor =
+        Optional.of(new ParallelizedConcurrentTransactionProcessor(transactionProcessor, executor));
+  }
+
   @Override
   public BlockProcessingResult processBlock(
       final Blockchain blockchain,
@@ -106,74 +124,107 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
     final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(blockHeader);
 
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+
+    if (worldState instanceof BonsaiWorldState bonsaiWorldState) {
+      bonsaiWorldState.preLoadBlock(miningBeneficiary, transactions);
+    }
+
     if (blockHeader.getParentBeaconBlockRoot().isPresent()) {
       final WorldUpdater updater = worldState.updater();
       ParentBeaconBlockRootHelper.storeParentBeaconBlockRoot(
           updater, blockHeader.getTimestamp(), blockHeader.getParentBeaconBlockRoot().get());
     }
 
-    for (final Transaction transaction : transactions) {
-      if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
-        return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
-      }
+    Optional<BlockHeader> maybeParentHeader =
+        blockchain.getBlockHeader(blockHeader.getParentHash());
+
+    Wei blobGasPrice =
+        maybeParentHeader
+            .map(
+                parentHeader ->
+                    protocolSpec
+                        .getFeeMarket()
+                        .blobGasPricePerGas(
+                            calculateExcessBlobGasForParent(protocolSpec, parentHeader)))
+            .orElse(Wei.ZERO);
+
+    final Optional<ParallelizedBlockExecution> maybeParallelizedBlockExecution =
+        parallelizedConcurrentTransactionProcessor
+            .filter(
+                __ -> worldState instanceof BonsaiWorldState && privateMetadataUpdater == null)
+            .map(
+                processor ->
+                    processor.runAsyncBlock(
+                        (BonsaiWorldState) worldState,
+                        blockchain,
+                        blockHeader,
+                        transactions,
+                        miningBeneficiary,
+                        blobGasPrice));
 
-      final WorldUpdater worldStateUpdater = worldState.updater();
-
-      final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-
-      Optional<BlockHeader> maybeParentHeader =
-          blockchain.getBlockHeader(blockHeader.getParentHash());
-
-      Wei blobGasPrice =
-          maybeParentHeader
-              .map(
-                  parentHeader ->
-                      protocolSpec
-                          .getFeeMarket()
-                          .blobGasPricePerGas(
-                              calculateExcessBlobGasForParent(protocolSpec, parentHeader)))
-              .orElse(Wei.ZERO);
-
-      final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              OperationTracer.NO_TRACING,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater,
-              blobGasPrice);
-      if (result.isInvalid()) {
-        String errorMessage =
-            MessageFormat.format(
-                "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
-                result.getValidationResult().getErrorMessage(),
-                blockHeader.getHash().toHexString(),
-                transaction.getHash().toHexString());
-        LOG.info(errorMessage);
-        if (worldState instanceof BonsaiWorldState) {
-          ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
+          return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
         }
-        return new BlockProcessingResult(Optional.empty(), errorMessage);
-      }
-      worldStateUpdater.commit();
 
-      currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
-      if (transaction.getVersionedHashes().isPresent()) {
-        currentBlobGasUsed +=
-            (transaction.getVersionedHashes().get().size() * CancunGasCalculator.BLOB_GAS_PER_BLOB);
-      }
+        final WorldUpdater worldStateUpdater = worldState.updater();
+
+        final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
+
+        final int transactionIndex = i;
+        final TransactionProcessingResult result =
+            maybeParallelizedBlockExecution
+                .flatMap(
+                    execution ->
+                        execution.applyTransactionResult(
+                            transactionIndex,
+                            (BonsaiWorldStateUpdateAccumulator) worldStateUpdater))
+                .orElseGet(
+                    () ->
+                        transactionProcessor.processTransaction(
+                            blockchain,
+                            worldStateUpdater,
+                            blockHeader,
+                            transaction,
+                            miningBeneficiary,
+                            OperationTracer.NO_TRACING,
+                            blockHashLookup,
+                            true,
+                            TransactionValidationParams.processingBlock(),
+                            privateMetadataUpdater,
+                            blobGasPrice));
+        if (result.isInvalid()) {
+          String errorMessage =
+              MessageFormat.format(
+                  "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
+                  result.getValidationResult().getErrorMessage(),
+                  blockHeader.getHash().toHexString(),
+                  transaction.getHash().toHexString());
+          LOG.info(errorMessage);
+          if (worldState instanceof BonsaiWorldState) {
+            ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+          }
+          return new BlockProcessingResult(Optional.empty(), errorMessage);
+        }
+        worldStateUpdater.commit();
 
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(
-              transaction.getType(), result, worldState, currentGasUsed);
-      receipts.add(transactionReceipt);
+        currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
+        if (transaction.getVersionedHashes().isPresent()) {
+          currentBlobGasUsed +=
+              (transaction.getVersionedHashes().get().size()
+                  * CancunGasCalculator.BLOB_GAS_PER_BLOB);
+        }
+
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(
+                transaction.getType(), result, worldState, currentGasUsed);
+        receipts.add(transactionReceipt);
+      }
+    } finally {
+      maybeParallelizedBlockExecution.ifPresent(ParallelizedBlockExecution::close);
     }
     if (blockHeader.getBlobGasUsed().isPresent()
         && currentBlobGasUsed != blockHeader.getBlobGasUsed().get()) {
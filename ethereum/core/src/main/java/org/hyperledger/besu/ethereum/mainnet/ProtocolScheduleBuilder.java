@@ -26,6 +26,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,6 +45,7 @@ public class ProtocolScheduleBuilder {
   private final EvmConfiguration evmConfiguration;
   private final MiningParameters miningParameters;
   private final BadBlockManager badBlockManager;
+  private final Optional<Executor> parallelTxProcessingExecutor;
 
   private DefaultProtocolSchedule protocolSchedule;
 
@@ -56,6 +58,28 @@ public class ProtocolScheduleBuilder {
       final EvmConfiguration evmConfiguration,
       final MiningParameters miningParameters,
       final BadBlockManager badBlockManager) {
+    this(
+        config,
+        defaultChainId,
+        protocolSpecAdapters,
+        privacyParameters,
+        isRevertReasonEnabled,
+        evmConfiguration,
+        miningParameters,
+        badBlockManager,
+        Optional.empty());
+  }
+
+  public ProtocolScheduleBuilder(
+      final GenesisConfigOptions config,
+      final BigInteger defaultChainId,
+      final ProtocolSpecAdapters protocolSpecAdapters,
+      final PrivacyParameters privacyParameters,
+      final boolean isRevertReasonEnabled,
+      final EvmConfiguration evmConfiguration,
+      final MiningParameters miningParameters,
+      final BadBlockManager badBlockManager,
+      final Optional<Executor> parallelTxProcessingExecutor) {
     this(
         config,
         Optional.of(defaultChainId),
@@ -64,7 +88,8 @@ public class ProtocolScheduleBuilder {
         isRevertReasonEnabled,
         evmConfiguration,
         miningParameters,
-        badBlockManager);
+        badBlockManager,
+        parallelTxProcessingExecutor);
   }
 
   public ProtocolScheduleBuilder(
@@ -83,7 +108,8 @@ public class ProtocolScheduleBuilder {
         isRevertReasonEnabled,
         evmConfiguration,
         miningParameters,
-        badBlockManager);
+        badBlockManager,
+        Optional.empty());
   }
 
   private ProtocolScheduleBuilder(
@@ -94,7 +120,8 @@ public class ProtocolScheduleBuilder {
       final boolean isRevertReasonEnabled,
       final EvmConfiguration evmConfiguration,
       final MiningParameters miningParameters,
-      final BadBlockManager badBlockManager) {
+      final BadBlockManager badBlockManager,
+      final Optional<Executor> parallelTxProcessingExecutor) {
     this.config = config;
     this.protocolSpecAdapters = protocolSpecAdapters;
     this.privacyParameters = privacyParameters;
@@ -103,6 +130,7 @@ public class ProtocolScheduleBuilder {
     this.defaultChainId = defaultChainId;
     this.miningParameters = miningParameters;
     this.badBlockManager = badBlockManager;
+    this.parallelTxProcessingExecutor = parallelTxProcessingExecutor;
   }
 
   public ProtocolSchedule createProtocolSchedule() {
@@ -381,6 +409,7 @@ public class ProtocolScheduleBuilder {
       final Function<ProtocolSpecBuilder, ProtocolSpecBuilder> modifier) {
     definition
         .badBlocksManager(badBlockManager)
+        .parallelTxProcessingExecutor(parallelTxProcessingExecutor)
         .privacyParameters(privacyParameters)
         .privateTransactionValidatorBuilder(
             () -> new PrivateTransactionValidator(protocolSchedule.getChainId()));
@@ -39,6 +39,7 @@ import org.hyperledger.besu.evm.precompile.PrecompileContractRegistry;
 import org.hyperledger.besu.evm.processor.AbstractMessageProcessor;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -81,6 +82,7 @@ public class ProtocolSpecBuilder {
   private PoWHasher powHasher = PoWHasher.ETHASH_LIGHT;
   private boolean isPoS = false;
   private boolean isReplayProtectionSupported = false;
+  private Optional<Executor> parallelTxProcessingExecutor = Optional.empty();
 
   public ProtocolSpecBuilder gasCalculator(final Supplier<GasCalculator> gasCalculatorBuilder) {
     this.gasCalculatorBuilder = gasCalculatorBuilder;
@@ -240,6 +242,12 @@ public class ProtocolSpecBuilder {
     return this;
   }
 
+  public ProtocolSpecBuilder parallelTxProcessingExecutor(
+      final Optional<Executor> parallelTxProcessingExecutor) {
+    this.parallelTxProcessingExecutor = parallelTxProcessingExecutor;
+    return this;
+  }
+
   public ProtocolSpecBuilder powHasher(final PoWHasher powHasher) {
     this.powHasher = powHasher;
     return this;
@@ -339,6 +347,10 @@ public class ProtocolSpecBuilder {
     final BlockBodyValidator blockBodyValidator = blockBodyValidatorBuilder.apply(protocolSchedule);
 
     BlockProcessor blockProcessor = createBlockProcessor(transactionProcessor, protocolSchedule);
+    if (parallelTxProcessingExecutor.isPresent()
+        && blockProcessor instanceof AbstractBlockProcessor abstractBlockProcessor) {
+      abstractBlockProcessor.enableParallelTxProcessing(parallelTxProcessingExecutor.get());
+    }
     // Set private Tx Processor
     PrivateTransactionProcessor privateTransactionProcessor =
         createPrivateTransactionProcessor(
@@ -0,0 +1,167 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Transactions of a block executed in the background against the state of the parent block.
+ *
+ * <p>When the block processor reaches a transaction, its background result is only used if it is
+ * already available and none of the accounts or storage slots it read were modified by the
+ * transactions processed before it. Otherwise the transaction must be executed sequentially.
+ */
+public class ParallelizedBlockExecution implements AutoCloseable {
+
+  private final List<CompletableFuture<Optional<ParallelizedTransactionContext>>> transactions;
+  private final Address miningBeneficiary;
+  private final AtomicBoolean cancelled;
+
+  ParallelizedBlockExecution(
+      final List<CompletableFuture<Optional<ParallelizedTransactionContext>>> transactions,
+      final Address miningBeneficiary,
+      final AtomicBoolean cancelled) {
+    this.transactions = transactions;
+    this.miningBeneficiary = miningBeneficiary;
+    this.cancelled = cancelled;
+  }
+
+  /**
+   * Applies the background result of a transaction to the block accumulator if it is still valid.
+   *
+   * @param transactionIndex the index of the transaction in the block
+   * @param blockAccumulator the accumulator holding the changes of the previous transactions
+   * @return the result of the transaction, or empty if it must be executed sequentially
+   */
+  public Optional<TransactionProcessingResult> applyTransactionResult(
+      final int transactionIndex, final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    return applyTransactionResult(transactionIndex, blockAccumulator, blockAccumulator);
+  }
+
+  /**
+   * Applies the background result of a transaction to an updater if it is still valid with regard
+   * to the block accumulator, for callers that may still have to revert the transaction.
+   *
+   * @param transactionIndex the index of the transaction in the list executed in the background
+   * @param blockAccumulator the accumulator holding the changes of the previous transactions
+   * @param updater the updater to apply the changes of the transaction to, which must not hold
+   *     changes that are not committed to the block accumulator yet
+   * @return the result of the transaction, or empty if it must be executed sequentially
+   */
+  public Optional<TransactionProcessingResult> applyTransactionResult(
+      final int transactionIndex,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator,
+      final WorldUpdater updater) {
+    final Optional<ParallelizedTransactionContext> maybeContext;
+    try {
+      maybeContext = transactions.get(transactionIndex).getNow(Optional.empty());
+    } catch (final CancellationException | CompletionException e) {
+      return Optional.empty();
+    }
+    if (maybeContext.isEmpty() || hasConflict(maybeContext.get(), blockAccumulator)) {
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = maybeContext.get();
+    context
+        .accountWrites()
+        .forEach(
+            (address, accountWrite) -> {
+              final MutableAccount account = updater.getOrCreate(address);
+              if (accountWrite.clearStorage()) {
+                account.clearStorage();
+              }
+              account.setNonce(accountWrite.nonce());
+              account.setBalance(accountWrite.balance());
+              accountWrite.code().ifPresent(account::setCode);
+              accountWrite.storage().forEach(account::setStorageValue);
+            });
+    updater.getOrCreate(miningBeneficiary).incrementBalance(context.miningBeneficiaryReward());
+    return Optional.of(context.transactionProcessingResult());
+  }
+
+  static boolean hasConflict(
+      final ParallelizedTransactionContext context,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    for (final Address address : context.accountsRead()) {
+      if (blockAccumulator.getStorageToClear().contains(address)) {
+        return true;
+      }
+      final DiffBasedValue<BonsaiAccount> value =
+          blockAccumulator.getAccountsToUpdate().get(address);
+      if (value != null && isModified(value.getPrior(), value.getUpdated())) {
+        return true;
+      }
+    }
+    for (final Map.Entry<Address, Set<StorageSlotKey>> entry :
+        context.storageSlotsRead().entrySet()) {
+      if (blockAccumulator.getStorageToClear().contains(entry.getKey())) {
+        return true;
+      }
+      final Map<StorageSlotKey, DiffBasedValue<UInt256>> slots =
+          blockAccumulator.getStorageToUpdate().get(entry.getKey());
+      if (slots == null) {
+        continue;
+      }
+      for (final StorageSlotKey slotKey : entry.getValue()) {
+        final DiffBasedValue<UInt256> value = slots.get(slotKey);
+        if (value != null && !orZero(value.getPrior()).equals(orZero(value.getUpdated()))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isModified(final BonsaiAccount prior, final BonsaiAccount updated) {
+    if (prior == null || updated == null) {
+      return prior != updated;
+    }
+    return prior.getNonce() != updated.getNonce()
+        || !prior.getBalance().equals(updated.getBalance())
+        || !prior.getCodeHash().equals(updated.getCodeHash());
+  }
+
+  private static UInt256 orZero(final UInt256 value) {
+    return value == null ? UInt256.ZERO : value;
+  }
+
+  /**
+   * Skips the transactions which are not executed yet. The executions in progress are not
+   * interrupted, as they run against their own copy of the state, and their results are ignored.
+   */
+  @Override
+  public void close() {
+    cancelled.set(true);
+    transactions.forEach(transaction -> transaction.cancel(false));
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the transactions of a block concurrently, each one against the state of the parent
+ * block, so that the block processor can reuse the results of the transactions that do not depend
+ * on the ones before them.
+ *
+ * <p>The transactions run on a dedicated executor rather than on the common fork join pool, so that
+ * block processing neither waits for nor slows down the other tasks of the node.
+ */
+public class ParallelizedConcurrentTransactionProcessor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelizedConcurrentTransactionProcessor.class);
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Executor executor;
+
+  public ParallelizedConcurrentTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor, final Executor executor) {
+    this.transactionProcessor = transactionProcessor;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts the background execution of the transactions of a block.
+   *
+   * @param worldState the world state of the parent block
+   * @param blockchain the blockchain
+   * @param blockHeader the header of the block being processed
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param blobGasPrice the blob gas price of the block
+   * @return the background execution, to be closed once the block is processed
+   */
+  public ParallelizedBlockExecution runAsyncBlock(
+      final BonsaiWorldState worldState,
+      final Blockchain blockchain,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice) {
+    return runAsyncTransactions(
+        worldState,
+        blockchain,
+        blockHeader,
+        transactions,
+        miningBeneficiary,
+        blobGasPrice,
+        TransactionValidationParams.processingBlock(),
+        true);
+  }
+
+  /**
+   * Starts the background execution of transactions against the state of the parent block, as
+   * {@link #runAsyncBlock} does for the transactions of a block being processed, but for any list
+   * of transactions, such as the candidates of a block being created.
+   *
+   * @param worldState the world state of the parent block
+   * @param blockchain the blockchain
+   * @param blockHeader the header of the block the transactions are executed in
+   * @param transactions the transactions to execute
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param blobGasPrice the blob gas price of the block
+   * @param transactionValidationParams the parameters to validate the transactions with
+   * @param isPersistingPrivateState whether the private state is persisted
+   * @return the background execution, to be closed once the results are no longer needed
+   */
+  public ParallelizedBlockExecution runAsyncTransactions(
+      final BonsaiWorldState worldState,
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final TransactionValidationParams transactionValidationParams,
+      final boolean isPersistingPrivateState) {
+    final AtomicBoolean cancelled = new AtomicBoolean(false);
+    final List<CompletableFuture<Optional<ParallelizedTransactionContext>>> results =
+        new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      results.add(
+          supplyAsync(
+              () -> {
+                // the transactions still queued once the results are no longer needed are
+                // skipped, so that they do not delay the executions of the next block
+                if (cancelled.get()) {
+                  return Optional.empty();
+                }
+                return runTransaction(
+                    worldState,
+                    blockchain,
+                    blockHeader,
+                    transaction,
+                    miningBeneficiary,
+                    blobGasPrice,
+                    transactionValidationParams,
+                    isPersistingPrivateState);
+              }));
+    }
+    return new ParallelizedBlockExecution(results, miningBeneficiary, cancelled);
+  }
+
+  private CompletableFuture<Optional<ParallelizedTransactionContext>> supplyAsync(
+      final Supplier<Optional<ParallelizedTransactionContext>> transactionExecution) {
+    try {
+      return CompletableFuture.supplyAsync(transactionExecution, executor);
+    } catch (final RejectedExecutionException e) {
+      // the executor is shutting down, the transaction is executed sequentially
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+  }
+
+  Optional<ParallelizedTransactionContext> runTransaction(
+      final BonsaiWorldState worldState,
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final TransactionValidationParams transactionValidationParams,
+      final boolean isPersistingPrivateState) {
+    try (final BonsaiWorldState transactionWorldState = new BonsaiWorldState(worldState)) {
+      final BonsaiWorldStateUpdateAccumulator accumulator =
+          (BonsaiWorldStateUpdateAccumulator) transactionWorldState.updater();
+      final MiningBeneficiaryTracer tracer =
+          new MiningBeneficiaryTracer(accumulator, miningBeneficiary);
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              blockchain,
+              accumulator,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              tracer,
+              new CachingBlockHashLookup(blockHeader, blockchain),
+              isPersistingPrivateState,
+              transactionValidationParams,
+              null,
+              blobGasPrice);
+      if (result.isInvalid() || tracer.isMiningBeneficiaryTouched()) {
+        return Optional.empty();
+      }
+      accumulator.commit();
+      return ParallelizedTransactionContext.capture(result, accumulator, miningBeneficiary);
+    } catch (final RuntimeException e) {
+      // the transaction is executed again sequentially, which surfaces the error if it persists
+      LOG.trace("Failed to execute transaction {} in parallel", transaction.getHash(), e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Records whether the transaction accessed the mining beneficiary before being charged its fee,
+   * in which case the fee cannot be replayed on its own.
+   */
+  private static class MiningBeneficiaryTracer implements OperationTracer {
+
+    private final BonsaiWorldStateUpdateAccumulator accumulator;
+    private final Address miningBeneficiary;
+    private boolean miningBeneficiaryTouched;
+
+    MiningBeneficiaryTracer(
+        final BonsaiWorldStateUpdateAccumulator accumulator, final Address miningBeneficiary) {
+      this.accumulator = accumulator;
+      this.miningBeneficiary = miningBeneficiary;
+    }
+
+    @Override
+    public void traceEndTransaction(
+        final WorldView worldView,
+        final org.hyperledger.besu.datatypes.Transaction tx,
+        final boolean status,
+        final Bytes output,
+        final List<Log> logs,
+        final long gasUsed,
+        final long timeNs) {
+      miningBeneficiaryTouched =
+          accumulator.getAccountsToUpdate().containsKey(miningBeneficiary)
+              || accumulator.getDeletedAccountAddresses().contains(miningBeneficiary)
+              || accumulator.getTouchedAccounts().stream()
+                  .anyMatch(account -> account.getAddress().equals(miningBeneficiary));
+    }
+
+    boolean isMiningBeneficiaryTouched() {
+      return miningBeneficiaryTouched;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Outcome of a transaction executed against the state of the parent block: the accounts and
+ * storage slots it read, the final values it wrote and the fee it paid to the mining beneficiary.
+ *
+ * @param transactionProcessingResult the result of the execution
+ * @param accountsRead the accounts read or written by the transaction
+ * @param storageSlotsRead the storage slots read or written by the transaction
+ * @param accountWrites the final state of the accounts modified by the transaction
+ * @param miningBeneficiaryReward the fee paid to the mining beneficiary
+ */
+record ParallelizedTransactionContext(
+    TransactionProcessingResult transactionProcessingResult,
+    Set<Address> accountsRead,
+    Map<Address, Set<StorageSlotKey>> storageSlotsRead,
+    Map<Address, AccountWrite> accountWrites,
+    Wei miningBeneficiaryReward) {
+
+  /**
+   * Final state of an account modified by the transaction.
+   *
+   * @param nonce the nonce of the account
+   * @param balance the balance of the account
+   * @param code the new code of the account, if the transaction changed it
+   * @param clearStorage whether the storage of the account was cleared
+   * @param storage the storage slots written by the transaction
+   */
+  record AccountWrite(
+      long nonce,
+      Wei balance,
+      Optional<Bytes> code,
+      boolean clearStorage,
+      Map<UInt256, UInt256> storage) {}
+
+  /**
+   * Captures the outcome of a transaction from the committed accumulator it was executed on.
+   * Transactions whose effects cannot be replayed as plain account updates, such as self-destructs
+   * or transactions not paying a fee to the mining beneficiary, are not captured.
+   *
+   * @param result the result of the execution
+   * @param accumulator the committed accumulator the transaction was executed on
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @return the captured context, or empty if the transaction has to be executed sequentially
+   */
+  static Optional<ParallelizedTransactionContext> capture(
+      final TransactionProcessingResult result,
+      final BonsaiWorldStateUpdateAccumulator accumulator,
+      final Address miningBeneficiary) {
+    final Set<Address> accountsRead = new HashSet<>();
+    final Map<Address, Set<StorageSlotKey>> storageSlotsRead = new HashMap<>();
+    final Map<Address, AccountWrite> accountWrites = new HashMap<>();
+    Wei miningBeneficiaryReward = Wei.ZERO;
+
+    for (final Map.Entry<Address, DiffBasedValue<BonsaiAccount>> entry :
+        accumulator.getAccountsToUpdate().entrySet()) {
+      final Address address = entry.getKey();
+      final BonsaiAccount prior = entry.getValue().getPrior();
+      final BonsaiAccount updated = entry.getValue().getUpdated();
+
+      if (address.equals(miningBeneficiary)) {
+        final Wei priorBalance = prior == null ? Wei.ZERO : prior.getBalance();
+        if (updated == null || updated.getBalance().lessOrEqualThan(priorBalance)) {
+          return Optional.empty();
+        }
+        miningBeneficiaryReward = updated.getBalance().subtract(priorBalance);
+        continue;
+      }
+
+      accountsRead.add(address);
+      if (updated == null) {
+        if (prior != null) {
+          // deleted accounts are not replayed
+          return Optional.empty();
+        }
+        continue;
+      }
+
+      final boolean clearStorage = accumulator.getStorageToClear().contains(address);
+      if (clearStorage && prior != null) {
+        return Optional.empty();
+      }
+
+      final Map<UInt256, UInt256> storage = new HashMap<>();
+      final Map<StorageSlotKey, DiffBasedValue<UInt256>> slots =
+          accumulator.getStorageToUpdate().get(address);
+      if (slots != null) {
+        for (final Map.Entry<StorageSlotKey, DiffBasedValue<UInt256>> slot : slots.entrySet()) {
+          final DiffBasedValue<UInt256> value = slot.getValue();
+          if (!Objects.equals(value.getPrior(), value.getUpdated())) {
+            final Optional<UInt256> slotKey = slot.getKey().getSlotKey();
+            if (slotKey.isEmpty()) {
+              return Optional.empty();
+            }
+            storage.put(
+                slotKey.get(), value.getUpdated() == null ? UInt256.ZERO : value.getUpdated());
+          }
+        }
+      }
+
+      final Hash priorCodeHash = prior == null ? Hash.EMPTY : prior.getCodeHash();
+      final boolean codeUpdated = !priorCodeHash.equals(updated.getCodeHash());
+      if (prior == null
+          || clearStorage
+          || codeUpdated
+          || !storage.isEmpty()
+          || prior.getNonce() != updated.getNonce()
+          || !prior.getBalance().equals(updated.getBalance())) {
+        accountWrites.put(
+            address,
+            new AccountWrite(
+                updated.getNonce(),
+                updated.getBalance(),
+                codeUpdated ? Optional.of(updated.getCode()) : Optional.empty(),
+                clearStorage,
+                storage));
+      }
+    }
+
+    if (miningBeneficiaryReward.isZero()) {
+      return Optional.empty();
+    }
+
+    accumulator
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) -> {
+              if (!address.equals(miningBeneficiary)) {
+                storageSlotsRead.put(address, new HashSet<>(slots.keySet()));
+              }
+            });
+
+    return Optional.of(
+        new ParallelizedTransactionContext(
+            result, accountsRead, storageSlotsRead, accountWrites, miningBeneficiaryReward));
+  }
+}
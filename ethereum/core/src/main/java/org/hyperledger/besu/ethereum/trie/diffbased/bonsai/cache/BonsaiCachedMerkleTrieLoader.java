@@ -18,42 +18,101 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
-import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import io.prometheus.client.guava.cache.CacheMetricsCollector;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 
 public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  // trie keys are 32 bytes hashes, hence nodes cannot be deeper than 64 nibbles
+  private static final int MAX_TRIE_DEPTH = 64;
+
+  private final Cache<Bytes, Bytes> accountNodes;
+  private final Cache<Bytes, Bytes> storageNodes;
+  private final int pinnedAccountTrieLevels;
+  private final Map<Bytes, PinnedNode> pinnedAccountNodes = new ConcurrentHashMap<>();
+
+  private final Counter[] accountNodeHits = new Counter[MAX_TRIE_DEPTH + 1];
+  private final Counter[] accountNodeMisses = new Counter[MAX_TRIE_DEPTH + 1];
+  private final Counter[] storageNodeHits = new Counter[MAX_TRIE_DEPTH + 1];
+  private final Counter[] storageNodeMisses = new Counter[MAX_TRIE_DEPTH + 1];
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
+    this(metricsSystem, DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+  }
+
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration) {
+    final DataStorageConfiguration.Unstable config = dataStorageConfiguration.getUnstable();
+    this.accountNodes = createCache(config.getBonsaiAccountTrieNodeCacheWeightKb() * 1024);
+    this.storageNodes = createCache(config.getBonsaiStorageTrieNodeCacheWeightKb() * 1024);
+    this.pinnedAccountTrieLevels = config.getBonsaiPinnedAccountTrieLevels();
+
+    final LabelledMetric<Counter> lookups =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_lookups_total",
+            "Lookups in the trie node cache by trie, depth and result",
+            "trie",
+            "depth",
+            "result");
+    for (int depth = 0; depth <= MAX_TRIE_DEPTH; depth++) {
+      final String depthLabel = Integer.toString(depth);
+      accountNodeHits[depth] = lookups.labels("account", depthLabel, "hit");
+      accountNodeMisses[depth] = lookups.labels("account", depthLabel, "miss");
+      storageNodeHits[depth] = lookups.labels("storage", depthLabel, "hit");
+      storageNodeMisses[depth] = lookups.labels("storage", depthLabel, "miss");
+    }
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "account_trie_node_cache_weight_bytes",
+        "Approximate size in bytes of the account trie nodes cache",
+        () -> weightOf(accountNodes));
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "storage_trie_node_cache_weight_bytes",
+        "Approximate size in bytes of the storage trie nodes cache",
+        () -> weightOf(storageNodes));
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "account_trie_pinned_nodes",
+        "Number of account trie nodes pinned in memory",
+        pinnedAccountNodes::size);
+  }
 
-    CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
-    cacheMetrics.addCache("accountsNodes", accountNodes);
-    cacheMetrics.addCache("storageNodes", storageNodes);
-    if (metricsSystem instanceof PrometheusMetricsSystem prometheusMetricsSystem)
-      prometheusMetricsSystem.addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
+  private static Cache<Bytes, Bytes> createCache(final long maximumWeightBytes) {
+    return Caffeine.newBuilder()
+        .maximumWeight(maximumWeightBytes)
+        .weigher((Bytes hash, Bytes node) -> hash.size() + node.size())
+        .build();
+  }
+
+  private static long weightOf(final Cache<Bytes, Bytes> cache) {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
   }
 
   public void preLoadAccount(
@@ -76,7 +135,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
               (location, hash) -> {
                 Optional<Bytes> node =
                     getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes), bytes));
+                node.ifPresent(bytes -> cacheAccountNode(location, Hash.hash(bytes), bytes));
                 return node;
               },
               worldStateRootHash,
@@ -133,16 +192,144 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     }
   }
 
+  /**
+   * Loads in the background the flat values and trie nodes of the accounts and storage slots that
+   * the transactions of a block are known to access before they are executed: the mining
+   * beneficiary, the senders, the recipients and the entries of the access lists.
+   *
+   * @param worldStateKeyValueStorage the storage of the world state the block is executed on
+   * @param worldStateRootHash the root hash of the world state the block is executed on
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param transactions the transactions of the block
+   * @return a future completed once everything has been loaded
+   */
+  public CompletableFuture<Void> preLoadBlock(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Address miningBeneficiary,
+      final List<Transaction> transactions) {
+    final List<CompletableFuture<Void>> preLoads = new ArrayList<>(transactions.size() + 1);
+    preLoads.add(
+        CompletableFuture.runAsync(
+            () ->
+                cacheWhileSubscribed(
+                    worldStateKeyValueStorage,
+                    () ->
+                        cacheAccount(
+                            worldStateKeyValueStorage, worldStateRootHash, miningBeneficiary))));
+    for (final Transaction transaction : transactions) {
+      preLoads.add(
+          CompletableFuture.runAsync(
+              () -> cacheTransaction(worldStateKeyValueStorage, worldStateRootHash, transaction)));
+    }
+    return CompletableFuture.allOf(preLoads.toArray(CompletableFuture[]::new));
+  }
+
+  @VisibleForTesting
+  public void cacheTransaction(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Transaction transaction) {
+    cacheWhileSubscribed(
+        worldStateKeyValueStorage,
+        () -> {
+          cacheAccount(worldStateKeyValueStorage, worldStateRootHash, transaction.getSender());
+          transaction
+              .getTo()
+              .ifPresent(to -> cacheAccount(worldStateKeyValueStorage, worldStateRootHash, to));
+          transaction
+              .getAccessList()
+              .ifPresent(
+                  accessList ->
+                      accessList.forEach(
+                          entry -> {
+                            cacheAccount(
+                                worldStateKeyValueStorage, worldStateRootHash, entry.address());
+                            entry
+                                .storageKeys()
+                                .forEach(
+                                    storageKey ->
+                                        cacheStorageSlot(
+                                            worldStateKeyValueStorage,
+                                            entry.address(),
+                                            new StorageSlotKey(UInt256.fromBytes(storageKey))));
+                          }));
+        });
+  }
+
+  private void cacheWhileSubscribed(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage, final Runnable preLoad) {
+    final long storageSubscriberId;
+    try {
+      storageSubscriberId = worldStateKeyValueStorage.subscribe(this);
+    } catch (RuntimeException e) {
+      // the world state was closed before the preload started
+      return;
+    }
+    try {
+      preLoad.run();
+    } catch (MerkleTrieException e) {
+      // ignore exception for the cache
+    } finally {
+      worldStateKeyValueStorage.unSubscribe(storageSubscriberId);
+    }
+  }
+
+  private void cacheAccount(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Address account) {
+    // reading the flat value warms the database cache for the execution
+    worldStateKeyValueStorage.getAccount(account.addressHash());
+    cacheAccountNodes(worldStateKeyValueStorage, worldStateRootHash, account);
+  }
+
+  private void cacheStorageSlot(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Address account,
+      final StorageSlotKey slotKey) {
+    worldStateKeyValueStorage.getStorageValueByStorageSlotKey(account.addressHash(), slotKey);
+    cacheStorageNodes(worldStateKeyValueStorage, account, slotKey);
+  }
+
+  private void cacheAccountNode(final Bytes location, final Bytes32 nodeHash, final Bytes node) {
+    if (location.size() < pinnedAccountTrieLevels) {
+      pinnedAccountNodes.put(location, new PinnedNode(nodeHash, node));
+    } else {
+      accountNodes.put(nodeHash, node);
+    }
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
       final Bytes32 nodeHash) {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
+    }
+    final int depth = Math.min(location.size(), MAX_TRIE_DEPTH);
+    Bytes node = null;
+    if (location.size() < pinnedAccountTrieLevels) {
+      final PinnedNode pinnedNode = pinnedAccountNodes.get(location);
+      if (pinnedNode != null && pinnedNode.hash().equals(nodeHash)) {
+        node = pinnedNode.node();
+      }
     } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
-          .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
+      node = accountNodes.getIfPresent(nodeHash);
+    }
+    if (node != null) {
+      accountNodeHits[depth].inc();
+      return Optional.of(node);
+    }
+    accountNodeMisses[depth].inc();
+    final Optional<Bytes> loadedNode =
+        worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash);
+    if (location.size() < pinnedAccountTrieLevels) {
+      // a pinned level is refreshed by the reads missing it, not only by the preloads
+      loadedNode.ifPresent(
+          bytes -> pinnedAccountNodes.put(location, new PinnedNode(nodeHash, bytes)));
     }
+    return loadedNode;
   }
 
   public Optional<Bytes> getAccountStorageTrieNode(
@@ -152,12 +339,20 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
       final Bytes32 nodeHash) {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
-    } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
-          .or(
-              () ->
-                  worldStateKeyValueStorage.getAccountStorageTrieNode(
-                      accountHash, location, nodeHash));
     }
+    final int depth = Math.min(location.size(), MAX_TRIE_DEPTH);
+    final Bytes node = storageNodes.getIfPresent(nodeHash);
+    if (node != null) {
+      storageNodeHits[depth].inc();
+      return Optional.of(node);
+    }
+    storageNodeMisses[depth].inc();
+    return worldStateKeyValueStorage.getAccountStorageTrieNode(accountHash, location, nodeHash);
   }
+
+  /**
+   * An account trie node kept in memory by its location in the trie, so that only its latest
+   * version is retained.
+   */
+  private record PinnedNode(Bytes32 hash, Bytes node) {}
 }
@@ -15,6 +15,7 @@
 
 package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
 
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
 import dagger.Module;
@@ -25,7 +26,8 @@ public class BonsaiCachedMerkleTrieLoaderModule {
 
   @Provides
   BonsaiCachedMerkleTrieLoader provideCachedMerkleTrieLoaderModule(
-      final ObservableMetricsSystem metricsSystem) {
-    return new BonsaiCachedMerkleTrieLoader(metricsSystem);
+      final ObservableMetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration) {
+    return new BonsaiCachedMerkleTrieLoader(metricsSystem, dataStorageConfiguration);
   }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Read-through cache of the flat account and storage values of the persisted world state, kept
+ * off-heap so that it does not add to the Java heap nor to the garbage collection pauses.
+ *
+ * <p>Each value is stored in a fixed-size slot of a direct-mapped table, selected by the hash of
+ * its key, and replaces whatever value the slot held before. Values that are not in the database
+ * are cached too, so that repeated lookups of missing entries do not reach the database either.
+ *
+ * <p>The cache must be invalidated for every key written to the database, both before and after
+ * the write is committed. A value loaded from the database is only cached if no invalidation
+ * happened in its stripe in the meantime, so a value read before a commit can never be cached
+ * after it.
+ */
+public class BonsaiFlatDbCache {
+
+  // large enough for the RLP of any account
+  private static final int MAX_ACCOUNT_SIZE = 127;
+  // large enough for the RLP of any storage value
+  private static final int MAX_STORAGE_VALUE_SIZE = 33;
+
+  private final Table accounts;
+  private final Table storage;
+
+  private final Counter accountHits;
+  private final Counter accountMisses;
+  private final Counter storageHits;
+  private final Counter storageMisses;
+
+  public BonsaiFlatDbCache(
+      final MetricsSystem metricsSystem,
+      final long accountCapacityBytes,
+      final long storageCapacityBytes) {
+    this.accounts = new Table(accountCapacityBytes, Hash.SIZE, MAX_ACCOUNT_SIZE);
+    this.storage = new Table(storageCapacityBytes, Hash.SIZE * 2, MAX_STORAGE_VALUE_SIZE);
+
+    final LabelledMetric<Counter> lookups =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "flat_db_cache_lookups_total",
+            "Lookups in the off-heap flat database cache by cache and result",
+            "cache",
+            "result");
+    this.accountHits = lookups.labels("account", "hit");
+    this.accountMisses = lookups.labels("account", "miss");
+    this.storageHits = lookups.labels("storage", "hit");
+    this.storageMisses = lookups.labels("storage", "miss");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "flat_db_account_cache_entries",
+        "Number of accounts in the off-heap flat database cache",
+        accounts.size::sum);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "flat_db_storage_cache_entries",
+        "Number of storage values in the off-heap flat database cache",
+        storage.size::sum);
+  }
+
+  public Optional<Bytes> getAccount(
+      final Hash accountHash, final Supplier<Optional<Bytes>> loader) {
+    return accounts.getOrLoad(accountHash, loader, accountHits, accountMisses);
+  }
+
+  public Optional<Bytes> getStorageValue(
+      final Hash accountHash, final Hash slotHash, final Supplier<Optional<Bytes>> loader) {
+    return storage.getOrLoad(
+        Bytes.concatenate(accountHash, slotHash), loader, storageHits, storageMisses);
+  }
+
+  public void invalidateAccount(final Hash accountHash) {
+    accounts.invalidate(accountHash);
+  }
+
+  public void invalidateStorageValue(final Hash accountHash, final Hash slotHash) {
+    storage.invalidate(Bytes.concatenate(accountHash, slotHash));
+  }
+
+  public void invalidateAll() {
+    accounts.invalidateAll();
+    storage.invalidateAll();
+  }
+
+  /**
+   * Direct-mapped table of fixed-size entries laid out in direct byte buffers. Each entry is made
+   * of a state byte, the key, the length of the value and the value.
+   */
+  private static class Table {
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte ABSENT = 2;
+
+    private static final int STRIPES = 256;
+    private static final int MAX_PAGE_SIZE = 1 << 30;
+
+    private final int keySize;
+    private final int maxValueSize;
+    private final int entrySize;
+    private final int entriesPerPage;
+    private final int entries;
+    private final ByteBuffer[] pages;
+
+    private final Object[] locks = new Object[STRIPES];
+    // incremented under the stripe lock on every invalidation of the stripe
+    private final long[] versions = new long[STRIPES];
+    private final LongAdder size = new LongAdder();
+
+    Table(final long capacityBytes, final int keySize, final int maxValueSize) {
+      this.keySize = keySize;
+      this.maxValueSize = maxValueSize;
+      this.entrySize = 2 + keySize + maxValueSize;
+      this.entries = (int) Math.min(capacityBytes / entrySize, Integer.MAX_VALUE);
+      this.entriesPerPage = MAX_PAGE_SIZE / entrySize;
+      this.pages = new ByteBuffer[(entries + entriesPerPage - 1) / entriesPerPage];
+      for (int page = 0; page < pages.length; page++) {
+        final int pageEntries = Math.min(entriesPerPage, entries - page * entriesPerPage);
+        // direct buffers are zeroed, hence all the entries start EMPTY
+        pages[page] = ByteBuffer.allocateDirect(pageEntries * entrySize);
+      }
+      for (int stripe = 0; stripe < STRIPES; stripe++) {
+        locks[stripe] = new Object();
+      }
+    }
+
+    Optional<Bytes> getOrLoad(
+        final Bytes key,
+        final Supplier<Optional<Bytes>> loader,
+        final Counter hits,
+        final Counter misses) {
+      if (entries == 0) {
+        return loader.get();
+      }
+      final int index = indexOf(key);
+      final int stripe = index % STRIPES;
+      final long version;
+      synchronized (locks[stripe]) {
+        final byte state = stateOf(index, key);
+        if (state != EMPTY) {
+          hits.inc();
+          return state == PRESENT ? Optional.of(valueAt(index)) : Optional.empty();
+        }
+        version = versions[stripe];
+      }
+      misses.inc();
+      final Optional<Bytes> value = loader.get();
+      if (value.isEmpty() || value.get().size() <= maxValueSize) {
+        synchronized (locks[stripe]) {
+          if (versions[stripe] == version) {
+            write(index, key, value);
+          }
+        }
+      }
+      return value;
+    }
+
+    void invalidate(final Bytes key) {
+      if (entries == 0) {
+        return;
+      }
+      final int index = indexOf(key);
+      final int stripe = index % STRIPES;
+      synchronized (locks[stripe]) {
+        versions[stripe]++;
+        if (stateOf(index, key) != EMPTY) {
+          page(index).put(offset(index), EMPTY);
+          size.decrement();
+        }
+      }
+    }
+
+    void invalidateAll() {
+      for (int stripe = 0; stripe < Math.min(STRIPES, entries); stripe++) {
+        synchronized (locks[stripe]) {
+          versions[stripe]++;
+          for (int index = stripe; index < entries; index += STRIPES) {
+            final ByteBuffer page = page(index);
+            if (page.get(offset(index)) != EMPTY) {
+              page.put(offset(index), EMPTY);
+              size.decrement();
+            }
+          }
+        }
+      }
+    }
+
+    private int indexOf(final Bytes key) {
+      // keys end with a hash, and storage keys start with the hash of the account
+      final long hash = key.getLong(0) ^ key.getLong(key.size() - Long.BYTES);
+      return (int) Long.remainderUnsigned(hash, entries);
+    }
+
+    private ByteBuffer page(final int index) {
+      return pages[index / entriesPerPage];
+    }
+
+    private int offset(final int index) {
+      return (index % entriesPerPage) * entrySize;
+    }
+
+    private byte stateOf(final int index, final Bytes key) {
+      final ByteBuffer page = page(index);
+      final int offset = offset(index);
+      final byte state = page.get(offset);
+      if (state == EMPTY) {
+        return EMPTY;
+      }
+      for (int i = 0; i < keySize; i++) {
+        if (page.get(offset + 1 + i) != key.get(i)) {
+          return EMPTY;
+        }
+      }
+      return state;
+    }
+
+    private Bytes valueAt(final int index) {
+      final ByteBuffer page = page(index);
+      final int offset = offset(index) + 1 + keySize;
+      final byte[] value = new byte[page.get(offset) & 0xFF];
+      page.get(offset + 1, value);
+      return Bytes.wrap(value);
+    }
+
+    private void write(final int index, final Bytes key, final Optional<Bytes> value) {
+      final ByteBuffer page = page(index);
+      final int offset = offset(index);
+      if (page.get(offset) == EMPTY) {
+        size.increment();
+      }
+      page.put(offset, value.isPresent() ? PRESENT : ABSENT);
+      page.put(offset + 1, key.toArrayUnsafe());
+      final byte[] valueBytes = value.map(Bytes::toArrayUnsafe).orElse(new byte[0]);
+      page.put(offset + 1 + keySize, (byte) valueBytes.length);
+      page.put(offset + 2 + keySize, valueBytes);
+    }
+  }
+}
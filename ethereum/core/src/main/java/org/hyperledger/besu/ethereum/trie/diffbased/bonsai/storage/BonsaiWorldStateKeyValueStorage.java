@@ -42,6 +42,8 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTran
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -50,6 +52,9 @@ import org.apache.tuweni.bytes.Bytes32;
 public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValueStorage
     implements WorldStateKeyValueStorage {
   protected final FlatDbStrategyProvider flatDbStrategyProvider;
+  // only the persisted world state is cached, snapshots and layers read through their own view
+  private final Optional<BonsaiFlatDbCache> flatDbCache;
+  private final boolean compactTrieLogEnabled;
 
   public BonsaiWorldStateKeyValueStorage(
       final StorageProvider provider,
@@ -63,6 +68,19 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     this.flatDbStrategyProvider =
         new FlatDbStrategyProvider(metricsSystem, dataStorageConfiguration);
     flatDbStrategyProvider.loadFlatDbStrategy(composedWorldStateStorage);
+    final DataStorageConfiguration.Unstable unstable = dataStorageConfiguration.getUnstable();
+    if (unstable.getBonsaiAccountFlatDbCacheWeightKb() > 0
+        || unstable.getBonsaiStorageFlatDbCacheWeightKb() > 0) {
+      this.flatDbCache =
+          Optional.of(
+              new BonsaiFlatDbCache(
+                  metricsSystem,
+                  unstable.getBonsaiAccountFlatDbCacheWeightKb() * 1024,
+                  unstable.getBonsaiStorageFlatDbCacheWeightKb() * 1024));
+    } else {
+      this.flatDbCache = Optional.empty();
+    }
+    this.compactTrieLogEnabled = unstable.getBonsaiCompactTrieLogEnabled();
   }
 
   public BonsaiWorldStateKeyValueStorage(
@@ -71,6 +89,8 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
       final KeyValueStorage trieLogStorage) {
     super(composedWorldStateStorage, trieLogStorage);
     this.flatDbStrategyProvider = flatDbStrategyProvider;
+    this.flatDbCache = Optional.empty();
+    this.compactTrieLogEnabled = false;
   }
 
   @Override
@@ -78,6 +98,11 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     return DataStorageFormat.BONSAI;
   }
 
+  @Override
+  public boolean isCompactTrieLogEnabled() {
+    return compactTrieLogEnabled;
+  }
+
   @Override
   public FlatDbMode getFlatDbMode() {
     return flatDbStrategyProvider.getFlatDbMode();
@@ -94,6 +119,13 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
   }
 
   public Optional<Bytes> getAccount(final Hash accountHash) {
+    if (flatDbCache.isPresent()) {
+      return flatDbCache.get().getAccount(accountHash, () -> getFlatAccount(accountHash));
+    }
+    return getFlatAccount(accountHash);
+  }
+
+  private Optional<Bytes> getFlatAccount(final Hash accountHash) {
     return flatDbStrategyProvider
         .getFlatDbStrategy(composedWorldStateStorage)
         .getFlatAccount(
@@ -148,6 +180,21 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
       final Supplier<Optional<Hash>> storageRootSupplier,
       final Hash accountHash,
       final StorageSlotKey storageSlotKey) {
+    if (flatDbCache.isPresent()) {
+      return flatDbCache
+          .get()
+          .getStorageValue(
+              accountHash,
+              storageSlotKey.getSlotHash(),
+              () -> getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey));
+    }
+    return getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey);
+  }
+
+  private Optional<Bytes> getFlatStorageValue(
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final Hash accountHash,
+      final StorageSlotKey storageSlotKey) {
     return flatDbStrategyProvider
         .getFlatDbStrategy(composedWorldStateStorage)
         .getFlatStorageValueByStorageSlotKey(
@@ -166,10 +213,12 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
 
   public void upgradeToFullFlatDbMode() {
     flatDbStrategyProvider.upgradeToFullFlatDbMode(composedWorldStateStorage);
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
   }
 
   public void downgradeToPartialFlatDbMode() {
     flatDbStrategyProvider.downgradeToPartialFlatDbMode(composedWorldStateStorage);
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
   }
 
   @Override
@@ -177,6 +226,13 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     super.clear();
     flatDbStrategyProvider.loadFlatDbStrategy(
         composedWorldStateStorage); // force reload of flat db reader strategy
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
+  }
+
+  @Override
+  public void clearFlatDatabase() {
+    super.clearFlatDatabase();
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
   }
 
   @Override
@@ -189,7 +245,8 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     return new Updater(
         composedWorldStateStorage.startTransaction(),
         trieLogStorage.startTransaction(),
-        flatDbStrategyProvider.getFlatDbStrategy(composedWorldStateStorage));
+        flatDbStrategyProvider.getFlatDbStrategy(composedWorldStateStorage),
+        flatDbCache);
   }
 
   public static class Updater implements DiffBasedWorldStateKeyValueStorage.Updater {
@@ -197,15 +254,68 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     private final SegmentedKeyValueStorageTransaction composedWorldStateTransaction;
     private final KeyValueStorageTransaction trieLogStorageTransaction;
     private final FlatDbStrategy flatDbStrategy;
+    private final Optional<BonsaiFlatDbCache> flatDbCache;
+    // keys written by this updater, evicted from the cache when committing
+    private final Set<Hash> updatedAccounts;
+    private final Set<UpdatedStorageValue> updatedStorageValues;
 
     public Updater(
         final SegmentedKeyValueStorageTransaction composedWorldStateTransaction,
         final KeyValueStorageTransaction trieLogStorageTransaction,
         final FlatDbStrategy flatDbStrategy) {
+      this(
+          composedWorldStateTransaction,
+          trieLogStorageTransaction,
+          flatDbStrategy,
+          Optional.empty());
+    }
+
+    Updater(
+        final SegmentedKeyValueStorageTransaction composedWorldStateTransaction,
+        final KeyValueStorageTransaction trieLogStorageTransaction,
+        final FlatDbStrategy flatDbStrategy,
+        final Optional<BonsaiFlatDbCache> flatDbCache) {
+      this(
+          composedWorldStateTransaction,
+          trieLogStorageTransaction,
+          flatDbStrategy,
+          flatDbCache,
+          ConcurrentHashMap.newKeySet(),
+          ConcurrentHashMap.newKeySet());
+    }
+
+    private Updater(
+        final SegmentedKeyValueStorageTransaction composedWorldStateTransaction,
+        final KeyValueStorageTransaction trieLogStorageTransaction,
+        final FlatDbStrategy flatDbStrategy,
+        final Optional<BonsaiFlatDbCache> flatDbCache,
+        final Set<Hash> updatedAccounts,
+        final Set<UpdatedStorageValue> updatedStorageValues) {
 
       this.composedWorldStateTransaction = composedWorldStateTransaction;
       this.trieLogStorageTransaction = trieLogStorageTransaction;
       this.flatDbStrategy = flatDbStrategy;
+      this.flatDbCache = flatDbCache;
+      this.updatedAccounts = updatedAccounts;
+      this.updatedStorageValues = updatedStorageValues;
+    }
+
+    /**
+     * Creates an updater that writes the world state through the same flat db strategy, but into
+     * the given transaction.
+     *
+     * @param worldStateTransaction the transaction receiving the world state writes
+     * @return the new updater
+     */
+    public Updater withWorldStateTransaction(
+        final SegmentedKeyValueStorageTransaction worldStateTransaction) {
+      return new Updater(
+          worldStateTransaction,
+          trieLogStorageTransaction,
+          flatDbStrategy,
+          flatDbCache,
+          updatedAccounts,
+          updatedStorageValues);
     }
 
     public Updater removeCode(final Hash accountHash, final Hash codeHash) {
@@ -229,6 +339,7 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     }
 
     public Updater removeAccountInfoState(final Hash accountHash) {
+      trackAccount(accountHash);
       flatDbStrategy.removeFlatAccount(composedWorldStateTransaction, accountHash);
       return this;
     }
@@ -238,6 +349,7 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
         // Don't save empty values
         return this;
       }
+      trackAccount(accountHash);
       flatDbStrategy.putFlatAccount(composedWorldStateTransaction, accountHash, accountValue);
       return this;
     }
@@ -284,6 +396,7 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
 
     public synchronized Updater putStorageValueBySlotHash(
         final Hash accountHash, final Hash slotHash, final Bytes storage) {
+      trackStorageValue(accountHash, slotHash);
       flatDbStrategy.putFlatAccountStorageValueByStorageSlotHash(
           composedWorldStateTransaction, accountHash, slotHash, storage);
       return this;
@@ -291,10 +404,31 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
 
     public synchronized void removeStorageValueBySlotHash(
         final Hash accountHash, final Hash slotHash) {
+      trackStorageValue(accountHash, slotHash);
       flatDbStrategy.removeFlatAccountStorageValueByStorageSlotHash(
           composedWorldStateTransaction, accountHash, slotHash);
     }
 
+    private void trackAccount(final Hash accountHash) {
+      if (flatDbCache.isPresent()) {
+        updatedAccounts.add(accountHash);
+      }
+    }
+
+    private void trackStorageValue(final Hash accountHash, final Hash slotHash) {
+      if (flatDbCache.isPresent()) {
+        updatedStorageValues.add(new UpdatedStorageValue(accountHash, slotHash));
+      }
+    }
+
+    private void invalidateUpdatedValues(final BonsaiFlatDbCache cache) {
+      updatedAccounts.forEach(cache::invalidateAccount);
+      updatedStorageValues.forEach(
+          value -> cache.invalidateStorageValue(value.accountHash(), value.slotHash()));
+    }
+
+    private record UpdatedStorageValue(Hash accountHash, Hash slotHash) {}
+
     @Override
     public SegmentedKeyValueStorageTransaction getWorldStateTransaction() {
       return composedWorldStateTransaction;
@@ -307,15 +441,23 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
 
     @Override
     public void commit() {
+      // evict the updated values from the cache on both sides of the commit, the second eviction
+      // discards the values loaded from the database while the commit was running
+      flatDbCache.ifPresent(this::invalidateUpdatedValues);
       // write the log ahead, then the worldstate
       trieLogStorageTransaction.commit();
       composedWorldStateTransaction.commit();
+      flatDbCache.ifPresent(this::invalidateUpdatedValues);
+      updatedAccounts.clear();
+      updatedStorageValues.clear();
     }
 
     @Override
     public void rollback() {
       composedWorldStateTransaction.rollback();
       trieLogStorageTransaction.rollback();
+      updatedAccounts.clear();
+      updatedStorageValues.clear();
     }
   }
 }
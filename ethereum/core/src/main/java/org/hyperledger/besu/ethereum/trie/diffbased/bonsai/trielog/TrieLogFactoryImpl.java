@@ -19,8 +19,10 @@ import org.hyperledger.besu.datatypes.AccountValue;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
@@ -40,10 +42,44 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 
+/**
+ * Creates and serializes trie logs. Trie logs are read in both of their encodings, and written in
+ * the legacy one unless the compact one is enabled:
+ *
+ * <ul>
+ *   <li>the legacy encoding starts with the block hash, and writes the prior and updated values of
+ *       an account in full;
+ *   <li>the compact encoding starts with its version, writes only the fields of an account which
+ *       differ from its prior value, and omits the flags of values which are not cleared.
+ * </ul>
+ *
+ * Both encodings are RLP lists, so that they can be exported and imported alike. An address may
+ * have account, code and storage changes, which both encodings group in a single entry of the
+ * address, so that each address is written once per layer.
+ */
 public class TrieLogFactoryImpl implements TrieLogFactory {
 
+  /** The version of the compact encoding, which precedes its block hash. */
+  public static final int COMPACT_ENCODING_VERSION = 1;
+
+  private static final int NONCE_CHANGED = 1;
+  private static final int BALANCE_CHANGED = 1 << 1;
+  private static final int STORAGE_ROOT_CHANGED = 1 << 2;
+  private static final int CODE_HASH_CHANGED = 1 << 3;
+
+  private final boolean compactEncodingEnabled;
+
+  public TrieLogFactoryImpl() {
+    this(false);
+  }
+
+  public TrieLogFactoryImpl(final boolean compactEncodingEnabled) {
+    this.compactEncodingEnabled = compactEncodingEnabled;
+  }
+
   @Override
   public TrieLogLayer create(final TrieLogAccumulator accumulator, final BlockHeader blockHeader) {
     TrieLogLayer layer = new TrieLogLayer();
@@ -87,17 +123,18 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
   @Override
   public byte[] serialize(final TrieLog layer) {
     final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
-    writeTo(layer, rlpLog);
+    if (compactEncodingEnabled) {
+      writeCompactTo(layer, rlpLog);
+    } else {
+      writeTo(layer, rlpLog);
+    }
     return rlpLog.encoded().toArrayUnsafe();
   }
 
   public static void writeTo(final TrieLog layer, final RLPOutput output) {
     layer.freeze();
 
-    final Set<Address> addresses = new TreeSet<>();
-    addresses.addAll(layer.getAccountChanges().keySet());
-    addresses.addAll(layer.getCodeChanges().keySet());
-    addresses.addAll(layer.getStorageChanges().keySet());
+    final Set<Address> addresses = changedAddresses(layer);
 
     output.startList(); // container
     output.writeBytes(layer.getBlockHash());
@@ -142,6 +179,144 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     output.endList(); // container
   }
 
+  public static void writeCompactTo(final TrieLog layer, final RLPOutput output) {
+    layer.freeze();
+
+    final Set<Address> addresses = changedAddresses(layer);
+
+    output.startList(); // container
+    output.writeIntScalar(COMPACT_ENCODING_VERSION);
+    output.writeBytes(layer.getBlockHash());
+
+    for (final Address address : addresses) {
+      output.startList(); // this change
+      output.writeBytes(address);
+
+      final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
+      if (accountChange == null || accountChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        writeCompactAccountChange(accountChange, output);
+      }
+
+      final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
+      if (codeChange == null || codeChange.isUnchanged()) {
+        output.writeNull();
+      } else {
+        output.startList();
+        writeCompactInnerRlp(codeChange, output, RLPOutput::writeBytes);
+        output.endList();
+      }
+
+      final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+          layer.getStorageChanges().get(address);
+      if (storageChanges == null) {
+        output.writeNull();
+      } else {
+        output.startList();
+        for (final Map.Entry<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChangeEntry :
+            storageChanges.entrySet()) {
+          output.startList();
+          output.writeBytes(storageChangeEntry.getKey().getSlotHash());
+          writeCompactInnerRlp(
+              storageChangeEntry.getValue(), output, RLPOutput::writeUInt256Scalar);
+          output.endList();
+        }
+        output.endList();
+      }
+
+      output.endList(); // this change
+    }
+    output.endList(); // container
+  }
+
+  private static Set<Address> changedAddresses(final TrieLog layer) {
+    final Set<Address> addresses = new TreeSet<>();
+    addresses.addAll(layer.getAccountChanges().keySet());
+    addresses.addAll(layer.getCodeChanges().keySet());
+    addresses.addAll(layer.getStorageChanges().keySet());
+    return addresses;
+  }
+
+  /**
+   * Writes the prior value of an account in full, and its updated value as the fields which differ
+   * from the prior value, preceded by a mask of these fields.
+   */
+  private static void writeCompactAccountChange(
+      final TrieLog.LogTuple<AccountValue> accountChange, final RLPOutput output) {
+    final AccountValue prior = accountChange.getPrior();
+    final AccountValue updated = accountChange.getUpdated();
+    output.startList();
+    if (prior == null) {
+      output.writeNull();
+    } else {
+      prior.writeTo(output);
+    }
+    if (updated == null) {
+      output.writeNull();
+    } else if (prior == null) {
+      updated.writeTo(output);
+    } else {
+      int changedFields = 0;
+      if (prior.getNonce() != updated.getNonce()) {
+        changedFields |= NONCE_CHANGED;
+      }
+      if (!prior.getBalance().equals(updated.getBalance())) {
+        changedFields |= BALANCE_CHANGED;
+      }
+      if (!prior.getStorageRoot().equals(updated.getStorageRoot())) {
+        changedFields |= STORAGE_ROOT_CHANGED;
+      }
+      if (!prior.getCodeHash().equals(updated.getCodeHash())) {
+        changedFields |= CODE_HASH_CHANGED;
+      }
+      output.startList();
+      output.writeIntScalar(changedFields);
+      if ((changedFields & NONCE_CHANGED) != 0) {
+        output.writeLongScalar(updated.getNonce());
+      }
+      if ((changedFields & BALANCE_CHANGED) != 0) {
+        output.writeUInt256Scalar(updated.getBalance());
+      }
+      if ((changedFields & STORAGE_ROOT_CHANGED) != 0) {
+        output.writeBytes(updated.getStorageRoot());
+      }
+      if ((changedFields & CODE_HASH_CHANGED) != 0) {
+        output.writeBytes(updated.getCodeHash());
+      }
+      output.endList();
+    }
+    if (accountChange.isLastStepCleared()) {
+      output.writeInt(1);
+    }
+    output.endList();
+  }
+
+  private static StateTrieAccountValue readCompactUpdatedAccount(
+      final RLPInput input, final StateTrieAccountValue prior) {
+    if (prior == null) {
+      return StateTrieAccountValue.readFrom(input);
+    }
+    input.enterList();
+    final int changedFields = input.readIntScalar();
+    final long nonce =
+        (changedFields & NONCE_CHANGED) != 0 ? input.readLongScalar() : prior.getNonce();
+    final Wei balance =
+        (changedFields & BALANCE_CHANGED) != 0
+            ? Wei.of(input.readUInt256Scalar())
+            : prior.getBalance();
+    final Hash storageRoot =
+        (changedFields & STORAGE_ROOT_CHANGED) != 0
+            ? Hash.wrap(input.readBytes32())
+            : prior.getStorageRoot();
+    final Hash codeHash =
+        (changedFields & CODE_HASH_CHANGED) != 0
+            ? Hash.wrap(input.readBytes32())
+            : prior.getCodeHash();
+    input.leaveList();
+    return new StateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+  }
+
   @Override
   public TrieLogLayer deserialize(final byte[] bytes) {
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
@@ -151,6 +326,14 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     final TrieLogLayer newLayer = new TrieLogLayer();
 
     input.enterList();
+    // the legacy encoding starts with the block hash, the compact one with its version
+    final boolean compactEncoding = input.nextSize() != Bytes32.SIZE;
+    if (compactEncoding) {
+      final int version = input.readIntScalar();
+      if (version != COMPACT_ENCODING_VERSION) {
+        throw new RLPException("Unsupported trie log encoding version " + version);
+      }
+    }
     newLayer.setBlockHash(Hash.wrap(input.readBytes32()));
 
     while (!input.isEndOfCurrentList()) {
@@ -162,7 +345,10 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
       } else {
         input.enterList();
         final StateTrieAccountValue oldValue = nullOrValue(input, StateTrieAccountValue::readFrom);
-        final StateTrieAccountValue newValue = nullOrValue(input, StateTrieAccountValue::readFrom);
+        final StateTrieAccountValue newValue =
+            compactEncoding
+                ? nullOrValue(input, in -> readCompactUpdatedAccount(in, oldValue))
+                : nullOrValue(input, StateTrieAccountValue::readFrom);
         final boolean isCleared = getOptionalIsCleared(input);
         input.leaveList();
         newLayer
@@ -237,6 +423,26 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     output.endList();
   }
 
+  /** Writes a value as {@link #writeInnerRlp}, without the flag of a value which is not cleared. */
+  private static <T> void writeCompactInnerRlp(
+      final TrieLog.LogTuple<T> value,
+      final RLPOutput output,
+      final BiConsumer<RLPOutput, T> writer) {
+    if (value.getPrior() == null) {
+      output.writeNull();
+    } else {
+      writer.accept(output, value.getPrior());
+    }
+    if (value.getUpdated() == null) {
+      output.writeNull();
+    } else {
+      writer.accept(output, value.getUpdated());
+    }
+    if (value.isLastStepCleared()) {
+      output.writeInt(1);
+    }
+  }
+
   public static <T> void writeInnerRlp(
       final TrieLog.LogTuple<T> value,
       final RLPOutput output,
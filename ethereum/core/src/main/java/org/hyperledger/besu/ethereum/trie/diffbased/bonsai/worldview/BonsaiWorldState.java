@@ -23,6 +23,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
@@ -43,7 +44,9 @@ import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.BufferedSegmentedKeyValueStorageTransaction;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -94,6 +97,34 @@ public class BonsaiWorldState extends DiffBasedWorldState {
             evmConfiguration));
   }
 
+  /**
+   * Creates a world state reading the state the given world state was last persisted at, ignoring
+   * the changes pending in its accumulator. It is backed by a layer over the same storage, so
+   * nothing written to it reaches the database, and it must be closed once no longer needed.
+   *
+   * @param worldState the world state to read the persisted state of
+   */
+  public BonsaiWorldState(final BonsaiWorldState worldState) {
+    this(
+        new BonsaiWorldStateLayerStorage(worldState.getWorldStateStorage()),
+        worldState.bonsaiCachedMerkleTrieLoader,
+        worldState.cachedWorldStorageManager,
+        worldState.trieLogManager,
+        worldState.accumulator.getEvmConfiguration());
+  }
+
+  /**
+   * Starts loading in the background the accounts and storage slots that the transactions of a
+   * block executed on this world state are known to access.
+   *
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param transactions the transactions of the block
+   */
+  public void preLoadBlock(final Address miningBeneficiary, final List<Transaction> transactions) {
+    bonsaiCachedMerkleTrieLoader.preLoadBlock(
+        getWorldStateStorage(), worldStateRootHash, miningBeneficiary, transactions);
+  }
+
   @Override
   public BonsaiWorldStateKeyValueStorage getWorldStateStorage() {
     return (BonsaiWorldStateKeyValueStorage) worldStateKeyValueStorage;
@@ -116,16 +147,15 @@ public class BonsaiWorldState extends DiffBasedWorldState {
 
     // This must be done before updating the accounts so
     // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
+    final Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>>
+        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().parallelStream();
     if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
+      storageStream.forEach(
+          addressMapEntry ->
+              updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
+    } else {
+      updateAccountStorageStates(maybeStateUpdater.get(), worldStateUpdater, storageStream);
     }
-    storageStream.forEach(
-        addressMapEntry ->
-            updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
 
     // Third update the code.  This has the side effect of ensuring a code hash is calculated.
     updateCode(maybeStateUpdater, worldStateUpdater);
@@ -220,6 +250,32 @@ public class BonsaiWorldState extends DiffBasedWorldState {
     return value == null || value.isEmpty();
   }
 
+  private void updateAccountStorageStates(
+      final BonsaiWorldStateKeyValueStorage.Updater stateUpdater,
+      final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
+      final Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>>
+          storageStream) {
+    // Every storage trie stages its writes in its own buffer so the workers never contend on the
+    // shared transaction. Storage keys are prefixed by the account hash, so the buffers never
+    // touch the same key and can be merged in any order once all the tries are done.
+    final SegmentedKeyValueStorageTransaction worldStateTransaction =
+        stateUpdater.getWorldStateTransaction();
+    final List<BufferedSegmentedKeyValueStorageTransaction> buffers =
+        storageStream
+            .map(
+                addressMapEntry -> {
+                  final BufferedSegmentedKeyValueStorageTransaction buffer =
+                      new BufferedSegmentedKeyValueStorageTransaction(worldStateTransaction);
+                  updateAccountStorageState(
+                      Optional.of(stateUpdater.withWorldStateTransaction(buffer)),
+                      worldStateUpdater,
+                      addressMapEntry);
+                  return buffer;
+                })
+            .toList();
+    buffers.forEach(BufferedSegmentedKeyValueStorageTransaction::commit);
+  }
+
   private void updateAccountStorageState(
       final Optional<BonsaiWorldStateKeyValueStorage.Updater> maybeStateUpdater,
       final BonsaiWorldStateUpdateAccumulator worldStateUpdater,
@@ -182,6 +182,16 @@ public abstract class DiffBasedWorldStateKeyValueStorage
   @Override
   public abstract Updater updater();
 
+  /**
+   * Whether the trie logs are written in the compact encoding, which older versions cannot read.
+   * Both encodings are always read.
+   *
+   * @return true if the trie logs are written in the compact encoding
+   */
+  public boolean isCompactTrieLogEnabled() {
+    return false;
+  }
+
   public boolean pruneTrieLog(final Hash blockHash) {
     try {
       return trieLogStorage.tryDelete(blockHash.toArrayUnsafe());
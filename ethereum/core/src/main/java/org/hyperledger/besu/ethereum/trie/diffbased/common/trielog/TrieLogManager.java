@@ -151,7 +151,7 @@ public class TrieLogManager {
       return trieLogService.getTrieLogFactory();
     } else {
       // Otherwise default to TrieLogFactoryImpl
-      return new TrieLogFactoryImpl();
+      return new TrieLogFactoryImpl(rootWorldStateStorage.isCompactTrieLogEnabled());
     }
   }
 
@@ -110,7 +110,7 @@ public abstract class DiffBasedWorldStateUpdateAccumulator<ACCOUNT extends DiffB
     return storagePreloader;
   }
 
-  protected EvmConfiguration getEvmConfiguration() {
+  public EvmConfiguration getEvmConfiguration() {
     return evmConfiguration;
   }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Splits a file of concatenated RLP items, such as exported blocks, into the encodings of its items
+ * without decoding them, so that they can be decoded concurrently. The file is read through memory
+ * mappings of large windows, and a new window is mapped from the next item once an item does not
+ * fit in the current one.
+ *
+ * <p>The returned encodings are views of the mappings, which stay valid as long as they are
+ * referenced, even once the iterator is closed.
+ */
+public final class MappedRlpIterator implements Iterator<Bytes>, Closeable {
+  private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+  // the prefix of an item of up to 2^64 bytes
+  private static final int MAX_PREFIX_SIZE = 9;
+
+  private final FileChannel fileChannel;
+  private final long fileSize;
+  private final int windowSize;
+
+  private MappedByteBuffer window;
+  private long windowStart;
+  private long position;
+
+  MappedRlpIterator(final Path file, final int windowSize) throws IOException {
+    this.fileChannel = FileChannel.open(file);
+    this.fileSize = fileChannel.size();
+    this.windowSize = windowSize;
+  }
+
+  public MappedRlpIterator(final Path file) throws IOException {
+    this(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position < fileSize;
+  }
+
+  @Override
+  public Bytes next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more items found in the file.");
+    }
+    try {
+      mapItem((int) Math.min(MAX_PREFIX_SIZE, fileSize - position));
+      final int offset = (int) (position - windowStart);
+      final int length =
+          RLP.calculateSize(Bytes.wrapByteBuffer(window, offset, window.limit() - offset));
+      if (position + length > fileSize) {
+        throw new IllegalStateException("Truncated RLP item at offset " + position + ".");
+      }
+      mapItem(length);
+      final Bytes item = Bytes.wrapByteBuffer(window, (int) (position - windowStart), length);
+      position += length;
+      return item;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    fileChannel.close();
+  }
+
+  /** Maps a new window from the current position if the next bytes are not in the window. */
+  private void mapItem(final int length) throws IOException {
+    if (window != null && position + length <= windowStart + window.limit()) {
+      return;
+    }
+    windowStart = position;
+    final long size = Math.max(length, Math.min(windowSize, fileSize - position));
+    window = fileChannel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+  }
+}
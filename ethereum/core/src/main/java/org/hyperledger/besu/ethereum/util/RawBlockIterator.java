@@ -93,12 +93,7 @@ public final class RawBlockIterator implements Iterator<Block>, Closeable {
         initial = readBuffer.position();
       }
 
-      final Bytes rlpBytes = Bytes.wrap(Bytes.wrapByteBuffer(readBuffer, 0, length).toArray());
-      final RLPInput rlp = new BytesValueRLPInput(rlpBytes, false);
-      rlp.enterList();
-      final BlockHeader header = BlockHeader.readFrom(rlp, blockHeaderFunctions);
-      final BlockBody body = BlockBody.readFrom(rlp, blockHeaderFunctions);
-      next = new Block(header, body);
+      next = decodeBlock(Bytes.wrapByteBuffer(readBuffer, 0, length), blockHeaderFunctions);
       readBuffer.position(length);
       readBuffer.compact();
       readBuffer.position(initial - length);
@@ -107,6 +102,23 @@ public final class RawBlockIterator implements Iterator<Block>, Closeable {
     }
   }
 
+  /**
+   * Decodes a block as it is encoded in a file of blocks, such as the items returned by {@link
+   * MappedRlpIterator}. The encoding is copied first, so that the block does not reference it.
+   *
+   * @param encodedBlock the encoding of the block
+   * @param blockHeaderFunctions the block header functions
+   * @return the block
+   */
+  public static Block decodeBlock(
+      final Bytes encodedBlock, final BlockHeaderFunctions blockHeaderFunctions) {
+    final RLPInput rlp = new BytesValueRLPInput(Bytes.wrap(encodedBlock.toArray()), false);
+    rlp.enterList();
+    final BlockHeader header = BlockHeader.readFrom(rlp, blockHeaderFunctions);
+    final BlockBody body = BlockBody.readFrom(rlp, blockHeaderFunctions);
+    return new Block(header, body);
+  }
+
   private void fillReadBuffer() throws IOException {
     fileChannel.read(readBuffer);
   }
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -48,6 +49,9 @@ public class DebugOperationTracer implements OperationTracer {
    */
   private final boolean recordChildCallGas;
 
+  /** The consumer of the trace frames which cannot change anymore, when they are streamed. */
+  private final Optional<Consumer<TraceFrame>> completedTraceFrameConsumer;
+
   private List<TraceFrame> traceFrames = new ArrayList<>();
   private TraceFrame lastFrame;
 
@@ -65,8 +69,34 @@ public class DebugOperationTracer implements OperationTracer {
    *     (false) gas amounts for call operations
    */
   public DebugOperationTracer(final TraceOptions options, final boolean recordChildCallGas) {
+    this(options, recordChildCallGas, Optional.empty());
+  }
+
+  /**
+   * Creates an operation tracer which streams the trace frames to a consumer as soon as they cannot
+   * change anymore, instead of keeping all of them until the end of the trace. Only the last frames
+   * are kept, and returned by {@link #getTraceFrames()}.
+   *
+   * @param options The options, as passed in through the RPC
+   * @param recordChildCallGas A flag on whether to produce geth style (true) or parity style
+   *     (false) gas amounts for call operations
+   * @param completedTraceFrameConsumer The consumer of the trace frames which cannot change
+   *     anymore, in order
+   */
+  public DebugOperationTracer(
+      final TraceOptions options,
+      final boolean recordChildCallGas,
+      final Consumer<TraceFrame> completedTraceFrameConsumer) {
+    this(options, recordChildCallGas, Optional.of(completedTraceFrameConsumer));
+  }
+
+  private DebugOperationTracer(
+      final TraceOptions options,
+      final boolean recordChildCallGas,
+      final Optional<Consumer<TraceFrame>> completedTraceFrameConsumer) {
     this.options = options;
     this.recordChildCallGas = recordChildCallGas;
+    this.completedTraceFrameConsumer = completedTraceFrameConsumer;
   }
 
   @Override
@@ -127,7 +157,7 @@ public class DebugOperationTracer implements OperationTracer {
             currentOperation.isVirtualOperation(),
             frame.getMaybeUpdatedMemory(),
             frame.getMaybeUpdatedStorage());
-    traceFrames.add(lastFrame);
+    addTraceFrame(lastFrame);
     frame.reset();
   }
 
@@ -161,7 +191,7 @@ public class DebugOperationTracer implements OperationTracer {
               true,
               Optional.empty(),
               Optional.empty());
-      traceFrames.add(traceFrame);
+      addTraceFrame(traceFrame);
     }
     traceFrames.get(traceFrames.size() - 1).setPrecompiledGasCost(OptionalLong.of(gasRequirement));
   }
@@ -208,11 +238,22 @@ public class DebugOperationTracer implements OperationTracer {
                     true,
                     Optional.empty(),
                     Optional.empty());
-            traceFrames.add(traceFrame);
+            addTraceFrame(traceFrame);
           }
         });
   }
 
+  private void addTraceFrame(final TraceFrame traceFrame) {
+    // the last frame is updated until a new one is added, and the halt reason of a failed account
+    // creation is set on the last frame which is not a RETURN, so the frames preceding a new frame
+    // which is not a RETURN cannot change anymore
+    if (completedTraceFrameConsumer.isPresent() && !traceFrame.getOpcode().equals("RETURN")) {
+      traceFrames.forEach(completedTraceFrameConsumer.get());
+      traceFrames.clear();
+    }
+    traceFrames.add(traceFrame);
+  }
+
   private Optional<Map<UInt256, UInt256>> captureStorage(final MessageFrame frame) {
     if (!options.isStorageEnabled()) {
       return Optional.empty();
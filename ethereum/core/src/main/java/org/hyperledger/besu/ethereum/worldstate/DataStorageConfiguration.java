@@ -68,6 +68,13 @@ public interface DataStorageConfiguration {
     long MINIMUM_BONSAI_TRIE_LOG_RETENTION_LIMIT = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
     int DEFAULT_BONSAI_TRIE_LOG_PRUNING_WINDOW_SIZE = 30_000;
     boolean DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED = false;
+    boolean DEFAULT_BONSAI_PARALLEL_TX_PROCESSING_ENABLED = false;
+    long DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB = 64 * 1024;
+    long DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB = 128 * 1024;
+    int DEFAULT_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS = 0;
+    long DEFAULT_BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB = 0;
+    long DEFAULT_BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB = 0;
+    boolean DEFAULT_BONSAI_COMPACT_TRIE_LOG_ENABLED = false;
 
     DataStorageConfiguration.Unstable DEFAULT =
         ImmutableDataStorageConfiguration.Unstable.builder().build();
@@ -86,5 +93,40 @@ public interface DataStorageConfiguration {
     default boolean getBonsaiCodeStoredByCodeHashEnabled() {
       return DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default boolean getBonsaiParallelTxProcessingEnabled() {
+      return DEFAULT_BONSAI_PARALLEL_TX_PROCESSING_ENABLED;
+    }
+
+    @Value.Default
+    default long getBonsaiAccountTrieNodeCacheWeightKb() {
+      return DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_WEIGHT_KB;
+    }
+
+    @Value.Default
+    default long getBonsaiStorageTrieNodeCacheWeightKb() {
+      return DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_WEIGHT_KB;
+    }
+
+    @Value.Default
+    default int getBonsaiPinnedAccountTrieLevels() {
+      return DEFAULT_BONSAI_PINNED_ACCOUNT_TRIE_LEVELS;
+    }
+
+    @Value.Default
+    default long getBonsaiAccountFlatDbCacheWeightKb() {
+      return DEFAULT_BONSAI_ACCOUNT_FLAT_DB_CACHE_WEIGHT_KB;
+    }
+
+    @Value.Default
+    default long getBonsaiStorageFlatDbCacheWeightKb() {
+      return DEFAULT_BONSAI_STORAGE_FLAT_DB_CACHE_WEIGHT_KB;
+    }
+
+    @Value.Default
+    default boolean getBonsaiCompactTrieLogEnabled() {
+      return DEFAULT_BONSAI_COMPACT_TRIE_LOG_ENABLED;
+    }
   }
 }
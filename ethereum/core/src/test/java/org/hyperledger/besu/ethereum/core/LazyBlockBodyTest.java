@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.GWei;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt64;
+import org.junit.jupiter.api.Test;
+
+public class LazyBlockBodyTest {
+
+  private static final BlockHeaderFunctions BLOCK_HEADER_FUNCTIONS =
+      new MainnetBlockHeaderFunctions();
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void readsTheElementsOfAnEncodedBody() {
+    final Withdrawal withdrawal =
+        new Withdrawal(UInt64.ONE, UInt64.ONE, Address.ZERO, GWei.of(1_000));
+    final Block block =
+        gen.block(
+            BlockDataGenerator.BlockOptions.create()
+                .addTransaction(
+                    gen.transaction(TransactionType.FRONTIER),
+                    gen.transaction(TransactionType.ACCESS_LIST),
+                    gen.transaction(TransactionType.EIP1559))
+                .addOmmers(gen.header())
+                .setWithdrawals(Optional.of(List.of(withdrawal))));
+    final BlockBody body = block.getBody();
+
+    final LazyBlockBody lazyBody =
+        LazyBlockBody.readWrappedBodyFrom(encode(body), BLOCK_HEADER_FUNCTIONS);
+
+    assertThat(lazyBody.getTransactionCount()).isEqualTo(body.getTransactions().size());
+    assertThat(lazyBody.getTransactionHashes())
+        .isEqualTo(body.getTransactions().stream().map(Transaction::getHash).toList());
+    for (int i = 0; i < body.getTransactions().size(); i++) {
+      assertThat(lazyBody.getTransaction(i)).isEqualTo(body.getTransactions().get(i));
+    }
+    assertThat(lazyBody.getOmmers()).isEqualTo(body.getOmmers());
+    assertThat(lazyBody.getWithdrawals()).isEqualTo(body.getWithdrawals());
+    assertThat(lazyBody.calculateBlockSize(block.getHeader())).isEqualTo(block.calculateSize());
+    assertThat(lazyBody.getBody()).isEqualTo(body);
+  }
+
+  @Test
+  public void readsTheElementsOfAnEncodedBodyWithoutWithdrawals() {
+    final Block block = gen.block();
+    final BlockBody body = block.getBody();
+
+    final LazyBlockBody lazyBody =
+        LazyBlockBody.readWrappedBodyFrom(encode(body), BLOCK_HEADER_FUNCTIONS);
+
+    assertThat(lazyBody.getTransactionHashes())
+        .isEqualTo(body.getTransactions().stream().map(Transaction::getHash).toList());
+    assertThat(lazyBody.getWithdrawals()).isEmpty();
+    assertThat(lazyBody.calculateBlockSize(block.getHeader())).isEqualTo(block.calculateSize());
+  }
+
+  @Test
+  public void readsTheElementsOfADecodedBody() {
+    final Block block = gen.block();
+    final BlockBody body = block.getBody();
+
+    final LazyBlockBody lazyBody = LazyBlockBody.decoded(body);
+
+    assertThat(lazyBody.getTransactionCount()).isEqualTo(body.getTransactions().size());
+    assertThat(lazyBody.getTransaction(0)).isSameAs(body.getTransactions().get(0));
+    assertThat(lazyBody.getTransactionHashes())
+        .isEqualTo(body.getTransactions().stream().map(Transaction::getHash).toList());
+    assertThat(lazyBody.calculateBlockSize(block.getHeader())).isEqualTo(block.calculateSize());
+    assertThat(lazyBody.getBody()).isSameAs(body);
+  }
+
+  @Test
+  public void rejectsABodyWithoutOmmers() {
+    final Bytes encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeList(List.<Transaction>of(), Transaction::writeTo);
+              out.endList();
+            });
+
+    assertThatThrownBy(() -> LazyBlockBody.readWrappedBodyFrom(encoded, BLOCK_HEADER_FUNCTIONS))
+        .isInstanceOf(RLPException.class);
+  }
+
+  private static Bytes encode(final BlockBody body) {
+    return RLP.encode(body::writeWrappedBodyTo);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionSenderRecoveryTest {
+  private static final SignatureAlgorithm SIGNATURE_ALGORITHM =
+      SignatureAlgorithmFactory.getInstance();
+
+  @Test
+  void recoversTheSendersOfABatchOnTheCallingThread() {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<Address> senders = new ArrayList<>();
+    createBatch(SignatureAlgorithm.PARALLEL_RECOVERY_THRESHOLD * 2, transactions, senders);
+
+    Transaction.recoverSenders(transactions, Runnable::run);
+
+    assertThat(transactions).allMatch(transaction -> transaction.sender != null);
+    assertThat(transactions.stream().map(Transaction::getSender))
+        .containsExactlyElementsOf(senders);
+  }
+
+  @Test
+  void recoversTheSendersOfABatchOnAnExecutor() {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<Address> senders = new ArrayList<>();
+    createBatch(SignatureAlgorithm.PARALLEL_RECOVERY_THRESHOLD * 3 + 1, transactions, senders);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Transaction.recoverSenders(transactions, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(transactions).allMatch(transaction -> transaction.sender != null);
+    assertThat(transactions.stream().map(Transaction::getSender))
+        .containsExactlyElementsOf(senders);
+  }
+
+  @Test
+  void recoversTheSendersOfABatchWhenTheExecutorDoesNotRunThem() {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<Address> senders = new ArrayList<>();
+    createBatch(SignatureAlgorithm.PARALLEL_RECOVERY_THRESHOLD * 3 + 1, transactions, senders);
+    final List<Runnable> neverRun = new ArrayList<>();
+
+    Transaction.recoverSenders(transactions, neverRun::add);
+
+    assertThat(neverRun).hasSize(3);
+    assertThat(transactions).allMatch(transaction -> transaction.sender != null);
+    assertThat(transactions.stream().map(Transaction::getSender))
+        .containsExactlyElementsOf(senders);
+  }
+
+  @Test
+  void usesTheCachedSendersOfTransactionsRecoveredBefore() {
+    final KeyPair keyPair = SIGNATURE_ALGORITHM.generateKeyPair();
+    final Transaction transaction = new TransactionTestFixture().createTransaction(keyPair);
+    final Address sender = decoded(transaction).getSender();
+
+    final Transaction sameTransaction = decoded(transaction);
+    Transaction.recoverSenders(List.of(sameTransaction), Runnable::run);
+
+    assertThat(sameTransaction.sender).isEqualTo(sender);
+  }
+
+  private static void createBatch(
+      final int size, final List<Transaction> transactions, final List<Address> senders) {
+    for (int i = 0; i < size; i++) {
+      final KeyPair keyPair = SIGNATURE_ALGORITHM.generateKeyPair();
+      transactions.add(decoded(new TransactionTestFixture().nonce(i).createTransaction(keyPair)));
+      senders.add(Util.publicKeyToAddress(keyPair.getPublicKey()));
+    }
+  }
+
+  private static Transaction decoded(final Transaction transaction) {
+    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+    transaction.writeTo(rlp);
+    return Transaction.readFrom(rlp.encoded());
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.preload.StorageConsumingMap;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelizedBlockExecutionTest {
+
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x01");
+  private static final Address SENDER = Address.fromHexString("0x02");
+  private static final Address CONTRACT = Address.fromHexString("0x03");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+
+  private final Map<Address, DiffBasedValue<BonsaiAccount>> accountsToUpdate = new HashMap<>();
+  private final Map<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>
+      storageToUpdate = new HashMap<>();
+  private final Set<Address> storageToClear = new HashSet<>();
+
+  private final BonsaiWorldStateUpdateAccumulator blockAccumulator =
+      mock(BonsaiWorldStateUpdateAccumulator.class);
+  private final TransactionProcessingResult result = mock(TransactionProcessingResult.class);
+
+  @BeforeEach
+  void setup() {
+    when(blockAccumulator.getAccountsToUpdate()).thenReturn(accountsToUpdate);
+    when(blockAccumulator.getStorageToUpdate()).thenReturn(storageToUpdate);
+    when(blockAccumulator.getStorageToClear()).thenReturn(storageToClear);
+  }
+
+  @Test
+  void noConflictWhenReadAccountsAreOnlyReadByTheBlock() {
+    accountsToUpdate.put(SENDER, new DiffBasedValue<>(account(SENDER, 1), account(SENDER, 1)));
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isFalse();
+  }
+
+  @Test
+  void conflictWhenReadAccountIsModifiedByTheBlock() {
+    accountsToUpdate.put(SENDER, new DiffBasedValue<>(account(SENDER, 1), account(SENDER, 2)));
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isTrue();
+  }
+
+  @Test
+  void conflictWhenReadAccountIsCreatedByTheBlock() {
+    accountsToUpdate.put(SENDER, new DiffBasedValue<>(null, account(SENDER, 1)));
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isTrue();
+  }
+
+  @Test
+  void conflictWhenReadSlotIsModifiedByTheBlock() {
+    storageToUpdate.put(CONTRACT, storage(new DiffBasedValue<>(UInt256.ONE, UInt256.MAX_VALUE)));
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isTrue();
+  }
+
+  @Test
+  void noConflictWhenReadSlotIsRestoredByTheBlock() {
+    storageToUpdate.put(CONTRACT, storage(new DiffBasedValue<>(null, UInt256.ZERO)));
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isFalse();
+  }
+
+  @Test
+  void conflictWhenStorageOfReadAccountIsClearedByTheBlock() {
+    storageToClear.add(CONTRACT);
+
+    assertThat(ParallelizedBlockExecution.hasConflict(context(), blockAccumulator)).isTrue();
+  }
+
+  @Test
+  void appliesWritesAndRewardWhenThereIsNoConflict() {
+    final MutableAccount sender = mock(MutableAccount.class);
+    final MutableAccount miningBeneficiary = mock(MutableAccount.class);
+    when(blockAccumulator.getOrCreate(SENDER)).thenReturn(sender);
+    when(blockAccumulator.getOrCreate(MINING_BENEFICIARY)).thenReturn(miningBeneficiary);
+
+    final ParallelizedBlockExecution execution =
+        new ParallelizedBlockExecution(
+            List.of(CompletableFuture.completedFuture(Optional.of(context()))),
+            MINING_BENEFICIARY,
+            new AtomicBoolean(false));
+
+    assertThat(execution.applyTransactionResult(0, blockAccumulator)).contains(result);
+    verify(sender).setNonce(2);
+    verify(sender).setBalance(Wei.of(5));
+    verify(sender).setStorageValue(UInt256.ONE, UInt256.MAX_VALUE);
+    verify(sender, never()).clearStorage();
+    verify(miningBeneficiary).incrementBalance(Wei.of(7));
+  }
+
+  @Test
+  void appliesWritesAndRewardToTheGivenUpdater() {
+    final WorldUpdater updater = mock(WorldUpdater.class);
+    final MutableAccount sender = mock(MutableAccount.class);
+    final MutableAccount miningBeneficiary = mock(MutableAccount.class);
+    when(updater.getOrCreate(SENDER)).thenReturn(sender);
+    when(updater.getOrCreate(MINING_BENEFICIARY)).thenReturn(miningBeneficiary);
+
+    final ParallelizedBlockExecution execution =
+        new ParallelizedBlockExecution(
+            List.of(CompletableFuture.completedFuture(Optional.of(context()))),
+            MINING_BENEFICIARY,
+            new AtomicBoolean(false));
+
+    assertThat(execution.applyTransactionResult(0, blockAccumulator, updater)).contains(result);
+    verify(sender).setNonce(2);
+    verify(miningBeneficiary).incrementBalance(Wei.of(7));
+    verify(blockAccumulator, never()).getOrCreate(SENDER);
+  }
+
+  @Test
+  void fallsBackToSequentialExecutionWhenResultIsNotReady() {
+    final ParallelizedBlockExecution execution =
+        new ParallelizedBlockExecution(
+            List.of(new CompletableFuture<>()), MINING_BENEFICIARY, new AtomicBoolean(false));
+
+    assertThat(execution.applyTransactionResult(0, blockAccumulator)).isEmpty();
+    verify(blockAccumulator, never()).getOrCreate(MINING_BENEFICIARY);
+  }
+
+  @Test
+  void fallsBackToSequentialExecutionWhenThereIsAConflict() {
+    accountsToUpdate.put(SENDER, new DiffBasedValue<>(account(SENDER, 1), account(SENDER, 2)));
+    final ParallelizedBlockExecution execution =
+        new ParallelizedBlockExecution(
+            List.of(CompletableFuture.completedFuture(Optional.of(context()))),
+            MINING_BENEFICIARY,
+            new AtomicBoolean(false));
+
+    assertThat(execution.applyTransactionResult(0, blockAccumulator)).isEmpty();
+    verify(blockAccumulator, never()).getOrCreate(MINING_BENEFICIARY);
+  }
+
+  @Test
+  void skipsTheTransactionsNotStartedOnceClosed() {
+    final MainnetTransactionProcessor transactionProcessor =
+        mock(MainnetTransactionProcessor.class);
+    final List<Runnable> queuedTransactions = new ArrayList<>();
+    final ParallelizedBlockExecution execution =
+        new ParallelizedConcurrentTransactionProcessor(
+                transactionProcessor, queuedTransactions::add)
+            .runAsyncTransactions(
+                mock(BonsaiWorldState.class),
+                mock(Blockchain.class),
+                mock(ProcessableBlockHeader.class),
+                List.of(mock(Transaction.class), mock(Transaction.class)),
+                MINING_BENEFICIARY,
+                Wei.ZERO,
+                TransactionValidationParams.processingBlock(),
+                true);
+
+    execution.close();
+    queuedTransactions.forEach(Runnable::run);
+
+    assertThat(queuedTransactions).hasSize(2);
+    verifyNoInteractions(transactionProcessor);
+    assertThat(execution.applyTransactionResult(0, blockAccumulator)).isEmpty();
+  }
+
+  private ParallelizedTransactionContext context() {
+    return new ParallelizedTransactionContext(
+        result,
+        Set.of(SENDER, CONTRACT),
+        Map.of(CONTRACT, Set.of(SLOT)),
+        Map.of(
+            SENDER,
+            new ParallelizedTransactionContext.AccountWrite(
+                2, Wei.of(5), Optional.empty(), false, Map.of(UInt256.ONE, UInt256.MAX_VALUE))),
+        Wei.of(7));
+  }
+
+  private static BonsaiAccount account(final Address address, final long nonce) {
+    return new BonsaiAccount(
+        null,
+        address,
+        address.addressHash(),
+        nonce,
+        Wei.of(10),
+        Hash.EMPTY_TRIE_HASH,
+        Hash.EMPTY,
+        false);
+  }
+
+  private static StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>> storage(
+      final DiffBasedValue<UInt256> value) {
+    final StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>> storage =
+        new StorageConsumingMap<>(CONTRACT, new ConcurrentHashMap<>(), (address, key) -> {});
+    storage.put(SLOT, value);
+    return storage;
+  }
+}
@@ -264,6 +264,22 @@ public abstract class AbstractIsolationTests {
         final ProtocolSchedule protocolSchedule,
         final TransactionPool transactionPool,
         final EthScheduler ethScheduler) {
+      return forHeader(
+          parentHeader,
+          protocolContext,
+          protocolSchedule,
+          transactionPool,
+          ethScheduler,
+          MiningParameters.Unstable.DEFAULT);
+    }
+
+    static TestBlockCreator forHeader(
+        final BlockHeader parentHeader,
+        final ProtocolContext protocolContext,
+        final ProtocolSchedule protocolSchedule,
+        final TransactionPool transactionPool,
+        final EthScheduler ethScheduler,
+        final MiningParameters.Unstable unstable) {
 
       final MiningParameters miningParameters =
           ImmutableMiningParameters.builder()
@@ -275,6 +291,7 @@ public abstract class AbstractIsolationTests {
                       .minBlockOccupancyRatio(0d)
                       .coinbase(Address.ZERO)
                       .build())
+              .unstable(unstable)
               .build();
 
       return new TestBlockCreator(
@@ -16,11 +16,15 @@
 package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TrieGenerator;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -30,6 +34,7 @@ import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMer
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
@@ -94,6 +99,114 @@ class BonsaiCachedMerkleTrieLoaderTest {
     assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
   }
 
+  @Test
+  void shouldKeepPinnedAccountNodesWhenCacheIsFull() {
+    merkleTrieLoader =
+        new BonsaiCachedMerkleTrieLoader(
+            new NoOpMetricsSystem(),
+            ImmutableDataStorageConfiguration.builder()
+                .from(DataStorageConfiguration.DEFAULT_BONSAI_CONFIG)
+                .unstable(
+                    ImmutableDataStorageConfiguration.Unstable.builder()
+                        .bonsaiAccountTrieNodeCacheWeightKb(1)
+                        .bonsaiPinnedAccountTrieLevels(64)
+                        .build())
+                .build());
+    accounts.forEach(
+        account ->
+            merkleTrieLoader.cacheAccountNodes(
+                inMemoryWorldState, Hash.wrap(trie.getRootHash()), account));
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    accounts.forEach(
+        account ->
+            assertThat(cachedTrie.get(account.addressHash()))
+                .isEqualTo(trie.get(account.addressHash())));
+  }
+
+  @Test
+  void shouldRefreshPinnedAccountNodesWhenTheyAreLoadedOnAMiss() {
+    merkleTrieLoader =
+        new BonsaiCachedMerkleTrieLoader(
+            new NoOpMetricsSystem(),
+            ImmutableDataStorageConfiguration.builder()
+                .from(DataStorageConfiguration.DEFAULT_BONSAI_CONFIG)
+                .unstable(
+                    ImmutableDataStorageConfiguration.Unstable.builder()
+                        .bonsaiAccountTrieNodeCacheWeightKb(1)
+                        .bonsaiPinnedAccountTrieLevels(64)
+                        .build())
+                .build());
+    final StoredMerklePatriciaTrie<Bytes, Bytes> loadingTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(inMemoryWorldState, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+    accounts.forEach(account -> loadingTrie.get(account.addressHash()));
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    accounts.forEach(
+        account ->
+            assertThat(cachedTrie.get(account.addressHash()))
+                .isEqualTo(trie.get(account.addressHash())));
+  }
+
+  @Test
+  void shouldAddAccessedAccountNodesInCacheDuringBlockPreload() {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getSender()).thenReturn(accounts.get(0));
+    when(transaction.getTo()).thenReturn(Optional.empty());
+    when(transaction.getAccessList())
+        .thenReturn(Optional.of(List.of(new AccessListEntry(accounts.get(1), List.of()))));
+
+    merkleTrieLoader.cacheTransaction(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), transaction);
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    accounts.forEach(
+        account ->
+            assertThat(cachedTrie.get(account.addressHash()))
+                .isEqualTo(trie.get(account.addressHash())));
+  }
+
   @Test
   void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = accounts.get(0).addressHash();
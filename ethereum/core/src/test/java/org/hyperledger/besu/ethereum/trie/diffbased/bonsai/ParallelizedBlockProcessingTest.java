@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
+
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.chain.BadBlockManager;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
+import org.hyperledger.besu.ethereum.core.PrivacyParameters;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Imports the same blocks sequentially and with parallel transaction processing, and checks that
+ * both imports reach the same state and receipts.
+ */
+public class ParallelizedBlockProcessingTest extends AbstractIsolationTests {
+
+  private static final Address RECIPIENT = Address.fromHexString("0xdeadbeef");
+  private static final Address OTHER_RECIPIENT = Address.fromHexString("0xfeedbeef");
+
+  private final KeyPair sender2 = asKeyPair.apply(accounts.get(1).getPrivateKey().get());
+  private final KeyPair sender3 = asKeyPair.apply(accounts.get(2).getPrivateKey().get());
+
+  @Test
+  public void parallelImportMatchesSequentialImportWhenResultsAreReady() {
+    // the transactions are executed as soon as they are submitted, so that every result is ready
+    // and checked for conflicts when the block processor reaches its transaction
+    assertParallelImportMatchesSequentialImport(Runnable::run);
+  }
+
+  @Test
+  public void parallelImportMatchesSequentialImportOnAThreadPool() {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertParallelImportMatchesSequentialImport(executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void assertParallelImportMatchesSequentialImport(final Executor executor) {
+    final List<List<Transaction>> blocksTransactions =
+        List.of(
+            // independent transfers
+            List.of(
+                burnTransaction(sender1, 0L, RECIPIENT),
+                burnTransaction(sender2, 0L, OTHER_RECIPIENT)),
+            // transfers to the same recipient, whose balance is read by both
+            List.of(
+                burnTransaction(sender1, 1L, RECIPIENT),
+                burnTransaction(sender2, 1L, RECIPIENT),
+                burnTransaction(sender3, 0L, RECIPIENT)),
+            // transactions of the same sender, which depend on the nonces before them
+            List.of(
+                burnTransaction(sender1, 2L, OTHER_RECIPIENT),
+                burnTransaction(sender1, 3L, OTHER_RECIPIENT),
+                burnTransaction(sender2, 2L, RECIPIENT)),
+            // a transfer to the mining beneficiary, whose reward cannot be replayed on its own
+            List.of(
+                burnTransaction(sender3, 1L, Address.ZERO),
+                burnTransaction(sender2, 3L, OTHER_RECIPIENT)));
+
+    final List<Block> blocks = new ArrayList<>();
+    final List<BlockProcessingResult> sequentialResults = new ArrayList<>();
+    for (final List<Transaction> transactions : blocksTransactions) {
+      final Block block = forTransactions(transactions);
+      assertThat(block.getBody().getTransactions()).hasSize(transactions.size());
+      final BlockProcessingResult result = executeBlock(archive.getMutable(), block);
+      assertThat(result.isSuccessful()).isTrue();
+      assertThat(archive.getMutable().rootHash()).isEqualTo(block.getHeader().getStateRoot());
+      blocks.add(block);
+      sequentialResults.add(result);
+    }
+
+    final ProtocolSchedule parallelProtocolSchedule =
+        MainnetProtocolSchedule.fromConfig(
+            GenesisConfigFile.development().getConfigOptions(),
+            PrivacyParameters.DEFAULT,
+            false,
+            EvmConfiguration.DEFAULT,
+            MiningParameters.MINING_DISABLED,
+            new BadBlockManager(),
+            Optional.of(executor));
+    final MutableBlockchain parallelBlockchain = createInMemoryBlockchain(genesisState.getBlock());
+    final BonsaiWorldStateProvider parallelArchive =
+        createBonsaiInMemoryWorldStateArchive(parallelBlockchain);
+    genesisState.writeStateTo(parallelArchive.getMutable());
+
+    for (int i = 0; i < blocks.size(); i++) {
+      final Block block = blocks.get(i);
+      final BlockProcessingResult result =
+          parallelProtocolSchedule
+              .getByBlockHeader(block.getHeader())
+              .getBlockProcessor()
+              .processBlock(parallelBlockchain, parallelArchive.getMutable(), block);
+
+      assertThat(result.isSuccessful()).isTrue();
+      assertThat(result.getReceipts()).isEqualTo(sequentialResults.get(i).getReceipts());
+      assertThat(parallelArchive.getMutable().rootHash())
+          .isEqualTo(block.getHeader().getStateRoot());
+      parallelBlockchain.appendBlock(block, result.getReceipts());
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningParameters;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Creates the same blocks with and without executing the candidate transactions ahead, and checks
+ * that both select the same transactions and reach the same state.
+ */
+public class SpeculativeBlockCreationTest extends AbstractIsolationTests {
+
+  private static final Address RECIPIENT = Address.fromHexString("0xdeadbeef");
+  private static final Address OTHER_RECIPIENT = Address.fromHexString("0xfeedbeef");
+
+  private final KeyPair sender2 = asKeyPair.apply(accounts.get(1).getPrivateKey().get());
+  private final KeyPair sender3 = asKeyPair.apply(accounts.get(2).getPrivateKey().get());
+
+  @Test
+  public void speculativeBlockMatchesSequentialBlockWhenResultsAreReady() {
+    // the deterministic scheduler executes the candidates as soon as they are submitted, so that
+    // every result is ready and checked for conflicts when its candidate is evaluated
+    assertSpeculativeBlocksMatchSequentialBlocks(ethScheduler);
+  }
+
+  @Test
+  public void speculativeBlockMatchesSequentialBlockOnAThreadPool() throws InterruptedException {
+    final EthScheduler threadedScheduler = new EthScheduler(1, 1, 4, new NoOpMetricsSystem());
+    try {
+      assertSpeculativeBlocksMatchSequentialBlocks(threadedScheduler);
+    } finally {
+      threadedScheduler.stop();
+      threadedScheduler.awaitStop();
+    }
+  }
+
+  private void assertSpeculativeBlocksMatchSequentialBlocks(final EthScheduler scheduler) {
+    final List<List<Transaction>> blocksTransactions =
+        List.of(
+            // independent transfers
+            List.of(
+                burnTransaction(sender1, 0L, RECIPIENT),
+                burnTransaction(sender2, 0L, OTHER_RECIPIENT)),
+            // transfers to the same recipient, and one whose nonce is too high to be selected
+            List.of(
+                burnTransaction(sender1, 1L, RECIPIENT),
+                burnTransaction(sender2, 1L, RECIPIENT),
+                burnTransaction(sender3, 5L, RECIPIENT),
+                burnTransaction(sender3, 0L, RECIPIENT)),
+            // transactions of the same sender, which depend on the nonces before them
+            List.of(
+                burnTransaction(sender1, 2L, OTHER_RECIPIENT),
+                burnTransaction(sender1, 3L, OTHER_RECIPIENT),
+                burnTransaction(sender2, 2L, RECIPIENT)),
+            // a transfer to the mining beneficiary, whose fees are credited by every transaction
+            List.of(
+                burnTransaction(sender3, 1L, Address.ZERO),
+                burnTransaction(sender2, 3L, OTHER_RECIPIENT)));
+
+    for (final List<Transaction> transactions : blocksTransactions) {
+      final BlockHeader parentHeader = blockchain.getChainHeadHeader();
+      final long timestamp = System.currentTimeMillis();
+      final Block sequentialBlock =
+          createBlock(transactions, parentHeader, timestamp, scheduler, 0);
+      final Block speculativeBlock =
+          createBlock(transactions, parentHeader, timestamp, scheduler, 2);
+
+      assertThat(speculativeBlock.getBody().getTransactions())
+          .isEqualTo(sequentialBlock.getBody().getTransactions());
+      assertThat(speculativeBlock.getHeader().getStateRoot())
+          .isEqualTo(sequentialBlock.getHeader().getStateRoot());
+      assertThat(speculativeBlock.getHeader().getReceiptsRoot())
+          .isEqualTo(sequentialBlock.getHeader().getReceiptsRoot());
+      assertThat(speculativeBlock.getHeader().getGasUsed())
+          .isEqualTo(sequentialBlock.getHeader().getGasUsed());
+
+      final BlockProcessingResult result = executeBlock(archive.getMutable(), speculativeBlock);
+      assertThat(result.isSuccessful()).isTrue();
+      assertThat(archive.getMutable().rootHash())
+          .isEqualTo(speculativeBlock.getHeader().getStateRoot());
+    }
+  }
+
+  private Block createBlock(
+      final List<Transaction> transactions,
+      final BlockHeader parentHeader,
+      final long timestamp,
+      final EthScheduler scheduler,
+      final int speculativeLookahead) {
+    final MiningParameters.Unstable unstable =
+        ImmutableMiningParameters.Unstable.builder()
+            .txsSelectionSpeculativeLookahead(speculativeLookahead)
+            .build();
+    return TestBlockCreator.forHeader(
+            parentHeader, protocolContext, protocolSchedule, transactionPool, scheduler, unstable)
+        .createBlock(transactions, Collections.emptyList(), timestamp)
+        .getBlock();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class BonsaiFlatDbCacheTest {
+
+  private static final Hash ACCOUNT = Hash.hash(Bytes.of(1));
+  private static final Hash SLOT = Hash.hash(Bytes.of(2));
+
+  private final BonsaiFlatDbCache cache =
+      new BonsaiFlatDbCache(new NoOpMetricsSystem(), 1024, 1024);
+
+  @Test
+  void cachesLoadedAccount() {
+    final CountingLoader loader = new CountingLoader(Optional.of(Bytes.of(1, 2, 3)));
+
+    assertThat(cache.getAccount(ACCOUNT, loader)).contains(Bytes.of(1, 2, 3));
+    assertThat(cache.getAccount(ACCOUNT, loader)).contains(Bytes.of(1, 2, 3));
+    assertThat(loader.loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void cachesMissingStorageValue() {
+    final CountingLoader loader = new CountingLoader(Optional.empty());
+
+    assertThat(cache.getStorageValue(ACCOUNT, SLOT, loader)).isEmpty();
+    assertThat(cache.getStorageValue(ACCOUNT, SLOT, loader)).isEmpty();
+    assertThat(loader.loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotCacheValuesLargerThanTheEntries() {
+    final CountingLoader loader = new CountingLoader(Optional.of(Bytes.random(64)));
+
+    cache.getStorageValue(ACCOUNT, SLOT, loader);
+    cache.getStorageValue(ACCOUNT, SLOT, loader);
+
+    assertThat(loader.loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void reloadsInvalidatedValues() {
+    cache.getAccount(ACCOUNT, () -> Optional.of(Bytes.of(1)));
+    cache.getStorageValue(ACCOUNT, SLOT, () -> Optional.of(Bytes.of(1)));
+
+    cache.invalidateAccount(ACCOUNT);
+    cache.invalidateStorageValue(ACCOUNT, SLOT);
+
+    assertThat(cache.getAccount(ACCOUNT, () -> Optional.of(Bytes.of(2)))).contains(Bytes.of(2));
+    assertThat(cache.getStorageValue(ACCOUNT, SLOT, () -> Optional.of(Bytes.of(2))))
+        .contains(Bytes.of(2));
+
+    cache.invalidateAll();
+
+    assertThat(cache.getAccount(ACCOUNT, Optional::empty)).isEmpty();
+    assertThat(cache.getStorageValue(ACCOUNT, SLOT, Optional::empty)).isEmpty();
+  }
+
+  @Test
+  void doesNotCacheValueLoadedDuringAnInvalidation() {
+    assertThat(
+            cache.getAccount(
+                ACCOUNT,
+                () -> {
+                  // a commit updating the account completes while the value is read
+                  cache.invalidateAccount(ACCOUNT);
+                  return Optional.of(Bytes.of(1));
+                }))
+        .contains(Bytes.of(1));
+
+    assertThat(cache.getAccount(ACCOUNT, () -> Optional.of(Bytes.of(2)))).contains(Bytes.of(2));
+  }
+
+  @Test
+  void loadsThroughWhenDisabled() {
+    final BonsaiFlatDbCache disabledCache = new BonsaiFlatDbCache(new NoOpMetricsSystem(), 0, 0);
+    final CountingLoader loader = new CountingLoader(Optional.of(Bytes.of(1)));
+
+    disabledCache.getAccount(ACCOUNT, loader);
+    disabledCache.getAccount(ACCOUNT, loader);
+    disabledCache.invalidateAll();
+
+    assertThat(loader.loads.get()).isEqualTo(2);
+  }
+
+  private static class CountingLoader implements Supplier<Optional<Bytes>> {
+    private final Optional<Bytes> value;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    CountingLoader(final Optional<Bytes> value) {
+      this.value = value;
+    }
+
+    @Override
+    public Optional<Bytes> get() {
+      loads.incrementAndGet();
+      return value;
+    }
+  }
+}
@@ -464,6 +464,49 @@ public class BonsaiWorldStateKeyValueStorageTest {
     assertThat(storage.isWorldStateAvailable(Bytes32.wrap(nodeHashKey), Hash.EMPTY)).isTrue();
   }
 
+  @Test
+  void flatDbCache_evictsValuesUpdatedByCommit() {
+    final BonsaiWorldStateKeyValueStorage storage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            ImmutableDataStorageConfiguration.builder()
+                .dataStorageFormat(DataStorageFormat.BONSAI)
+                .bonsaiMaxLayersToLoad(DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD)
+                .unstable(
+                    ImmutableDataStorageConfiguration.Unstable.builder()
+                        .bonsaiAccountFlatDbCacheWeightKb(1)
+                        .bonsaiStorageFlatDbCacheWeightKb(1)
+                        .build())
+                .build());
+    storage.upgradeToFullFlatDbMode();
+    final StorageSlotKey slotKey = new StorageSlotKey(UInt256.ONE);
+    final Bytes account = Bytes32.random();
+    final Bytes storageValue = Bytes.of(1);
+
+    // missing values are cached too
+    assertThat(storage.getAccount(Hash.ZERO)).isEmpty();
+    assertThat(storage.getStorageValueByStorageSlotKey(Hash.ZERO, slotKey)).isEmpty();
+
+    storage
+        .updater()
+        .putAccountInfoState(Hash.ZERO, account)
+        .putStorageValueBySlotHash(Hash.ZERO, slotKey.getSlotHash(), storageValue)
+        .commit();
+
+    assertThat(storage.getAccount(Hash.ZERO)).contains(account);
+    assertThat(storage.getStorageValueByStorageSlotKey(Hash.ZERO, slotKey))
+        .contains(storageValue);
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.removeAccountInfoState(Hash.ZERO);
+    updater.removeStorageValueBySlotHash(Hash.ZERO, slotKey.getSlotHash());
+    updater.commit();
+
+    assertThat(storage.getAccount(Hash.ZERO)).isEmpty();
+    assertThat(storage.getStorageValueByStorageSlotKey(Hash.ZERO, slotKey)).isEmpty();
+  }
+
   private BonsaiWorldStateKeyValueStorage emptyStorage() {
     return new BonsaiWorldStateKeyValueStorage(
         new InMemoryKeyValueStorageProvider(),
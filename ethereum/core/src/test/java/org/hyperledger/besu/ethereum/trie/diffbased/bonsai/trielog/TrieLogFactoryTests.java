@@ -24,6 +24,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
@@ -72,4 +73,94 @@ public class TrieLogFactoryTests {
     TrieLog layer = factory.deserialize(rlp);
     assertThat(layer).isEqualTo(trieLogFixture);
   }
+
+  @Test
+  public void testCompactSerializeDeserializeAreEqual() {
+    final TrieLogLayer trieLog =
+        new TrieLogLayer()
+            .setBlockHash(headerFixture.getBlockHash())
+            .addAccountChange(
+                accountFixture,
+                new StateTrieAccountValue(0, Wei.fromEth(1), Hash.EMPTY_TRIE_HASH, Hash.EMPTY),
+                new StateTrieAccountValue(1, Wei.fromEth(2), Hash.EMPTY_TRIE_HASH, Hash.EMPTY))
+            .addAccountChange(
+                Address.ZERO,
+                null,
+                new StateTrieAccountValue(0, Wei.ZERO, Hash.EMPTY_TRIE_HASH, Hash.EMPTY))
+            .addCodeChange(
+                Address.ZERO,
+                null,
+                Bytes.fromHexString("0xfeeddeadbeef"),
+                headerFixture.getBlockHash())
+            .addStorageChange(
+                Address.ZERO, new StorageSlotKey(UInt256.ZERO), UInt256.ONE, UInt256.MAX_VALUE)
+            .addStorageChange(Address.ZERO, new StorageSlotKey(UInt256.ONE), null, UInt256.ONE);
+
+    final TrieLogFactory factory = new TrieLogFactoryImpl(true);
+    final byte[] compactRlp = factory.serialize(trieLog);
+
+    assertThat(factory.deserialize(compactRlp)).isEqualTo(trieLog);
+    // the updated account only differs by its nonce and balance
+    assertThat(compactRlp.length).isLessThan(new TrieLogFactoryImpl().serialize(trieLog).length);
+  }
+
+  @Test
+  public void testCompactSerializeDeserializeDeletedAccountAndClearedStorage() {
+    final TrieLogLayer trieLog =
+        new TrieLogLayer()
+            .setBlockHash(headerFixture.getBlockHash())
+            .addCodeChange(
+                accountFixture,
+                Bytes.fromHexString("0xfeeddeadbeef"),
+                null,
+                headerFixture.getBlockHash())
+            .addStorageChange(
+                accountFixture, new StorageSlotKey(UInt256.ZERO), UInt256.MAX_VALUE, null);
+    // the account is deleted along with its code and storage, in the last step of the block
+    trieLog
+        .getAccountChanges()
+        .put(
+            accountFixture,
+            new DiffBasedValue<>(
+                new StateTrieAccountValue(
+                    1,
+                    Wei.fromEth(1),
+                    Hash.EMPTY_TRIE_HASH,
+                    Hash.hash(Bytes.fromHexString("0xfeeddeadbeef"))),
+                null,
+                true));
+    trieLog
+        .getStorageChanges()
+        .get(accountFixture)
+        .put(new StorageSlotKey(UInt256.ONE), new DiffBasedValue<>(UInt256.ONE, null, true));
+
+    final TrieLogFactory factory = new TrieLogFactoryImpl(true);
+    final TrieLog layer = factory.deserialize(factory.serialize(trieLog));
+
+    assertThat(layer).isEqualTo(trieLog);
+    assertThat(layer.getAccountChanges().get(accountFixture).getUpdated()).isNull();
+    assertThat(layer.getAccountChanges().get(accountFixture).isLastStepCleared()).isTrue();
+    assertThat(layer.getCodeChanges().get(accountFixture).isLastStepCleared()).isTrue();
+    assertThat(
+            layer
+                .getStorageChanges()
+                .get(accountFixture)
+                .get(new StorageSlotKey(UInt256.ONE))
+                .isLastStepCleared())
+        .isTrue();
+    assertThat(
+            layer
+                .getStorageChanges()
+                .get(accountFixture)
+                .get(new StorageSlotKey(UInt256.ZERO))
+                .isLastStepCleared())
+        .isFalse();
+  }
+
+  @Test
+  public void testLegacyEncodingIsReadByCompactFactory() {
+    final byte[] rlp = new TrieLogFactoryImpl().serialize(trieLogFixture);
+
+    assertThat(new TrieLogFactoryImpl(true).deserialize(rlp)).isEqualTo(trieLogFixture);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedRlpIteratorTest {
+
+  @TempDir private Path tmp;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+
+  @Test
+  public void readsBlocksWithinWindow() throws IOException {
+    readsBlocksWithWindowSize(size -> size * 4);
+  }
+
+  @Test
+  public void readsBlocksAcrossWindows() throws IOException {
+    readsBlocksWithWindowSize(size -> size + size / 2);
+  }
+
+  @Test
+  public void readsBlocksLargerThanWindow() throws IOException {
+    readsBlocksWithWindowSize(size -> size / 2);
+  }
+
+  @Test
+  public void rejectsTruncatedBlock() throws IOException {
+    final byte[] encodedBlock = serializeBlock(gen.block());
+    final Path blocksFile = tmp.resolve("blocks");
+    Files.write(blocksFile, Arrays.copyOf(encodedBlock, encodedBlock.length - 1));
+
+    try (final MappedRlpIterator iterator = new MappedRlpIterator(blocksFile)) {
+      assertThat(iterator.hasNext()).isTrue();
+      assertThatThrownBy(iterator::next).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private void readsBlocksWithWindowSize(final Function<Integer, Integer> windowSizeFromBlockSize)
+      throws IOException {
+    final int blockCount = 5;
+    final List<Block> blocks = gen.blockSequence(blockCount);
+    final List<byte[]> encodedBlocks = blocks.stream().map(this::serializeBlock).toList();
+    final Path blocksFile = tmp.resolve("blocks");
+    Files.write(
+        blocksFile,
+        Bytes.concatenate(encodedBlocks.stream().map(Bytes::wrap).toArray(Bytes[]::new))
+            .toArrayUnsafe());
+
+    final int windowSize = windowSizeFromBlockSize.apply(encodedBlocks.get(0).length);
+    try (final MappedRlpIterator iterator = new MappedRlpIterator(blocksFile, windowSize)) {
+      for (int i = 0; i < blockCount; i++) {
+        assertThat(iterator.hasNext()).isTrue();
+        final Bytes encodedBlock = iterator.next();
+        assertThat(encodedBlock).isEqualTo(Bytes.wrap(encodedBlocks.get(i)));
+        assertThat(RawBlockIterator.decodeBlock(encodedBlock, new MainnetBlockHeaderFunctions()))
+            .isEqualTo(blocks.get(i));
+      }
+      assertThat(iterator.hasNext()).isFalse();
+    }
+  }
+
+  private byte[] serializeBlock(final Block block) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    block.getHeader().writeTo(out);
+    out.writeList(block.getBody().getTransactions(), Transaction::writeTo);
+    out.writeList(block.getBody().getOmmers(), BlockHeader::writeTo);
+    out.endList();
+    return out.encoded().toArray();
+  }
+}
@@ -36,6 +36,8 @@ import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
 import java.util.TreeMap;
@@ -66,6 +68,14 @@ class DebugOperationTracerTest {
         }
       };
 
+  private final Operation returnOperation =
+      new AbstractOperation(0xF3, "RETURN", 2, 0, null) {
+        @Override
+        public OperationResult execute(final MessageFrame frame, final EVM evm) {
+          return new OperationResult(0L, null);
+        }
+      };
+
   private final CallOperation callOperation = new CallOperation(new CancunGasCalculator());
 
   @Test
@@ -202,6 +212,35 @@ class DebugOperationTracerTest {
     assertThat(traceFrame.getStorage()).contains(updatedStorage);
   }
 
+  @Test
+  void shouldStreamTheTraceFramesWhichCannotChangeAnymore() {
+    final List<TraceFrame> streamedFrames = new ArrayList<>();
+    final DebugOperationTracer tracer =
+        new DebugOperationTracer(new TraceOptions(false, false, false), false, streamedFrames::add);
+    final MessageFrame frame = validMessageFrame();
+
+    trace(tracer, frame, anOperation);
+    trace(tracer, frame, returnOperation);
+
+    // the halt reason of a failed account creation is set on the last frame which is not a RETURN
+    assertThat(streamedFrames).isEmpty();
+    assertThat(tracer.getTraceFrames())
+        .extracting(TraceFrame::getOpcode)
+        .containsExactly("MUL", "RETURN");
+
+    trace(tracer, frame, anOperation);
+
+    assertThat(streamedFrames).extracting(TraceFrame::getOpcode).containsExactly("MUL", "RETURN");
+    assertThat(tracer.getTraceFrames()).extracting(TraceFrame::getOpcode).containsExactly("MUL");
+  }
+
+  private void trace(
+      final DebugOperationTracer tracer, final MessageFrame frame, final Operation operation) {
+    frame.setCurrentOperation(operation);
+    tracer.tracePreExecution(frame);
+    tracer.tracePostExecution(frame, operation.execute(frame, null));
+  }
+
   private TraceFrame traceFrame(final MessageFrame frame) {
     return traceFrame(frame, new TraceOptions(false, false, false), false);
   }
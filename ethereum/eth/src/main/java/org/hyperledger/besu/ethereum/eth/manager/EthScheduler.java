@@ -51,6 +51,7 @@ public class EthScheduler {
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
   private static final int TX_WORKER_CAPACITY = 1_000;
+  private static final int PARALLEL_TX_CAPACITY = 10_000;
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
@@ -58,6 +59,8 @@ public class EthScheduler {
   protected final ExecutorService servicesExecutor;
   protected final ExecutorService computationExecutor;
   protected final ExecutorService blockCreationExecutor;
+  protected final ExecutorService parallelTxExecutor;
+  protected final ExecutorService queryExecutor;
 
   private final Collection<CompletableFuture<?>> pendingFutures = new ConcurrentLinkedDeque<>();
 
@@ -94,7 +97,19 @@ public class EthScheduler {
             computationWorkerCount,
             metricsSystem),
         MonitoredExecutors.newCachedThreadPool(
-            EthScheduler.class.getSimpleName() + "-BlockCreation", metricsSystem));
+            EthScheduler.class.getSimpleName() + "-BlockCreation", metricsSystem),
+        // every worker is a core one, as a bounded pool only adds workers once its queue is full
+        MonitoredExecutors.newBoundedThreadPool(
+            EthScheduler.class.getSimpleName() + "-ParallelTransactions",
+            computationWorkerCount,
+            computationWorkerCount,
+            PARALLEL_TX_CAPACITY,
+            metricsSystem),
+        MonitoredExecutors.newFixedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Queries",
+            computationWorkerCount,
+            computationWorkerCount,
+            metricsSystem));
   }
 
   protected EthScheduler(
@@ -103,13 +118,17 @@ public class EthScheduler {
       final ExecutorService txWorkerExecutor,
       final ExecutorService servicesExecutor,
       final ExecutorService computationExecutor,
-      final ExecutorService blockCreationExecutor) {
+      final ExecutorService blockCreationExecutor,
+      final ExecutorService parallelTxExecutor,
+      final ExecutorService queryExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
     this.computationExecutor = computationExecutor;
     this.blockCreationExecutor = blockCreationExecutor;
+    this.parallelTxExecutor = parallelTxExecutor;
+    this.queryExecutor = queryExecutor;
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -219,6 +238,29 @@ public class EthScheduler {
     return CompletableFuture.runAsync(task, blockCreationExecutor);
   }
 
+  /**
+   * Executes a transaction of a block being imported or created ahead of its turn, or a slice of a
+   * batch of senders to recover. When too many tasks are queued, the oldest ones are dropped, and
+   * must then be done in turn.
+   *
+   * @param command the execution of the transaction
+   */
+  public void scheduleParallelTxTask(final Runnable command) {
+    parallelTxExecutor.execute(command);
+  }
+
+  /**
+   * Runs a part of a JSON-RPC query that can be computed alongside the other parts of the query.
+   * Every queued part is eventually run, so that the query can wait for all of them.
+   *
+   * @param computation the part of the query
+   * @return a future of the result of the part of the query
+   * @param <T> the type of the result
+   */
+  public <T> CompletableFuture<T> scheduleQueryTask(final Supplier<T> computation) {
+    return CompletableFuture.supplyAsync(computation, queryExecutor);
+  }
+
   public <T> CompletableFuture<T> timeout(final EthTask<T> task) {
     return timeout(task, defaultTimeout);
   }
@@ -254,6 +296,8 @@ public class EthScheduler {
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
       computationExecutor.shutdownNow();
+      parallelTxExecutor.shutdownNow();
+      queryExecutor.shutdownNow();
       shutdown.countDown();
     } else {
       LOG.trace("Attempted to stop already stopped " + getClass().getSimpleName());
@@ -282,6 +326,14 @@ public class EthScheduler {
       LOG.error(
           "{} computation executor did not shutdown cleanly.", this.getClass().getSimpleName());
     }
+    if (!parallelTxExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error(
+          "{} parallel transaction executor did not shutdown cleanly.",
+          this.getClass().getSimpleName());
+    }
+    if (!queryExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} query executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
     LOG.trace("{} stopped.", this.getClass().getSimpleName());
   }
 
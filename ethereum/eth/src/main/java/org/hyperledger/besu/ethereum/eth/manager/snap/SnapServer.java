@@ -30,7 +30,7 @@ import org.hyperledger.besu.ethereum.eth.sync.DefaultSynchronizer;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
@@ -52,6 +52,8 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import kotlin.Pair;
 import kotlin.collections.ArrayDeque;
@@ -70,6 +72,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
   private static final int MAX_CODE_LOOKUPS_PER_REQUEST = 1024;
   private static final int MAX_TRIE_LOOKUPS_PER_REQUEST = 1024;
+  private static final long RANGE_RESPONSE_CACHE_MAX_BYTES = 64 * 1024 * 1024;
+  private static final long PROOF_CACHE_MAX_BYTES = 16 * 1024 * 1024;
   private static final AccountRangeMessage EMPTY_ACCOUNT_RANGE =
       AccountRangeMessage.create(new HashMap<>(), new ArrayDeque<>());
   private static final StorageRangeMessage EMPTY_STORAGE_RANGE =
@@ -91,6 +95,31 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   // whether snap server is enabled
   private final boolean snapServerEnabled;
 
+  // the state of a root hash never changes, so peers syncing to the same pivot can be served the
+  // ranges and proofs computed for the previous ones
+  private final Cache<RangeRequest, MessageData> rangeResponseCache =
+      Caffeine.newBuilder()
+          .maximumWeight(RANGE_RESPONSE_CACHE_MAX_BYTES)
+          .<RangeRequest, MessageData>weigher((request, response) -> response.getSize())
+          .build();
+  private final Cache<ProofRequest, List<Bytes>> proofCache =
+      Caffeine.newBuilder()
+          .maximumWeight(PROOF_CACHE_MAX_BYTES)
+          .<ProofRequest, List<Bytes>>weigher(
+              (request, proof) -> proof.stream().mapToInt(Bytes::size).sum())
+          .build();
+
+  private record RangeRequest(
+      int code,
+      Hash worldStateRootHash,
+      List<Bytes32> accountHashes,
+      Bytes32 startKeyHash,
+      Bytes32 endKeyHash,
+      int maxResponseBytes) {}
+
+  // the account hash is empty for the proofs of the account trie
+  private record ProofRequest(Bytes32 rootHash, Bytes accountHash, Bytes32 keyHash) {}
+
   // provide worldstate storage by root hash
   private Function<Hash, Optional<BonsaiWorldStateKeyValueStorage>> worldStateStorageProvider =
       __ -> Optional.empty();
@@ -193,6 +222,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
   public synchronized SnapServer stop() {
     isStarted.set(false);
+    rangeResponseCache.invalidateAll();
+    proofCache.invalidateAll();
     return this;
   }
 
@@ -225,6 +256,25 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .addArgument(() -> asLogHash(range.endKeyHash()))
         .log();
     try {
+      final RangeRequest request =
+          new RangeRequest(
+              SnapV1.GET_ACCOUNT_RANGE,
+              range.worldStateRootHash(),
+              List.of(),
+              range.startKeyHash(),
+              range.endKeyHash(),
+              maxResponseBytes);
+      final MessageData cachedResponse = rangeResponseCache.getIfPresent(request);
+      if (cachedResponse != null) {
+        LOGGER.debug(
+            "returned in {} cached account range {} to {}, resp size {} of max {}",
+            stopWatch,
+            asLogHash(range.startKeyHash()),
+            asLogHash(range.endKeyHash()),
+            cachedResponse.getSize(),
+            maxResponseBytes);
+        return cachedResponse;
+      }
       return worldStateStorageProvider
           .apply(range.worldStateRootHash())
           .map(
@@ -235,14 +285,9 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                         "account",
                         stopWatch,
                         maxResponseBytes,
-                        (pair) -> {
-                          var rlpOutput = new BytesValueRLPOutput();
-                          rlpOutput.startList();
-                          rlpOutput.writeBytes(pair.getFirst());
-                          rlpOutput.writeRLPBytes(pair.getSecond());
-                          rlpOutput.endList();
-                          return rlpOutput.encodedSize();
-                        });
+                        (pair) ->
+                            RLP.encodedListSize(
+                                RLP.encodedSize(pair.getFirst()) + pair.getSecond().size()));
 
                 NavigableMap<Bytes32, Bytes> accounts =
                     storage.streamFlatAccounts(
@@ -259,13 +304,14 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                 final var worldStateProof =
                     new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
                 final List<Bytes> proof =
-                    worldStateProof.getAccountProofRelatedNodes(
-                        range.worldStateRootHash(), Hash.wrap(range.startKeyHash()));
+                    new ArrayList<>(
+                        accountProof(
+                            worldStateProof, range.worldStateRootHash(), range.startKeyHash()));
 
                 if (!accounts.isEmpty()) {
                   proof.addAll(
-                      worldStateProof.getAccountProofRelatedNodes(
-                          range.worldStateRootHash(), Hash.wrap(accounts.lastKey())));
+                      accountProof(
+                          worldStateProof, range.worldStateRootHash(), accounts.lastKey()));
                 }
                 var resp = AccountRangeMessage.create(accounts, proof);
                 if (accounts.isEmpty()) {
@@ -284,6 +330,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     proof.size(),
                     resp.getSize(),
                     maxResponseBytes);
+                cacheResponse(request, resp, stopWatch);
                 return resp;
               })
           .orElseGet(
@@ -321,6 +368,25 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     .collect(Collectors.joining(",", "[", "]")))
         .log();
     try {
+      final RangeRequest request =
+          new RangeRequest(
+              SnapV1.GET_STORAGE_RANGE,
+              range.worldStateRootHash(),
+              List.copyOf(range.hashes()),
+              range.startKeyHash(),
+              range.endKeyHash(),
+              maxResponseBytes);
+      final MessageData cachedResponse = rangeResponseCache.getIfPresent(request);
+      if (cachedResponse != null) {
+        LOGGER.debug(
+            "returned in {} cached storage {} to {}, resp size {} of max {}",
+            stopWatch,
+            asLogHash(range.hashes().first()),
+            asLogHash(range.hashes().last()),
+            cachedResponse.getSize(),
+            maxResponseBytes);
+        return cachedResponse;
+      }
       return worldStateStorageProvider
           .apply(range.worldStateRootHash())
           .map(
@@ -332,14 +398,10 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                         "storage",
                         stopWatch,
                         maxResponseBytes,
-                        (pair) -> {
-                          var slotRlpOutput = new BytesValueRLPOutput();
-                          slotRlpOutput.startList();
-                          slotRlpOutput.writeBytes(pair.getFirst());
-                          slotRlpOutput.writeBytes(pair.getSecond());
-                          slotRlpOutput.endList();
-                          return slotRlpOutput.encodedSize();
-                        });
+                        (pair) ->
+                            RLP.encodedListSize(
+                                RLP.encodedSize(pair.getFirst())
+                                    + RLP.encodedSize(pair.getSecond())));
 
                 // only honor start and end hash if request is for a single account's storage:
                 Bytes32 startKeyBytes, endKeyBytes;
@@ -384,18 +446,17 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   // request limits, send proofs:
                   if (isPartialRange || !statefulPredicate.shouldGetMore()) {
                     // send a proof for the left side range origin
+                    final Hash storageRoot = getAccountStorageRoot(forAccountHash, storage);
                     proofNodes.addAll(
-                        worldStateProof.getStorageProofRelatedNodes(
-                            getAccountStorageRoot(forAccountHash, storage),
-                            forAccountHash,
-                            Hash.wrap(startKeyBytes)));
+                        storageProof(worldStateProof, storageRoot, forAccountHash, startKeyBytes));
                     if (!accountStorages.isEmpty()) {
                       // send a proof for the last key on the right
                       proofNodes.addAll(
-                          worldStateProof.getStorageProofRelatedNodes(
-                              getAccountStorageRoot(forAccountHash, storage),
+                          storageProof(
+                              worldStateProof,
+                              storageRoot,
                               forAccountHash,
-                              Hash.wrap(accountStorages.lastKey())));
+                              accountStorages.lastKey()));
                     }
                   }
 
@@ -416,6 +477,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     proofNodes.size(),
                     resp.getSize(),
                     maxResponseBytes);
+                cacheResponse(request, resp, stopWatch);
                 return resp;
               })
           .orElseGet(
@@ -446,6 +508,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
     try {
       List<Bytes> codeBytes = new ArrayDeque<>();
+      int codeBytesSize = 0;
       var codeHashList =
           (codeHashes.hashes().size() < MAX_CODE_LOOKUPS_PER_REQUEST)
               ? codeHashes.hashes()
@@ -456,11 +519,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         } else {
           Optional<Bytes> optCode = worldStateStorageCoordinator.getCode(Hash.wrap(codeHash), null);
           if (optCode.isPresent()) {
-            if (sumListBytes(codeBytes) + optCode.get().size() > maxResponseBytes
+            if (withEncodingOverhead(codeBytesSize) + optCode.get().size() > maxResponseBytes
                 || stopWatch.getTime() > StatefulPredicate.MAX_MILLIS_PER_REQUEST) {
               break;
             }
             codeBytes.add(optCode.get());
+            codeBytesSize += optCode.get().size();
           }
         }
       }
@@ -500,6 +564,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
               storage -> {
                 LOGGER.trace("obtained worldstate in {}", stopWatch);
                 ArrayList<Bytes> trieNodes = new ArrayList<>();
+                int trieNodesSize = 0;
                 var triePathList =
                     triePaths.paths().size() < MAX_TRIE_LOOKUPS_PER_REQUEST
                         ? triePaths.paths()
@@ -511,11 +576,13 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     var optStorage =
                         storage.getTrieNodeUnsafe(CompactEncoding.decode(triePath.get(0)));
                     if (optStorage.isPresent()) {
-                      if (sumListBytes(trieNodes) + optStorage.get().size() > maxResponseBytes
+                      if (withEncodingOverhead(trieNodesSize) + optStorage.get().size()
+                              > maxResponseBytes
                           || stopWatch.getTime() > StatefulPredicate.MAX_MILLIS_PER_REQUEST) {
                         break;
                       }
                       trieNodes.add(optStorage.get());
+                      trieNodesSize += optStorage.get().size();
                     }
 
                   } else {
@@ -530,10 +597,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                           storage.getTrieNodeUnsafe(
                               Bytes.concatenate(accountPrefix, CompactEncoding.decode(path)));
                       if (optStorage.isPresent()) {
-                        if (sumListBytes(trieNodes) + optStorage.get().size() > maxResponseBytes) {
+                        if (withEncodingOverhead(trieNodesSize) + optStorage.get().size()
+                            > maxResponseBytes) {
                           break;
                         }
                         trieNodes.add(optStorage.get());
+                        trieNodesSize += optStorage.get().size();
                       }
                     }
                   }
@@ -636,9 +705,42 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .orElse(Hash.EMPTY_TRIE_HASH);
   }
 
-  private static int sumListBytes(final List<Bytes> listOfBytes) {
+  private List<Bytes> accountProof(
+      final WorldStateProofProvider worldStateProof,
+      final Hash worldStateRootHash,
+      final Bytes32 accountHash) {
+    return proofCache.get(
+        new ProofRequest(worldStateRootHash, Bytes.EMPTY, accountHash),
+        __ ->
+            List.copyOf(
+                worldStateProof.getAccountProofRelatedNodes(
+                    worldStateRootHash, Hash.wrap(accountHash))));
+  }
+
+  private List<Bytes> storageProof(
+      final WorldStateProofProvider worldStateProof,
+      final Hash storageRoot,
+      final Bytes32 accountHash,
+      final Bytes32 slotHash) {
+    return proofCache.get(
+        new ProofRequest(storageRoot, accountHash, slotHash),
+        __ ->
+            List.copyOf(
+                worldStateProof.getStorageProofRelatedNodes(
+                    storageRoot, accountHash, Hash.wrap(slotHash))));
+  }
+
+  private void cacheResponse(
+      final RangeRequest request, final MessageData response, final StopWatch stopWatch) {
+    // a response cut short by the time limit could be more complete if built again
+    if (stopWatch.getTime() <= StatefulPredicate.MAX_MILLIS_PER_REQUEST) {
+      rangeResponseCache.put(request, response);
+    }
+  }
+
+  private static int withEncodingOverhead(final int bytes) {
     // TODO: remove hack, 10% is a fudge factor to account for the overhead of rlp encoding
-    return listOfBytes.stream().map(Bytes::size).reduce((a, b) -> a + b).orElse(0) * 11 / 10;
+    return bytes * 11 / 10;
   }
 
   private static String asLogHash(final Bytes32 hash) {
@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetBlocksFromPeersTask;
 
@@ -103,26 +105,16 @@ public class ForwardSyncStep {
       return null;
     }
 
-    for (Block block : blocks) {
-      final Optional<BlockHeader> parent =
-          context
-              .getProtocolContext()
-              .getBlockchain()
-              .getBlockHeader(block.getHeader().getParentHash());
-
-      if (parent.isEmpty()) {
-        context.halveBatchSize();
-        LOG.atDebug()
-            .setMessage(
-                "Parent block {} not found, while saving block {}, reducing batch size to {}")
-            .addArgument(block.getHeader().getParentHash())
-            .addArgument(block::toLogString)
-            .addArgument(context::getBatchSize)
-            .log();
-        return null;
-      } else {
-        context.saveBlock(block);
+    final List<CompletableFuture<Block>> senderRecoveries = recoverSendersAhead(blocks);
+    try {
+      for (Block block : blocks) {
+        if (!saveBlock(block)) {
+          return null;
+        }
       }
+    } finally {
+      // the senders of the blocks that will not be imported do not need to be recovered anymore
+      senderRecoveries.forEach(recovery -> recovery.cancel(false));
     }
 
     if (blocks.size() == context.getBatchSize()) {
@@ -131,4 +123,47 @@ public class ForwardSyncStep {
     }
     return null;
   }
+
+  /**
+   * Recovers the senders of the transactions of the blocks on the parallel transaction threads, so
+   * that the recovery for the next blocks overlaps with the execution of the current one, instead
+   * of happening during their execution. The senders are memoized by the transactions. A recovery
+   * dropped by the busy threads leaves the senders to be recovered during the execution.
+   */
+  private List<CompletableFuture<Block>> recoverSendersAhead(final List<Block> blocks) {
+    final EthScheduler scheduler = context.getEthContext().getScheduler();
+    return blocks.stream()
+        .map(
+            block ->
+                CompletableFuture.supplyAsync(
+                    () -> recoverSenders(block, scheduler), scheduler::scheduleParallelTxTask))
+        .toList();
+  }
+
+  private static Block recoverSenders(final Block block, final EthScheduler scheduler) {
+    Transaction.recoverSenders(
+        block.getBody().getTransactions(), scheduler::scheduleParallelTxTask);
+    return block;
+  }
+
+  private boolean saveBlock(final Block block) {
+    final Optional<BlockHeader> parent =
+        context
+            .getProtocolContext()
+            .getBlockchain()
+            .getBlockHeader(block.getHeader().getParentHash());
+
+    if (parent.isEmpty()) {
+      context.halveBatchSize();
+      LOG.atDebug()
+          .setMessage("Parent block {} not found, while saving block {}, reducing batch size to {}")
+          .addArgument(block.getHeader().getParentHash())
+          .addArgument(block::toLogString)
+          .addArgument(context::getBatchSize)
+          .log();
+      return false;
+    }
+    context.saveBlock(block);
+    return true;
+  }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 
 import java.util.List;
 import java.util.function.Function;
@@ -23,13 +24,18 @@ import java.util.stream.Stream;
 
 public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Block>> {
 
-  @Override
-  public Stream<Block> apply(final List<Block> blocks) {
-    return blocks.stream().map(this::extractSignatures);
+  private final EthScheduler ethScheduler;
+
+  public ExtractTxSignaturesStep(final EthScheduler ethScheduler) {
+    this.ethScheduler = ethScheduler;
   }
 
-  private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
-    return block;
+  @Override
+  public Stream<Block> apply(final List<Block> blocks) {
+    // recover the senders of all the blocks at once, so that small blocks still use every core
+    Transaction.recoverSenders(
+        blocks.stream().flatMap(block -> block.getBody().getTransactions().stream()).toList(),
+        ethScheduler::scheduleParallelTxTask);
+    return blocks.stream();
   }
 }
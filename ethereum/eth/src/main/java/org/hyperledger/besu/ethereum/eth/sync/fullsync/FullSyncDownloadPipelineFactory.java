@@ -105,7 +105,8 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
         new RangeHeadersValidationStep(protocolSchedule, protocolContext, detachedValidationPolicy);
     final DownloadBodiesStep downloadBodiesStep =
         new DownloadBodiesStep(protocolSchedule, ethContext, metricsSystem);
-    final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final ExtractTxSignaturesStep extractTxSignaturesStep =
+        new ExtractTxSignaturesStep(ethContext.getScheduler());
     final FullImportBlockStep importBlockStep =
         new FullImportBlockStep(
             protocolSchedule, protocolContext, ethContext, fullSyncTerminationCondition);
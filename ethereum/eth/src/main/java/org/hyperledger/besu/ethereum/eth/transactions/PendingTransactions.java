@@ -77,5 +77,14 @@ public interface PendingTransactions {
   @FunctionalInterface
   interface TransactionSelector {
     TransactionSelectionResult evaluateTransaction(PendingTransaction pendingTransaction);
+
+    /**
+     * Called before the evaluation starts, by the implementations that know them, with the
+     * candidate transactions in priority order, which is close to the order in which they are
+     * going to be evaluated. Some of them may not be evaluated at all.
+     *
+     * @param candidates the candidate transactions
+     */
+    default void onCandidates(final List<PendingTransaction> candidates) {}
   }
 }
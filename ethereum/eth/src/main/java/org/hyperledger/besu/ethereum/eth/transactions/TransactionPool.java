@@ -174,6 +174,9 @@ public class TransactionPool implements BlockAddedObserver {
     final int initialCount = transactions.size();
     final List<Transaction> addedTransactions = new ArrayList<>(initialCount);
     LOG.trace("Adding {} remote transactions", initialCount);
+    // recover the senders as a batch, sharing the work with the parallel transaction workers,
+    // before they are needed one at a time to sort the transactions
+    Transaction.recoverSenders(transactions, ethContext.getScheduler()::scheduleParallelTxTask);
 
     final var validationResults =
         sortedBySenderAndNonce(transactions)
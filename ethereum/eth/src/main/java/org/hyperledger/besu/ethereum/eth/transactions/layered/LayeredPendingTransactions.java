@@ -41,6 +41,7 @@ import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,10 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -63,6 +68,9 @@ public class LayeredPendingTransactions implements PendingTransactions {
   private static final Marker INVALID_TX_REMOVED = MarkerFactory.getMarker("INVALID_TX_REMOVED");
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
+  // the layers are only modified under the write lock, so reads do not block each other, and the
+  // transaction selection only holds the lock to take a snapshot of the prioritized transactions
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -72,12 +80,17 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized void reset() {
-    prioritizedTransactions.reset();
+  public void reset() {
+    runWithWriteLock(prioritizedTransactions::reset);
   }
 
   @Override
-  public synchronized TransactionAddedResult addTransaction(
+  public TransactionAddedResult addTransaction(
+      final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
+    return withWriteLock(() -> internalAddTransaction(pendingTransaction, maybeSenderAccount));
+  }
+
+  private TransactionAddedResult internalAddTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
 
     final long stateSenderNonce = maybeSenderAccount.map(AccountState::getNonce).orElse(0L);
@@ -301,13 +314,13 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return withReadLock(prioritizedTransactions::getAllLocal);
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return withReadLock(prioritizedTransactions::getAllPriority);
   }
 
   @Override
@@ -318,20 +331,38 @@ public class LayeredPendingTransactions implements PendingTransactions {
   // block could end up with transactions of the new type.
   // This seems like it would be very rare but worth it to document that we don't handle that case
   // right now.
-  public synchronized void selectTransactions(
-      final PendingTransactions.TransactionSelector selector) {
+  public void selectTransactions(final PendingTransactions.TransactionSelector selector) {
+    // the transactions are evaluated without holding the lock, so that adds and reads are not
+    // blocked while the block is built. The snapshot is small, as it is bounded by the size of the
+    // prioritized layer.
+    final List<PendingTransaction> snapshot;
+    final Map<Address, List<PendingTransaction>> snapshotBySender = new HashMap<>();
+    final Lock readLock = rwLock.readLock();
+    readLock.lock();
+    try {
+      snapshot = prioritizedTransactions.stream().toList();
+      snapshot.forEach(
+          highPrioPendingTx ->
+              snapshotBySender.computeIfAbsent(
+                  highPrioPendingTx.getSender(),
+                  sender -> prioritizedTransactions.stream(sender).toList()));
+    } finally {
+      readLock.unlock();
+    }
+    selector.onCandidates(snapshot);
+
     final List<PendingTransaction> invalidTransactions = new ArrayList<>();
     final Set<Hash> alreadyChecked = new HashSet<>();
     final Set<Address> skipSenders = new HashSet<>();
     final AtomicBoolean completed = new AtomicBoolean(false);
 
-    prioritizedTransactions.stream()
+    snapshot.stream()
         .takeWhile(unused -> !completed.get())
         .filter(highPrioPendingTx -> !skipSenders.contains(highPrioPendingTx.getSender()))
-        .peek(this::logSenderTxs)
+        .peek(highPrioPendingTx -> logSenderTxs(highPrioPendingTx, snapshotBySender))
         .forEach(
             highPrioPendingTx ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
+                snapshotBySender.get(highPrioPendingTx.getSender()).stream()
                     .takeWhile(
                         candidatePendingTx ->
                             !skipSenders.contains(candidatePendingTx.getSender())
@@ -368,17 +399,25 @@ public class LayeredPendingTransactions implements PendingTransactions {
                           }
                         }));
 
-    invalidTransactions.forEach(
-        invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED));
+    if (!invalidTransactions.isEmpty()) {
+      runWithWriteLock(
+          () ->
+              invalidTransactions.stream()
+                  // skip the transactions that left the pool, or were replaced, in the meantime
+                  .filter(invalidTx -> prioritizedTransactions.contains(invalidTx.getTransaction()))
+                  .forEach(invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED)));
+    }
   }
 
-  private void logSenderTxs(final PendingTransaction highPrioPendingTx) {
+  private void logSenderTxs(
+      final PendingTransaction highPrioPendingTx,
+      final Map<Address, List<PendingTransaction>> snapshotBySender) {
     LOG.atTrace()
         .setMessage("highPrioPendingTx {}, senderTxs {}")
         .addArgument(highPrioPendingTx::toTraceLog)
         .addArgument(
             () ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
+                snapshotBySender.get(highPrioPendingTx.getSender()).stream()
                     .map(PendingTransaction::toTraceLog)
                     .collect(Collectors.joining(", ")))
         .log();
@@ -390,23 +429,23 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return withReadLock(prioritizedTransactions::count);
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return withReadLock(() -> prioritizedTransactions.contains(transaction));
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions.getByHash(transactionHash);
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return withReadLock(() -> prioritizedTransactions.getByHash(transactionHash));
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return withReadLock(prioritizedTransactions::getAll);
   }
 
   @Override
@@ -431,11 +470,22 @@ public class LayeredPendingTransactions implements PendingTransactions {
 
   @Override
   public OptionalLong getNextNonceForSender(final Address sender) {
-    return prioritizedTransactions.getNextNonceFor(sender);
+    return withReadLock(() -> prioritizedTransactions.getNextNonceFor(sender));
   }
 
   @Override
-  public synchronized void manageBlockAdded(
+  public void manageBlockAdded(
+      final BlockHeader blockHeader,
+      final List<Transaction> confirmedTransactions,
+      final List<Transaction> reorgTransactions,
+      final FeeMarket feeMarket) {
+    runWithWriteLock(
+        () ->
+            internalManageBlockAdded(
+                blockHeader, confirmedTransactions, reorgTransactions, feeMarket));
+  }
+
+  private void internalManageBlockAdded(
       final BlockHeader blockHeader,
       final List<Transaction> confirmedTransactions,
       final List<Transaction> reorgTransactions,
@@ -547,17 +597,45 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized String toTraceLog() {
+  public String toTraceLog() {
     return "";
   }
 
   @Override
-  public synchronized String logStats() {
-    return prioritizedTransactions.logStats();
+  public String logStats() {
+    return withReadLock(prioritizedTransactions::logStats);
   }
 
   @Override
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return prioritizedTransactions.getBlobCache().restoreBlob(transaction);
   }
+
+  private <T> T withReadLock(final Supplier<T> action) {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <T> T withWriteLock(final Supplier<T> action) {
+    final Lock lock = rwLock.writeLock();
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void runWithWriteLock(final Runnable action) {
+    withWriteLock(
+        () -> {
+          action.run();
+          return null;
+        });
+  }
 }
@@ -33,6 +33,8 @@ public class EthSchedulerShutdownTest {
   private ExecutorService servicesExecutor;
   private ExecutorService computationExecutor;
   private ExecutorService blockCreationExecutor;
+  private ExecutorService parallelTxExecutor;
+  private ExecutorService queryExecutor;
 
   @BeforeEach
   public void setup() {
@@ -42,6 +44,8 @@ public class EthSchedulerShutdownTest {
     servicesExecutor = Executors.newSingleThreadExecutor();
     computationExecutor = Executors.newSingleThreadExecutor();
     blockCreationExecutor = Executors.newSingleThreadExecutor();
+    parallelTxExecutor = Executors.newSingleThreadExecutor();
+    queryExecutor = Executors.newSingleThreadExecutor();
     ethScheduler =
         new EthScheduler(
             syncWorkerExecutor,
@@ -49,7 +53,9 @@ public class EthSchedulerShutdownTest {
             txWorkerExecutor,
             servicesExecutor,
             computationExecutor,
-            blockCreationExecutor);
+            blockCreationExecutor,
+            parallelTxExecutor,
+            queryExecutor);
   }
 
   @Test
@@ -103,6 +109,50 @@ public class EthSchedulerShutdownTest {
     assertThat(task2.hasBeenStarted()).isFalse();
   }
 
+  @Test
+  public void shutdown_parallelTxWorkerShutsDown() throws InterruptedException {
+    final MockEthTask task1 = new MockEthTask(1);
+    final MockEthTask task2 = new MockEthTask();
+
+    ethScheduler.scheduleParallelTxTask(task1::executeTask);
+    ethScheduler.scheduleParallelTxTask(task2::executeTask);
+    ethScheduler.stop();
+
+    assertThat(parallelTxExecutor.isShutdown()).isTrue();
+
+    ethScheduler.awaitStop();
+
+    assertThat(parallelTxExecutor.isShutdown()).isTrue();
+    assertThat(parallelTxExecutor.isTerminated()).isTrue();
+    assertThat(task2.hasBeenStarted()).isFalse();
+  }
+
+  @Test
+  public void shutdown_queryShutsDown() throws InterruptedException {
+    final MockEthTask task1 = new MockEthTask(1);
+    final MockEthTask task2 = new MockEthTask();
+
+    ethScheduler.scheduleQueryTask(
+        () -> {
+          task1.executeTask();
+          return Integer.MAX_VALUE;
+        });
+    ethScheduler.scheduleQueryTask(
+        () -> {
+          task2.executeTask();
+          return Integer.MAX_VALUE;
+        });
+    ethScheduler.stop();
+
+    assertThat(queryExecutor.isShutdown()).isTrue();
+
+    ethScheduler.awaitStop();
+
+    assertThat(queryExecutor.isShutdown()).isTrue();
+    assertThat(queryExecutor.isTerminated()).isTrue();
+    assertThat(task2.hasBeenStarted()).isFalse();
+  }
+
   @Test
   public void shutdown_servicesShutsDown() throws InterruptedException {
     final MockEthTask task1 = new MockEthTask(1);
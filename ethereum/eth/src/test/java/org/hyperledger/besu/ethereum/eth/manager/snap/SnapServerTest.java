@@ -19,6 +19,7 @@ import static org.hyperledger.besu.ethereum.eth.manager.snap.SnapServer.HASH_LAS
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -244,6 +245,30 @@ public class SnapServerTest {
     assertThat(assertIsValidAccountRangeProof(acct1.addressHash, rangeData)).isTrue();
   }
 
+  @Test
+  public void assertRepeatedRangeRequestsServedFromCache() {
+    insertTestAccounts(acct1, acct2, acct3, acct4);
+
+    var rangeData = requestAccountRange(acct1.addressHash, acct4.addressHash);
+    var cachedRangeData = requestAccountRange(acct1.addressHash, acct4.addressHash);
+    assertThat(cachedRangeData.getData()).isEqualTo(rangeData.getData());
+    var storageRange = requestStorageRange(List.of(acct3.addressHash), Hash.ZERO, HASH_LAST);
+    var cachedStorageRange = requestStorageRange(List.of(acct3.addressHash), Hash.ZERO, HASH_LAST);
+    assertThat(cachedStorageRange.getData()).isEqualTo(storageRange.getData());
+
+    // only the first request of each range reads the worldstate
+    verify(spyProvider, times(2)).apply(any());
+
+    // a different range is not served from the cache
+    getAndVerifyAccountRangeData(requestAccountRange(acct2.addressHash, acct4.addressHash), 3);
+    verify(spyProvider, times(3)).apply(any());
+
+    // restarting the snap server clears the cache
+    snapServer.stop().start();
+    requestAccountRange(acct1.addressHash, acct4.addressHash);
+    verify(spyProvider, times(4)).apply(any());
+  }
+
   @Test
   public void assertCompleteStorageForSingleAccount() {
     insertTestAccounts(acct1, acct2, acct3, acct4);
@@ -20,6 +20,12 @@ package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.StubGenesisConfigOptions;
@@ -36,6 +42,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManagerTestUtil;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.RespondingEthPeer;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
@@ -44,6 +51,7 @@ import org.hyperledger.besu.ethereum.referencetests.ForestReferenceTestWorldStat
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -199,6 +207,56 @@ public class ForwardSyncStepTest {
         .containsExactlyInAnyOrder(getBlockByNumber(LOCAL_HEIGHT + 1));
   }
 
+  @Test
+  public void shouldRecoverSendersOfTheBlocksOnTheParallelTransactionThreads() {
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(scheduler)
+        .scheduleParallelTxTask(any());
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getScheduler()).thenReturn(scheduler);
+    when(context.getEthContext()).thenReturn(ethContext);
+    final Block block = spy(getBlockByNumber(LOCAL_HEIGHT + 1));
+    final Block nextBlock = spy(getBlockByNumber(LOCAL_HEIGHT + 2));
+    when(context.getProtocolContext().getBlockchain()).thenReturn(remoteBlockchain);
+
+    new ForwardSyncStep(context, null).saveBlocks(List.of(block, nextBlock));
+
+    verify(scheduler, atLeast(2)).scheduleParallelTxTask(any());
+    verify(block).getBody();
+    verify(nextBlock).getBody();
+    verify(context).saveBlock(block);
+    verify(context).saveBlock(nextBlock);
+  }
+
+  @Test
+  public void shouldCancelSenderRecoveriesOfTheBlocksNotImported() {
+    final List<Runnable> senderRecoveries = new ArrayList<>();
+    final EthScheduler scheduler = mock(EthScheduler.class);
+    doAnswer(invocation -> senderRecoveries.add(invocation.getArgument(0)))
+        .when(scheduler)
+        .scheduleParallelTxTask(any());
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getScheduler()).thenReturn(scheduler);
+    when(context.getEthContext()).thenReturn(ethContext);
+    // the parent of the second block is missing from the local chain
+    final Block block = getBlockByNumber(LOCAL_HEIGHT + 1);
+    final Block orphanBlock = spy(getBlockByNumber(LOCAL_HEIGHT + 3));
+
+    new ForwardSyncStep(context, null).saveBlocks(List.of(block, orphanBlock));
+    // the busy threads only get to the recoveries once the blocks are saved
+    senderRecoveries.forEach(Runnable::run);
+
+    verify(context).saveBlock(block);
+    verify(context, never()).saveBlock(orphanBlock);
+    Assertions.assertThat(senderRecoveries).hasSize(2);
+    verify(orphanBlock, never()).getBody();
+  }
+
   private BackwardChain createBackwardChain(final int from, final int until) {
     BackwardChain chain = backwardChainFromBlock(until);
     for (int i = until; i > from; --i) {
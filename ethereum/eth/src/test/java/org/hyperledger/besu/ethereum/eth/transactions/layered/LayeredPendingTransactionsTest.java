@@ -46,6 +46,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolCo
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionAddedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedListener;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
@@ -57,6 +58,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -521,6 +524,50 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
         .containsExactly(transaction0);
   }
 
+  @Test
+  public void addTransactionsWhileSelecting() {
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction0), Optional.empty());
+
+    final List<TransactionAddedResult> addResults = new ArrayList<>(1);
+    pendingTransactions.selectTransactions(
+        pendingTx -> {
+          // adds from other threads must not wait for the selection to complete
+          addResults.add(
+              CompletableFuture.supplyAsync(
+                      () ->
+                          pendingTransactions.addTransaction(
+                              createRemotePendingTransaction(transaction1), Optional.empty()))
+                  .orTimeout(10, TimeUnit.SECONDS)
+                  .join());
+          return SELECTED;
+        });
+
+    assertThat(addResults).containsExactly(ADDED);
+    assertThat(pendingTransactions.getPendingTransactions())
+        .map(PendingTransaction::getTransaction)
+        .containsExactlyInAnyOrder(transaction0, transaction1);
+  }
+
+  @Test
+  public void invalidTransactionReplacedWhileSelectingIsNotRemoved() {
+    final Transaction transaction1 = createTransaction(0, KEYS1);
+    final Transaction transaction1b = createTransactionReplacement(transaction1, KEYS1);
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction1), Optional.empty());
+
+    pendingTransactions.selectTransactions(
+        pendingTx -> {
+          pendingTransactions.addTransaction(
+              createRemotePendingTransaction(transaction1b), Optional.empty());
+          return TransactionSelectionResult.invalid(UPFRONT_COST_EXCEEDS_BALANCE.name());
+        });
+
+    assertThat(pendingTransactions.getPendingTransactions())
+        .map(PendingTransaction::getTransaction)
+        .containsExactly(transaction1b);
+  }
+
   @Test
   public void returnEmptyOptionalAsMaximumNonceWhenNoTransactionsPresent() {
     assertThat(pendingTransactions.getNextNonceForSender(SENDER1)).isEmpty();
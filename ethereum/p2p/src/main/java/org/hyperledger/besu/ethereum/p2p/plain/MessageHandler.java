@@ -14,7 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.p2p.plain;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.ByteBufferRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
@@ -51,16 +51,14 @@ public class MessageHandler {
   public static PlainMessage parseMessage(final ByteBuf buf) {
     PlainMessage ret = null;
     final ByteBuf bufferedBytes = buf.readSlice(buf.readableBytes());
-    final byte[] byteArr = new byte[bufferedBytes.readableBytes()];
-    bufferedBytes.getBytes(0, byteArr);
-    Bytes bytes = Bytes.wrap(byteArr);
-    final RLPInput input = new BytesValueRLPInput(bytes, true);
+    // read the message in place, and only copy its data out of the buffer, which is reused
+    final RLPInput input = new ByteBufferRLPInput(bufferedBytes.nioBuffer(), true);
     input.enterList();
     MessageType type = MessageType.forNumber(input.readInt());
     if (MessageType.DATA.equals(type)) {
-      ret = new PlainMessage(type, input.readInt(), input.readBytes());
+      ret = new PlainMessage(type, input.readInt(), input.readBytes().copy());
     } else {
-      ret = new PlainMessage(type, input.readBytes());
+      ret = new PlainMessage(type, input.readBytes().copy());
     }
     return ret;
   }
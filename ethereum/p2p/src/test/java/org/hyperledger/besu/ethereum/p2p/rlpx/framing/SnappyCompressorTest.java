@@ -35,6 +35,18 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripFromTheMiddleOfAnArray() {
+    final String input = "Uncompressed sample text, Uncompressed sample text";
+    final byte[] data = input.getBytes(StandardCharsets.UTF_8);
+    final byte[] compressed = snappy.compress(data);
+    final byte[] frame = new byte[compressed.length + 3];
+    System.arraycopy(compressed, 0, frame, 1, compressed.length);
+
+    assertThat(snappy.uncompressedLength(frame, 1, compressed.length)).isEqualTo(data.length);
+    assertThat(snappy.decompress(frame, 1, compressed.length)).isEqualTo(data);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
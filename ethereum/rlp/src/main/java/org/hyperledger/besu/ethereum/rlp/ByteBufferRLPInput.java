@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data directly from a {@link ByteBuffer}, heap or
+ * direct, without copying it first. A Netty {@code ByteBuf} can be read through its {@code
+ * nioBuffer()}.
+ *
+ * <p>The values read are views of the buffer rather than copies, so they are only valid as long as
+ * the content of the buffer does not change. They must be copied if they outlive it.
+ */
+public class ByteBufferRLPInput extends AbstractRLPInput {
+
+  // The RLP encoded data, from its position to its limit.
+  private final ByteBuffer buffer;
+  private final int start;
+
+  public ByteBufferRLPInput(final ByteBuffer buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufferRLPInput(
+      final ByteBuffer buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    // RLP integers are big-endian
+    this.buffer =
+        buffer.order() == ByteOrder.BIG_ENDIAN
+            ? buffer
+            : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    this.start = buffer.position();
+    init(buffer.remaining(), shouldFitExactly);
+  }
+
+  private int index(final long offset) {
+    return start + Math.toIntExact(offset);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return buffer.get(index(offset));
+  }
+
+  @Override
+  protected Bytes inputSlice(final long offset, final int length) {
+    return Bytes.wrapByteBuffer(buffer, index(offset), length);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(inputSlice(offset, 32));
+  }
+
+  @Override
+  protected Bytes48 inputSlice48(final long offset) {
+    return Bytes48.wrap(inputSlice(offset, 48));
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return inputSlice(offset, length).toUnprefixedHexString();
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return inputSlice(offset, length).toUnsignedBigInteger();
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    return buffer.getInt(index(offset));
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    return buffer.getLong(index(offset));
+  }
+
+  @Override
+  public Bytes raw() {
+    return Bytes.wrapByteBuffer(buffer, start, buffer.limit() - start);
+  }
+}
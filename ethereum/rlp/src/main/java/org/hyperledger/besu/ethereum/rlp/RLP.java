@@ -198,6 +198,26 @@ public abstract class RLP {
     }
   }
 
+  /**
+   * Computes the size of the RLP encoding of a byte string, without encoding it.
+   *
+   * @param value the byte string
+   * @return the size of the RLP encoding of the byte string
+   */
+  public static int encodedSize(final Bytes value) {
+    return RLPEncodingHelpers.elementSize(value);
+  }
+
+  /**
+   * Computes the size of the RLP encoding of a list, without encoding it.
+   *
+   * @param payloadSize the sum of the sizes of the RLP encodings of the elements of the list
+   * @return the size of the RLP encoding of the list
+   */
+  public static int encodedListSize(final int payloadSize) {
+    return RLPEncodingHelpers.listSize(payloadSize);
+  }
+
   /**
    * Given a {@link Bytes} containing rlp-encoded data, determines the full length of the encoded
    * value (including the prefix) by inspecting the prefixed metadata.
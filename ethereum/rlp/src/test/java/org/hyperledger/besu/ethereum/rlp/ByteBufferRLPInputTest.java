@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+public class ByteBufferRLPInputTest {
+
+  private static final Bytes32 HASH = Bytes32.fromHexString("0x" + "ab".repeat(32));
+
+  private static final Bytes ENCODED =
+      RLP.encode(
+          out -> {
+            out.startList();
+            out.writeLongScalar(1234567890123L);
+            out.writeInt(0x01020304);
+            out.writeBytes(HASH);
+            out.writeUInt256Scalar(UInt256.valueOf(42));
+            out.writeBytes(Bytes.fromHexString("0xc0ffee"));
+            out.endList();
+          });
+
+  private static void assertDecoded(final RLPInput in) {
+    assertThat(in.enterList()).isEqualTo(5);
+    assertThat(in.readLongScalar()).isEqualTo(1234567890123L);
+    assertThat(in.readInt()).isEqualTo(0x01020304);
+    assertThat(in.readBytes32()).isEqualTo(HASH);
+    assertThat(in.readUInt256Scalar()).isEqualTo(UInt256.valueOf(42));
+    assertThat(in.readBytes()).isEqualTo(Bytes.fromHexString("0xc0ffee"));
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void readsHeapBuffer() {
+    assertDecoded(new ByteBufferRLPInput(ByteBuffer.wrap(ENCODED.toArray()), false));
+  }
+
+  @Test
+  public void readsDirectBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(ENCODED.size());
+    buffer.put(ENCODED.toArrayUnsafe()).flip();
+
+    assertDecoded(new ByteBufferRLPInput(buffer, false));
+  }
+
+  @Test
+  public void readsFromThePositionOfTheBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocate(ENCODED.size() + 3);
+    buffer.put((byte) 0xff).put(ENCODED.toArrayUnsafe()).put((byte) 0xff);
+    buffer.position(1).limit(1 + ENCODED.size());
+
+    final RLPInput in = new ByteBufferRLPInput(buffer, false);
+
+    assertThat(in.raw()).isEqualTo(ENCODED);
+    assertDecoded(in);
+  }
+
+  @Test
+  public void readsIntegersAsBigEndianWhateverTheBufferOrder() {
+    final ByteBuffer buffer = ByteBuffer.wrap(ENCODED.toArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+    assertDecoded(new ByteBufferRLPInput(buffer, false));
+  }
+
+  @Test
+  public void readsSlicesOfTheBufferWithoutCopying() {
+    final byte[] array = RLP.encodeOne(Bytes.fromHexString("0x0102")).toArray();
+    final RLPInput in = new ByteBufferRLPInput(ByteBuffer.wrap(array), false);
+
+    final Bytes value = in.readBytes();
+    array[1] = 0x05;
+
+    assertThat(value).isEqualTo(Bytes.fromHexString("0x0502"));
+  }
+
+  @Test
+  public void readsBigIntegerScalar() {
+    final BigInteger value = BigInteger.TWO.pow(100);
+    final RLPInput in =
+        new ByteBufferRLPInput(
+            ByteBuffer.wrap(RLP.encode(out -> out.writeBigIntegerScalar(value)).toArray()), false);
+
+    assertThat(in.readBigIntegerScalar()).isEqualTo(value);
+  }
+
+  @Test
+  public void rejectsTruncatedInput() {
+    final ByteBuffer buffer = ByteBuffer.wrap(ENCODED.slice(0, ENCODED.size() - 1).toArray());
+
+    assertThatThrownBy(() -> new ByteBufferRLPInput(buffer, false))
+        .isInstanceOf(CorruptedRLPInputException.class);
+  }
+}
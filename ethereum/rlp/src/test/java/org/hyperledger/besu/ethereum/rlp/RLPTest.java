@@ -26,6 +26,38 @@ import org.junit.jupiter.api.Test;
 
 public class RLPTest {
 
+  @Test
+  public void encodedSize_matchesEncoding() {
+    for (final Bytes value :
+        new Bytes[] {
+          Bytes.EMPTY,
+          Bytes.of(0x7f),
+          Bytes.of(0x80),
+          Bytes.wrap(new byte[55]),
+          Bytes.wrap(new byte[56]),
+          Bytes.wrap(new byte[70000])
+        }) {
+      assertThat(RLP.encodedSize(value)).isEqualTo(RLP.encode(out -> out.writeBytes(value)).size());
+    }
+  }
+
+  @Test
+  public void encodedListSize_matchesEncoding() {
+    final Bytes key = Bytes.wrap(new byte[32]);
+    for (final Bytes value : new Bytes[] {Bytes.of(0x01), Bytes.wrap(new byte[100])}) {
+      final Bytes encoded =
+          RLP.encode(
+              out -> {
+                out.startList();
+                out.writeBytes(key);
+                out.writeBytes(value);
+                out.endList();
+              });
+      assertThat(RLP.encodedListSize(RLP.encodedSize(key) + RLP.encodedSize(value)))
+          .isEqualTo(encoded.size());
+    }
+  }
+
   @Test
   public void calculateSize_singleByteValue() {
     int size = RLP.calculateSize(Bytes.fromHexString("0x01"));
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/** Assembles the bytecode executed by the benchmarks. */
+public class BenchmarkCodeBuilder {
+
+  public static final int STOP = 0x00;
+  public static final int ADD = 0x01;
+  public static final int MUL = 0x02;
+  public static final int SUB = 0x03;
+  public static final int DIV = 0x04;
+  public static final int LT = 0x10;
+  public static final int GT = 0x11;
+  public static final int EQ = 0x14;
+  public static final int ISZERO = 0x15;
+  public static final int SHR = 0x1c;
+  public static final int KECCAK256 = 0x20;
+  public static final int CALLER = 0x33;
+  public static final int CALLDATALOAD = 0x35;
+  public static final int CALLDATACOPY = 0x37;
+  public static final int POP = 0x50;
+  public static final int MLOAD = 0x51;
+  public static final int MSTORE = 0x52;
+  public static final int MSTORE8 = 0x53;
+  public static final int SLOAD = 0x54;
+  public static final int SSTORE = 0x55;
+  public static final int JUMPI = 0x57;
+  public static final int MSIZE = 0x59;
+  public static final int JUMPDEST = 0x5b;
+  public static final int TLOAD = 0x5c;
+  public static final int TSTORE = 0x5d;
+  public static final int MCOPY = 0x5e;
+  public static final int PUSH0 = 0x5f;
+  public static final int LOG3 = 0xa3;
+  public static final int RETURN = 0xf3;
+  public static final int REVERT = 0xfd;
+
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH2 = 0x61;
+  private static final int DUP1 = 0x80;
+  private static final int SWAP1 = 0x90;
+
+  private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+  private final Map<String, Integer> labels = new HashMap<>();
+  // offset of the immediate of each PUSH2 of a label, patched once all the labels are known
+  private final Map<Integer, String> labelReferences = new HashMap<>();
+
+  public BenchmarkCodeBuilder op(final int opcode) {
+    code.write(opcode);
+    return this;
+  }
+
+  public BenchmarkCodeBuilder push(final Bytes value) {
+    checkArgument(!value.isEmpty() && value.size() <= 32, "Cannot push %s bytes", value.size());
+    code.write(PUSH1 + value.size() - 1);
+    code.writeBytes(value.toArrayUnsafe());
+    return this;
+  }
+
+  public BenchmarkCodeBuilder push(final long value) {
+    return push(value == 0 ? Bytes.of(0) : Bytes.minimalBytes(value));
+  }
+
+  public BenchmarkCodeBuilder dup(final int index) {
+    return op(DUP1 + index - 1);
+  }
+
+  public BenchmarkCodeBuilder swap(final int index) {
+    return op(SWAP1 + index - 1);
+  }
+
+  /** Marks the current offset as a jump destination. */
+  public BenchmarkCodeBuilder label(final String label) {
+    labels.put(label, code.size());
+    return op(JUMPDEST);
+  }
+
+  /** Pushes the offset of a jump destination, which may be declared later on. */
+  public BenchmarkCodeBuilder pushLabel(final String label) {
+    code.write(PUSH2);
+    labelReferences.put(code.size(), label);
+    code.writeBytes(new byte[2]);
+    return this;
+  }
+
+  public BenchmarkCodeBuilder repeat(
+      final int times, final Consumer<BenchmarkCodeBuilder> snippet) {
+    for (int i = 0; i < times; i++) {
+      snippet.accept(this);
+    }
+    return this;
+  }
+
+  public Bytes build() {
+    final byte[] bytes = code.toByteArray();
+    labelReferences.forEach(
+        (offset, label) -> {
+          final Integer target = labels.get(label);
+          checkState(target != null, "Undeclared label %s", label);
+          bytes[offset] = (byte) (target >> 8);
+          bytes[offset + 1] = target.byteValue();
+        });
+    return Bytes.wrap(bytes);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.ADD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.CALLDATALOAD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.CALLER;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.DIV;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.EQ;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.GT;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.ISZERO;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.JUMPI;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.KECCAK256;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.LOG3;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.LT;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MSTORE;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MUL;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.POP;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.RETURN;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.REVERT;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SHR;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SLOAD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SSTORE;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.STOP;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SUB;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Executes whole contract calls with {@link EVM#runToHalt}. The contracts are hand-assembled
+ * equivalents of the hot paths of widely used contracts, so that they exercise a realistic mix of
+ * dispatch, arithmetic, hashing, storage and logs:
+ *
+ * <ul>
+ *   <li>ERC20_TRANSFER: the balance checks, updates and Transfer event of an ERC20 transfer
+ *   <li>UNISWAP_V2_SWAP: the constant product pricing, reserve updates and Swap event of a
+ *       Uniswap V2 pair, without the token transfers
+ *   <li>KECCAK_LOOP: a loop hashing a word 1000 times
+ * </ul>
+ */
+@State(Scope.Thread)
+public class ContractExecutionBenchmark {
+
+  private static final Address RECIPIENT = Address.fromHexString("0xbeef");
+
+  @Param({"ERC20_TRANSFER", "UNISWAP_V2_SWAP", "KECCAK_LOOP"})
+  public String contract;
+
+  private EVMBenchmarkHelper helper;
+  private Code code;
+  private Bytes callData;
+
+  @Setup
+  public void prepare() {
+    helper = new EVMBenchmarkHelper();
+    switch (contract) {
+      case "ERC20_TRANSFER" -> prepareErc20Transfer();
+      case "UNISWAP_V2_SWAP" -> prepareUniswapV2Swap();
+      case "KECCAK_LOOP" -> prepareKeccakLoop();
+      default -> throw new IllegalArgumentException("Unknown contract " + contract);
+    }
+    helper.checkExecution(code, callData);
+  }
+
+  @Benchmark
+  public MessageFrame executeContract() {
+    return helper.execute(code, callData);
+  }
+
+  private void prepareErc20Transfer() {
+    final Bytes selector = selector("transfer(address,uint256)");
+    final BenchmarkCodeBuilder builder = dispatch(selector);
+    // debit the caller, balances being a mapping in slot 0
+    builder.op(CALLER).push(0).op(MSTORE).push(0).push(0x20).op(MSTORE);
+    builder.push(0x40).push(0).op(KECCAK256).dup(1).op(SLOAD);
+    builder.push(0x24).op(CALLDATALOAD).dup(1).dup(3).op(LT).pushLabel("revert").op(JUMPI);
+    builder.swap(1).op(SUB).swap(1).op(SSTORE);
+    // credit the recipient, checking for overflows
+    builder.push(0x04).op(CALLDATALOAD).push(0).op(MSTORE);
+    builder.push(0x40).push(0).op(KECCAK256).dup(1).op(SLOAD);
+    builder.dup(1).push(0x24).op(CALLDATALOAD).op(ADD);
+    builder.dup(1).dup(3).op(GT).pushLabel("revert").op(JUMPI);
+    builder.swap(1).op(POP).swap(1).op(SSTORE);
+    // emit Transfer(caller, recipient, amount) and return true
+    builder.push(0x24).op(CALLDATALOAD).push(0).op(MSTORE);
+    builder
+        .push(0x04)
+        .op(CALLDATALOAD)
+        .op(CALLER)
+        .push(eventTopic("Transfer(address,address,uint256)"))
+        .push(0x20)
+        .push(0)
+        .op(LOG3);
+    builder.push(1).push(0).op(MSTORE).push(0x20).push(0).op(RETURN);
+    revert(builder);
+    code = helper.code(builder.build());
+
+    helper
+        .getContract()
+        .setStorageValue(balanceSlot(EVMBenchmarkHelper.SENDER), UInt256.valueOf(1_000_000));
+    helper.getContract().setStorageValue(balanceSlot(RECIPIENT), UInt256.valueOf(1_000));
+    callData = Bytes.concatenate(selector, Bytes32.leftPad(RECIPIENT), UInt256.valueOf(1_000));
+  }
+
+  private void prepareUniswapV2Swap() {
+    final Bytes selector = selector("swap(uint256)");
+    final BenchmarkCodeBuilder builder = dispatch(selector);
+    // amountIn, reserve0 and reserve1
+    builder.push(0x04).op(CALLDATALOAD).push(0).op(SLOAD).push(1).op(SLOAD);
+    // amountOut = amountIn * 997 * reserve1 / (reserve0 * 1000 + amountIn * 997)
+    builder.dup(3).push(997).op(MUL);
+    builder.dup(1).dup(3).op(MUL);
+    builder.dup(2).dup(5).push(1000).op(MUL).op(ADD);
+    builder.swap(1).op(DIV).swap(1).op(POP);
+    builder.dup(1).op(ISZERO).pushLabel("revert").op(JUMPI);
+    // new reserves, checking that the product of the reserves did not decrease
+    builder.dup(1).dup(3).op(SUB).dup(5).dup(5).op(ADD);
+    builder.dup(2).dup(2).op(MUL).dup(6).dup(6).op(MUL).op(GT).pushLabel("revert").op(JUMPI);
+    builder.push(0).op(SSTORE).push(1).op(SSTORE);
+    // emit Swap(caller, amountIn, 0, 0, amountOut, caller) and return amountOut
+    builder.dup(4).push(0).op(MSTORE).push(0).push(0x20).op(MSTORE);
+    builder.push(0).push(0x40).op(MSTORE).dup(1).push(0x60).op(MSTORE);
+    builder
+        .op(CALLER)
+        .op(CALLER)
+        .push(eventTopic("Swap(address,uint256,uint256,uint256,uint256,address)"))
+        .push(0x80)
+        .push(0)
+        .op(LOG3);
+    builder.push(0).op(MSTORE).push(0x20).push(0).op(RETURN);
+    revert(builder);
+    code = helper.code(builder.build());
+
+    helper.getContract().setStorageValue(UInt256.ZERO, UInt256.valueOf(1_000_000_000_000L));
+    helper.getContract().setStorageValue(UInt256.ONE, UInt256.valueOf(500_000_000_000L));
+    callData = Bytes.concatenate(selector, UInt256.valueOf(1_000_000));
+  }
+
+  private void prepareKeccakLoop() {
+    final BenchmarkCodeBuilder builder = new BenchmarkCodeBuilder();
+    builder.push(1000).label("loop");
+    builder.push(0x20).push(0).op(KECCAK256).push(0).op(MSTORE);
+    builder.push(1).swap(1).op(SUB).dup(1).pushLabel("loop").op(JUMPI);
+    builder.op(STOP);
+    code = helper.code(builder.build());
+    callData = Bytes.EMPTY;
+  }
+
+  /** Starts a contract reverting unless it is called with the given selector. */
+  private static BenchmarkCodeBuilder dispatch(final Bytes selector) {
+    final BenchmarkCodeBuilder builder = new BenchmarkCodeBuilder();
+    builder.push(0).op(CALLDATALOAD).push(0xe0).op(SHR).push(selector).op(EQ);
+    builder.pushLabel("function").op(JUMPI).push(0).dup(1).op(REVERT);
+    return builder.label("function");
+  }
+
+  private static void revert(final BenchmarkCodeBuilder builder) {
+    builder.label("revert").push(0).dup(1).op(REVERT);
+  }
+
+  private static Bytes selector(final String signature) {
+    return eventTopic(signature).slice(0, 4);
+  }
+
+  private static Bytes eventTopic(final String signature) {
+    return Hash.keccak256(Bytes.wrap(signature.getBytes(UTF_8)));
+  }
+
+  private static UInt256 balanceSlot(final Address owner) {
+    return UInt256.fromBytes(
+        Hash.keccak256(Bytes.concatenate(Bytes32.leftPad(owner), Bytes32.ZERO)));
+  }
+}
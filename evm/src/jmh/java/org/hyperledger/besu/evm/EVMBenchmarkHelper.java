@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.fluent.SimpleBlockValues;
+import org.hyperledger.besu.evm.fluent.SimpleWorld;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Executes bytecode with {@link EVM#runToHalt} in a single message frame, against a world holding
+ * only the sender and the contract. Each execution starts from the same world state, the changes
+ * of the previous executions being discarded.
+ */
+public class EVMBenchmarkHelper {
+
+  public static final Address SENDER = Address.fromHexString("0xc0ffee");
+  public static final Address CONTRACT = Address.fromHexString("0xc0de");
+
+  private static final long GAS = 10_000_000_000L;
+
+  private final EVM evm;
+  private final SimpleWorld world = new SimpleWorld();
+  private final SimpleBlockValues blockValues = new SimpleBlockValues();
+
+  public EVMBenchmarkHelper() {
+    this(MainnetEVMs.cancun(EvmConfiguration.DEFAULT));
+  }
+
+  public EVMBenchmarkHelper(final EVM evm) {
+    this.evm = evm;
+    world.createAccount(SENDER, 0, Wei.fromEth(100));
+    world.createAccount(CONTRACT, 1, Wei.ZERO);
+  }
+
+  public EVM getEvm() {
+    return evm;
+  }
+
+  public MutableAccount getContract() {
+    return world.getAccount(CONTRACT);
+  }
+
+  public Code code(final Bytes bytes) {
+    return evm.getCode(Hash.hash(bytes), bytes);
+  }
+
+  public MessageFrame execute(final Code code, final Bytes callData) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .worldUpdater(world.updater())
+            .initialGas(GAS)
+            .address(CONTRACT)
+            .contract(CONTRACT)
+            .originator(SENDER)
+            .sender(SENDER)
+            .gasPrice(Wei.ONE)
+            .blobGasPrice(Wei.ONE)
+            .inputData(callData)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(code)
+            .blockValues(blockValues)
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup(number -> Hash.ZERO)
+            .completer(c -> {})
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  /**
+   * Executes the code once and checks that it succeeds, so that a benchmark never measures a
+   * program halting early on an error.
+   */
+  public void checkExecution(final Code code, final Bytes callData) {
+    final MessageFrame frame = execute(code, callData);
+    if (frame.getState() != MessageFrame.State.CODE_SUCCESS) {
+      throw new IllegalStateException(
+          "Benchmark code halted with "
+              + frame.getState()
+              + frame.getExceptionalHaltReason().map(reason -> " " + reason).orElse(""));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.STOP;
+
+import org.hyperledger.besu.evm.BenchmarkCodeBuilder;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVMBenchmarkHelper;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures an operation by executing a program repeating it {@link #OPERATIONS} times, along with
+ * the pushes and pops needed to feed it, through the interpreter loop of the EVM.
+ */
+@State(Scope.Thread)
+public abstract class AbstractOperationBenchmark {
+
+  protected static final int OPERATIONS = 1_000;
+
+  protected static final Bytes OPERAND_A =
+      Bytes.fromHexString("0x9b1d4f3c7e2a6b8d0c5f1e3a7d9b2c4e6f8a0b1c3d5e7f9a2b4c6d8e0f1a3b5c");
+  protected static final Bytes OPERAND_B =
+      Bytes.fromHexString("0x2f7a9c1e5b3d8f0a4c6e2b7d9f1a3c5e");
+
+  protected EVMBenchmarkHelper helper;
+  private Code code;
+  private Bytes callData;
+
+  @Setup
+  public void prepare() {
+    helper = new EVMBenchmarkHelper();
+    final BenchmarkCodeBuilder builder = new BenchmarkCodeBuilder();
+    buildCode(builder);
+    code = helper.code(builder.op(STOP).build());
+    callData = callData();
+    helper.checkExecution(code, callData);
+  }
+
+  /**
+   * Appends the program repeating the operation {@link #OPERATIONS} times, leaving the stack as
+   * deep as it found it after each repetition.
+   *
+   * @param code the builder of the program
+   */
+  protected abstract void buildCode(BenchmarkCodeBuilder code);
+
+  protected Bytes callData() {
+    return Bytes.EMPTY;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public long executeOperation() {
+    return helper.execute(code, callData).getRemainingGas();
+  }
+}
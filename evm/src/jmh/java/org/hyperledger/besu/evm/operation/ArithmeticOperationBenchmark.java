@@ -0,0 +1,62 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.POP;
+
+import org.hyperledger.besu.evm.BenchmarkCodeBuilder;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Param;
+
+public class ArithmeticOperationBenchmark extends AbstractOperationBenchmark {
+
+  // operations whose first operand is a byte index or a shift
+  private static final Set<String> INDEXED_OPERATIONS =
+      Set.of("SIGNEXTEND", "BYTE", "SHL", "SHR", "SAR");
+
+  @Param({
+    "ADD", "MUL", "SUB", "DIV", "SDIV", "MOD", "SMOD", "ADDMOD", "MULMOD", "EXP", "SIGNEXTEND",
+    "LT", "GT", "SLT", "SGT", "EQ", "ISZERO", "AND", "OR", "XOR", "NOT", "BYTE", "SHL", "SHR", "SAR"
+  })
+  public String operationName;
+
+  @Override
+  protected void buildCode(final BenchmarkCodeBuilder code) {
+    final Operation operation =
+        Arrays.stream(helper.getEvm().getOperationsUnsafe())
+            .filter(Objects::nonNull)
+            .filter(op -> op.getName().equals(operationName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + operationName));
+    final Bytes firstOperand =
+        INDEXED_OPERATIONS.contains(operationName) ? Bytes.of(13) : OPERAND_A;
+    code.repeat(
+        OPERATIONS,
+        c -> {
+          for (int i = operation.getStackItemsConsumed(); i > 1; i--) {
+            c.push(i % 2 == 0 ? OPERAND_B : OPERAND_A);
+          }
+          c.push(firstOperand).op(operation.getOpcode());
+          for (int i = 0; i < operation.getStackItemsProduced(); i++) {
+            c.op(POP);
+          }
+        });
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.CALLDATACOPY;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.KECCAK256;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MCOPY;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MLOAD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MSIZE;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MSTORE;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.MSTORE8;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.POP;
+
+import org.hyperledger.besu.evm.BenchmarkCodeBuilder;
+
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Param;
+
+/** Memory operations, executed on a memory already expanded to 1 KiB. */
+public class MemoryOperationBenchmark extends AbstractOperationBenchmark {
+
+  private static final int COPY_SIZE = 256;
+
+  @Param({"MLOAD", "MSTORE", "MSTORE8", "MSIZE", "MCOPY", "KECCAK256", "CALLDATACOPY"})
+  public String operationName;
+
+  @Override
+  protected void buildCode(final BenchmarkCodeBuilder code) {
+    // expand the memory once, so that the operations do not pay for it
+    code.push(OPERAND_A).push(0x3e0).op(MSTORE);
+    code.repeat(OPERATIONS, snippet());
+  }
+
+  private Consumer<BenchmarkCodeBuilder> snippet() {
+    return switch (operationName) {
+      case "MLOAD" -> c -> c.push(0x40).op(MLOAD).op(POP);
+      case "MSTORE" -> c -> c.push(OPERAND_A).push(0x40).op(MSTORE);
+      case "MSTORE8" -> c -> c.push(0xff).push(0x41).op(MSTORE8);
+      case "MSIZE" -> c -> c.op(MSIZE).op(POP);
+      case "MCOPY" -> c -> c.push(COPY_SIZE).push(0).push(0x100).op(MCOPY);
+      case "KECCAK256" -> c -> c.push(COPY_SIZE).push(0).op(KECCAK256).op(POP);
+      case "CALLDATACOPY" -> c -> c.push(COPY_SIZE).push(0).push(0x100).op(CALLDATACOPY);
+      default -> throw new IllegalArgumentException("Unknown operation " + operationName);
+    };
+  }
+
+  @Override
+  protected Bytes callData() {
+    return Bytes.random(COPY_SIZE);
+  }
+}
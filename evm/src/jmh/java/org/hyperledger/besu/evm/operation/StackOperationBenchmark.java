@@ -0,0 +1,51 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.POP;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.PUSH0;
+
+import org.hyperledger.besu.evm.BenchmarkCodeBuilder;
+
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Param;
+
+/** Stack operations, executed on a stack holding enough items for the deepest of them. */
+public class StackOperationBenchmark extends AbstractOperationBenchmark {
+
+  @Param({"PUSH0", "PUSH1", "PUSH32", "DUP1", "DUP16", "SWAP1", "SWAP16"})
+  public String operationName;
+
+  @Override
+  protected void buildCode(final BenchmarkCodeBuilder code) {
+    code.repeat(17, c -> c.push(OPERAND_A));
+    code.repeat(OPERATIONS, snippet());
+  }
+
+  private Consumer<BenchmarkCodeBuilder> snippet() {
+    return switch (operationName) {
+      case "PUSH0" -> c -> c.op(PUSH0).op(POP);
+      case "PUSH1" -> c -> c.push(Bytes.of(1)).op(POP);
+      case "PUSH32" -> c -> c.push(OPERAND_A).op(POP);
+      case "DUP1" -> c -> c.dup(1).op(POP);
+      case "DUP16" -> c -> c.dup(16).op(POP);
+      case "SWAP1" -> c -> c.swap(1);
+      case "SWAP16" -> c -> c.swap(16);
+      default -> throw new IllegalArgumentException("Unknown operation " + operationName);
+    };
+  }
+}
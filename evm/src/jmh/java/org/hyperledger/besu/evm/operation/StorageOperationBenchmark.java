@@ -0,0 +1,58 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.POP;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SLOAD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.SSTORE;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.TLOAD;
+import static org.hyperledger.besu.evm.BenchmarkCodeBuilder.TSTORE;
+
+import org.hyperledger.besu.evm.BenchmarkCodeBuilder;
+import org.hyperledger.besu.evm.account.MutableAccount;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Persistent and transient storage operations. Accessing a single slot measures warm accesses,
+ * while accessing as many slots as operations measures cold ones.
+ */
+public class StorageOperationBenchmark extends AbstractOperationBenchmark {
+
+  @Param({"SLOAD", "SSTORE", "TLOAD", "TSTORE"})
+  public String operationName;
+
+  @Param({"1", "1000"})
+  public int slots;
+
+  @Override
+  protected void buildCode(final BenchmarkCodeBuilder code) {
+    final MutableAccount contract = helper.getContract();
+    for (int slot = 0; slot < slots; slot++) {
+      contract.setStorageValue(UInt256.valueOf(slot), UInt256.valueOf(slot + 1L));
+    }
+    for (int i = 0; i < OPERATIONS; i++) {
+      final int slot = i % slots;
+      switch (operationName) {
+        case "SLOAD" -> code.push(slot).op(SLOAD).op(POP);
+        case "SSTORE" -> code.push(OPERAND_A).push(slot).op(SSTORE);
+        case "TLOAD" -> code.push(slot).op(TLOAD).op(POP);
+        case "TSTORE" -> code.push(OPERAND_A).push(slot).op(TSTORE);
+        default -> throw new IllegalArgumentException("Unknown operation " + operationName);
+      }
+    }
+  }
+}
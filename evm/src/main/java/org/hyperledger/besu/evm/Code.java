@@ -15,6 +15,7 @@
 package org.hyperledger.besu.evm;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeSection;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -82,4 +83,15 @@ public interface Code {
    * @return The version of hte ode.
    */
   int getEofVersion();
+
+  /**
+   * The basic blocks of fixed gas cost operations of the code, whose gas can be charged at once.
+   *
+   * @param fixedGasCosts the fixed gas cost of each opcode, or a negative value for the opcodes
+   *     whose gas cost depends on the state of the frame
+   * @return the basic blocks, or null if the code does not support charging them at once
+   */
+  default BasicBlocks getBasicBlocks(final long[] fixedGasCosts) {
+    return null;
+  }
 }
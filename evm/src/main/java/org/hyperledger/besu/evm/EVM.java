@@ -18,6 +18,7 @@ import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeFactory;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -89,6 +90,8 @@ public class EVM {
   private final CodeCache codeCache;
   private final EvmConfiguration evmConfiguration;
   private final EvmSpecVersion evmSpecVersion;
+  // fixed gas cost of each opcode, or -1 when it depends on the state of the frame
+  private final long[] fixedGasCosts;
 
   // Optimized operation flags
   private final boolean enableShanghai;
@@ -112,6 +115,11 @@ public class EVM {
     this.evmConfiguration = evmConfiguration;
     this.codeCache = new CodeCache(evmConfiguration);
     this.evmSpecVersion = evmSpecVersion;
+    this.fixedGasCosts = new long[256];
+    final Operation[] operationArray = operations.getOperations();
+    for (int i = 0; i < fixedGasCosts.length; i++) {
+      fixedGasCosts[i] = operationArray[i] == null ? -1 : operationArray[i].getFixedGasCost();
+    }
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
   }
@@ -183,6 +191,13 @@ public class EVM {
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
+    // without tracing, the gas of a basic block of fixed cost operations is charged at once, after
+    // its last operation, whenever the frame has enough gas left for the whole block
+    final BasicBlocks blocks =
+        operationTracer == null ? frame.getCode().getBasicBlocks(fixedGasCosts) : null;
+    int blockStart = -1;
+    int blockLastPc = -1;
+    long blockGasCost = 0;
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
       int opcode;
@@ -198,6 +213,20 @@ public class EVM {
       if (operationTracer != null) {
         operationTracer.tracePreExecution(frame);
       }
+      boolean inBlock = pc > blockStart && pc <= blockLastPc;
+      if (!inBlock && blocks != null) {
+        final int block = blocks.indexOf(pc);
+        if (block >= 0 && frame.getRemainingGas() >= blocks.getGasCost(block)) {
+          blockStart = pc;
+          blockLastPc = blocks.getLastPc(block);
+          blockGasCost = blocks.getGasCost(block);
+          inBlock = true;
+        } else {
+          // forget the block left before, as a jump back into it must not find it entered
+          blockStart = -1;
+          blockLastPc = -1;
+        }
+      }
 
       OperationResult result;
       try {
@@ -308,11 +337,12 @@ public class EVM {
         result = UNDERFLOW_RESPONSE;
       }
       final ExceptionalHaltReason haltReason = result.getHaltReason();
+      final long gasCost = !inBlock ? result.getGasCost() : pc == blockLastPc ? blockGasCost : 0;
       if (haltReason != null) {
         LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
         frame.setExceptionalHaltReason(Optional.of(haltReason));
         frame.setState(State.EXCEPTIONAL_HALT);
-      } else if (frame.decrementRemainingGas(result.getGasCost()) < 0) {
+      } else if (frame.decrementRemainingGas(gasCost) < 0) {
         frame.setExceptionalHaltReason(Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
         frame.setState(State.EXCEPTIONAL_HALT);
       }
@@ -0,0 +1,192 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.RelativeJumpIfOperation;
+import org.hyperledger.besu.evm.operation.RelativeJumpOperation;
+import org.hyperledger.besu.evm.operation.RelativeJumpVectorOperation;
+
+import java.util.Arrays;
+
+/**
+ * The basic blocks of legacy code made only of operations with a fixed gas cost, along with the
+ * total gas cost of each block, so that the EVM can charge a whole block at once.
+ *
+ * <p>A block ends before any operation without a fixed gas cost and before any JUMPDEST, and it
+ * ends after any operation that may change the control flow. Execution can therefore only enter a
+ * block at its first operation, and only leave it after its last one or by halting. Blocks of a
+ * single operation are not recorded, as charging them at once would not save anything.
+ *
+ * <p>The analysis only depends on the fixed gas costs of the operations, so it is the same for all
+ * the forks that share them.
+ */
+public final class BasicBlocks {
+
+  private static final int STOP = 0x00;
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH32 = 0x7f;
+
+  private final long[] fixedGasCosts;
+  // bitmap of the pcs starting a block
+  private final long[] starts;
+  // number of blocks starting before each word of the bitmap
+  private final int[] ranks;
+  private final long[] gasCosts;
+  private final int[] lastPcs;
+
+  private BasicBlocks(
+      final long[] fixedGasCosts,
+      final long[] starts,
+      final long[] gasCosts,
+      final int[] lastPcs) {
+    this.fixedGasCosts = fixedGasCosts;
+    this.starts = starts;
+    this.gasCosts = gasCosts;
+    this.lastPcs = lastPcs;
+    this.ranks = new int[starts.length];
+    int rank = 0;
+    for (int i = 0; i < starts.length; i++) {
+      ranks[i] = rank;
+      rank += Long.bitCount(starts[i]);
+    }
+  }
+
+  /**
+   * Analyses the basic blocks of legacy code.
+   *
+   * @param code the code
+   * @param fixedGasCosts the fixed gas cost of each opcode, or a negative value for the opcodes
+   *     whose gas cost depends on the state of the frame
+   * @return the basic blocks of the code
+   */
+  public static BasicBlocks analyse(final byte[] code, final long[] fixedGasCosts) {
+    final long[] starts = new long[(code.length >> 6) + 1];
+    long[] gasCosts = new long[16];
+    int[] lastPcs = new int[16];
+    int blocks = 0;
+
+    int blockStart = -1;
+    int blockOperations = 0;
+    long blockGasCost = 0;
+    int blockLastPc = -1;
+    for (int pc = 0; pc <= code.length; ) {
+      final int opcode = pc < code.length ? code[pc] & 0xff : -1;
+      final long gasCost = opcode < 0 ? -1 : fixedGasCosts[opcode];
+      if (blockStart >= 0
+          && (gasCost < 0 || opcode == JumpDestOperation.OPCODE || endsBlock(code[blockLastPc]))) {
+        if (blockOperations > 1) {
+          if (blocks == gasCosts.length) {
+            gasCosts = Arrays.copyOf(gasCosts, blocks * 2);
+            lastPcs = Arrays.copyOf(lastPcs, blocks * 2);
+          }
+          starts[blockStart >>> 6] |= 1L << (blockStart & 0x3F);
+          gasCosts[blocks] = blockGasCost;
+          lastPcs[blocks] = blockLastPc;
+          blocks++;
+        }
+        blockStart = -1;
+      }
+      if (opcode < 0) {
+        break;
+      }
+      if (gasCost >= 0) {
+        if (blockStart < 0) {
+          blockStart = pc;
+          blockOperations = 0;
+          blockGasCost = 0;
+        }
+        blockOperations++;
+        blockGasCost += gasCost;
+        blockLastPc = pc;
+      }
+      pc += opcode >= PUSH1 && opcode <= PUSH32 ? opcode - PUSH1 + 2 : 1;
+    }
+    return new BasicBlocks(
+        fixedGasCosts, starts, Arrays.copyOf(gasCosts, blocks), Arrays.copyOf(lastPcs, blocks));
+  }
+
+  private static boolean endsBlock(final byte opcode) {
+    return switch (opcode & 0xff) {
+      case STOP,
+          JUMP,
+          JUMPI,
+          RelativeJumpOperation.OPCODE,
+          RelativeJumpIfOperation.OPCODE,
+          RelativeJumpVectorOperation.OPCODE -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Whether this analysis was made with the given fixed gas costs.
+   *
+   * @param fixedGasCosts the fixed gas cost of each opcode
+   * @return true if the blocks and their gas costs apply to these fixed gas costs
+   */
+  public boolean isAnalysedFor(final long[] fixedGasCosts) {
+    return this.fixedGasCosts == fixedGasCosts || Arrays.equals(this.fixedGasCosts, fixedGasCosts);
+  }
+
+  /**
+   * Gets the index of the block starting at a pc.
+   *
+   * @param pc the pc
+   * @return the index of the block, or -1 if no block starts at this pc
+   */
+  public int indexOf(final int pc) {
+    final int word = pc >>> 6;
+    if (pc < 0 || word >= starts.length) {
+      return -1;
+    }
+    final long bit = 1L << (pc & 0x3F);
+    final long bits = starts[word];
+    if ((bits & bit) == 0) {
+      return -1;
+    }
+    return ranks[word] + Long.bitCount(bits & (bit - 1));
+  }
+
+  /**
+   * Gets the total gas cost of the operations of a block.
+   *
+   * @param index the index of the block
+   * @return the gas cost of the block
+   */
+  public long getGasCost(final int index) {
+    return gasCosts[index];
+  }
+
+  /**
+   * Gets the pc of the last operation of a block.
+   *
+   * @param index the index of the block
+   * @return the pc of the last operation of the block
+   */
+  public int getLastPc(final int index) {
+    return lastPcs[index];
+  }
+
+  /**
+   * Gets the number of blocks.
+   *
+   * @return the number of blocks
+   */
+  public int size() {
+    return gasCosts.length;
+  }
+}
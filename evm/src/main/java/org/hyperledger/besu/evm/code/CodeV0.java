@@ -41,6 +41,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Used to cache the basic blocks of fixed gas cost operations. */
+  private BasicBlocks basicBlocks;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -115,6 +118,16 @@ public class CodeV0 implements Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  @Override
+  public BasicBlocks getBasicBlocks(final long[] fixedGasCosts) {
+    BasicBlocks blocks = basicBlocks;
+    if (blocks == null || !blocks.isAnalysedFor(fixedGasCosts)) {
+      blocks = BasicBlocks.analyse(bytes.toArrayUnsafe(), fixedGasCosts);
+      basicBlocks = blocks;
+    }
+    return blocks;
+  }
+
   @Override
   public boolean isValid() {
     return true;
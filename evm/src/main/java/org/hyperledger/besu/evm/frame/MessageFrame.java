@@ -26,6 +26,7 @@ import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.code.CodeSection;
+import org.hyperledger.besu.evm.internal.Limbs;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
 import org.hyperledger.besu.evm.internal.ReturnStack;
@@ -540,6 +541,69 @@ public class MessageFrame {
     stack.set(offset, value);
   }
 
+  /**
+   * Pushes a copy of the stack item at the specified offset onto the top of the stack, without
+   * creating {@link Bytes} for items held as limbs.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public void dupStackItem(final int offset) {
+    stack.dup(offset);
+  }
+
+  /**
+   * Exchanges the top stack item with the item at the specified offset, without creating {@link
+   * Bytes} for items held as limbs.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public void swapStackItem(final int offset) {
+    stack.swap(offset);
+  }
+
+  /**
+   * Returns the limbs backing the stack, laid out as described by {@link Limbs}. The array may be
+   * replaced when the stack grows, so it must not be held across a push.
+   *
+   * @return The limbs of the stack
+   */
+  public long[] getStackLimbs() {
+    return stack.limbs();
+  }
+
+  /**
+   * Returns the index in {@link #getStackLimbs()} of the stack item at the specified offset.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @return The index of the least significant limb of the item
+   * @throws UnderflowException if the offset is out of range
+   */
+  public int getStackItemLimbIndex(final int offset) {
+    return stack.limbIndex(offset);
+  }
+
+  /**
+   * Marks the stack item at the specified offset as holding the value written into its limbs.
+   * Must be called after writing to {@link #getStackLimbs()}.
+   *
+   * @param offset The item's position relative to the top of the stack
+   * @throws UnderflowException if the offset is out of range
+   */
+  public void setStackItemFromLimbs(final int offset) {
+    stack.limbsWritten(offset);
+  }
+
+  /**
+   * Returns scratch space for {@link Limbs} operations that need temporaries.
+   *
+   * @return The scratch space, at least {@link Limbs#SCRATCH_SIZE} longs
+   */
+  public long[] getStackScratch() {
+    return stack.scratch();
+  }
+
   /**
    * Return the current stack size.
    *
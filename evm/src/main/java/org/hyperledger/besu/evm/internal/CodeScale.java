@@ -23,6 +23,7 @@ import com.github.benmanes.caffeine.cache.Weigher;
 class CodeScale implements Weigher<Hash, Code> {
   @Override
   public int weigh(final Hash key, final Code code) {
-    return ((code.getSize() * 9 + 7) / 8) + key.size();
+    // the code, its jump destinations bitmap and about as much again for its basic blocks
+    return ((code.getSize() * 17 + 7) / 8) + key.size();
   }
 }
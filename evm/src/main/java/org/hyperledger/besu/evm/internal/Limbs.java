@@ -0,0 +1,643 @@
+/*
+ * Copyright contributors to Hyperledger Besu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+/**
+ * Static utility methods for unsigned 256-bit arithmetic on VM words held as four 64-bit limbs.
+ *
+ * <p>A word at index {@code i} of a {@code long[]} occupies {@code w[i]} (the least significant
+ * limb) through {@code w[i + 3]} (the most significant limb). All results are reduced modulo
+ * 2^256, and result indexes may alias operand indexes. Operations that need more temporary space
+ * than their result word take a scratch array of at least {@link #SCRATCH_SIZE} longs, so that no
+ * method of this class allocates.
+ */
+public final class Limbs {
+
+  /** The number of limbs in a word. */
+  public static final int WORD_LIMBS = 4;
+
+  /** The minimum size of the scratch array passed to division and exponentiation methods. */
+  public static final int SCRATCH_SIZE = 32;
+
+  // scratch layout: normalized dividend (9 limbs), normalized divisor (4 limbs), quotient (9
+  // limbs), wide dividend of ADDMOD and MULMOD (8 limbs)
+  private static final int SCRATCH_DIVIDEND = 0;
+  private static final int SCRATCH_DIVISOR = 9;
+  private static final int SCRATCH_QUOTIENT = 13;
+  private static final int SCRATCH_WIDE = 22;
+
+  private Limbs() {}
+
+  /**
+   * Sets the word at index {@code r} to an unsigned long value.
+   *
+   * @param w the limbs
+   * @param r the index of the word to set
+   * @param value the value, interpreted as unsigned
+   */
+  public static void set(final long[] w, final int r, final long value) {
+    w[r] = value;
+    w[r + 1] = 0;
+    w[r + 2] = 0;
+    w[r + 3] = 0;
+  }
+
+  /**
+   * Copies a word.
+   *
+   * @param src the source limbs
+   * @param s the index of the source word
+   * @param dst the destination limbs
+   * @param d the index of the destination word
+   */
+  public static void copy(final long[] src, final int s, final long[] dst, final int d) {
+    dst[d] = src[s];
+    dst[d + 1] = src[s + 1];
+    dst[d + 2] = src[s + 2];
+    dst[d + 3] = src[s + 3];
+  }
+
+  /**
+   * Tests a word for zero.
+   *
+   * @param w the limbs
+   * @param a the index of the word
+   * @return true if every limb of the word is zero
+   */
+  public static boolean isZero(final long[] w, final int a) {
+    return (w[a] | w[a + 1] | w[a + 2] | w[a + 3]) == 0;
+  }
+
+  /**
+   * Tests whether a word is at least a given unsigned long. Used to detect out of range shift
+   * amounts.
+   *
+   * @param w the limbs
+   * @param a the index of the word
+   * @param limit the bound, interpreted as unsigned
+   * @return true if the unsigned value of the word is greater than or equal to {@code limit}
+   */
+  public static boolean isAtLeast(final long[] w, final int a, final long limit) {
+    return (w[a + 1] | w[a + 2] | w[a + 3]) != 0 || Long.compareUnsigned(w[a], limit) >= 0;
+  }
+
+  /**
+   * Compares two words as unsigned integers.
+   *
+   * @param w the limbs
+   * @param a the index of the first word
+   * @param b the index of the second word
+   * @return a negative value, zero or a positive value as the first word is less than, equal to or
+   *     greater than the second word
+   */
+  public static int compareUnsigned(final long[] w, final int a, final int b) {
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      final int c = Long.compareUnsigned(w[a + i], w[b + i]);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Compares two words as two's complement signed integers.
+   *
+   * @param w the limbs
+   * @param a the index of the first word
+   * @param b the index of the second word
+   * @return a negative value, zero or a positive value as the first word is less than, equal to or
+   *     greater than the second word
+   */
+  public static int compareSigned(final long[] w, final int a, final int b) {
+    final int c = Long.compare(w[a + 3], w[b + 3]);
+    if (c != 0) {
+      return c;
+    }
+    for (int i = 2; i >= 0; i--) {
+      final int cl = Long.compareUnsigned(w[a + i], w[b + i]);
+      if (cl != 0) {
+        return cl;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * The number of significant bits of a word, zero for the zero word.
+   *
+   * @param w the limbs
+   * @param a the index of the word
+   * @return the bit length of the unsigned value of the word
+   */
+  public static int bitLength(final long[] w, final int a) {
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      if (w[a + i] != 0) {
+        return i * 64 + 64 - Long.numberOfLeadingZeros(w[a + i]);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Adds two words.
+   *
+   * @param w the limbs
+   * @param a the index of the first addend
+   * @param b the index of the second addend
+   * @param r the index of the sum
+   */
+  public static void add(final long[] w, final int a, final int b, final int r) {
+    long carry = 0;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long x = w[a + i];
+      final long y = w[b + i];
+      final long sum = x + y + carry;
+      carry = ((x & y) | ((x | y) & ~sum)) >>> 63;
+      w[r + i] = sum;
+    }
+  }
+
+  /**
+   * Subtracts two words.
+   *
+   * @param w the limbs
+   * @param a the index of the minuend
+   * @param b the index of the subtrahend
+   * @param r the index of the difference
+   */
+  public static void subtract(final long[] w, final int a, final int b, final int r) {
+    long borrow = 0;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long x = w[a + i];
+      final long y = w[b + i];
+      final long diff = x - y - borrow;
+      borrow = ((~x & y) | (~(x ^ y) & diff)) >>> 63;
+      w[r + i] = diff;
+    }
+  }
+
+  /**
+   * Multiplies two words, keeping the low 256 bits of the product.
+   *
+   * @param w the limbs
+   * @param a the index of the multiplicand
+   * @param b the index of the multiplier
+   * @param r the index of the product
+   */
+  public static void multiply(final long[] w, final int a, final int b, final int r) {
+    final long a0 = w[a];
+    final long a1 = w[a + 1];
+    final long a2 = w[a + 2];
+    final long a3 = w[a + 3];
+    final long b0 = w[b];
+    final long b1 = w[b + 1];
+    final long b2 = w[b + 2];
+    final long b3 = w[b + 3];
+
+    // row a0
+    final long r0 = a0 * b0;
+    long carry = multiplyHighUnsigned(a0, b0);
+    long r1 = a0 * b1 + carry;
+    carry = multiplyHighUnsigned(a0, b1) + (Long.compareUnsigned(r1, carry) < 0 ? 1 : 0);
+    long r2 = a0 * b2 + carry;
+    carry = multiplyHighUnsigned(a0, b2) + (Long.compareUnsigned(r2, carry) < 0 ? 1 : 0);
+    long r3 = a0 * b3 + carry;
+
+    // row a1
+    long lo = a1 * b0;
+    long hi = multiplyHighUnsigned(a1, b0);
+    r1 += lo;
+    hi += Long.compareUnsigned(r1, lo) < 0 ? 1 : 0;
+    lo = a1 * b1 + hi;
+    hi = multiplyHighUnsigned(a1, b1) + (Long.compareUnsigned(lo, hi) < 0 ? 1 : 0);
+    r2 += lo;
+    hi += Long.compareUnsigned(r2, lo) < 0 ? 1 : 0;
+    r3 += a1 * b2 + hi;
+
+    // row a2
+    lo = a2 * b0;
+    hi = multiplyHighUnsigned(a2, b0);
+    r2 += lo;
+    hi += Long.compareUnsigned(r2, lo) < 0 ? 1 : 0;
+    r3 += a2 * b1 + hi;
+
+    // row a3
+    r3 += a3 * b0;
+
+    w[r] = r0;
+    w[r + 1] = r1;
+    w[r + 2] = r2;
+    w[r + 3] = r3;
+  }
+
+  /**
+   * Divides two unsigned words. Division by zero yields zero, as the EVM specifies.
+   *
+   * @param w the limbs
+   * @param a the index of the dividend
+   * @param b the index of the divisor
+   * @param r the index of the quotient
+   * @param scratch scratch space of at least {@link #SCRATCH_SIZE} longs
+   */
+  public static void divide(
+      final long[] w, final int a, final int b, final int r, final long[] scratch) {
+    if (isZero(w, b)) {
+      set(w, r, 0);
+    } else {
+      divide(w, a, WORD_LIMBS, w, b, w, r, scratch, false);
+    }
+  }
+
+  /**
+   * Computes the unsigned remainder of two words. A zero modulus yields zero, as the EVM
+   * specifies.
+   *
+   * @param w the limbs
+   * @param a the index of the dividend
+   * @param b the index of the modulus
+   * @param r the index of the remainder
+   * @param scratch scratch space of at least {@link #SCRATCH_SIZE} longs
+   */
+  public static void mod(
+      final long[] w, final int a, final int b, final int r, final long[] scratch) {
+    if (isZero(w, b)) {
+      set(w, r, 0);
+    } else {
+      divide(w, a, WORD_LIMBS, w, b, w, r, scratch, true);
+    }
+  }
+
+  /**
+   * Computes {@code (a + b) mod m} without truncating the intermediate sum. A zero modulus yields
+   * zero.
+   *
+   * @param w the limbs
+   * @param a the index of the first addend
+   * @param b the index of the second addend
+   * @param m the index of the modulus
+   * @param r the index of the result
+   * @param scratch scratch space of at least {@link #SCRATCH_SIZE} longs
+   */
+  public static void addMod(
+      final long[] w, final int a, final int b, final int m, final int r, final long[] scratch) {
+    if (isZero(w, m)) {
+      set(w, r, 0);
+      return;
+    }
+    final int sum = SCRATCH_WIDE;
+    long carry = 0;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long x = w[a + i];
+      final long y = w[b + i];
+      final long s = x + y + carry;
+      carry = ((x & y) | ((x | y) & ~s)) >>> 63;
+      scratch[sum + i] = s;
+    }
+    scratch[sum + WORD_LIMBS] = carry;
+    divide(scratch, sum, WORD_LIMBS + 1, w, m, w, r, scratch, true);
+  }
+
+  /**
+   * Computes {@code (a * b) mod m} over the full 512-bit product. A zero modulus yields zero.
+   *
+   * @param w the limbs
+   * @param a the index of the multiplicand
+   * @param b the index of the multiplier
+   * @param m the index of the modulus
+   * @param r the index of the result
+   * @param scratch scratch space of at least {@link #SCRATCH_SIZE} longs
+   */
+  public static void mulMod(
+      final long[] w, final int a, final int b, final int m, final int r, final long[] scratch) {
+    if (isZero(w, m)) {
+      set(w, r, 0);
+      return;
+    }
+    final int product = SCRATCH_WIDE;
+    for (int i = 0; i < 2 * WORD_LIMBS; i++) {
+      scratch[product + i] = 0;
+    }
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long x = w[a + i];
+      long carry = 0;
+      for (int j = 0; j < WORD_LIMBS; j++) {
+        final long y = w[b + j];
+        long lo = x * y;
+        long hi = multiplyHighUnsigned(x, y);
+        lo += carry;
+        hi += Long.compareUnsigned(lo, carry) < 0 ? 1 : 0;
+        final long t = scratch[product + i + j] + lo;
+        hi += Long.compareUnsigned(t, lo) < 0 ? 1 : 0;
+        scratch[product + i + j] = t;
+        carry = hi;
+      }
+      scratch[product + i + WORD_LIMBS] = carry;
+    }
+    divide(scratch, product, 2 * WORD_LIMBS, w, m, w, r, scratch, true);
+  }
+
+  /**
+   * Raises a word to the power of another word, modulo 2^256.
+   *
+   * @param w the limbs
+   * @param base the index of the base
+   * @param exponent the index of the exponent
+   * @param r the index of the result
+   * @param scratch scratch space of at least {@link #SCRATCH_SIZE} longs
+   */
+  public static void exp(
+      final long[] w, final int base, final int exponent, final int r, final long[] scratch) {
+    final int b = 0;
+    final int acc = WORD_LIMBS;
+    final int e = 2 * WORD_LIMBS;
+    copy(w, base, scratch, b);
+    copy(w, exponent, scratch, e);
+    set(scratch, acc, 1);
+    final int bits = bitLength(scratch, e);
+    for (int i = 0; i < bits; i++) {
+      if ((scratch[e + (i >>> 6)] & (1L << (i & 63))) != 0) {
+        multiply(scratch, acc, b, acc);
+      }
+      if (i + 1 < bits) {
+        multiply(scratch, b, b, b);
+      }
+    }
+    copy(scratch, acc, w, r);
+  }
+
+  /**
+   * Shifts a word left, filling with zeros.
+   *
+   * @param w the limbs
+   * @param a the index of the word to shift
+   * @param shift the shift amount, between 0 and 255 inclusive
+   * @param r the index of the result
+   */
+  public static void shiftLeft(final long[] w, final int a, final int shift, final int r) {
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    // descending, so an aliased result never overwrites a limb that is still to be read
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      final int src = i - limbShift;
+      final long hi = src >= 0 ? w[a + src] : 0;
+      final long lo = src >= 1 ? w[a + src - 1] : 0;
+      w[r + i] = bitShift == 0 ? hi : (hi << bitShift) | (lo >>> (64 - bitShift));
+    }
+  }
+
+  /**
+   * Shifts a word right, filling with zeros.
+   *
+   * @param w the limbs
+   * @param a the index of the word to shift
+   * @param shift the shift amount, between 0 and 255 inclusive
+   * @param r the index of the result
+   */
+  public static void shiftRight(final long[] w, final int a, final int shift, final int r) {
+    shiftRight(w, a, shift, r, 0);
+  }
+
+  /**
+   * Shifts a word right, filling with its sign bit.
+   *
+   * @param w the limbs
+   * @param a the index of the word to shift
+   * @param shift the shift amount, between 0 and 255 inclusive
+   * @param r the index of the result
+   */
+  public static void shiftRightArithmetic(
+      final long[] w, final int a, final int shift, final int r) {
+    shiftRight(w, a, shift, r, w[a + 3] >> 63);
+  }
+
+  private static void shiftRight(
+      final long[] w, final int a, final int shift, final int r, final long fill) {
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    // ascending, so an aliased result never overwrites a limb that is still to be read
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final int src = i + limbShift;
+      final long lo = src < WORD_LIMBS ? w[a + src] : fill;
+      final long hi = src + 1 < WORD_LIMBS ? w[a + src + 1] : fill;
+      w[r + i] = bitShift == 0 ? lo : (lo >>> bitShift) | (hi << (64 - bitShift));
+    }
+  }
+
+  /**
+   * The high 64 bits of the unsigned 128-bit product of two longs.
+   *
+   * @param x the multiplicand
+   * @param y the multiplier
+   * @return the high half of {@code x * y}, treating both as unsigned
+   */
+  public static long multiplyHighUnsigned(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  /**
+   * Divides the unsigned 128-bit value {@code u1:u0} by {@code v}. The high half must be less than
+   * the divisor, so the quotient fits in 64 bits (Hacker's Delight, divlu).
+   *
+   * @param u1 the high half of the dividend
+   * @param u0 the low half of the dividend
+   * @param v the divisor
+   * @return the quotient
+   */
+  public static long divideUnsigned128(final long u1, final long u0, final long v) {
+    final long base = 1L << 32;
+    final int s = Long.numberOfLeadingZeros(v);
+    final long vs = v << s;
+    final long vn1 = vs >>> 32;
+    final long vn0 = vs & 0xFFFFFFFFL;
+    final long un32 = (u1 << s) | ((u0 >>> 1) >>> (63 - s));
+    final long un10 = u0 << s;
+    final long un1 = un10 >>> 32;
+    final long un0 = un10 & 0xFFFFFFFFL;
+
+    long q1 = Long.divideUnsigned(un32, vn1);
+    long rhat = un32 - q1 * vn1;
+    while (Long.compareUnsigned(q1, base) >= 0
+        || Long.compareUnsigned(q1 * vn0, (rhat << 32) | un1) > 0) {
+      q1--;
+      rhat += vn1;
+      if (Long.compareUnsigned(rhat, base) >= 0) {
+        break;
+      }
+    }
+
+    final long un21 = (un32 << 32) + un1 - q1 * vs;
+    long q0 = Long.divideUnsigned(un21, vn1);
+    rhat = un21 - q0 * vn1;
+    while (Long.compareUnsigned(q0, base) >= 0
+        || Long.compareUnsigned(q0 * vn0, (rhat << 32) | un0) > 0) {
+      q0--;
+      rhat += vn1;
+      if (Long.compareUnsigned(rhat, base) >= 0) {
+        break;
+      }
+    }
+    return (q1 << 32) | q0;
+  }
+
+  /**
+   * Divides a {@code uLen} limb dividend by a non-zero word divisor (Knuth, TAOCP vol. 2, 4.3.1,
+   * algorithm D), writing either the low 256 bits of the quotient or the remainder. The result is
+   * only written once both operands have been read, so it may alias either of them.
+   */
+  private static void divide(
+      final long[] u,
+      final int ui,
+      final int uLen,
+      final long[] v,
+      final int vi,
+      final long[] r,
+      final int ri,
+      final long[] scratch,
+      final boolean remainder) {
+    int n = WORD_LIMBS;
+    while (v[vi + n - 1] == 0) {
+      n--;
+    }
+    int m = uLen;
+    while (m > 0 && u[ui + m - 1] == 0) {
+      m--;
+    }
+
+    if (m < n) {
+      // dividend is smaller than the divisor
+      if (remainder) {
+        for (int i = 0; i < WORD_LIMBS; i++) {
+          r[ri + i] = i < m ? u[ui + i] : 0;
+        }
+      } else {
+        set(r, ri, 0);
+      }
+      return;
+    }
+
+    final int q = SCRATCH_QUOTIENT;
+    if (n == 1) {
+      final long d = v[vi];
+      long rem = 0;
+      for (int i = m - 1; i >= 0; i--) {
+        final long qi = divideUnsigned128(rem, u[ui + i], d);
+        rem = u[ui + i] - qi * d;
+        scratch[q + i] = qi;
+      }
+      if (remainder) {
+        set(r, ri, rem);
+      } else {
+        for (int i = 0; i < WORD_LIMBS; i++) {
+          r[ri + i] = i < m ? scratch[q + i] : 0;
+        }
+      }
+      return;
+    }
+
+    // normalize so the top limb of the divisor has its high bit set
+    final int un = SCRATCH_DIVIDEND;
+    final int vn = SCRATCH_DIVISOR;
+    final int s = Long.numberOfLeadingZeros(v[vi + n - 1]);
+    for (int i = n - 1; i > 0; i--) {
+      scratch[vn + i] = (v[vi + i] << s) | ((v[vi + i - 1] >>> 1) >>> (63 - s));
+    }
+    scratch[vn] = v[vi] << s;
+    scratch[un + m] = (u[ui + m - 1] >>> 1) >>> (63 - s);
+    for (int i = m - 1; i > 0; i--) {
+      scratch[un + i] = (u[ui + i] << s) | ((u[ui + i - 1] >>> 1) >>> (63 - s));
+    }
+    scratch[un] = u[ui] << s;
+
+    final long vTop = scratch[vn + n - 1];
+    final long vNext = scratch[vn + n - 2];
+    for (int j = m - n; j >= 0; j--) {
+      final long ujn = scratch[un + j + n];
+      final long ujn1 = scratch[un + j + n - 1];
+      final long ujn2 = scratch[un + j + n - 2];
+
+      // estimate the quotient limb, which is at most two too large
+      long qhat;
+      long rhat;
+      boolean rhatOverflow;
+      if (Long.compareUnsigned(ujn, vTop) >= 0) {
+        qhat = -1L;
+        rhat = ujn1 + vTop;
+        rhatOverflow = Long.compareUnsigned(rhat, vTop) < 0;
+      } else {
+        qhat = divideUnsigned128(ujn, ujn1, vTop);
+        rhat = ujn1 - qhat * vTop;
+        rhatOverflow = false;
+      }
+      while (!rhatOverflow) {
+        final long pHi = multiplyHighUnsigned(qhat, vNext);
+        final int c = Long.compareUnsigned(pHi, rhat);
+        if (c < 0 || (c == 0 && Long.compareUnsigned(qhat * vNext, ujn2) <= 0)) {
+          break;
+        }
+        qhat--;
+        final long previous = rhat;
+        rhat += vTop;
+        rhatOverflow = Long.compareUnsigned(rhat, previous) < 0;
+      }
+
+      // multiply and subtract
+      long carry = 0;
+      long borrow = 0;
+      for (int i = 0; i < n; i++) {
+        final long y = scratch[vn + i];
+        long pLo = qhat * y;
+        long pHi = multiplyHighUnsigned(qhat, y);
+        pLo += carry;
+        pHi += Long.compareUnsigned(pLo, carry) < 0 ? 1 : 0;
+        carry = pHi;
+        final long x = scratch[un + i + j];
+        final long diff = x - pLo - borrow;
+        borrow = ((~x & pLo) | (~(x ^ pLo) & diff)) >>> 63;
+        scratch[un + i + j] = diff;
+      }
+      final long x = scratch[un + j + n];
+      final long diff = x - carry - borrow;
+      borrow = ((~x & carry) | (~(x ^ carry) & diff)) >>> 63;
+      scratch[un + j + n] = diff;
+
+      // add back if the estimate was one too large
+      if (borrow != 0) {
+        qhat--;
+        long c = 0;
+        for (int i = 0; i < n; i++) {
+          final long xi = scratch[un + i + j];
+          final long yi = scratch[vn + i];
+          final long sum = xi + yi + c;
+          c = ((xi & yi) | ((xi | yi) & ~sum)) >>> 63;
+          scratch[un + i + j] = sum;
+        }
+        scratch[un + j + n] += c;
+      }
+      scratch[q + j] = qhat;
+    }
+
+    if (remainder) {
+      for (int i = 0; i < WORD_LIMBS; i++) {
+        r[ri + i] =
+            i < n ? (scratch[un + i] >>> s) | ((scratch[un + i + 1] << 1) << (63 - s)) : 0;
+      }
+    } else {
+      for (int i = 0; i < WORD_LIMBS; i++) {
+        r[ri + i] = i <= m - n ? scratch[q + i] : 0;
+      }
+    }
+  }
+}
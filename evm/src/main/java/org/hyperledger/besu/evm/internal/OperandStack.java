@@ -16,10 +16,39 @@
 
 package org.hyperledger.besu.evm.internal;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.evm.internal.Limbs.WORD_LIMBS;
+
+import java.util.Arrays;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The Operand stack. The stack grows 32 entries at a time if it expands past the top of the
+ * allocated stack, up to maxSize.
+ *
+ * <p>Every slot can hold its value as {@link Bytes}, as four 64-bit limbs (see {@link Limbs}), or
+ * both. Operations working on {@code Bytes} see the same stack as before, while arithmetic
+ * operations read and write limbs in place, so chains of arithmetic never allocate. A slot written
+ * as limbs is only converted to {@code Bytes} when something asks for it as {@code Bytes}, and the
+ * conversion is kept for later reads.
+ */
+public class OperandStack {
+
+  private static final int INCREMENT = 32;
+
+  // the value of a slot as bytes, or null if only the limbs are known
+  private Bytes[] items;
+  // the value of a slot as limbs, only meaningful if limbsValid is set for the slot
+  private long[] limbs;
+  private boolean[] limbsValid;
+  private long[] scratch;
+
+  private final int maxSize;
+  private int currentCapacity;
 
-/** The Operand stack. */
-public class OperandStack extends FlexStack<Bytes> {
+  private int top;
 
   /**
    * Instantiates a new Operand stack.
@@ -27,6 +56,363 @@ public class OperandStack extends FlexStack<Bytes> {
    * @param maxSize the max size
    */
   public OperandStack(final int maxSize) {
-    super(maxSize, Bytes.class);
+    checkArgument(maxSize > 0, "max size must be positive");
+
+    this.currentCapacity = Math.min(INCREMENT, maxSize);
+    this.items = new Bytes[currentCapacity];
+    this.limbs = new long[currentCapacity * WORD_LIMBS];
+    this.limbsValid = new boolean[currentCapacity];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset
+   * @return the operand
+   */
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return bytesAt(top - offset);
+  }
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   */
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    final Bytes removed = bytesAt(top);
+    items[top--] = null;
+    return removed;
+  }
+
+  /**
+   * Peek and return the top operand.
+   *
+   * @return the top operand, or null if the stack is empty
+   */
+  public Bytes peek() {
+    if (top < 0) {
+      return null;
+    } else {
+      return bytesAt(top);
+    }
+  }
+
+  /**
+   * Pops the specified number of operands from the stack.
+   *
+   * @param items the number of operands to pop off the stack
+   * @throws IllegalArgumentException if the items to pop is negative.
+   * @throws UnderflowException when the items to pop is greater than {@link #size()}
+   */
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+
+    Arrays.fill(this.items, top - items + 1, top + 1, null);
+    top -= items;
+  }
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep itemsToKeep Number of items on top to place at the cutPoint
+   * @throws IllegalArgumentException if the cutPoint or items to keep is negative.
+   * @throws UnderflowException If there are less than itemsToKeep above the cutPoint
+   */
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      int targetSize = cutPoint + itemsToKeep;
+      int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        final int from = currentSize - itemsToKeep;
+        System.arraycopy(items, from, items, cutPoint, itemsToKeep);
+        System.arraycopy(limbsValid, from, limbsValid, cutPoint, itemsToKeep);
+        System.arraycopy(
+            limbs, from * WORD_LIMBS, limbs, cutPoint * WORD_LIMBS, itemsToKeep * WORD_LIMBS);
+        Arrays.fill(items, targetSize, currentSize, null);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  private void expandEntries(final int nextSize) {
+    items = Arrays.copyOf(items, nextSize);
+    limbs = Arrays.copyOf(limbs, nextSize * WORD_LIMBS);
+    limbsValid = Arrays.copyOf(limbsValid, nextSize);
+    currentCapacity = nextSize;
+  }
+
+  private int nextTop() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    if (nextTop >= currentCapacity) {
+      expandEntries(Math.min(currentCapacity + INCREMENT, maxSize));
+    }
+    return nextTop;
+  }
+
+  /**
+   * Push operand.
+   *
+   * @param operand the operand
+   */
+  public void push(final Bytes operand) {
+    final int nextTop = nextTop();
+    items[nextTop] = operand;
+    limbsValid[nextTop] = false;
+    top = nextTop;
+  }
+
+  /**
+   * Set operand.
+   *
+   * @param offset the offset
+   * @param operand the operand
+   */
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+
+    final int index = top - offset;
+    items[index] = operand;
+    limbsValid[index] = false;
+  }
+
+  /**
+   * Pushes a copy of the operand at the given offset, without converting between representations.
+   *
+   * @param offset the offset of the operand to copy
+   */
+  public void dup(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    final int source = top - offset;
+    final int nextTop = nextTop();
+    items[nextTop] = items[source];
+    if (limbsValid[source]) {
+      Limbs.copy(limbs, source * WORD_LIMBS, limbs, nextTop * WORD_LIMBS);
+      limbsValid[nextTop] = true;
+    } else {
+      limbsValid[nextTop] = false;
+    }
+    top = nextTop;
+  }
+
+  /**
+   * Exchanges the top operand with the operand at the given offset, without converting between
+   * representations.
+   *
+   * @param offset the offset of the operand to exchange with the top
+   */
+  public void swap(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    final int other = top - offset;
+    final Bytes tmpItem = items[top];
+    items[top] = items[other];
+    items[other] = tmpItem;
+    final boolean tmpValid = limbsValid[top];
+    limbsValid[top] = limbsValid[other];
+    limbsValid[other] = tmpValid;
+    final int topBase = top * WORD_LIMBS;
+    final int otherBase = other * WORD_LIMBS;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long tmp = limbs[topBase + i];
+      limbs[topBase + i] = limbs[otherBase + i];
+      limbs[otherBase + i] = tmp;
+    }
+  }
+
+  /**
+   * Returns the limbs backing the stack. The array is replaced when the stack grows, so it must be
+   * fetched again after a push.
+   *
+   * @return the limbs of every slot, laid out as described by {@link Limbs}
+   */
+  public long[] limbs() {
+    return limbs;
+  }
+
+  /**
+   * Returns the index in {@link #limbs()} of the operand at the given offset, converting it from
+   * {@code Bytes} if it has not been read as limbs before.
+   *
+   * @param offset the offset
+   * @return the index of the least significant limb of the operand
+   */
+  public int limbIndex(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    final int index = top - offset;
+    final int base = index * WORD_LIMBS;
+    if (!limbsValid[index]) {
+      toLimbs(items[index], limbs, base);
+      limbsValid[index] = true;
+    }
+    return base;
+  }
+
+  /**
+   * Records that the limbs of the operand at the given offset were written in place, dropping its
+   * {@code Bytes} value.
+   *
+   * @param offset the offset
+   */
+  public void limbsWritten(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    final int index = top - offset;
+    items[index] = null;
+    limbsValid[index] = true;
+  }
+
+  /**
+   * Scratch space for limb operations that need temporaries, see {@link Limbs#SCRATCH_SIZE}.
+   *
+   * @return the scratch space
+   */
+  public long[] scratch() {
+    if (scratch == null) {
+      scratch = new long[Limbs.SCRATCH_SIZE];
+    }
+    return scratch;
+  }
+
+  private Bytes bytesAt(final int index) {
+    Bytes value = items[index];
+    if (value == null) {
+      value = toBytes(limbs, index * WORD_LIMBS);
+      items[index] = value;
+    }
+    return value;
+  }
+
+  private static void toLimbs(final Bytes value, final long[] limbs, final int base) {
+    final int size = value.size();
+    if (size == Bytes32.SIZE) {
+      limbs[base + 3] = value.getLong(0);
+      limbs[base + 2] = value.getLong(8);
+      limbs[base + 1] = value.getLong(16);
+      limbs[base] = value.getLong(24);
+    } else {
+      Limbs.set(limbs, base, 0);
+      final int start = Math.max(0, size - Bytes32.SIZE);
+      for (int i = size - 1, bit = 0; i >= start; i--, bit += 8) {
+        limbs[base + (bit >>> 6)] |= (value.get(i) & 0xFFL) << (bit & 63);
+      }
+    }
+  }
+
+  private static Bytes32 toBytes(final long[] limbs, final int base) {
+    final byte[] result = new byte[Bytes32.SIZE];
+    for (int limb = 0; limb < WORD_LIMBS; limb++) {
+      long value = limbs[base + limb];
+      for (int i = Bytes32.SIZE - 1 - limb * 8; i >= Bytes32.SIZE - 8 - limb * 8; i--) {
+        result[i] = (byte) value;
+        value >>>= 8;
+      }
+    }
+    return Bytes32.wrap(result);
+  }
+
+  /**
+   * Size of entries.
+   *
+   * @return the size
+   */
+  public int size() {
+    return top + 1;
+  }
+
+  /**
+   * Is stack full.
+   *
+   * @return the boolean
+   */
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  /**
+   * Is stack empty.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(bytesAt(i));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+
+    for (int i = 0; i <= top; i++) {
+      result = 31 * result + Bytes32.leftPad(bytesAt(i)).hashCode();
+    }
+
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof OperandStack)) {
+      return false;
+    }
+
+    final OperandStack that = (OperandStack) other;
+    if (this.top != that.top) {
+      return false;
+    }
+    for (int i = 0; i <= top; i++) {
+      if (!Bytes32.leftPad(this.bytesAt(i)).equals(Bytes32.leftPad(that.bytesAt(i)))) {
+        return false;
+      }
+    }
+    return true;
   }
 }
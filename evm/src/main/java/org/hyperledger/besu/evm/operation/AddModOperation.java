@@ -17,11 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import java.math.BigInteger;
-import java.util.Arrays;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Add mod operation. */
 public class AddModOperation extends AbstractFixedCostOperation {
@@ -50,29 +46,14 @@ public class AddModOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
+    final long[] limbs = frame.getStackLimbs();
+    final int value0 = frame.getStackItemLimbIndex(0);
+    final int value1 = frame.getStackItemLimbIndex(1);
+    final int value2 = frame.getStackItemLimbIndex(2);
+    Limbs.addMod(limbs, value0, value1, value2, value2, frame.getStackScratch());
+    frame.setStackItemFromLimbs(2);
+    frame.popStackItems(2);
 
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-    final Bytes value2 = frame.popStackItem();
-
-    if (value2.isZero()) {
-      frame.pushStackItem(FAILURE_STACK_ITEM);
-    } else {
-      BigInteger b0 = new BigInteger(1, value0.toArrayUnsafe());
-      BigInteger b1 = new BigInteger(1, value1.toArrayUnsafe());
-      BigInteger b2 = new BigInteger(1, value2.toArrayUnsafe());
-
-      BigInteger result = b0.add(b1).mod(b2);
-      Bytes resultBytes = Bytes.wrap(result.toByteArray());
-      if (resultBytes.size() > 32) {
-        resultBytes = resultBytes.slice(resultBytes.size() - 32, 32);
-      }
-
-      final byte[] padding = new byte[32 - resultBytes.size()];
-      Arrays.fill(padding, result.signum() < 0 ? (byte) 0xFF : 0x00);
-
-      frame.pushStackItem(Bytes.concatenate(Bytes.wrap(padding), resultBytes));
-    }
     return addModSuccess;
   }
 }
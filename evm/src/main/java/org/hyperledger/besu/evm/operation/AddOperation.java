@@ -17,10 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import java.math.BigInteger;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Add operation. */
 public class AddOperation extends AbstractFixedCostOperation {
@@ -50,18 +47,12 @@ public class AddOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final BigInteger value0 = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
-    final BigInteger value1 = new BigInteger(1, frame.popStackItem().toArrayUnsafe());
-
-    final BigInteger result = value0.add(value1);
-
-    byte[] resultArray = result.toByteArray();
-    int length = resultArray.length;
-    if (length > 32) {
-      frame.pushStackItem(Bytes.wrap(resultArray, length - 32, 32));
-    } else {
-      frame.pushStackItem(Bytes.wrap(resultArray));
-    }
+    final long[] limbs = frame.getStackLimbs();
+    final int value0 = frame.getStackItemLimbIndex(0);
+    final int value1 = frame.getStackItemLimbIndex(1);
+    Limbs.add(limbs, value0, value1, value1);
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
 
     return addSuccess;
   }
@@ -17,10 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import java.math.BigInteger;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Div operation. */
 public class DivOperation extends AbstractFixedCostOperation {
@@ -50,27 +47,12 @@ public class DivOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-
-    if (value1.isZero()) {
-      frame.pushStackItem(Bytes.EMPTY);
-    } else {
-      BigInteger b1 = new BigInteger(1, value0.toArrayUnsafe());
-      BigInteger b2 = new BigInteger(1, value1.toArrayUnsafe());
-      final BigInteger result = b1.divide(b2);
-
-      // because it's unsigned there is a change a 33 byte result will occur
-      // there is no toByteArrayUnsigned so we have to check and trim
-      byte[] resultArray = result.toByteArray();
-      int length = resultArray.length;
-      if (length > 32) {
-        frame.pushStackItem(Bytes.wrap(resultArray, length - 32, 32));
-      } else {
-        frame.pushStackItem(Bytes.wrap(resultArray));
-      }
-    }
+    final long[] limbs = frame.getStackLimbs();
+    final int value0 = frame.getStackItemLimbIndex(0);
+    final int value1 = frame.getStackItemLimbIndex(1);
+    Limbs.divide(limbs, value0, value1, value1, frame.getStackScratch());
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
 
     return divSuccess;
   }
@@ -17,9 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Eq operation. */
 public class EqOperation extends AbstractFixedCostOperation {
@@ -49,12 +47,12 @@ public class EqOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes value0 = frame.popStackItem().trimLeadingZeros();
-    final Bytes value1 = frame.popStackItem().trimLeadingZeros();
-
-    final Bytes result = (value0.equals(value1) ? UInt256.ONE : UInt256.ZERO);
-
-    frame.pushStackItem(result);
+    final long[] limbs = frame.getStackLimbs();
+    final int value0 = frame.getStackItemLimbIndex(0);
+    final int value1 = frame.getStackItemLimbIndex(1);
+    Limbs.set(limbs, value1, Limbs.compareUnsigned(limbs, value0, value1) == 0 ? 1 : 0);
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
 
     return eqSuccess;
   }
@@ -18,16 +18,11 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import java.math.BigInteger;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Exp operation. */
 public class ExpOperation extends AbstractOperation {
 
-  static final BigInteger MOD_BASE = BigInteger.TWO.pow(256);
-
   /**
    * Instantiates a new Exp operation.
    *
@@ -51,30 +46,21 @@ public class ExpOperation extends AbstractOperation {
    */
   public static OperationResult staticOperation(
       final MessageFrame frame, final GasCalculator gasCalculator) {
-    final Bytes number = frame.popStackItem();
-    final Bytes power = frame.popStackItem();
+    final long[] limbs = frame.getStackLimbs();
+    final int number = frame.getStackItemLimbIndex(0);
+    final int power = frame.getStackItemLimbIndex(1);
 
-    final int numBytes = (power.bitLength() + 7) / 8;
+    final int numBytes = (Limbs.bitLength(limbs, power) + 7) / 8;
 
     final long cost = gasCalculator.expOperationGasCost(numBytes);
     if (frame.getRemainingGas() < cost) {
+      frame.popStackItems(2);
       return new OperationResult(cost, ExceptionalHaltReason.INSUFFICIENT_GAS);
     }
 
-    byte[] numberBytes = number.toArrayUnsafe();
-    BigInteger numBI = numberBytes.length > 0 ? new BigInteger(1, numberBytes) : BigInteger.ZERO;
-    byte[] powBytes = power.toArrayUnsafe();
-    BigInteger powBI = powBytes.length > 0 ? new BigInteger(1, powBytes) : BigInteger.ZERO;
-
-    final BigInteger result = numBI.modPow(powBI, MOD_BASE);
-
-    byte[] resultArray = result.toByteArray();
-    int length = resultArray.length;
-    if (length > 32) {
-      frame.pushStackItem(Bytes.wrap(resultArray, length - 32, 32));
-    } else {
-      frame.pushStackItem(Bytes.wrap(resultArray));
-    }
+    Limbs.exp(limbs, number, power, power, frame.getStackScratch());
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
     return new OperationResult(cost, null);
   }
 }
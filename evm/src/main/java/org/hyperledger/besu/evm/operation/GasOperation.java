@@ -33,6 +33,12 @@ public class GasOperation extends AbstractFixedCostOperation {
     super(0x5A, "GAS", 0, 1, gasCalculator, gasCalculator.getBaseTierGasCost());
   }
 
+  @Override
+  public long getFixedGasCost() {
+    // the remaining gas it reads must account for the gas of the operations before it
+    return -1;
+  }
+
   @Override
   public Operation.OperationResult executeFixedCostOperation(
       final MessageFrame frame, final EVM evm) {
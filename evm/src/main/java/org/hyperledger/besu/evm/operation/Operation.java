@@ -134,4 +134,14 @@ public interface Operation {
   default boolean isVirtualOperation() {
     return false;
   }
+
+  /**
+   * Gets the gas cost of the operation when it does not depend on the state of the frame, which
+   * allows the {@link EVM} to charge the gas of consecutive operations at once.
+   *
+   * @return the fixed gas cost, or -1 if the cost of the operation varies
+   */
+  default long getFixedGasCost() {
+    return -1;
+  }
 }
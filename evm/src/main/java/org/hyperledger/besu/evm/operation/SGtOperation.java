@@ -17,10 +17,7 @@ package org.hyperledger.besu.evm.operation;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import java.math.BigInteger;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The SGt operation. */
 public class SGtOperation extends AbstractFixedCostOperation {
@@ -50,21 +47,12 @@ public class SGtOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    final Bytes value0 = frame.popStackItem();
-    final Bytes value1 = frame.popStackItem();
-
-    final BigInteger b0 =
-        value0.size() < 32
-            ? new BigInteger(1, value0.toArrayUnsafe())
-            : new BigInteger(value0.toArrayUnsafe());
-    final BigInteger b1 =
-        value1.size() < 32
-            ? new BigInteger(1, value1.toArrayUnsafe())
-            : new BigInteger(value1.toArrayUnsafe());
-
-    final Bytes result = b0.compareTo(b1) > 0 ? BYTES_ONE : Bytes.EMPTY;
-
-    frame.pushStackItem(result);
+    final long[] limbs = frame.getStackLimbs();
+    final int value0 = frame.getStackItemLimbIndex(0);
+    final int value1 = frame.getStackItemLimbIndex(1);
+    Limbs.set(limbs, value1, Limbs.compareSigned(limbs, value0, value1) > 0 ? 1 : 0);
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
 
     return sgtSuccess;
   }
@@ -14,13 +14,10 @@
  */
 package org.hyperledger.besu.evm.operation;
 
-import static org.apache.tuweni.bytes.Bytes32.leftPad;
-
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
-
-import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.evm.internal.Limbs;
 
 /** The Shl (Shift Left) operation. */
 public class ShlOperation extends AbstractFixedCostOperation {
@@ -50,20 +47,17 @@ public class ShlOperation extends AbstractFixedCostOperation {
    * @return the operation result
    */
   public static OperationResult staticOperation(final MessageFrame frame) {
-    Bytes shiftAmount = frame.popStackItem();
-    if (shiftAmount.size() > 4 && (shiftAmount = shiftAmount.trimLeadingZeros()).size() > 4) {
-      frame.popStackItem();
-      frame.pushStackItem(Bytes.EMPTY);
+    final long[] limbs = frame.getStackLimbs();
+    final int shiftAmount = frame.getStackItemLimbIndex(0);
+    final int value = frame.getStackItemLimbIndex(1);
+    if (Limbs.isAtLeast(limbs, shiftAmount, 256)) {
+      Limbs.set(limbs, value, 0);
     } else {
-      final int shiftAmountInt = shiftAmount.toInt();
-      final Bytes value = leftPad(frame.popStackItem());
-
-      if (shiftAmountInt >= 256 || shiftAmountInt < 0) {
-        frame.pushStackItem(Bytes.EMPTY);
-      } else {
-        frame.pushStackItem(value.shiftLeft(shiftAmountInt));
-      }
+      Limbs.shiftLeft(limbs, value, (int) limbs[shiftAmount], value);
     }
+    frame.setStackItemFromLimbs(1);
+    frame.popStackItems(1);
+
     return shlSuccess;
   }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.fluent.SimpleBlockValues;
+import org.hyperledger.besu.evm.fluent.SimpleWorld;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class BasicBlocksTest {
+
+  // PUSH1 10, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 0, MSTORE, DUP1, PUSH1 2, JUMPI, STOP
+  private static final Bytes LOOP = Bytes.fromHexString("0x600a5b60019003806000528060025700");
+
+  // PUSH1 2, JUMPDEST, PUSH1 1, SWAP1, SUB, PUSH1 0, PUSH1 0, POP, POP, DUP1, PUSH1 2, JUMPI, STOP
+  private static final Bytes TWO_PASSES =
+      Bytes.fromHexString("0x60025b600190036000600050508060025700");
+
+  // the gas of the block from the JUMPDEST to the JUMPI of TWO_PASSES
+  private static final long TWO_PASSES_BLOCK_GAS_COST = 36;
+
+  private static long[] fixedGasCosts() {
+    final long[] fixedGasCosts = new long[256];
+    Arrays.fill(fixedGasCosts, 3);
+    fixedGasCosts[0x54] = -1;
+    fixedGasCosts[0x5b] = 1;
+    return fixedGasCosts;
+  }
+
+  @Test
+  void splitsBlocksAroundDynamicCostOperationsAndJumps() {
+    // PUSH1 1, PUSH1 2, ADD, SLOAD, JUMPDEST, PUSH1 1, JUMP, STOP
+    final byte[] code = Bytes.fromHexString("0x600160020154" + "5b60015600").toArrayUnsafe();
+
+    final BasicBlocks blocks = BasicBlocks.analyse(code, fixedGasCosts());
+
+    assertThat(blocks.size()).isEqualTo(2);
+    assertThat(blocks.indexOf(0)).isZero();
+    assertThat(blocks.getGasCost(0)).isEqualTo(9);
+    assertThat(blocks.getLastPc(0)).isEqualTo(4);
+    assertThat(blocks.indexOf(6)).isEqualTo(1);
+    assertThat(blocks.getGasCost(1)).isEqualTo(7);
+    assertThat(blocks.getLastPc(1)).isEqualTo(9);
+    // inside a block, after the jump and past the end of the code
+    assertThat(blocks.indexOf(2)).isEqualTo(-1);
+    assertThat(blocks.indexOf(10)).isEqualTo(-1);
+    assertThat(blocks.indexOf(1000)).isEqualTo(-1);
+  }
+
+  @Test
+  void skipsPushData() {
+    // PUSH2 0x5b5b, PUSH1 1, ADD
+    final byte[] code = Bytes.fromHexString("0x615b5b600101").toArrayUnsafe();
+
+    final BasicBlocks blocks = BasicBlocks.analyse(code, fixedGasCosts());
+
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThat(blocks.getGasCost(0)).isEqualTo(9);
+    assertThat(blocks.getLastPc(0)).isEqualTo(5);
+  }
+
+  @Test
+  void isReusedForTheSameFixedGasCosts() {
+    final Code code = CodeFactory.createCode(LOOP, 0, false);
+    final BasicBlocks blocks = code.getBasicBlocks(fixedGasCosts());
+
+    assertThat(code.getBasicBlocks(fixedGasCosts())).isSameAs(blocks);
+
+    final long[] otherFixedGasCosts = fixedGasCosts();
+    otherFixedGasCosts[0x01] = 5;
+    assertThat(code.getBasicBlocks(otherFixedGasCosts)).isNotSameAs(blocks);
+  }
+
+  @Test
+  void chargesTheSameGasAsPerOperation() {
+    final EVM evm = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+    final Code code = evm.getCode(Hash.hash(LOOP), LOOP);
+    final OperationTracer tracer = new OperationTracer() {};
+    for (long gas = 0; gas < 500; gas++) {
+      final MessageFrame perBlock = execute(evm, code, gas, OperationTracer.NO_TRACING);
+      final MessageFrame perOperation = execute(evm, code, gas, tracer);
+
+      assertThat(perBlock.getState()).isEqualTo(perOperation.getState());
+      assertThat(perBlock.getExceptionalHaltReason())
+          .isEqualTo(perOperation.getExceptionalHaltReason());
+      if (perOperation.getState() == MessageFrame.State.CODE_SUCCESS) {
+        assertThat(perBlock.getRemainingGas()).isEqualTo(perOperation.getRemainingGas());
+      }
+    }
+  }
+
+  @Test
+  void chargesPerOperationWhenJumpingBackIntoALeftBlockWithoutEnoughGas() {
+    final EVM evm = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+    final Code code = evm.getCode(Hash.hash(TWO_PASSES), TWO_PASSES);
+
+    final OperationTracer tracer = new OperationTracer() {};
+    // enough gas to enter the block once, but not for the whole block on the second pass
+    for (long gas = 3 + TWO_PASSES_BLOCK_GAS_COST; gas < 3 + 2 * TWO_PASSES_BLOCK_GAS_COST; gas++) {
+      final MessageFrame perBlock = execute(evm, code, gas, OperationTracer.NO_TRACING);
+      final MessageFrame perOperation = execute(evm, code, gas, tracer);
+
+      assertThat(perBlock.getState()).isEqualTo(MessageFrame.State.EXCEPTIONAL_HALT);
+      assertThat(perBlock.getExceptionalHaltReason())
+          .isEqualTo(perOperation.getExceptionalHaltReason());
+      assertThat(perBlock.getPC()).isEqualTo(perOperation.getPC());
+      assertThat(perBlock.stackSize()).isEqualTo(perOperation.stackSize());
+    }
+  }
+
+  private static MessageFrame execute(
+      final EVM evm, final Code code, final long gas, final OperationTracer tracer) {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .worldUpdater(new SimpleWorld())
+            .initialGas(gas)
+            .address(Address.ZERO)
+            .contract(Address.ZERO)
+            .originator(Address.ZERO)
+            .sender(Address.ZERO)
+            .gasPrice(Wei.ONE)
+            .inputData(Bytes.EMPTY)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(code)
+            .blockValues(new SimpleBlockValues())
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup(number -> Hash.ZERO)
+            .completer(c -> {})
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
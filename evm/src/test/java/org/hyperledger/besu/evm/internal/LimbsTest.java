@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Hyperledger Besu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LimbsTest {
+
+  private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(256);
+  private static final int A = 0;
+  private static final int B = 4;
+  private static final int M = 8;
+  private static final int R = 12;
+
+  private final long[] w = new long[16];
+  private final long[] scratch = new long[Limbs.SCRATCH_SIZE];
+  private final Random random = new Random(0xbe5);
+
+  @Test
+  void arithmeticMatchesBigInteger() {
+    for (int i = 0; i < 20_000; i++) {
+      final BigInteger a = randomWord();
+      final BigInteger b = randomWord();
+      final BigInteger m = randomWord();
+      put(A, a);
+      put(B, b);
+      put(M, m);
+
+      Limbs.add(w, A, B, R);
+      assertThat(get(R)).isEqualTo(a.add(b).mod(MODULUS));
+      Limbs.subtract(w, A, B, R);
+      assertThat(get(R)).isEqualTo(a.subtract(b).mod(MODULUS));
+      Limbs.multiply(w, A, B, R);
+      assertThat(get(R)).isEqualTo(a.multiply(b).mod(MODULUS));
+      Limbs.divide(w, A, B, R, scratch);
+      assertThat(get(R)).isEqualTo(b.signum() == 0 ? BigInteger.ZERO : a.divide(b));
+      Limbs.mod(w, A, B, R, scratch);
+      assertThat(get(R)).isEqualTo(b.signum() == 0 ? BigInteger.ZERO : a.mod(b));
+      Limbs.addMod(w, A, B, M, R, scratch);
+      assertThat(get(R)).isEqualTo(m.signum() == 0 ? BigInteger.ZERO : a.add(b).mod(m));
+      Limbs.mulMod(w, A, B, M, R, scratch);
+      assertThat(get(R)).isEqualTo(m.signum() == 0 ? BigInteger.ZERO : a.multiply(b).mod(m));
+      assertThat(Integer.signum(Limbs.compareUnsigned(w, A, B))).isEqualTo(a.compareTo(b));
+      assertThat(Integer.signum(Limbs.compareSigned(w, A, B)))
+          .isEqualTo(signed(a).compareTo(signed(b)));
+      assertThat(Limbs.bitLength(w, A)).isEqualTo(a.bitLength());
+    }
+  }
+
+  @Test
+  void expMatchesBigInteger() {
+    for (int i = 0; i < 2_000; i++) {
+      final BigInteger a = randomWord();
+      final BigInteger b = randomWord();
+      put(A, a);
+      put(B, b);
+
+      Limbs.exp(w, A, B, R, scratch);
+      assertThat(get(R)).isEqualTo(a.modPow(b, MODULUS));
+    }
+  }
+
+  @Test
+  void shiftsMatchBigInteger() {
+    for (int i = 0; i < 20_000; i++) {
+      final BigInteger a = randomWord();
+      final int shift = random.nextInt(256);
+      put(A, a);
+
+      Limbs.shiftLeft(w, A, shift, R);
+      assertThat(get(R)).isEqualTo(a.shiftLeft(shift).mod(MODULUS));
+      Limbs.shiftRight(w, A, shift, R);
+      assertThat(get(R)).isEqualTo(a.shiftRight(shift));
+      Limbs.shiftRightArithmetic(w, A, shift, R);
+      assertThat(get(R)).isEqualTo(signed(a).shiftRight(shift).mod(MODULUS));
+    }
+  }
+
+  @Test
+  void resultsMayAliasOperands() {
+    for (int i = 0; i < 5_000; i++) {
+      final BigInteger a = randomWord();
+      final BigInteger b = randomWord();
+      final BigInteger m = randomWord();
+
+      put(A, a);
+      put(B, b);
+      Limbs.divide(w, A, B, B, scratch);
+      assertThat(get(B)).isEqualTo(b.signum() == 0 ? BigInteger.ZERO : a.divide(b));
+
+      put(B, b);
+      put(M, m);
+      Limbs.mulMod(w, A, B, M, M, scratch);
+      assertThat(get(M)).isEqualTo(m.signum() == 0 ? BigInteger.ZERO : a.multiply(b).mod(m));
+
+      put(B, b);
+      Limbs.multiply(w, A, B, B);
+      assertThat(get(B)).isEqualTo(a.multiply(b).mod(MODULUS));
+
+      put(B, b);
+      Limbs.shiftLeft(w, B, 67, B);
+      assertThat(get(B)).isEqualTo(b.shiftLeft(67).mod(MODULUS));
+    }
+  }
+
+  @Test
+  void divideUnsigned128() {
+    assertThat(Limbs.divideUnsigned128(1, 0, 2)).isEqualTo(Long.MIN_VALUE);
+    assertThat(Limbs.divideUnsigned128(0, 10, 3)).isEqualTo(3);
+    assertThat(Limbs.divideUnsigned128(-2L, -1L, -1L)).isEqualTo(-1L);
+  }
+
+  private BigInteger randomWord() {
+    final int bits =
+        switch (random.nextInt(5)) {
+          case 0 -> random.nextInt(65);
+          case 1 -> 64 + random.nextInt(64);
+          case 2 -> 128 + random.nextInt(128);
+          case 3 -> 256;
+          default -> random.nextInt(257);
+        };
+    if (random.nextInt(10) == 0) {
+      return BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE);
+    }
+    return new BigInteger(bits, random);
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.testBit(255) ? value.subtract(MODULUS) : value;
+  }
+
+  private void put(final int index, final BigInteger value) {
+    for (int i = 0; i < Limbs.WORD_LIMBS; i++) {
+      w[index + i] = value.shiftRight(64 * i).longValue();
+    }
+  }
+
+  private BigInteger get(final int index) {
+    BigInteger result = BigInteger.ZERO;
+    for (int i = Limbs.WORD_LIMBS - 1; i >= 0; i--) {
+      result = result.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(w[index + i])));
+    }
+    return result;
+  }
+}
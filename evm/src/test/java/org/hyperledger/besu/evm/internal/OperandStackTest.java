@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.Test;
@@ -182,4 +183,44 @@ class OperandStackTest {
     }
     assertThatThrownBy(() -> stack.push(UInt256.ONE)).isInstanceOf(OverflowException.class);
   }
+
+  @Test
+  void limbsRoundTrip() {
+    final OperandStack stack = new OperandStack(4);
+    stack.push(Bytes.fromHexString("0x0102"));
+    stack.push(UInt256.MAX_VALUE);
+
+    final long[] limbs = stack.limbs();
+    final int top = stack.limbIndex(0);
+    final int below = stack.limbIndex(1);
+    assertThat(limbs[below]).isEqualTo(0x0102L);
+    assertThat(limbs[below + 1]).isZero();
+    assertThat(limbs[top]).isEqualTo(-1L);
+    assertThat(limbs[top + 3]).isEqualTo(-1L);
+
+    Limbs.add(limbs, top, below, below);
+    stack.limbsWritten(1);
+    stack.bulkPop(1);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x0101"));
+  }
+
+  @Test
+  void dupAndSwapKeepLimbs() {
+    final OperandStack stack = new OperandStack(4);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.push(UInt256.fromHexString("0x02"));
+    final int index = stack.limbIndex(0);
+    Limbs.set(stack.limbs(), index, 7);
+    stack.limbsWritten(0);
+
+    stack.dup(0);
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.limbs()[stack.limbIndex(0)]).isEqualTo(7L);
+
+    stack.swap(2);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x07"));
+    assertThatThrownBy(() -> stack.swap(3)).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.limbIndex(3)).isInstanceOf(UnderflowException.class);
+  }
 }
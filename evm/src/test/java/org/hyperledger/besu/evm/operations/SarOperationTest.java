@@ -14,14 +14,13 @@
  */
 package org.hyperledger.besu.evm.operations;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.gascalculator.SpuriousDragonGasCalculator;
 import org.hyperledger.besu.evm.operation.SarOperation;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
 
 import java.util.List;
 
@@ -167,13 +166,14 @@ class SarOperationTest {
   @ParameterizedTest(name = "{index}: {0}, {1}, {2}")
   @MethodSource("data")
   void shiftOperation(final String number, final String shift, final String expectedResult) {
-    final MessageFrame frame = mock(MessageFrame.class);
-    when(frame.stackSize()).thenReturn(2);
-    when(frame.getRemainingGas()).thenReturn(100L);
-    when(frame.popStackItem())
-        .thenReturn(Bytes32.fromHexStringLenient(shift))
-        .thenReturn(Bytes.fromHexString(number));
+    final MessageFrame frame =
+        new TestMessageFrameBuilder()
+            .pushStackItem(Bytes.fromHexString(number))
+            .pushStackItem(Bytes32.fromHexStringLenient(shift))
+            .build();
     operation.execute(frame, null);
-    verify(frame).pushStackItem(Bytes.fromHexString(expectedResult));
+    assertThat(frame.stackSize()).isEqualTo(1);
+    assertThat(Bytes32.leftPad(frame.getStackItem(0)))
+        .isEqualTo(Bytes32.leftPad(Bytes.fromHexString(expectedResult)));
   }
 }
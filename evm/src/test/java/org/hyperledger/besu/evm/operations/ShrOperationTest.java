@@ -14,14 +14,13 @@
  */
 package org.hyperledger.besu.evm.operations;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.gascalculator.SpuriousDragonGasCalculator;
 import org.hyperledger.besu.evm.operation.ShrOperation;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
 
 import java.util.Arrays;
 
@@ -115,13 +114,14 @@ class ShrOperationTest {
   @ParameterizedTest
   @MethodSource("data")
   void shiftOperation(final String number, final String shift, final String expectedResult) {
-    final MessageFrame frame = mock(MessageFrame.class);
-    when(frame.stackSize()).thenReturn(2);
-    when(frame.getRemainingGas()).thenReturn(100L);
-    when(frame.popStackItem())
-        .thenReturn(UInt256.fromBytes(Bytes32.fromHexStringLenient(shift)))
-        .thenReturn(UInt256.fromHexString(number));
+    final MessageFrame frame =
+        new TestMessageFrameBuilder()
+            .pushStackItem(UInt256.fromHexString(number))
+            .pushStackItem(UInt256.fromBytes(Bytes32.fromHexStringLenient(shift)))
+            .build();
     operation.execute(frame, null);
-    verify(frame).pushStackItem(Bytes.fromHexString(expectedResult));
+    assertThat(frame.stackSize()).isEqualTo(1);
+    assertThat(Bytes32.leftPad(frame.getStackItem(0)))
+        .isEqualTo(Bytes32.leftPad(Bytes.fromHexString(expectedResult)));
   }
 }
@@ -95,6 +95,12 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   private final WriteOptions tryDeleteOptions =
       new WriteOptions().setNoSlowdown(true).setIgnoreMissingColumnFamilies(true);
   private final ReadOptions readOptions = new ReadOptions().setVerifyChecksums(false);
+
+  /** The readahead size of the iterators of range scans, which read consecutive keys. */
+  static final long RANGE_SCAN_READAHEAD_SIZE = 2 * 1024 * 1024;
+
+  private final ReadOptions rangeScanReadOptions =
+      new ReadOptions().setVerifyChecksums(false).setReadaheadSize(RANGE_SCAN_READAHEAD_SIZE);
   private final MetricsSystem metricsSystem;
   private final RocksDBMetricsFactory rocksDBMetricsFactory;
   private final RocksDBConfiguration configuration;
@@ -375,7 +381,8 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final SegmentIdentifier segmentIdentifier, final byte[] startKey, final byte[] endKey) {
     final Bytes endKeyBytes = Bytes.wrap(endKey);
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    final RocksIterator rocksIterator =
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), rangeScanReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
@@ -433,6 +440,7 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
       txOptions.close();
       options.close();
       tryDeleteOptions.close();
+      rangeScanReadOptions.close();
       columnHandlesBySegmentIdentifier.values().stream()
           .map(RocksDbSegmentIdentifier::get)
           .forEach(ColumnFamilyHandle::close);
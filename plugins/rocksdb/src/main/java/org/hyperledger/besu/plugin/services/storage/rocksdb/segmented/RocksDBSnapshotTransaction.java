@@ -51,6 +51,7 @@ public class RocksDBSnapshotTransaction
   private final RocksDBSnapshot snapshot;
   private final WriteOptions writeOptions;
   private final ReadOptions readOptions;
+  private final ReadOptions rangeScanReadOptions;
   private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
   /**
@@ -72,6 +73,7 @@ public class RocksDBSnapshotTransaction
     this.snapTx = db.beginTransaction(writeOptions);
     this.readOptions =
         new ReadOptions().setVerifyChecksums(false).setSnapshot(snapshot.markAndUseSnapshot());
+    this.rangeScanReadOptions = rangeScanReadOptions(readOptions);
   }
 
   private RocksDBSnapshotTransaction(
@@ -87,9 +89,16 @@ public class RocksDBSnapshotTransaction
     this.snapshot = snapshot;
     this.writeOptions = new WriteOptions();
     this.readOptions = readOptions;
+    this.rangeScanReadOptions = rangeScanReadOptions(readOptions);
     this.snapTx = snapTx;
   }
 
+  private static ReadOptions rangeScanReadOptions(final ReadOptions readOptions) {
+    // same snapshot as the other reads
+    return new ReadOptions(readOptions)
+        .setReadaheadSize(RocksDBColumnarKeyValueStorage.RANGE_SCAN_READAHEAD_SIZE);
+  }
+
   /**
    * Get data against given key.
    *
@@ -215,7 +224,7 @@ public class RocksDBSnapshotTransaction
     final Bytes endKeyBytes = Bytes.wrap(endKey);
 
     final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
+        db.newIterator(columnFamilyMapper.apply(segment), rangeScanReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
@@ -270,6 +279,7 @@ public class RocksDBSnapshotTransaction
     snapTx.close();
     writeOptions.close();
     readOptions.close();
+    rangeScanReadOptions.close();
     snapshot.unMarkSnapshot();
     isClosed.set(true);
   }
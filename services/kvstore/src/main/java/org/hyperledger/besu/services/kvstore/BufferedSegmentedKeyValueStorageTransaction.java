@@ -0,0 +1,91 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.hyperledger.besu.services.kvstore;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A transaction that queues its operations in memory and, on commit, replays them in order into
+ * another transaction instead of writing to storage. This lets several threads stage writes
+ * independently and merge them into a single shared transaction afterwards.
+ *
+ * <p>Instances are not thread safe, each writer is expected to use its own buffer.
+ */
+public class BufferedSegmentedKeyValueStorageTransaction
+    implements SegmentedKeyValueStorageTransaction {
+
+  private final SegmentedKeyValueStorageTransaction target;
+  private final List<Operation> operations = new ArrayList<>();
+
+  /**
+   * Instantiates a new buffered transaction.
+   *
+   * @param target the transaction the buffered operations are replayed into on commit
+   */
+  public BufferedSegmentedKeyValueStorageTransaction(
+      final SegmentedKeyValueStorageTransaction target) {
+    this.target = target;
+  }
+
+  @Override
+  public void put(final SegmentIdentifier segmentId, final byte[] key, final byte[] value) {
+    operations.add(new Operation(segmentId, key, value));
+  }
+
+  @Override
+  public void remove(final SegmentIdentifier segmentId, final byte[] key) {
+    operations.add(new Operation(segmentId, key, null));
+  }
+
+  /**
+   * Replays the buffered operations into the target transaction. The target itself is not
+   * committed.
+   *
+   * @throws StorageException problem was encountered while writing to the target
+   */
+  @Override
+  public void commit() throws StorageException {
+    for (final Operation operation : operations) {
+      if (operation.value() == null) {
+        target.remove(operation.segmentId(), operation.key());
+      } else {
+        target.put(operation.segmentId(), operation.key(), operation.value());
+      }
+    }
+    operations.clear();
+  }
+
+  @Override
+  public void rollback() {
+    operations.clear();
+  }
+
+  /**
+   * Number of operations waiting to be replayed.
+   *
+   * @return the number of buffered operations
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  private record Operation(SegmentIdentifier segmentId, byte[] key, byte[] value) {}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage.SEGMENT_IDENTIFIER;
+
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BufferedSegmentedKeyValueStorageTransactionTest {
+
+  private static final byte[] KEY_1 = Bytes.of(1).toArrayUnsafe();
+  private static final byte[] KEY_2 = Bytes.of(2).toArrayUnsafe();
+  private static final byte[] VALUE_1 = Bytes.of(10).toArrayUnsafe();
+  private static final byte[] VALUE_2 = Bytes.of(20).toArrayUnsafe();
+
+  private SegmentedKeyValueStorage storage;
+  private SegmentedKeyValueStorageTransaction target;
+  private BufferedSegmentedKeyValueStorageTransaction buffer;
+
+  @BeforeEach
+  public void setup() {
+    storage = new SegmentedInMemoryKeyValueStorage(List.of(SEGMENT_IDENTIFIER));
+    target = storage.startTransaction();
+    buffer = new BufferedSegmentedKeyValueStorageTransaction(target);
+  }
+
+  @Test
+  public void operationsAreOnlyReplayedOnCommit() {
+    buffer.put(SEGMENT_IDENTIFIER, KEY_1, VALUE_1);
+    assertThat(buffer.size()).isEqualTo(1);
+
+    target.commit();
+    assertThat(storage.get(SEGMENT_IDENTIFIER, KEY_1)).isEmpty();
+
+    buffer.commit();
+    assertThat(buffer.size()).isZero();
+    target.commit();
+    assertThat(storage.get(SEGMENT_IDENTIFIER, KEY_1)).contains(VALUE_1);
+  }
+
+  @Test
+  public void operationsAreReplayedInOrder() {
+    buffer.put(SEGMENT_IDENTIFIER, KEY_1, VALUE_1);
+    buffer.remove(SEGMENT_IDENTIFIER, KEY_1);
+    buffer.put(SEGMENT_IDENTIFIER, KEY_2, VALUE_1);
+    buffer.put(SEGMENT_IDENTIFIER, KEY_2, VALUE_2);
+
+    buffer.commit();
+    target.commit();
+
+    assertThat(storage.get(SEGMENT_IDENTIFIER, KEY_1)).isEmpty();
+    assertThat(storage.get(SEGMENT_IDENTIFIER, KEY_2)).contains(VALUE_2);
+  }
+
+  @Test
+  public void rollbackDiscardsBufferedOperations() {
+    buffer.put(SEGMENT_IDENTIFIER, KEY_1, VALUE_1);
+    buffer.rollback();
+    assertThat(buffer.size()).isZero();
+
+    buffer.commit();
+    target.commit();
+    assertThat(storage.get(SEGMENT_IDENTIFIER, KEY_1)).isEmpty();
+  }
+}
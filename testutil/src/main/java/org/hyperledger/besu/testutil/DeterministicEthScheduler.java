@@ -49,6 +49,8 @@ public class DeterministicEthScheduler extends EthScheduler {
         new MockExecutorService(),
         new MockExecutorService(),
         new MockExecutorService(),
+        new MockExecutorService(),
+        new MockExecutorService(),
         new MockExecutorService());
 
     this.timeoutPolicy = timeoutPolicy;
@@ -59,7 +61,9 @@ public class DeterministicEthScheduler extends EthScheduler {
             (MockExecutorService) this.txWorkerExecutor,
             (MockExecutorService) this.servicesExecutor,
             (MockExecutorService) this.computationExecutor,
-            (MockExecutorService) this.blockCreationExecutor);
+            (MockExecutorService) this.blockCreationExecutor,
+            (MockExecutorService) this.parallelTxExecutor,
+            (MockExecutorService) this.queryExecutor);
   }
 
   /** Test utility for manually running pending futures, when autorun is disabled */